@@ -0,0 +1,53 @@
+package com.movieDekho.MovieDekho.config.emailconfig;
+
+import com.squareup.okhttp.ConnectionPool;
+import com.squareup.okhttp.OkHttpClient;
+import com.squareup.okhttp.Protocol;
+import lombok.Data;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import sendinblue.ApiClient;
+import sendinblue.auth.ApiKeyAuth;
+import sibApi.TransactionalEmailsApi;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Single Brevo API client shared by all senders.
+ * Owns its OkHttp connection pool (keep-alive, HTTP/2 when the server negotiates it)
+ * and explicit timeouts, instead of mutating the SDK's global default client per email.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "brevo.http")
+@Data
+public class BrevoClientConfig {
+
+    private String basePath = "https://api.brevo.com/v3";
+    private long connectTimeoutMs = 5000;
+    private long readTimeoutMs = 15000;
+    private long writeTimeoutMs = 15000;
+    private int maxIdleConnections = 20;
+    private long keepAliveMs = 300000;
+    private boolean http2 = true;
+
+    @Bean
+    public TransactionalEmailsApi brevoTransactionalEmailsApi(@Value("${brevo.api.key}") String apiKey) {
+        ApiClient apiClient = new ApiClient();
+        apiClient.setBasePath(basePath);
+        ((ApiKeyAuth) apiClient.getAuthentication("api-key")).setApiKey(apiKey);
+
+        OkHttpClient httpClient = apiClient.getHttpClient();
+        httpClient.setConnectTimeout(connectTimeoutMs, TimeUnit.MILLISECONDS);
+        httpClient.setReadTimeout(readTimeoutMs, TimeUnit.MILLISECONDS);
+        httpClient.setWriteTimeout(writeTimeoutMs, TimeUnit.MILLISECONDS);
+        httpClient.setConnectionPool(new ConnectionPool(maxIdleConnections, keepAliveMs, TimeUnit.MILLISECONDS));
+        httpClient.setProtocols(http2
+                ? List.of(Protocol.HTTP_2, Protocol.HTTP_1_1)
+                : List.of(Protocol.HTTP_1_1));
+
+        return new TransactionalEmailsApi(apiClient);
+    }
+}
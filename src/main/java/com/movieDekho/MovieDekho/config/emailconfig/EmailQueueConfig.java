@@ -17,6 +17,8 @@ public class EmailQueueConfig {
     private int maxRetryDelayMinutes = 1440;
     private int keepSentEmailsDays = 30;
     private int keepFailedEmailsDays = 7;
+    private int retentionDeleteBatchSize = 1000;
+    private long retentionBatchPauseMs = 200;
     private boolean enabled = true;
     private int dailyEmailLimit = 300;
     private int welcomeEmailPriority = 5;
@@ -27,4 +29,15 @@ public class EmailQueueConfig {
     private int processingTimeoutMinutes = 10;
     private boolean enableDetailedLogging = true;
     private boolean pauseOnDailyLimit = true;
+    // Dispatcher shaping: provider token bucket and AIMD concurrency bounds
+    private double providerRatePerSecond = 5.0;
+    private int providerBurst = 10;
+    private int initialConcurrency = 5;
+    private int maxConcurrency = 50;
+    // An empty poll doubles the wait, from idlePollIntervalMs up to maxIdlePollIntervalMs
+    private long idlePollIntervalMs = 1000;
+    private long maxIdlePollIntervalMs = 30000;
+    // In-memory lane for OTP and password-reset emails; overflow goes to the database queue
+    private int priorityLaneCapacity = 500;
+    private int priorityLaneWorkers = 4;
 }
\ No newline at end of file
@@ -0,0 +1,54 @@
+package com.movieDekho.MovieDekho.config.emailconfig;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Schema pieces for email_queue that ddl-auto cannot express.
+ * Relaxes html_content to nullable on existing tables (templated emails store only a template and
+ * its parameters; ddl-auto update never drops NOT NULL), and creates the partial indexes behind the
+ * batch claim and the lease reset, which only ever look at the small live part of the table.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class EmailQueueSchemaInitializer {
+
+    private static final String DROP_HTML_CONTENT_NOT_NULL =
+            "ALTER TABLE email_queue ALTER COLUMN html_content DROP NOT NULL";
+
+    // Claim order (priority DESC, created_at) over claimable rows, so LIMIT stops after a few index entries
+    private static final String READY_INDEX =
+            "CREATE INDEX IF NOT EXISTS idx_email_queue_ready ON email_queue (priority DESC, created_at, scheduled_at) " +
+            "WHERE status IN ('PENDING', 'FAILED')";
+
+    private static final String LEASE_INDEX =
+            "CREATE INDEX IF NOT EXISTS idx_email_queue_processing_lease ON email_queue (claim_expires_at) " +
+            "WHERE status = 'PROCESSING'";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void relaxHtmlContentColumn() {
+        try {
+            jdbcTemplate.execute(DROP_HTML_CONTENT_NOT_NULL);
+        } catch (Exception e) {
+            log.warn("Could not make email_queue.html_content nullable: {}", e.getMessage());
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void createPartialIndexes() {
+        for (String statement : new String[] { READY_INDEX, LEASE_INDEX }) {
+            try {
+                jdbcTemplate.execute(statement);
+            } catch (Exception e) {
+                log.warn("Could not create email_queue partial index: {}", e.getMessage());
+            }
+        }
+    }
+}
@@ -1,10 +1,12 @@
 package com.movieDekho.MovieDekho.config.jwtUtils;
 
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -22,6 +24,11 @@ public class JwtAuthFilter extends OncePerRequestFilter {
     private JwtUtils jwtUtils;
     @Autowired
     private UserDetailsService userDetailsService;
+    @Autowired
+    private TokenRevocationRegistry tokenRevocationRegistry;
+
+    @Value("${jwt.claims-authentication.enabled:true}")
+    private boolean claimsAuthenticationEnabled;
 
     @SuppressWarnings("null")
     @Override
@@ -33,11 +40,14 @@ public class JwtAuthFilter extends OncePerRequestFilter {
         try {
             String jwt = jwtUtils.getJwtFromHeader(request);
 
-            if (jwt != null && jwtUtils.validateToken(jwt)) {
-                String emailOrPhone = jwtUtils.getNameFromJwt(jwt);
+            if (jwt != null) {
+                // Single parse per request; controllers reuse the stored claims
+                Claims claims = jwtUtils.parseClaims(jwt);
+                jwtUtils.storeRequestClaims(request, jwt, claims);
+                String emailOrPhone = claims.getSubject();
 
                 try {
-                    UserDetails userDetails = userDetailsService.loadUserByUsername(emailOrPhone);
+                    UserDetails userDetails = resolveUserDetails(claims, emailOrPhone);
 
                     if (userDetails != null) {
                         UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
@@ -57,4 +67,19 @@ public class JwtAuthFilter extends OncePerRequestFilter {
 
         filterChain.doFilter(request, response);
     }
+
+    /**
+     * Claims mode builds the principal from the token itself; stale or legacy tokens
+     * (and database mode) load it through the UserDetailsService instead.
+     */
+    private UserDetails resolveUserDetails(Claims claims, String emailOrPhone) {
+        if (claimsAuthenticationEnabled
+                && !tokenRevocationRegistry.isRevoked(emailOrPhone, claims.getIssuedAt())) {
+            UserDetails principal = jwtUtils.buildPrincipalFromClaims(claims);
+            if (principal != null) {
+                return principal;
+            }
+        }
+        return userDetailsService.loadUserByUsername(emailOrPhone);
+    }
 }
@@ -3,49 +3,104 @@ package com.movieDekho.MovieDekho.config.jwtUtils;
 import com.movieDekho.MovieDekho.config.userImplementation.UserDetailsImplement;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
 
 import javax.crypto.SecretKey;
-import java.security.Key;
+import java.util.Arrays;
 import java.util.Date;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 @Component
 public class JwtUtils {
 
+    /**
+     * Request attributes holding the token and its verified claims once the
+     * auth filter has parsed them, so controllers never parse the same token again.
+     */
+    public static final String TOKEN_ATTRIBUTE = JwtUtils.class.getName() + ".TOKEN";
+    public static final String CLAIMS_ATTRIBUTE = JwtUtils.class.getName() + ".CLAIMS";
+
     @Value("${jwt.secret}")
     private String secret;
 
     @Value("${jwt.expiration}")
     private long expirationTime;
 
+    @Value("${jwt.claims-cache.max-size:10000}")
+    private int claimsCacheMaxSize;
+
+    private SecretKey signingKey;
+    private JwtParser jwtParser;
+
+    // Verified token -> claims; entries are dropped once the token expires
+    private final ConcurrentHashMap<String, CachedClaims> claimsCache = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    void init() {
+        this.signingKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(secret));
+        this.jwtParser = Jwts.parser()
+                .verifyWith(signingKey)
+                .build();
+    }
+
     public String getJwtFromHeader(HttpServletRequest request) {
         String bearerToken = request.getHeader("Authorization");
         return (bearerToken != null && bearerToken.startsWith("Bearer")) ? bearerToken.substring(7) : null;
     }
 
-    public String getNameFromJwt(String token) {
-        Claims claims = Jwts.parser()
-                .verifyWith((SecretKey) key())
-                .build()
-                .parseSignedClaims(token)
-                .getBody();
+    /**
+     * Returns the verified claims for a token. Looks at the current request first,
+     * then the verified-token cache, and only parses and verifies the signature on a miss.
+     * Throws a JwtException for invalid or expired tokens.
+     */
+    public Claims parseClaims(String token) {
+        Claims requestClaims = getRequestClaims(token);
+        if (requestClaims != null) {
+            return requestClaims;
+        }
+
+        long now = System.currentTimeMillis();
+        CachedClaims cached = claimsCache.get(token);
+        if (cached != null) {
+            if (cached.expiresAt > now) {
+                return cached.claims;
+            }
+            claimsCache.remove(token);
+        }
+
+        Claims claims = jwtParser.parseSignedClaims(token).getPayload();
+        cacheClaims(token, claims, now);
+        return claims;
+    }
 
-        return claims.getSubject();
+    /**
+     * Stores the parsed claims on the request so later lookups for the same token are free.
+     */
+    public void storeRequestClaims(HttpServletRequest request, String token, Claims claims) {
+        request.setAttribute(TOKEN_ATTRIBUTE, token);
+        request.setAttribute(CLAIMS_ATTRIBUTE, claims);
+    }
+
+    public String getNameFromJwt(String token) {
+        return parseClaims(token).getSubject();
     }
 
     public String getDisplayNameFromJwt(String token) {
-        Claims claims = Jwts.parser()
-                .verifyWith((SecretKey) key())
-                .build()
-                .parseSignedClaims(token)
-                .getBody();
+        Claims claims = parseClaims(token);
 
         String displayName = claims.get("displayName", String.class);
         return displayName != null ? displayName : claims.get("name", String.class);
@@ -63,31 +118,99 @@ public class JwtUtils {
                 .claim("roles", roles)
                 .claim("displayName", displayName)
                 .claim("email", email)
+                .claim("uid", userDetails.getId())
                 .issuedAt(new Date())
-                .setExpiration(new Date(new Date().getTime() + expirationTime))
-                .signWith(key())
+                .expiration(new Date(System.currentTimeMillis() + expirationTime))
+                .signWith(signingKey)
                 .compact();
     }
 
-    public boolean validateToken(String token) {
+    /**
+     * Builds the authenticated principal straight from verified claims, without a database lookup.
+     * Returns null for tokens issued before the uid claim existed so callers can fall back.
+     */
+    public UserDetailsImplement buildPrincipalFromClaims(Claims claims) {
+        Object uid = claims.get("uid");
+        String roles = claims.get("roles", String.class);
+        if (!(uid instanceof Number) || roles == null) {
+            return null;
+        }
 
-        try {
-            Jwts.parser()
-                    .verifyWith((SecretKey) key())
-                    .build()
-                    .parseSignedClaims(token);
+        List<SimpleGrantedAuthority> authorities = Arrays.stream(roles.split(","))
+                .map(String::trim)
+                .filter(role -> !role.isEmpty())
+                .map(SimpleGrantedAuthority::new)
+                .toList();
+        if (authorities.isEmpty()) {
+            return null;
+        }
+        String role = authorities.get(0).getAuthority();
+        boolean approved = !"PENDING_ADMIN".equals(role) && !"REJECTED_ADMIN".equals(role);
+
+        return new UserDetailsImplement(
+                ((Number) uid).longValue(),
+                claims.get("displayName", String.class),
+                null,
+                claims.get("email", String.class),
+                null,
+                null,
+                role,
+                approved,
+                authorities
+        );
+    }
 
+    public boolean validateToken(String token) {
+        try {
+            parseClaims(token);
             return true;
         } catch (JwtException | IllegalArgumentException e) {
             throw new RuntimeException(e);
-        } catch (Exception e) {
-            e.printStackTrace();
         }
-        return false;
+    }
 
+    private Claims getRequestClaims(String token) {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return null;
+        }
+        Object requestToken = attributes.getAttribute(TOKEN_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (token.equals(requestToken)) {
+            return (Claims) attributes.getAttribute(CLAIMS_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        }
+        return null;
     }
 
-    private Key key() {
-        return Keys.hmacShaKeyFor(Decoders.BASE64.decode(secret));
+    private void cacheClaims(String token, Claims claims, long now) {
+        Date expiration = claims.getExpiration();
+        if (expiration == null) {
+            return;
+        }
+
+        if (claimsCache.size() >= claimsCacheMaxSize) {
+            claimsCache.entrySet().removeIf(entry -> entry.getValue().expiresAt <= now);
+        }
+
+        if (claimsCache.size() >= claimsCacheMaxSize) {
+            // Still full: drop an arbitrary slice rather than growing without bound
+            Iterator<String> keys = claimsCache.keySet().iterator();
+            int toEvict = Math.max(1, claimsCacheMaxSize / 10);
+            while (toEvict-- > 0 && keys.hasNext()) {
+                keys.next();
+                keys.remove();
+            }
+        }
+
+        claimsCache.put(token, new CachedClaims(claims, expiration.getTime()));
+    }
+
+    private static class CachedClaims {
+        final Claims claims;
+        final long expiresAt;
+
+        CachedClaims(Claims claims, long expiresAt) {
+            this.claims = claims;
+            this.expiresAt = expiresAt;
+        }
     }
 }
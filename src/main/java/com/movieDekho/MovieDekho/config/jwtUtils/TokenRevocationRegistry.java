@@ -0,0 +1,58 @@
+package com.movieDekho.MovieDekho.config.jwtUtils;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Date;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory version stamps for claims-based authentication.
+ * When a user's role, approval state or existence changes, every token issued
+ * before that moment is treated as stale and the filter falls back to loading
+ * the principal from the database.
+ */
+@Component
+@Slf4j
+public class TokenRevocationRegistry {
+
+    @Value("${jwt.expiration}")
+    private long expirationTime;
+
+    // Token subject (email) -> epoch millis of the latest change
+    private final ConcurrentHashMap<String, Long> revokedAt = new ConcurrentHashMap<>();
+
+    /**
+     * Mark all tokens issued for this subject up to now as stale
+     */
+    public void revokeTokensFor(String subject) {
+        if (subject == null) {
+            return;
+        }
+        revokedAt.put(subject, System.currentTimeMillis());
+        log.info("Revoked claims-based tokens issued before now for: {}", subject);
+    }
+
+    /**
+     * Check whether a token was issued before the subject's latest change
+     */
+    public boolean isRevoked(String subject, Date issuedAt) {
+        Long stamp = revokedAt.get(subject);
+        if (stamp == null) {
+            return false;
+        }
+        // JWT iat has second precision, so compare inclusively
+        return issuedAt == null || issuedAt.getTime() <= stamp;
+    }
+
+    /**
+     * Stamps older than the token lifetime can no longer match a live token
+     */
+    @Scheduled(fixedRate = 3600000) // 1 hour
+    public void pruneExpiredStamps() {
+        long cutoff = System.currentTimeMillis() - expirationTime;
+        revokedAt.entrySet().removeIf(entry -> entry.getValue() < cutoff);
+    }
+}
@@ -0,0 +1,49 @@
+package com.movieDekho.MovieDekho.config.kvconfig;
+
+import com.movieDekho.MovieDekho.service.kvstore.InProcessKeyValueStore;
+import com.movieDekho.MovieDekho.service.kvstore.KeyValueStore;
+import com.movieDekho.MovieDekho.service.kvstore.RedisKeyValueStore;
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Backend for short-lived session state: "local" keeps it in this process,
+ * "redis" shares it between instances behind a load balancer.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "app.kv")
+@Data
+@Slf4j
+public class KeyValueStoreConfig {
+
+    private String backend = "local";
+    private Local local = new Local();
+    private Redis redis = new Redis();
+
+    @Bean
+    public KeyValueStore keyValueStore() {
+        if ("redis".equalsIgnoreCase(backend)) {
+            log.info("Session state stored in Redis at {}:{}", redis.getHost(), redis.getPort());
+            return new RedisKeyValueStore(redis);
+        }
+        return new InProcessKeyValueStore(local.getMaxEntries());
+    }
+
+    @Data
+    public static class Local {
+        private int maxEntries = 200_000;
+    }
+
+    @Data
+    public static class Redis {
+        private String host = "localhost";
+        private int port = 6379;
+        private String password;
+        private int database = 0;
+        private int timeoutMs = 2000;
+        private int poolSize = 16;
+    }
+}
@@ -0,0 +1,32 @@
+package com.movieDekho.MovieDekho.config.movieconfig;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Creates the expression index behind case-insensitive title sorting.
+ * JPA @Index only covers plain columns, so ddl-auto cannot create it.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class MovieIndexInitializer {
+
+    private static final String LOWER_TITLE_INDEX =
+            "CREATE INDEX IF NOT EXISTS idx_available_movie_lower_title ON available_movie (lower(title))";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void createExpressionIndexes() {
+        try {
+            jdbcTemplate.execute(LOWER_TITLE_INDEX);
+        } catch (Exception e) {
+            log.warn("Could not create index idx_available_movie_lower_title: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.movieDekho.MovieDekho.config.otpconfig;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * OTP lifetime and abuse limits.
+ * Each limit is a token bucket: up to {@code capacity} requests at once, refilled at
+ * {@code refillPerMinute} tokens per minute.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "app.otp")
+@Data
+public class OtpConfig {
+
+    private long validityMinutes = 5;
+    private int maxValidationAttempts = 5;
+
+    private Limit generatePerIdentifier = new Limit(3, 1);
+    private Limit generatePerIp = new Limit(20, 10);
+    private Limit validatePerIdentifier = new Limit(10, 5);
+    private Limit validatePerIp = new Limit(50, 25);
+
+    @Data
+    public static class Limit {
+        private int capacity;
+        private double refillPerMinute;
+
+        public Limit() {
+        }
+
+        public Limit(int capacity, double refillPerMinute) {
+            this.capacity = capacity;
+            this.refillPerMinute = refillPerMinute;
+        }
+    }
+}
@@ -12,13 +12,40 @@ public class CineBookAssistantConfig {
 
     private int retrievalTopK = 8;
     private boolean strictGrounding = true;
+    private long streamTimeoutMs = 120000;
     
     private SeatOptimization seatOptimization = new SeatOptimization();
     private Upselling upselling = new Upselling();
+    private ResponseCache responseCache = new ResponseCache();
+    private VectorIndex vectorIndex = new VectorIndex();
 
     @Data
     public static class SeatOptimization {
         private boolean enabled = true;
+        private int maxSuggestions = 3;
+        // Let Gemini phrase the computed suggestions; off answers directly without a model call
+        private boolean llmPhrasing = false;
+    }
+
+    @Data
+    public static class ResponseCache {
+        private boolean enabled = true;
+        private long maxEntries = 10000;
+        private long ttlMinutes = 60;
+        // Estimated Jaccard similarity of query shingles needed to reuse an answer
+        private double similarityThreshold = 0.8;
+    }
+
+    @Data
+    public static class VectorIndex {
+        // Index file; its vector block is memory-mapped on startup
+        private String path = "data/assistant-vector-index.bin";
+        private int dimensions = 384;
+        private int m = 16;
+        private int efConstruction = 100;
+        private int efSearch = 64;
+        // Cosine similarity below which a document is not returned as context
+        private double minSimilarity = 0.2;
     }
 
     @Data
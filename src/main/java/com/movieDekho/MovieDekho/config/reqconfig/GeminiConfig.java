@@ -17,6 +17,7 @@ public class GeminiConfig {
     private Api api = new Api();
     private Model model = new Model();
     private Assistant assistant = new Assistant();
+    private Http http = new Http();
 
     @Data
     public static class Api {
@@ -35,4 +36,17 @@ public class GeminiConfig {
     public static class Assistant {
         private boolean enabled = true;
     }
+
+    /**
+     * Shared HTTP client settings; connections are kept alive and reused across calls
+     */
+    @Data
+    public static class Http {
+        private long connectTimeoutMs = 5000;
+        // Time to the response headers; a stream may keep sending tokens after that
+        private long responseTimeoutMs = 30000;
+        // Whole streamed answer, headers and body; keep it under the assistant's SSE timeout
+        private long streamTimeoutMs = 90000;
+        private boolean http2 = true;
+    }
 }
@@ -1,20 +1,42 @@
 package com.movieDekho.MovieDekho.config.reqconfig;
 
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.web.client.RestTemplate;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.web.client.RestClient;
 
 /**
  * Configuration for REST client beans.
+ * One JDK HttpClient backs both the blocking RestClient and the async/streaming Gemini calls,
+ * so keep-alive connections (HTTP/2 when negotiated) are pooled and reused across requests.
  */
 @Configuration
 public class RestClientConfig {
 
     /**
-     * Create a RestTemplate bean for making HTTP requests to external APIs.
+     * Shared HTTP client for external APIs. Async completions run on virtual threads.
+     */
+    @Bean
+    public HttpClient geminiHttpClient(GeminiConfig geminiConfig) {
+        GeminiConfig.Http http = geminiConfig.getHttp();
+        return HttpClient.newBuilder()
+                .version(http.isHttp2() ? HttpClient.Version.HTTP_2 : HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofMillis(http.getConnectTimeoutMs()))
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+    }
+
+    /**
+     * RestClient for blocking calls to external APIs, with a response timeout instead of waiting forever.
      */
     @Bean
-    public RestTemplate restTemplate() {
-        return new RestTemplate();
+    public RestClient geminiRestClient(RestClient.Builder builder, HttpClient geminiHttpClient, GeminiConfig geminiConfig) {
+        JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(geminiHttpClient);
+        requestFactory.setReadTimeout(Duration.ofMillis(geminiConfig.getHttp().getResponseTimeoutMs()));
+        return builder.requestFactory(requestFactory).build();
     }
 }
@@ -3,6 +3,7 @@ package com.movieDekho.MovieDekho.config.securityConfig;
 import com.movieDekho.MovieDekho.config.jwtUtils.JwtAuthFilter;
 import com.movieDekho.MovieDekho.service.userService.UserDetailsServiceImpl;
 
+import jakarta.servlet.DispatcherType;
 import lombok.AllArgsConstructor;
 
 import org.springframework.context.annotation.Bean;
@@ -52,6 +53,8 @@ public class WebSecurityConfig {
                 .csrf(AbstractHttpConfigurer::disable)
                 .authorizeHttpRequests(
                         auth -> auth
+                                // Async dispatches (CompletableFuture/SSE responses) resume a request that was already authorized
+                                .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                                 .requestMatchers("/api/auth/**").permitAll()
 
                                 // Swagger UI endpoints
@@ -77,6 +80,8 @@ public class WebSecurityConfig {
                                 .requestMatchers("/movies/recent").permitAll()
                                 .requestMatchers("/movies/{id}").permitAll()
                                 .requestMatchers("/movies/search").permitAll()
+                                .requestMatchers("/movies/search/ranked").permitAll()
+                                .requestMatchers("/movies/autocomplete").permitAll()
                                 .requestMatchers("/movies/filter/**").permitAll()
 
                                 // Public movie slot endpoints
@@ -5,6 +5,9 @@ import com.movieDekho.MovieDekho.dtos.user.UserResponseDTO;
 import com.movieDekho.MovieDekho.models.User;
 import com.movieDekho.MovieDekho.repository.UserRepository;
 import com.movieDekho.MovieDekho.repository.BookingRepository;
+import com.movieDekho.MovieDekho.service.assistantService.AssistantResponseCache;
+import com.movieDekho.MovieDekho.service.recommendationService.RecommendationEngine;
+import com.movieDekho.MovieDekho.service.userService.UserDetailsServiceImpl;
 import com.movieDekho.MovieDekho.util.UserMapper;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -43,6 +46,9 @@ public class AdminController {
         private final BookingRepository bookingRepository;
         private final PasswordEncoder passwordEncoder;
         private final JwtUtils jwtUtils;
+        private final UserDetailsServiceImpl userDetailsService;
+        private final AssistantResponseCache assistantResponseCache;
+        private final RecommendationEngine recommendationEngine;
 
         @GetMapping("/profile")
         @Operation(summary = "Get admin profile", description = "Retrieves the current authenticated admin's profile information including personal details and account settings.", security = @SecurityRequirement(name = "JWT Authentication"))
@@ -116,6 +122,7 @@ public class AdminController {
 
                                 admin.setPassword(passwordEncoder.encode(request.getNewPassword()));
                                 userRepository.save(admin);
+                                userDetailsService.evictUser(admin);
 
                                 return ResponseEntity.ok("Password changed successfully");
                         } else {
@@ -178,6 +185,33 @@ public class AdminController {
                 }
         }
 
+        @GetMapping("/cache/user-details")
+        @Operation(summary = "Get user details cache statistics", description = "Returns size, hit, miss and eviction counts of the cache in front of database-backed principal loading.", security = @SecurityRequirement(name = "JWT Authentication"))
+        @ApiResponses(value = {
+                        @ApiResponse(responseCode = "200", description = "Cache statistics retrieved successfully", content = @Content(mediaType = "application/json", examples = @ExampleObject(value = "{\"size\": 42, \"hitCount\": 1200, \"missCount\": 42, \"hitRate\": 0.966, \"evictionCount\": 0}")))
+        })
+        public ResponseEntity<?> getUserDetailsCacheStats() {
+                return ResponseEntity.ok(userDetailsService.getCacheStats());
+        }
+
+        @GetMapping("/cache/assistant-responses")
+        @Operation(summary = "Get assistant response cache statistics", description = "Returns size, exact and similar hit counts, misses and invalidations of the cache in front of Gemini answer generation.", security = @SecurityRequirement(name = "JWT Authentication"))
+        @ApiResponses(value = {
+                        @ApiResponse(responseCode = "200", description = "Cache statistics retrieved successfully", content = @Content(mediaType = "application/json", examples = @ExampleObject(value = "{\"size\": 120, \"exactHitCount\": 900, \"similarHitCount\": 150, \"missCount\": 300, \"hitRate\": 0.778, \"storeCount\": 300, \"invalidationCount\": 2}")))
+        })
+        public ResponseEntity<?> getAssistantResponseCacheStats() {
+                return ResponseEntity.ok(assistantResponseCache.getCacheStats());
+        }
+
+        @GetMapping("/cache/recommendations")
+        @Operation(summary = "Get recommendation model statistics", description = "Returns the number of users, movies and co-booked movie pairs held by the resident recommendation model.", security = @SecurityRequirement(name = "JWT Authentication"))
+        @ApiResponses(value = {
+                        @ApiResponse(responseCode = "200", description = "Model statistics retrieved successfully", content = @Content(mediaType = "application/json", examples = @ExampleObject(value = "{\"loaded\": true, \"users\": 850, \"movies\": 120, \"coBookedPairs\": 2400}")))
+        })
+        public ResponseEntity<?> getRecommendationStats() {
+                return ResponseEntity.ok(recommendationEngine.getStats());
+        }
+
         @GetMapping("/users")
         @Operation(summary = "Get all users (Admin only)", description = "Retrieves a paginated list of all users in the system. Only accessible by admins.", security = @SecurityRequirement(name = "JWT Authentication"))
         @ApiResponses(value = {
@@ -1,12 +1,23 @@
 package com.movieDekho.MovieDekho.controller;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import com.movieDekho.MovieDekho.config.userImplementation.UserDetailsImplement;
 import com.movieDekho.MovieDekho.dtos.assistant.AssistantQueryRequest;
 import com.movieDekho.MovieDekho.dtos.assistant.AssistantQueryResponse;
 import com.movieDekho.MovieDekho.service.assistantService.CineBookAssistantService;
@@ -57,74 +68,158 @@ public class AssistantController {
             description = "Submit a query for movie discovery, booking help, or policy information. " +
                     "Assistant uses RAG to combine vector-retrieved context with CineBook database."
     )
-    public ResponseEntity<AssistantQueryResponse> queryAssistant(
-            @RequestBody AssistantQueryRequest request) {
-        
+    public CompletableFuture<ResponseEntity<AssistantQueryResponse>> queryAssistant(
+            @RequestBody AssistantQueryRequest request,
+            @AuthenticationPrincipal UserDetailsImplement principal) {
+
+        bindToPrincipal(request, principal);
         log.info("Received {} query from user {}: {}",
                 request.getQueryType(), request.getUserId(), request.getQuery());
 
         // Validate input
         if (request.getQuery() == null || request.getQuery().trim().isEmpty()) {
             log.warn("Query is empty");
-            return ResponseEntity.badRequest().body(
-                    AssistantQueryResponse.builder()
-                            .answer("Please provide a valid query.")
-                            .wellGrounded(false)
-                            .confidenceScore(0.0)
-                            .groundingWarning("Invalid input: empty query")
-                            .build()
-            );
+            return CompletableFuture.completedFuture(ResponseEntity.badRequest().body(emptyQueryResponse()));
         }
 
-        try {
-            AssistantQueryResponse response = assistantService.processQuery(request);
-            
-            // Determine appropriate HTTP status based on grounding quality
-            HttpStatus status;
-            if (response.isWellGrounded() || !assistantConfig.isStrictGrounding()) {
-                status = HttpStatus.OK;
-            } else if (response.getConfidenceScore() >= 0.5) {
-                status = HttpStatus.PARTIAL_CONTENT; // 206: Incomplete but acceptable
+        // The servlet thread is released here; the response is written when the query completes
+        return assistantService.processQueryAsync(request)
+                .handle((response, error) -> error == null ? toResponseEntity(response) : toErrorEntity(error));
+    }
+
+    /**
+     * Stream the assistant's answer as Server-Sent Events.
+     * 
+     * Emits "token" events ({"text": "..."}) while the answer is generated, then one "result" event
+     * with the full response in the same shape as /query. The result answer is authoritative: it may
+     * replace the streamed text when grounding validation falls back to database records.
+     */
+    @PostMapping(value = "/query/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(
+            summary = "Stream a CineBook AI Assistant answer",
+            description = "Same as /query, but streams the answer over Server-Sent Events as it is generated. " +
+                    "Ends with a 'result' event carrying the complete grounded response."
+    )
+    public SseEmitter streamAssistant(@RequestBody AssistantQueryRequest request,
+            @AuthenticationPrincipal UserDetailsImplement principal) {
+        bindToPrincipal(request, principal);
+        log.info("Received streaming {} query from user {}: {}",
+                request.getQueryType(), request.getUserId(), request.getQuery());
+
+        SseEmitter emitter = new SseEmitter(assistantConfig.getStreamTimeoutMs());
+
+        if (request.getQuery() == null || request.getQuery().trim().isEmpty()) {
+            log.warn("Query is empty");
+            sendResult(emitter, emptyQueryResponse());
+            return emitter;
+        }
+
+        CompletableFuture<AssistantQueryResponse> query = assistantService.streamQuery(request,
+                chunk -> sendEvent(emitter, "token", Map.of("text", chunk)));
+        query.whenComplete((response, error) -> {
+            if (error instanceof CancellationException) {
+                log.debug("Assistant stream cancelled: the emitter timed out or the client went away");
+            } else if (error != null) {
+                log.error("Unexpected error streaming assistant query", error);
+                emitter.completeWithError(error);
             } else {
-                status = HttpStatus.INSUFFICIENT_STORAGE; // 507: Insufficient data
+                sendResult(emitter, response);
             }
-            
-            log.info("Assistant response: wellGrounded={}, confidence={}, sources={}",
-                    response.isWellGrounded(),
-                    response.getConfidenceScore(),
-                    response.getSources() != null ? response.getSources().size() : 0);
-            
-            return new ResponseEntity<>(response, status);
-
-        } catch (IllegalArgumentException e) {
-            log.warn("Invalid query request: {}", e.getMessage());
+        });
+        // Stop generating once nobody can receive the answer; a no-op after a normal finish
+        emitter.onTimeout(() -> query.cancel(true));
+        emitter.onError(error -> query.cancel(true));
+        emitter.onCompletion(() -> query.cancel(true));
+        return emitter;
+    }
+
+    /**
+     * Personalized retrieval reads the user's own bookings, so the user is always the caller;
+     * a userId sent in the body is ignored.
+     */
+    private static void bindToPrincipal(AssistantQueryRequest request, UserDetailsImplement principal) {
+        request.setUserId(principal != null ? principal.getId() : null);
+    }
+
+    /**
+     * Health check endpoint for assistant service.
+     */
+    @PostMapping("/health")
+    @Operation(summary = "Check assistant service health")
+    public ResponseEntity<String> health() {
+        return ResponseEntity.ok("CineBook Assistant service is running.");
+    }
+
+    private ResponseEntity<AssistantQueryResponse> toResponseEntity(AssistantQueryResponse response) {
+        // Determine appropriate HTTP status based on grounding quality
+        HttpStatus status;
+        if (response.isWellGrounded() || !assistantConfig.isStrictGrounding()) {
+            status = HttpStatus.OK;
+        } else if (response.getConfidenceScore() >= 0.5) {
+            status = HttpStatus.PARTIAL_CONTENT; // 206: Incomplete but acceptable
+        } else {
+            status = HttpStatus.INSUFFICIENT_STORAGE; // 507: Insufficient data
+        }
+
+        log.info("Assistant response: wellGrounded={}, confidence={}, sources={}",
+                response.isWellGrounded(),
+                response.getConfidenceScore(),
+                response.getSources() != null ? response.getSources().size() : 0);
+
+        return new ResponseEntity<>(response, status);
+    }
+
+    private ResponseEntity<AssistantQueryResponse> toErrorEntity(Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        if (cause instanceof IllegalArgumentException) {
+            log.warn("Invalid query request: {}", cause.getMessage());
             return ResponseEntity.badRequest().body(
                     AssistantQueryResponse.builder()
                             .answer("Invalid query format. Please check your request.")
                             .wellGrounded(false)
-                            .groundingWarning(e.getMessage())
-                            .confidenceScore(0.0)
-                            .build()
-            );
-        } catch (Exception e) {
-            log.error("Unexpected error processing assistant query", e);
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(
-                    AssistantQueryResponse.builder()
-                            .answer("An error occurred processing your query. Our team has been notified.")
-                            .wellGrounded(false)
-                            .groundingWarning("System error: " + e.getMessage())
+                            .groundingWarning(cause.getMessage())
                             .confidenceScore(0.0)
                             .build()
             );
         }
+        log.error("Unexpected error processing assistant query", cause);
+        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(
+                AssistantQueryResponse.builder()
+                        .answer("An error occurred processing your query. Our team has been notified.")
+                        .wellGrounded(false)
+                        .groundingWarning("System error: " + cause.getMessage())
+                        .confidenceScore(0.0)
+                        .build()
+        );
+    }
+
+    private AssistantQueryResponse emptyQueryResponse() {
+        return AssistantQueryResponse.builder()
+                .answer("Please provide a valid query.")
+                .wellGrounded(false)
+                .confidenceScore(0.0)
+                .groundingWarning("Invalid input: empty query")
+                .build();
+    }
+
+    private void sendResult(SseEmitter emitter, AssistantQueryResponse response) {
+        try {
+            emitter.send(SseEmitter.event().name("result").data(response, MediaType.APPLICATION_JSON));
+            emitter.complete();
+        } catch (IOException e) {
+            log.debug("Client went away before the assistant result was sent: {}", e.getMessage());
+            emitter.completeWithError(e);
+        }
     }
 
     /**
-     * Health check endpoint for assistant service.
+     * A failed send means the client disconnected; throwing stops the upstream Gemini stream
      */
-    @PostMapping("/health")
-    @Operation(summary = "Check assistant service health")
-    public ResponseEntity<String> health() {
-        return ResponseEntity.ok("CineBook Assistant service is running.");
+    private void sendEvent(SseEmitter emitter, String name, Object data) {
+        try {
+            emitter.send(SseEmitter.event().name(name).data(data, MediaType.APPLICATION_JSON));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
     }
 }
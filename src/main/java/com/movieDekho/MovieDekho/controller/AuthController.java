@@ -3,6 +3,7 @@ package com.movieDekho.MovieDekho.controller;
 import com.movieDekho.MovieDekho.config.jwtUtils.JwtAuthenticationResponse;
 import com.movieDekho.MovieDekho.config.jwtUtils.JwtUtils;
 import com.movieDekho.MovieDekho.dtos.user.*;
+import com.movieDekho.MovieDekho.exception.OtpRateLimitException;
 import com.movieDekho.MovieDekho.exception.UserDetailsAlreadyExist;
 import com.movieDekho.MovieDekho.models.User;
 import com.movieDekho.MovieDekho.repository.UserRepository;
@@ -19,11 +20,13 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.AllArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import org.springframework.dao.InvalidDataAccessApiUsageException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
@@ -243,10 +246,12 @@ public class AuthController {
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "OTP sent successfully to email", content = @Content(mediaType = "application/json", examples = @ExampleObject(value = "{\"message\": \"OTP sent successfully\"}"))),
             @ApiResponse(responseCode = "404", description = "User not found with provided email/phone", content = @Content(mediaType = "application/json", examples = @ExampleObject(value = "{\"error\": \"User not found\"}"))),
-            @ApiResponse(responseCode = "400", description = "Neither email nor phone number provided", content = @Content(mediaType = "application/json", examples = @ExampleObject(value = "{\"error\": \"Must provide email or phone number\"}")))
+            @ApiResponse(responseCode = "400", description = "Neither email nor phone number provided", content = @Content(mediaType = "application/json", examples = @ExampleObject(value = "{\"error\": \"Must provide email or phone number\"}"))),
+            @ApiResponse(responseCode = "429", description = "Too many OTP requests or attempts; see Retry-After", content = @Content(mediaType = "application/json", examples = @ExampleObject(value = "{\"error\": \"Too many OTP requests for this account\"}")))
     })
     public ResponseEntity<?> initiateLogin(
-            @Parameter(description = "Email or phone number for OTP login", required = true) @RequestBody LoginInitiationDto request) {
+            @Parameter(description = "Email or phone number for OTP login", required = true) @RequestBody LoginInitiationDto request,
+            HttpServletRequest httpRequest) {
         try {
             String targetEmail;
             if (request.hasPhoneNumber()) {
@@ -261,12 +266,14 @@ public class AuthController {
                 return ResponseEntity.status(HttpStatus.NOT_FOUND).body(Map.of("error", "User not found"));
             }
 
-            String otp = otpService.generateLoginOtp(targetEmail);
+            String otp = otpService.generateLoginOtp(targetEmail, httpRequest.getRemoteAddr());
             emailService.sendOtpEmail(targetEmail, otp);
 
             return ResponseEntity.ok(Map.of("message", "OTP sent successfully"));
         } catch (UsernameNotFoundException e) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body(Map.of("error", "User not found"));
+        } catch (OtpRateLimitException e) {
+            return tooManyOtpRequests(e);
         }
     }
 
@@ -286,10 +293,12 @@ public class AuthController {
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Password reset OTP sent successfully", content = @Content(mediaType = "application/json", examples = @ExampleObject(value = "{\"message\": \"Password reset OTP sent successfully\"}"))),
             @ApiResponse(responseCode = "404", description = "User not found with provided email/phone", content = @Content(mediaType = "application/json", examples = @ExampleObject(value = "{\"error\": \"User not found\"}"))),
-            @ApiResponse(responseCode = "400", description = "Neither email nor phone number provided", content = @Content(mediaType = "application/json", examples = @ExampleObject(value = "{\"error\": \"Must provide email or phone number\"}")))
+            @ApiResponse(responseCode = "400", description = "Neither email nor phone number provided", content = @Content(mediaType = "application/json", examples = @ExampleObject(value = "{\"error\": \"Must provide email or phone number\"}"))),
+            @ApiResponse(responseCode = "429", description = "Too many OTP requests or attempts; see Retry-After", content = @Content(mediaType = "application/json", examples = @ExampleObject(value = "{\"error\": \"Too many OTP requests for this account\"}")))
     })
     public ResponseEntity<?> forgotPassword(
-            @Parameter(description = "Email or phone number for password reset", required = true) @RequestBody LoginInitiationDto request) {
+            @Parameter(description = "Email or phone number for password reset", required = true) @RequestBody LoginInitiationDto request,
+            HttpServletRequest httpRequest) {
         try {
             String targetEmail;
 
@@ -305,12 +314,14 @@ public class AuthController {
                 return ResponseEntity.status(HttpStatus.NOT_FOUND).body(Map.of("error", "User not found"));
             }
 
-            String otp = otpService.generatePasswordResetOtp(targetEmail);
+            String otp = otpService.generatePasswordResetOtp(targetEmail, httpRequest.getRemoteAddr());
             resilientEmailService.sendPasswordResetEmail(targetEmail, otp);
 
             return ResponseEntity.ok(Map.of("message", "Password reset OTP sent successfully"));
         } catch (UsernameNotFoundException e) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body(Map.of("error", "User not found"));
+        } catch (OtpRateLimitException e) {
+            return tooManyOtpRequests(e);
         }
     }
 
@@ -341,10 +352,12 @@ public class AuthController {
                     """))),
             @ApiResponse(responseCode = "401", description = "Invalid or expired OTP", content = @Content(mediaType = "application/json", examples = @ExampleObject(value = "{\"error\": \"Invalid OTP\"}"))),
             @ApiResponse(responseCode = "404", description = "User not found", content = @Content(mediaType = "application/json", examples = @ExampleObject(value = "{\"error\": \"User not found\"}"))),
-            @ApiResponse(responseCode = "400", description = "Missing email/phone or OTP", content = @Content(mediaType = "application/json", examples = @ExampleObject(value = "{\"error\": \"Must provide email or phone number\"}")))
+            @ApiResponse(responseCode = "400", description = "Missing email/phone or OTP", content = @Content(mediaType = "application/json", examples = @ExampleObject(value = "{\"error\": \"Must provide email or phone number\"}"))),
+            @ApiResponse(responseCode = "429", description = "Too many OTP requests or attempts; see Retry-After", content = @Content(mediaType = "application/json", examples = @ExampleObject(value = "{\"error\": \"Too many OTP requests for this account\"}")))
     })
     public ResponseEntity<?> verifyOtp(
-            @Parameter(description = "OTP verification details", required = true) @RequestBody OtpVerificationDto request) {
+            @Parameter(description = "OTP verification details", required = true) @RequestBody OtpVerificationDto request,
+            HttpServletRequest httpRequest) {
         try {
             String targetEmail;
 
@@ -356,7 +369,7 @@ public class AuthController {
                 return ResponseEntity.badRequest().body(Map.of("error", "Must provide email or phone number"));
             }
 
-            if (!otpService.validateLoginOtp(targetEmail, request.getOtp())) {
+            if (!otpService.validateLoginOtp(targetEmail, request.getOtp(), httpRequest.getRemoteAddr())) {
                 return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(Map.of("error", "Invalid OTP"));
             }
 
@@ -364,6 +377,8 @@ public class AuthController {
             return ResponseEntity.ok(response);
         } catch (UsernameNotFoundException e) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body(Map.of("error", "User not found"));
+        } catch (OtpRateLimitException e) {
+            return tooManyOtpRequests(e);
         }
     }
 
@@ -388,10 +403,12 @@ public class AuthController {
             @ApiResponse(responseCode = "200", description = "Password reset successfully", content = @Content(mediaType = "application/json", examples = @ExampleObject(value = "{\"message\": \"Password reset successfully\"}"))),
             @ApiResponse(responseCode = "401", description = "Invalid or expired OTP", content = @Content(mediaType = "application/json", examples = @ExampleObject(value = "{\"error\": \"Invalid OTP\"}"))),
             @ApiResponse(responseCode = "404", description = "User not found", content = @Content(mediaType = "application/json", examples = @ExampleObject(value = "{\"error\": \"User not found\"}"))),
-            @ApiResponse(responseCode = "400", description = "Invalid password format or missing required fields", content = @Content(mediaType = "application/json", examples = @ExampleObject(value = "{\"error\": \"Invalid password format\"}")))
+            @ApiResponse(responseCode = "400", description = "Invalid password format or missing required fields", content = @Content(mediaType = "application/json", examples = @ExampleObject(value = "{\"error\": \"Invalid password format\"}"))),
+            @ApiResponse(responseCode = "429", description = "Too many OTP requests or attempts; see Retry-After", content = @Content(mediaType = "application/json", examples = @ExampleObject(value = "{\"error\": \"Too many OTP requests for this account\"}")))
     })
     public ResponseEntity<?> resetPassword(
-            @Parameter(description = "Password reset information including OTP and new password", required = true) @RequestBody PasswordResetDto request) {
+            @Parameter(description = "Password reset information including OTP and new password", required = true) @RequestBody PasswordResetDto request,
+            HttpServletRequest httpRequest) {
         try {
             String targetEmail;
 
@@ -403,7 +420,7 @@ public class AuthController {
                 return ResponseEntity.badRequest().body(Map.of("error", "Must provide email or phone number"));
             }
 
-            if (!otpService.validatePasswordResetOtp(targetEmail, request.getOtp())) {
+            if (!otpService.validatePasswordResetOtp(targetEmail, request.getOtp(), httpRequest.getRemoteAddr())) {
                 return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(Map.of("error", "Invalid OTP"));
             }
 
@@ -414,6 +431,8 @@ public class AuthController {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body(Map.of("error", "User not found"));
         } catch (InvalidDataAccessApiUsageException e) {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(Map.of("error", "Invalid password format"));
+        } catch (OtpRateLimitException e) {
+            return tooManyOtpRequests(e);
         }
     }
 
@@ -437,4 +456,10 @@ public class AuthController {
         }
         return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(Map.of("error", "Invalid credentials"));
     }
+
+    private ResponseEntity<?> tooManyOtpRequests(OtpRateLimitException e) {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                .body(Map.of("error", e.getMessage()));
+    }
 }
@@ -2,6 +2,7 @@ package com.movieDekho.MovieDekho.controller;
 
 import com.movieDekho.MovieDekho.dtos.movie.MovieCreateRequest;
 import com.movieDekho.MovieDekho.dtos.movie.MovieResponseDTO;
+import com.movieDekho.MovieDekho.dtos.movie.MovieSuggestionDTO;
 import com.movieDekho.MovieDekho.dtos.movie.MovieUpdateRequest;
 import com.movieDekho.MovieDekho.dtos.user.UserResponseDTO;
 import com.movieDekho.MovieDekho.exception.ResourceNotFoundException;
@@ -18,11 +19,13 @@ import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import org.springframework.data.domain.Page;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.Arrays;
 import java.util.List;
 
 @RequestMapping("/movies")
@@ -54,9 +57,11 @@ public class MovieController {
                     content = @Content(mediaType = "application/json", examples = @ExampleObject(value = "null"))
             )
     })
-    public ResponseEntity<List<MovieResponseDTO>> getRecentMovies() {
+    public ResponseEntity<List<MovieResponseDTO>> getRecentMovies(
+            @Parameter(description = "Set to 'slots' to embed each movie's show slots", example = "slots")
+            @RequestParam(required = false) String include) {
         try {
-            List<MovieResponseDTO> movies = movieService.getRecentMovies();
+            List<MovieResponseDTO> movies = movieService.getRecentMovies(includesSlots(include));
             return ResponseEntity.ok(movies);
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(null);
@@ -117,15 +122,77 @@ public class MovieController {
     })
     public ResponseEntity<List<MovieResponseDTO>> searchMovies(
             @Parameter(description = "Search query for movie title or description", required = true, example = "Avengers")
-            @RequestParam String query) {
+            @RequestParam String query,
+            @Parameter(description = "Set to 'slots' to embed each movie's show slots", example = "slots")
+            @RequestParam(required = false) String include) {
         try {
-            List<MovieResponseDTO> movies = movieService.searchMovies(query);
+            List<MovieResponseDTO> movies = movieService.searchMovies(query, includesSlots(include));
             return ResponseEntity.ok(movies);
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(null);
         }
     }
 
+    @GetMapping("/search/ranked")
+    @Operation(
+            summary = "Relevance-ranked movie search",
+            description = "Full-text search over title, genre, language and description, ranked by BM25 relevance with title matches weighted highest."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Movies ranked by relevance, best match first",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = MovieResponseDTO.class))
+            ),
+            @ApiResponse(
+                    responseCode = "500",
+                    description = "Internal server error during search",
+                    content = @Content(mediaType = "application/json", examples = @ExampleObject(value = "null"))
+            )
+    })
+    public ResponseEntity<List<MovieResponseDTO>> searchMoviesRanked(
+            @Parameter(description = "Free-text search query", required = true, example = "action hindi")
+            @RequestParam String query,
+            @Parameter(description = "Maximum number of results (1-100)", example = "20")
+            @RequestParam(defaultValue = "20") int limit) {
+        try {
+            List<MovieResponseDTO> movies = movieService.searchMoviesRanked(query, Math.max(1, Math.min(limit, 100)));
+            return ResponseEntity.ok(movies);
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(null);
+        }
+    }
+
+    @GetMapping("/autocomplete")
+    @Operation(
+            summary = "Movie title typeahead",
+            description = "Suggests movies whose title has a word starting with the last typed word and contains all earlier words."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Title suggestions",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = MovieSuggestionDTO.class))
+            ),
+            @ApiResponse(
+                    responseCode = "500",
+                    description = "Internal server error while building suggestions",
+                    content = @Content(mediaType = "application/json", examples = @ExampleObject(value = "null"))
+            )
+    })
+    public ResponseEntity<List<MovieSuggestionDTO>> autocomplete(
+            @Parameter(description = "Partially typed title", required = true, example = "aven")
+            @RequestParam String prefix,
+            @Parameter(description = "Maximum number of suggestions (1-50)", example = "10")
+            @RequestParam(defaultValue = "10") int limit) {
+        try {
+            List<MovieSuggestionDTO> suggestions = movieService.suggestMovies(prefix, Math.max(1, Math.min(limit, 50)));
+            return ResponseEntity.ok(suggestions);
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(null);
+        }
+    }
+
     @GetMapping("/filter/{filterType}/{title}/{sortBy}")
     @Operation(
             summary = "Filter and sort movies",
@@ -149,15 +216,64 @@ public class MovieController {
             @Parameter(description = "Title or value to filter by", required = true, example = "Action")
             @PathVariable String title,
             @Parameter(description = "Sorting criteria", required = true, example = "releaseDate")
-            @PathVariable String sortBy) {
+            @PathVariable String sortBy,
+            @Parameter(description = "Set to 'slots' to embed each movie's show slots", example = "slots")
+            @RequestParam(required = false) String include) {
         try {
-            List<MovieResponseDTO> movies = movieService.filterMovies(filterType, title, sortBy);
+            List<MovieResponseDTO> movies = movieService.filterMovies(filterType, title, sortBy, includesSlots(include));
             return ResponseEntity.ok(movies);
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(null);
         }
     }
 
+    @GetMapping("/filter")
+    @Operation(
+            summary = "Filter, sort and page movies",
+            description = "Pageable movie filter. Filtering, sorting and paging run in the database, so cost follows the page size. " +
+                    "Sort keys are stable: ties are broken by movie ID."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Page of filtered and sorted movies retrieved successfully",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = MoviePageResponse.class))
+            ),
+            @ApiResponse(
+                    responseCode = "500",
+                    description = "Internal server error during filtering",
+                    content = @Content(mediaType = "application/json", examples = @ExampleObject(value = "null"))
+            )
+    })
+    public ResponseEntity<MoviePageResponse> filterMoviesPage(
+            @Parameter(description = "'recent' for movies released in the last year, anything else for all movies", example = "recent")
+            @RequestParam(required = false) String filterType,
+            @Parameter(description = "Case-insensitive title substring", example = "Avengers")
+            @RequestParam(required = false) String title,
+            @Parameter(description = "'title' or 'release_date'; defaults to movie ID", example = "release_date")
+            @RequestParam(required = false) String sortBy,
+            @Parameter(description = "Page number (0-based)", example = "0")
+            @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "Number of movies per page (1-100)", example = "20")
+            @RequestParam(defaultValue = "20") int size,
+            @Parameter(description = "Set to 'slots' to embed each movie's show slots", example = "slots")
+            @RequestParam(required = false) String include) {
+        try {
+            Page<MovieResponseDTO> moviePage = movieService.filterMovies(filterType, title, sortBy,
+                    Math.max(0, page), Math.max(1, Math.min(size, 100)), includesSlots(include));
+
+            MoviePageResponse response = new MoviePageResponse();
+            response.setMovies(moviePage.getContent());
+            response.setTotalElements(moviePage.getTotalElements());
+            response.setTotalPages(moviePage.getTotalPages());
+            response.setCurrentPage(moviePage.getNumber());
+            response.setPageSize(moviePage.getSize());
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(null);
+        }
+    }
+
     // ============ ADMIN MOVIE ENDPOINTS ============
 
     @PostMapping("/admin/create")
@@ -354,9 +470,11 @@ public class MovieController {
             @Parameter(description = "Page number for pagination", example = "0")
             @RequestParam(defaultValue = "0") int page,
             @Parameter(description = "Number of items per page", example = "10")
-            @RequestParam(defaultValue = "10") int size) {
+            @RequestParam(defaultValue = "10") int size,
+            @Parameter(description = "Set to 'slots' to embed each movie's show slots", example = "slots")
+            @RequestParam(required = false) String include) {
         try {
-            List<MovieResponseDTO> movies = movieService.getAllMovies();
+            List<MovieResponseDTO> movies = movieService.getAllMovies(includesSlots(include));
             return ResponseEntity.ok(movies);
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -402,6 +520,10 @@ public class MovieController {
         }
     }
 
+    private boolean includesSlots(String include) {
+        return include != null && Arrays.asList(include.toLowerCase().split(",")).contains("slots");
+    }
+
     @Data
     @Schema(description = "Admin dashboard statistics containing key metrics")
     public static class AdminDashboardStats {
@@ -433,4 +555,23 @@ public class MovieController {
         @Schema(description = "Current page number (zero-based)", example = "0")
         private int currentPage;
     }
-}
\ No newline at end of file
+
+    @Data
+    @Schema(description = "Paginated response containing a page of movies and pagination metadata")
+    public static class MoviePageResponse {
+        @Schema(description = "Movies in the current page")
+        private List<MovieResponseDTO> movies;
+
+        @Schema(description = "Total number of matching movies across all pages", example = "450")
+        private long totalElements;
+
+        @Schema(description = "Total number of pages available", example = "23")
+        private int totalPages;
+
+        @Schema(description = "Current page number (zero-based)", example = "0")
+        private int currentPage;
+
+        @Schema(description = "Page size used for this response", example = "20")
+        private int pageSize;
+    }
+}
@@ -14,12 +14,18 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import com.movieDekho.MovieDekho.util.ExportFormat;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.AllArgsConstructor;
+import lombok.Data;
+import org.springframework.data.domain.Page;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
 import java.time.LocalDate;
 import java.util.List;
 
@@ -105,6 +111,62 @@ public class MovieSlotController {
         }
     }
     
+    @GetMapping("/admin/page")
+    @Operation(
+        summary = "List slots page by page (Admin only)",
+        description = "Paginated slot listing ordered by show date and start time. Filter by movie, show date range (inclusive) and theater name.",
+        security = @SecurityRequirement(name = "JWT Authentication")
+    )
+    public ResponseEntity<SlotPageResponse> getSlotsPage(
+        @RequestParam(required = false) Long movieId,
+        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+        @RequestParam(required = false) String theaterName,
+        @RequestParam(defaultValue = "0") int page,
+        @RequestParam(defaultValue = "50") int size) {
+        try {
+            Page<MovieSlotResponseDTO> slotPage = movieSlotService.getSlotsPage(movieId, startDate, endDate, theaterName,
+                    Math.max(0, page), Math.max(1, Math.min(size, 200)));
+
+            SlotPageResponse response = new SlotPageResponse();
+            response.setSlots(slotPage.getContent());
+            response.setTotalElements(slotPage.getTotalElements());
+            response.setTotalPages(slotPage.getTotalPages());
+            response.setCurrentPage(slotPage.getNumber());
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(null);
+        }
+    }
+
+    @GetMapping("/admin/export")
+    @Operation(
+        summary = "Export slots (Admin only)",
+        description = "Streams every matching slot as CSV (default) or NDJSON. Takes the same filters as /admin/page.",
+        security = @SecurityRequirement(name = "JWT Authentication")
+    )
+    public void exportSlots(
+        @RequestParam(required = false) Long movieId,
+        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+        @RequestParam(required = false) String theaterName,
+        @RequestParam(defaultValue = "csv") String format,
+        HttpServletResponse response) throws IOException {
+        ExportFormat exportFormat;
+        try {
+            exportFormat = ExportFormat.from(format);
+        } catch (IllegalArgumentException e) {
+            response.sendError(HttpStatus.BAD_REQUEST.value(), e.getMessage());
+            return;
+        }
+
+        response.setContentType(exportFormat.getMediaType().toString());
+        response.setCharacterEncoding("UTF-8");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=\"slots." + exportFormat.getFileExtension() + "\"");
+        movieSlotService.exportSlots(movieId, startDate, endDate, theaterName, exportFormat, response.getOutputStream());
+    }
+
     @PutMapping("/admin/{slotId}")
     public ResponseEntity<?> updateMovieSlot(@PathVariable Long slotId, @RequestBody MovieSlotUpdateRequest request) {
         try {
@@ -212,4 +274,20 @@ public class MovieSlotController {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(null);
         }
     }
-}
\ No newline at end of file
+
+    @Data
+    @Schema(description = "Paginated response containing slots and pagination metadata")
+    public static class SlotPageResponse {
+        @Schema(description = "Slots in the current page")
+        private List<MovieSlotResponseDTO> slots;
+
+        @Schema(description = "Total number of matching slots across all pages", example = "1200")
+        private long totalElements;
+
+        @Schema(description = "Total number of pages available", example = "24")
+        private int totalPages;
+
+        @Schema(description = "Current page number (zero-based)", example = "0")
+        private int currentPage;
+    }
+}
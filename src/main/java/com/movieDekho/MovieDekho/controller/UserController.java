@@ -1,12 +1,16 @@
 package com.movieDekho.MovieDekho.controller;
 
 import com.movieDekho.MovieDekho.config.jwtUtils.JwtUtils;
+import com.movieDekho.MovieDekho.config.jwtUtils.TokenRevocationRegistry;
 import com.movieDekho.MovieDekho.dtos.movie.MovieResponseDTO;
 import com.movieDekho.MovieDekho.dtos.user.UserResponseDTO;
 import com.movieDekho.MovieDekho.models.User;
 import com.movieDekho.MovieDekho.repository.UserRepository;
 import com.movieDekho.MovieDekho.repository.BookingRepository;
+import com.movieDekho.MovieDekho.service.movieService.MovieCatalogCache;
+import com.movieDekho.MovieDekho.service.recommendationService.RecommendationEngine;
 import com.movieDekho.MovieDekho.service.userService.FavoritesService;
+import com.movieDekho.MovieDekho.service.userService.UserDetailsServiceImpl;
 import com.movieDekho.MovieDekho.util.UserMapper;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -40,6 +44,10 @@ public class UserController {
     private final PasswordEncoder passwordEncoder;
     private final JwtUtils jwtUtils;
     private final FavoritesService favoritesService;
+    private final TokenRevocationRegistry tokenRevocationRegistry;
+    private final UserDetailsServiceImpl userDetailsService;
+    private final RecommendationEngine recommendationEngine;
+    private final MovieCatalogCache movieCatalogCache;
 
     @GetMapping("/profile")
     @Operation(summary = "Get user profile", description = "Retrieves the current authenticated user's profile information including personal details and account settings.", security = @SecurityRequirement(name = "JWT Authentication"))
@@ -99,6 +107,7 @@ public class UserController {
                 }
 
                 userRepository.save(user);
+                userDetailsService.evictUser(user);
                 return ResponseEntity.ok("Profile updated successfully");
             } else {
                 return ResponseEntity.status(HttpStatus.NOT_FOUND).body("User not found");
@@ -142,6 +151,7 @@ public class UserController {
 
                 user.setPassword(passwordEncoder.encode(request.getNewPassword()));
                 userRepository.save(user);
+                userDetailsService.evictUser(user);
 
                 return ResponseEntity.ok("Password changed successfully");
             } else {
@@ -172,6 +182,35 @@ public class UserController {
         }
     }
 
+    @GetMapping("/recommendations")
+    @Operation(summary = "Get recommended movies", description = "Recommends movies the authenticated user has not booked or favorited, ranked by how often they are booked together with the user's movies and by the user's genre and language preferences. Users without history get the most co-booked movies.", security = @SecurityRequirement(name = "JWT Authentication"))
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Recommendations retrieved successfully, best first", content = @Content(mediaType = "application/json", schema = @Schema(implementation = MovieResponseDTO.class, type = "array"))),
+            @ApiResponse(responseCode = "404", description = "User not found", content = @Content(mediaType = "application/json", examples = @ExampleObject(value = "\"User not found\""))),
+            @ApiResponse(responseCode = "401", description = "Invalid or missing authentication token", content = @Content(mediaType = "application/json", examples = @ExampleObject(value = "\"Unauthorized\""))),
+            @ApiResponse(responseCode = "500", description = "Error fetching recommendations", content = @Content(mediaType = "application/json", examples = @ExampleObject(value = "\"Error fetching recommendations: [error details]\"")))
+    })
+    public ResponseEntity<?> getRecommendations(
+            @Parameter(description = "JWT authentication token", required = true, example = "Bearer eyJhbGciOiJIUzI1NiIsInR5cCI6IkpXVCJ9...") @RequestHeader("Authorization") String authHeader,
+            @Parameter(description = "Maximum number of movies to return (1-50)", example = "10") @RequestParam(defaultValue = "10") int limit) {
+        try {
+            String username = extractUsernameFromToken(authHeader);
+            Optional<User> userOpt = userRepository.findByEmailOrPhone(username);
+            if (userOpt.isEmpty()) {
+                return ResponseEntity.status(HttpStatus.NOT_FOUND).body("User not found");
+            }
+
+            List<Long> movieIds = recommendationEngine.recommend(userOpt.get().getId(), Math.max(1, Math.min(limit, 50)))
+                    .stream()
+                    .map(RecommendationEngine.Recommendation::movieId)
+                    .toList();
+            return ResponseEntity.ok(movieCatalogCache.getMoviesByIds(movieIds));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body("Error fetching recommendations: " + e.getMessage());
+        }
+    }
+
     @PostMapping("/favorites/{movieId}")
     @Operation(summary = "Add movie to favorites", description = "Adds a specific movie to the authenticated user's favorites list.", security = @SecurityRequirement(name = "JWT Authentication"))
     @ApiResponses(value = {
@@ -278,6 +317,8 @@ public class UserController {
 
             // Now delete the user
             userRepository.deleteById(user.getId());
+            tokenRevocationRegistry.revokeTokensFor(user.getEmail());
+            userDetailsService.evictUser(user);
 
             return ResponseEntity.ok("User and all associated data deleted successfully");
         } catch (Exception e) {
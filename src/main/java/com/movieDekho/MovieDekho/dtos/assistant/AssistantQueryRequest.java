@@ -26,7 +26,8 @@ public class AssistantQueryRequest {
     private String query;
     
     /**
-     * User ID for personalized recommendations based on booking history
+     * User ID for personalized recommendations based on booking history.
+     * Set by the controller from the authenticated user; any value sent by the client is replaced.
      */
     private Long userId;
     
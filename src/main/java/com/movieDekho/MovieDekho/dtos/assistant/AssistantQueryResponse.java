@@ -77,5 +77,6 @@ public class AssistantQueryResponse {
         private int dbRecordsQueried;
         private long processingTimeMs;
         private String retrievalModel;
+        private String cacheTier; // null when generated, "exact" or "similar" when served from the response cache
     }
 }
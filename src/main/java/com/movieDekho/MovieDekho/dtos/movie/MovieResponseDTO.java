@@ -1,8 +1,10 @@
 package com.movieDekho.MovieDekho.dtos.movie;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.movieDekho.MovieDekho.models.AvailableMovie;
 import lombok.Data;
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -20,9 +22,52 @@ public class MovieResponseDTO {
     private String thumbnail;
     private LocalDate startDate;
     private LocalDate endDate;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
     private List<MovieSlotResponseDTO> slots;
+    // Set on list-shaped responses, which carry a slot count instead of the slots
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Integer slotCount;
 
     public static MovieResponseDTO fromMovie(AvailableMovie movie) {
+        MovieResponseDTO dto = fromMovieDetails(movie);
+        dto.setSlots(movie.getSlots().stream()
+                .map(MovieSlotResponseDTO::fromMovieSlot)
+                .collect(Collectors.toList()));
+        return dto;
+    }
+
+    /**
+     * List-shaped variant that never touches the lazy slots collection
+     */
+    public static MovieResponseDTO fromMovieSummary(AvailableMovie movie, int slotCount) {
+        MovieResponseDTO dto = fromMovieDetails(movie);
+        dto.setSlotCount(slotCount);
+        return dto;
+    }
+
+    /**
+     * Field-by-field copy, so a shared cached entry can be handed out and changed by the caller
+     */
+    public MovieResponseDTO copy() {
+        MovieResponseDTO dto = new MovieResponseDTO();
+        dto.setId(id);
+        dto.setTitle(title);
+        dto.setReleaseDate(releaseDate);
+        dto.setDuration(duration);
+        dto.setGenre(genre);
+        dto.setDescription(description);
+        dto.setCertification(certification);
+        dto.setTrailer(trailer);
+        dto.setLanguage(language);
+        dto.setThumbnail(thumbnail);
+        dto.setStartDate(startDate);
+        dto.setEndDate(endDate);
+        dto.setSlots(slots == null ? null : new ArrayList<>(slots));
+        dto.setSlotCount(slotCount);
+        return dto;
+    }
+
+    private static MovieResponseDTO fromMovieDetails(AvailableMovie movie) {
         MovieResponseDTO dto = new MovieResponseDTO();
         dto.setId(movie.getId());
         dto.setTitle(movie.getTitle());
@@ -36,9 +81,6 @@ public class MovieResponseDTO {
         dto.setThumbnail(movie.getThumbnail());
         dto.setStartDate(movie.getStartDate());
         dto.setEndDate(movie.getEndDate());
-        dto.setSlots(movie.getSlots().stream()
-                .map(MovieSlotResponseDTO::fromMovieSlot)
-                .collect(Collectors.toList()));
         return dto;
     }
 }
@@ -0,0 +1,22 @@
+package com.movieDekho.MovieDekho.dtos.movie;
+
+import lombok.Data;
+
+import java.time.LocalDate;
+
+@Data
+public class MovieSuggestionDTO {
+    private Long id;
+    private String title;
+    private LocalDate releaseDate;
+    private String thumbnail;
+
+    public static MovieSuggestionDTO fromMovieResponse(MovieResponseDTO movie) {
+        MovieSuggestionDTO dto = new MovieSuggestionDTO();
+        dto.setId(movie.getId());
+        dto.setTitle(movie.getTitle());
+        dto.setReleaseDate(movie.getReleaseDate());
+        dto.setThumbnail(movie.getThumbnail());
+        return dto;
+    }
+}
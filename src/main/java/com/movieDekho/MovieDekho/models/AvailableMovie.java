@@ -4,14 +4,18 @@ import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.*;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.UpdateTimestamp;
 
 import java.util.ArrayList;
 import java.util.List;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "available_movie")
+@Table(name = "available_movie", indexes = {
+        @Index(name = "idx_available_movie_release_date", columnList = "release_date")
+})
 @Data
 @NoArgsConstructor
 @JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
@@ -34,6 +38,10 @@ public class AvailableMovie {
     private String trailer;
     private String genre;
 
+    // Set on every insert and update, so the catalog cache can probe for edits without loading the table
+    @UpdateTimestamp
+    private LocalDateTime updatedAt;
+
     @OneToMany(mappedBy = "movie", fetch = FetchType.LAZY)
     private List<MovieSlot> slots = new ArrayList<>();
 
@@ -4,6 +4,7 @@ import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.*;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.BatchSize;
 import java.time.LocalDateTime;
 import java.util.List;
 
@@ -11,6 +12,12 @@ import java.util.List;
 @Data
 @NoArgsConstructor
 @JsonIgnoreProperties({ "hibernateLazyInitializer", "handler" })
+@Table(indexes = {
+        @Index(name = "idx_booking_user_email_time", columnList = "user_email, booking_time"),
+        @Index(name = "idx_booking_slot_status", columnList = "slot_id, status"),
+        @Index(name = "idx_booking_qr_code", columnList = "qr_code"),
+        @Index(name = "idx_booking_verification_token", columnList = "verification_token")
+})
 public class Booking {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -25,7 +32,9 @@ public class Booking {
     private User user;
 
     @ElementCollection
-    @CollectionTable(name = "booking_seats", joinColumns = @JoinColumn(name = "booking_id"))
+    @BatchSize(size = 100)
+    @CollectionTable(name = "booking_seats", joinColumns = @JoinColumn(name = "booking_id"),
+            indexes = @Index(name = "idx_booking_seats_booking_id", columnList = "booking_id"))
     @Column(name = "seat_number")
     private List<String> seatNumbers;
 
@@ -4,10 +4,18 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
 import java.time.LocalDateTime;
+import java.util.Map;
 
 @Entity
-@Table(name = "email_queue")
+@Table(name = "email_queue", indexes = {
+        // Daily quota count and retention deletes
+        @Index(name = "idx_email_queue_status_sent_at", columnList = "status, sent_at"),
+        @Index(name = "idx_email_queue_status_created_at", columnList = "status, created_at")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -23,8 +31,17 @@ public class EmailQueue {
     @Column(nullable = false)
     private String subject;
     
-    @Column(columnDefinition = "TEXT", nullable = false)
+    // Pre-rendered body; null for templated emails, which are rendered at send time
+    @Column(columnDefinition = "TEXT")
     private String htmlContent;
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 50)
+    private EmailTemplate template;
+
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(columnDefinition = "jsonb")
+    private Map<String, Object> templateParams;
     
     @Enumerated(EnumType.STRING)
     @Column(nullable = false)
@@ -60,6 +77,14 @@ public class EmailQueue {
 
     @Column
     private Long relatedEntityId;
+
+    // Worker that currently holds this email; set together with PROCESSING by the batch claim
+    @Column(length = 100)
+    private String claimedBy;
+
+    // Claim lease: past this time a PROCESSING email is considered abandoned and can be reclaimed
+    @Column
+    private LocalDateTime claimExpiresAt;
     
     @PrePersist
     protected void onCreate() {
@@ -80,6 +105,28 @@ public class EmailQueue {
         GENERAL
     }
     
+    /**
+     * Thymeleaf email templates under templates/email
+     */
+    public enum EmailTemplate {
+        WELCOME("email/welcome"),
+        OTP("email/otp"),
+        PASSWORD_RESET("email/password-reset"),
+        ADMIN_REGISTRATION("email/admin-registration"),
+        ADMIN_APPROVAL("email/admin-approval"),
+        BOOKING_CONFIRMATION("email/booking-confirmation");
+
+        private final String path;
+
+        EmailTemplate(String path) {
+            this.path = path;
+        }
+
+        public String getPath() {
+            return path;
+        }
+    }
+
     public enum EmailStatus {
         PENDING,
         PROCESSING,
@@ -2,6 +2,7 @@ package com.movieDekho.MovieDekho.models;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.movieDekho.MovieDekho.service.movieService.ShowtimeIndexListener;
 import jakarta.persistence.*;
 import lombok.*;
 
@@ -11,11 +12,13 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
+@Table(indexes = @Index(name = "idx_movie_slot_show_date", columnList = "show_date"))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @EqualsAndHashCode(onlyExplicitlyIncluded = true)
 @JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
+@EntityListeners(ShowtimeIndexListener.class)
 public class MovieSlot {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -9,6 +9,7 @@ import lombok.NoArgsConstructor;
 @Data
 @NoArgsConstructor
 @JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
+@Table(indexes = @Index(name = "idx_seat_slot_seat_number", columnList = "slot_id, seat_number"))
 public class Seat {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -8,7 +8,11 @@ import java.time.LocalDateTime;
 @Entity
 @Data
 @NoArgsConstructor
-@Table(name = "temporary_seat_locks")
+@Table(name = "temporary_seat_locks", indexes = {
+        @Index(name = "idx_seat_lock_slot_active_expiry", columnList = "slot_id, is_active, expires_at"),
+        @Index(name = "idx_seat_lock_seat_active_expiry", columnList = "seat_id, is_active, expires_at"),
+        @Index(name = "idx_seat_lock_session_active", columnList = "session_id, is_active")
+})
 public class TemporarySeatLock {
     
     @Id
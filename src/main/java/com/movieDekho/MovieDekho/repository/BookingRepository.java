@@ -3,18 +3,31 @@ package com.movieDekho.MovieDekho.repository;
 import com.movieDekho.MovieDekho.models.Booking;
 import com.movieDekho.MovieDekho.models.User;
 import com.movieDekho.MovieDekho.models.MovieSlot;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface BookingRepository extends JpaRepository<Booking, Long> {
 
+    // Shared admin filter; every parameter is optional. :to is exclusive.
+    String ADMIN_FILTER = "WHERE (:from IS NULL OR b.bookingTime >= :from) " +
+            "AND (:to IS NULL OR b.bookingTime < :to) " +
+            "AND (:theaterName IS NULL OR LOWER(s.theaterName) LIKE LOWER(CONCAT('%', :theaterName, '%'))) " +
+            "AND (:status IS NULL OR b.status = :status)";
+
     List<Booking> findByUser(User user);
 
     List<Booking> findByUserEmail(String userEmail);
@@ -51,8 +64,45 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
 
     Optional<Booking> findByQrCode(String qrCode);
 
+    // A user's confirmed booking history per movie as [movieId, bookingCount, lastBookedAt] rows, most recent first
+    @Query("SELECT s.movie.id, COUNT(b), MAX(b.bookingTime) FROM Booking b JOIN b.slot s " +
+            "WHERE b.user.id = :userId AND b.status = com.movieDekho.MovieDekho.models.Booking$BookingStatus.CONFIRMED " +
+            "GROUP BY s.movie.id ORDER BY MAX(b.bookingTime) DESC")
+    List<Object[]> findBookedMovieHistoryByUserId(@Param("userId") Long userId);
+
+    // Confirmed booking counts across all users as [userId, movieId, bookingCount] rows
+    @Query("SELECT b.user.id, s.movie.id, COUNT(b) FROM Booking b JOIN b.slot s " +
+            "WHERE b.user IS NOT NULL AND b.status = com.movieDekho.MovieDekho.models.Booking$BookingStatus.CONFIRMED " +
+            "GROUP BY b.user.id, s.movie.id")
+    List<Object[]> findConfirmedBookingCountsByUserAndMovie();
+
     @Query("SELECT b FROM Booking b WHERE b.isVerified = :isVerified")
     List<Booking> findByIsVerified(Boolean isVerified);
 
     Optional<Booking> findByVerificationToken(String verificationToken);
+
+    // Seat numbers for a chunk of bookings as [bookingId, seatNumber] rows
+    @Query("SELECT b.bookingId, seatNumber FROM Booking b JOIN b.seatNumbers seatNumber WHERE b.bookingId IN :bookingIds")
+    List<Object[]> findSeatNumbersByBookingIds(@Param("bookingIds") Collection<Long> bookingIds);
+
+    // Admin listing, one page at a time
+    @Query(value = "SELECT b FROM Booking b JOIN FETCH b.slot s JOIN FETCH s.movie " + ADMIN_FILTER,
+            countQuery = "SELECT COUNT(b) FROM Booking b JOIN b.slot s " + ADMIN_FILTER)
+    Page<Booking> findForAdmin(@Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to,
+            @Param("theaterName") String theaterName,
+            @Param("status") Booking.BookingStatus status,
+            Pageable pageable);
+
+    // Admin export: read through a server-side cursor; must be consumed inside a transaction
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT b FROM Booking b JOIN FETCH b.slot s JOIN FETCH s.movie " + ADMIN_FILTER +
+            " ORDER BY b.bookingTime DESC, b.bookingId DESC")
+    Stream<Booking> streamForAdmin(@Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to,
+            @Param("theaterName") String theaterName,
+            @Param("status") Booking.BookingStatus status);
 }
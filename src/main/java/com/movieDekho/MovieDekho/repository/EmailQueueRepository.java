@@ -7,8 +7,10 @@ import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -24,6 +26,68 @@ public interface EmailQueueRepository extends JpaRepository<EmailQueue, Long> {
            "ORDER BY e.priority DESC, e.createdAt ASC")
     List<EmailQueue> findEmailsReadyToSend(@Param("now") LocalDateTime now, Pageable pageable);
     
+    /**
+     * Atomically claim a batch of ready emails for one worker: select, lock and mark PROCESSING
+     * in a single statement. SKIP LOCKED lets concurrent workers claim disjoint batches.
+     * Must run inside a transaction; the returned order is not guaranteed.
+     */
+    @Query(value = "UPDATE email_queue SET status = 'PROCESSING', claimed_by = :owner, " +
+           "claim_expires_at = :leaseUntil, last_attempt_at = :now " +
+           "WHERE id IN (SELECT id FROM email_queue " +
+           "WHERE (status = 'PENDING' OR (status = 'FAILED' AND retry_count < max_retries)) " +
+           "AND scheduled_at <= :now " +
+           "ORDER BY priority DESC, created_at ASC " +
+           "LIMIT :limit FOR UPDATE SKIP LOCKED) " +
+           "RETURNING *", nativeQuery = true)
+    List<EmailQueue> claimEmailsReadyToSend(@Param("owner") String owner,
+                                            @Param("now") LocalDateTime now,
+                                            @Param("leaseUntil") LocalDateTime leaseUntil,
+                                            @Param("limit") int limit);
+
+    /**
+     * Bulk-mark a worker's claimed emails as sent; emails reclaimed by another worker are left alone.
+     * OTP and password-reset parameters hold the code itself, so they are cleared once delivered.
+     */
+    @Modifying
+    @Query("UPDATE EmailQueue e SET e.status = 'SENT', e.sentAt = :now, e.claimedBy = NULL, e.claimExpiresAt = NULL, " +
+           "e.templateParams = CASE WHEN e.emailType IN ('OTP', 'PASSWORD_RESET') THEN NULL ELSE e.templateParams END " +
+           "WHERE e.id IN :ids AND e.status = 'PROCESSING' AND e.claimedBy = :owner")
+    int markAllAsSent(@Param("ids") Collection<Long> ids, @Param("owner") String owner, @Param("now") LocalDateTime now);
+
+    /**
+     * Hand a worker's claimed email back to the queue for an immediate retry by the dispatcher
+     */
+    @Modifying
+    @Query("UPDATE EmailQueue e SET e.status = 'PENDING', e.retryCount = e.retryCount + 1, e.errorMessage = :error, " +
+           "e.scheduledAt = :now, e.claimedBy = NULL, e.claimExpiresAt = NULL " +
+           "WHERE e.id = :id AND e.status = 'PROCESSING' AND e.claimedBy = :owner")
+    int releaseClaim(@Param("id") Long id, @Param("owner") String owner, @Param("error") String error,
+                     @Param("now") LocalDateTime now);
+
+    /**
+     * Bulk-record a failed attempt. Emails with retries left go back to PENDING, rescheduled with
+     * min(base * 2^retryCount, max) minutes of backoff (or a flat base delay); the rest become FAILED.
+     * SET expressions see the pre-update row, so retry_count below is the old value.
+     * OTP and password-reset codes are cleared from emails that will not be retried.
+     */
+    @Modifying
+    @Query(value = "UPDATE email_queue SET retry_count = retry_count + 1, error_message = :error, " +
+           "last_attempt_at = :now, claimed_by = NULL, claim_expires_at = NULL, " +
+           "status = CASE WHEN retry_count + 1 < max_retries THEN 'PENDING' ELSE 'FAILED' END, " +
+           "scheduled_at = CASE WHEN retry_count + 1 < max_retries THEN :now + make_interval(mins => " +
+           "CASE WHEN :exponential THEN CAST(LEAST(:baseMinutes * POWER(2, LEAST(retry_count, 20)), :maxMinutes) AS int) " +
+           "ELSE :baseMinutes END) ELSE scheduled_at END, " +
+           "template_params = CASE WHEN retry_count + 1 >= max_retries AND email_type IN ('OTP', 'PASSWORD_RESET') " +
+           "THEN NULL ELSE template_params END " +
+           "WHERE id IN (:ids) AND status = 'PROCESSING' AND claimed_by = :owner", nativeQuery = true)
+    int markAllAsFailed(@Param("ids") Collection<Long> ids,
+                        @Param("owner") String owner,
+                        @Param("error") String error,
+                        @Param("now") LocalDateTime now,
+                        @Param("exponential") boolean exponential,
+                        @Param("baseMinutes") int baseMinutes,
+                        @Param("maxMinutes") int maxMinutes);
+
     /**
      * Find emails by status
      */
@@ -49,8 +113,19 @@ public interface EmailQueueRepository extends JpaRepository<EmailQueue, Long> {
      * Mark old emails as cancelled (cleanup)
      */
     @Modifying
+    @Transactional
     @Query("UPDATE EmailQueue e SET e.status = 'CANCELLED' WHERE e.createdAt < :cutoffDate AND e.status IN ('PENDING', 'FAILED')")
     int cancelOldEmails(@Param("cutoffDate") LocalDateTime cutoffDate);
+
+    /**
+     * Delete up to :limit sent emails older than the cutoff, in its own short transaction.
+     * Called in a loop so retention never holds locks on, or loads, the whole table.
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM email_queue WHERE id IN (SELECT id FROM email_queue " +
+           "WHERE status = 'SENT' AND sent_at < :cutoff LIMIT :limit)", nativeQuery = true)
+    int deleteSentEmailsBefore(@Param("cutoff") LocalDateTime cutoff, @Param("limit") int limit);
     
     /**
      * Count emails by status
@@ -75,11 +150,13 @@ public interface EmailQueueRepository extends JpaRepository<EmailQueue, Long> {
     List<EmailQueue> findStuckProcessingEmails(@Param("cutoffTime") LocalDateTime cutoffTime);
     
     /**
-     * Reset stuck emails back to pending
+     * Reset stuck emails back to pending: expired claim leases, or legacy rows claimed without a lease
      */
     @Modifying
-    @Query("UPDATE EmailQueue e SET e.status = 'PENDING' WHERE e.status = 'PROCESSING' AND e.lastAttemptAt < :cutoffTime")
-    int resetStuckEmails(@Param("cutoffTime") LocalDateTime cutoffTime);
+    @Query("UPDATE EmailQueue e SET e.status = 'PENDING', e.claimedBy = NULL, e.claimExpiresAt = NULL " +
+           "WHERE e.status = 'PROCESSING' AND (e.claimExpiresAt < :now " +
+           "OR (e.claimExpiresAt IS NULL AND e.lastAttemptAt < :cutoffTime))")
+    int resetStuckEmails(@Param("now") LocalDateTime now, @Param("cutoffTime") LocalDateTime cutoffTime);
     
     /**
      * Count total emails sent in a time period
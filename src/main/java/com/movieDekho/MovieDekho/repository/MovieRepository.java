@@ -3,15 +3,18 @@ package com.movieDekho.MovieDekho.repository;
 import com.movieDekho.MovieDekho.models.AvailableMovie;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 import org.springframework.lang.NonNull;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface MovieRepository extends JpaRepository<AvailableMovie, Long> {
+public interface MovieRepository extends JpaRepository<AvailableMovie, Long>, JpaSpecificationExecutor<AvailableMovie> {
     List<AvailableMovie> findByReleaseDateAfter(LocalDate releaseDateAfter);
     List<AvailableMovie> findByTitleContainingIgnoreCase(String title);
 
@@ -21,4 +24,12 @@ public interface MovieRepository extends JpaRepository<AvailableMovie, Long> {
 
     @EntityGraph(attributePaths = {"slots"})
     Optional<AvailableMovie> findMovieWithSlotsById(Long id);
+
+    // Slots for a page of movies in a single query, used when a list asks for include=slots
+    @EntityGraph(attributePaths = {"slots"})
+    List<AvailableMovie> findWithSlotsByIdIn(Collection<Long> ids);
+
+    // One [count, max id, latest update] row; any insert, delete or edit changes at least one of them
+    @Query("SELECT COUNT(m), MAX(m.id), MAX(m.updatedAt) FROM AvailableMovie m")
+    List<Object[]> findCatalogStamp();
 }
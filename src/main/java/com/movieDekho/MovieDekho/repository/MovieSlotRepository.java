@@ -1,20 +1,52 @@
 package com.movieDekho.MovieDekho.repository;
 
 import com.movieDekho.MovieDekho.models.MovieSlot;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface MovieSlotRepository extends JpaRepository<MovieSlot, Long> {
 
+    // Shared admin filter; every parameter is optional
+    String ADMIN_FILTER = "FROM MovieSlot ms WHERE (:movieId IS NULL OR ms.movie.id = :movieId) " +
+            "AND (:startDate IS NULL OR ms.showDate >= :startDate) " +
+            "AND (:endDate IS NULL OR ms.showDate <= :endDate) " +
+            "AND (:theaterName IS NULL OR LOWER(ms.theaterName) LIKE LOWER(CONCAT('%', :theaterName, '%')))";
+
     Optional<MovieSlot> findBySlotId(Long slotId);
 
     List<MovieSlot> findByMovieId(Long movieId);
 
+    // Slot count per movie as [movieId, count] rows
+    @Query("SELECT ms.movie.id, COUNT(ms) FROM MovieSlot ms GROUP BY ms.movie.id")
+    List<Object[]> countSlotsGroupedByMovie();
+
+    // Same as above, restricted to one page of movies
+    @Query("SELECT ms.movie.id, COUNT(ms) FROM MovieSlot ms WHERE ms.movie.id IN :movieIds GROUP BY ms.movie.id")
+    List<Object[]> countSlotsGroupedByMovieIdIn(@Param("movieIds") Collection<Long> movieIds);
+
+    // One [count, max id] row; adding or deleting a slot changes at least one of them
+    @Query("SELECT COUNT(ms), MAX(ms.slotId) FROM MovieSlot ms")
+    List<Object[]> findSlotStamp();
+
+    // Available seats per slot showing on or after a date, as [slotId, availableSeats] rows
+    @Query("SELECT ms.slotId, ms.availableSeats FROM MovieSlot ms WHERE ms.showDate >= :fromDate")
+    List<Object[]> findAvailableSeatCountsFrom(@Param("fromDate") LocalDate fromDate);
+
+    // Find slots showing on or after a date
+    List<MovieSlot> findByShowDateGreaterThanEqual(LocalDate showDate);
+
     // Find slots by movie and date
     List<MovieSlot> findByMovieIdAndShowDate(Long movieId, LocalDate showDate);
 
@@ -32,4 +64,23 @@ public interface MovieSlotRepository extends JpaRepository<MovieSlot, Long> {
     List<MovieSlot> findByMovieIdAndShowDateAndTheaterName(@Param("movieId") Long movieId,
             @Param("showDate") LocalDate showDate,
             @Param("theaterName") String theaterName);
-}
\ No newline at end of file
+
+    // Admin listing, one page at a time
+    @Query(value = "SELECT ms " + ADMIN_FILTER, countQuery = "SELECT COUNT(ms) " + ADMIN_FILTER)
+    Page<MovieSlot> findForAdmin(@Param("movieId") Long movieId,
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate,
+            @Param("theaterName") String theaterName,
+            Pageable pageable);
+
+    // Admin export: read through a server-side cursor; must be consumed inside a transaction
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT ms " + ADMIN_FILTER + " ORDER BY ms.showDate, ms.startTime, ms.slotId")
+    Stream<MovieSlot> streamForAdmin(@Param("movieId") Long movieId,
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate,
+            @Param("theaterName") String theaterName);
+}
@@ -0,0 +1,31 @@
+package com.movieDekho.MovieDekho.repository;
+
+import com.movieDekho.MovieDekho.models.AvailableMovie;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDate;
+import java.util.Locale;
+
+/**
+ * Composable criteria for movie list queries, evaluated by the database
+ */
+public final class MovieSpecifications {
+
+    private MovieSpecifications() {
+    }
+
+    public static Specification<AvailableMovie> releasedAfter(LocalDate date) {
+        return (root, query, cb) -> cb.greaterThan(root.get("releaseDate"), date);
+    }
+
+    /**
+     * Case-insensitive substring match on title; LIKE wildcards in the input are matched literally
+     */
+    public static Specification<AvailableMovie> titleContains(String title) {
+        String escaped = title.toLowerCase(Locale.ROOT)
+                .replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+        return (root, query, cb) -> cb.like(cb.lower(root.get("title")), "%" + escaped + "%", '\\');
+    }
+}
@@ -37,4 +37,8 @@ public interface UserRepository extends JpaRepository<User, Long> {
     // Methods for favorite movies functionality
     @Query("SELECT u FROM User u LEFT JOIN FETCH u.favoriteMovies WHERE u.email = :identifier OR u.phone = :identifier")
     Optional<User> findByEmailOrPhoneWithFavorites(@Param("identifier") String identifier);
+
+    // Every favorite as [userId, movieId] rows
+    @Query("SELECT u.id, m.id FROM User u JOIN u.favoriteMovies m")
+    List<Object[]> findAllFavoriteMovieIds();
 }
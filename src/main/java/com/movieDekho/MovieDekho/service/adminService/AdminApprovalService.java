@@ -1,9 +1,11 @@
 package com.movieDekho.MovieDekho.service.adminService;
 
+import com.movieDekho.MovieDekho.config.jwtUtils.TokenRevocationRegistry;
 import com.movieDekho.MovieDekho.models.User;
 import com.movieDekho.MovieDekho.repository.UserRepository;
 import com.movieDekho.MovieDekho.service.emailService.ResilientEmailService;
 import com.movieDekho.MovieDekho.service.otpservice.BrevoEmailService;
+import com.movieDekho.MovieDekho.service.userService.UserDetailsServiceImpl;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -22,6 +24,8 @@ public class AdminApprovalService {
     private final UserRepository userRepository;
     private final BrevoEmailService emailService; // Keep for backward compatibility
     private final ResilientEmailService resilientEmailService; // New resilient service
+    private final TokenRevocationRegistry tokenRevocationRegistry;
+    private final UserDetailsServiceImpl userDetailsService;
     
     @Value("${app.super.admin.email}")
     private String superAdminEmail;
@@ -46,6 +50,8 @@ public class AdminApprovalService {
         user.setApprovedAt(LocalDateTime.now());
 
         userRepository.save(user);
+        tokenRevocationRegistry.revokeTokensFor(user.getEmail());
+        userDetailsService.evictUser(user);
 
         // Send approval notification to the admin using resilient service
         resilientEmailService.sendAdminApprovalNotification(
@@ -83,6 +89,8 @@ public class AdminApprovalService {
         
         // Delete the user
         userRepository.deleteById(userId);
+        tokenRevocationRegistry.revokeTokensFor(user.getEmail());
+        userDetailsService.evictUser(user);
         
         logger.info("User successfully deleted: {} (ID: {})", user.getUsername(), userId);
     }
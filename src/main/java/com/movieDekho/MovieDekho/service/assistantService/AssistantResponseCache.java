@@ -0,0 +1,344 @@
+package com.movieDekho.MovieDekho.service.assistantService;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+import org.springframework.stereotype.Service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.movieDekho.MovieDekho.config.reqconfig.CineBookAssistantConfig;
+import com.movieDekho.MovieDekho.dtos.assistant.AssistantQueryRequest;
+import com.movieDekho.MovieDekho.dtos.assistant.AssistantQueryResponse;
+import com.movieDekho.MovieDekho.dtos.assistant.AssistantQueryResponse.MetadataInfo;
+import com.movieDekho.MovieDekho.dtos.assistant.AssistantQueryResponse.SourceReference;
+import com.movieDekho.MovieDekho.service.movieService.MovieCatalogCache;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Cache of generated assistant answers, so repeated questions skip the LLM call.
+ *
+ * Answers are partitioned by query type, request scope (user, slot, seats) and a fingerprint of the
+ * retrieved context, so an answer is only reused when it would be grounded in the same sources.
+ * Within a partition there are two tiers:
+ * - exact: the normalized query text matches
+ * - similar: MinHash over word shingles estimates a Jaccard similarity above the configured threshold
+ *
+ * Entries expire after a TTL and everything is dropped when the movie catalog changes.
+ */
+@Service
+@Slf4j
+public class AssistantResponseCache {
+
+    public static final String TIER_EXACT = "exact";
+    public static final String TIER_SIMILAR = "similar";
+
+    private static final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Set<String> STOP_WORDS = Set.of(
+            "a", "an", "and", "any", "are", "can", "do", "does", "for", "give", "i", "in", "is", "it", "me",
+            "my", "of", "on", "please", "show", "some", "tell", "the", "this", "to", "what", "whats", "which", "with", "you");
+
+    private static final int MIN_HASHES = 64;
+    private static final long[] MIN_HASH_SEEDS = new long[MIN_HASHES];
+
+    static {
+        long seed = 0x9E3779B97F4A7C15L;
+        for (int i = 0; i < MIN_HASHES; i++) {
+            seed = mix64(seed + 0x9E3779B97F4A7C15L);
+            MIN_HASH_SEEDS[i] = seed;
+        }
+    }
+
+    private final CineBookAssistantConfig.ResponseCache config;
+    private final MovieCatalogCache movieCatalogCache;
+
+    private final Cache<String, CachedAnswer> answers;
+    // Partition -> answers in it, for the similarity scan; kept in step by the removal listener
+    private final Map<String, Set<CachedAnswer>> partitions = new ConcurrentHashMap<>();
+    private volatile long catalogVersion;
+
+    private final LongAdder exactHits = new LongAdder();
+    private final LongAdder similarHits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder stores = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+
+    public AssistantResponseCache(CineBookAssistantConfig assistantConfig, MovieCatalogCache movieCatalogCache) {
+        this.config = assistantConfig.getResponseCache();
+        this.movieCatalogCache = movieCatalogCache;
+        this.catalogVersion = movieCatalogCache.getVersion();
+        this.answers = Caffeine.newBuilder()
+                .maximumSize(config.getMaxEntries())
+                .expireAfterWrite(Duration.ofMinutes(config.getTtlMinutes()))
+                .removalListener((String key, CachedAnswer answer, RemovalCause cause) -> unlink(answer))
+                .build();
+    }
+
+    /**
+     * Cached answer for this request and retrieved context, with metadata.cacheTier set to the tier that hit
+     */
+    public Optional<AssistantQueryResponse> lookup(AssistantQueryRequest request, List<SourceReference> sources) {
+        if (!isCacheable(request)) {
+            return Optional.empty();
+        }
+        checkCatalogVersion();
+
+        List<String> terms = normalize(request.getQuery());
+        String partition = partitionKey(request, sources);
+
+        CachedAnswer exact = answers.getIfPresent(exactKey(partition, terms));
+        if (exact != null) {
+            exactHits.increment();
+            return Optional.of(exact.copy(TIER_EXACT));
+        }
+
+        Set<CachedAnswer> candidates = partitions.get(partition);
+        if (candidates != null && !candidates.isEmpty()) {
+            long[] signature = signature(terms);
+            CachedAnswer best = null;
+            double bestSimilarity = config.getSimilarityThreshold();
+            for (CachedAnswer candidate : candidates) {
+                double similarity = similarity(signature, candidate.signature);
+                if (similarity >= bestSimilarity) {
+                    best = candidate;
+                    bestSimilarity = similarity;
+                }
+            }
+            // Re-check through the cache so an expired entry still in the partition is not served
+            if (best != null && answers.getIfPresent(best.key) != null) {
+                similarHits.increment();
+                log.debug("Assistant cache similar hit ({}) for: {}", bestSimilarity, request.getQuery());
+                return Optional.of(best.copy(TIER_SIMILAR));
+            }
+        }
+
+        misses.increment();
+        return Optional.empty();
+    }
+
+    /**
+     * Remember a generated answer for the request and context it was grounded in
+     */
+    public void store(AssistantQueryRequest request, List<SourceReference> sources, AssistantQueryResponse response) {
+        if (!isCacheable(request)) {
+            return;
+        }
+        List<String> terms = normalize(request.getQuery());
+        if (terms.isEmpty()) {
+            return;
+        }
+        String partition = partitionKey(request, sources);
+        String key = exactKey(partition, terms);
+        CachedAnswer answer = new CachedAnswer(key, partition, signature(terms), response);
+        partitions.computeIfAbsent(partition, p -> ConcurrentHashMap.newKeySet()).add(answer);
+        answers.put(key, answer);
+        stores.increment();
+    }
+
+    public void invalidateAll() {
+        answers.invalidateAll();
+        partitions.clear();
+        invalidations.increment();
+    }
+
+    public Map<String, Object> getCacheStats() {
+        long exact = exactHits.sum();
+        long similar = similarHits.sum();
+        long miss = misses.sum();
+        long lookups = exact + similar + miss;
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("size", answers.estimatedSize());
+        result.put("exactHitCount", exact);
+        result.put("similarHitCount", similar);
+        result.put("missCount", miss);
+        result.put("hitRate", lookups == 0 ? 0.0 : (double) (exact + similar) / lookups);
+        result.put("storeCount", stores.sum());
+        result.put("invalidationCount", invalidations.sum());
+        return result;
+    }
+
+    private boolean isCacheable(AssistantQueryRequest request) {
+        // Multi-turn answers depend on the conversation, not just the question
+        return config.isEnabled()
+                && request.getQueryType() != null
+                && (request.getConversationContext() == null || request.getConversationContext().isBlank());
+    }
+
+    private void checkCatalogVersion() {
+        long current = movieCatalogCache.getVersion();
+        if (current != catalogVersion) {
+            catalogVersion = current;
+            invalidateAll();
+            log.debug("Assistant response cache cleared after catalog change");
+        }
+    }
+
+    private void unlink(CachedAnswer answer) {
+        if (answer == null) {
+            return;
+        }
+        Set<CachedAnswer> partition = partitions.get(answer.partition);
+        if (partition != null) {
+            partition.remove(answer);
+            if (partition.isEmpty()) {
+                partitions.remove(answer.partition, partition);
+            }
+        }
+    }
+
+    /**
+     * Query type, per-request scope and a digest of the retrieved sources
+     */
+    private static String partitionKey(AssistantQueryRequest request, List<SourceReference> sources) {
+        StringBuilder key = new StringBuilder(request.getQueryType().name());
+        switch (request.getQueryType()) {
+            case RECOMMENDATION -> key.append("|user=").append(request.getUserId());
+            case SEAT_SELECTION -> key.append("|slot=").append(request.getMovieSlotId())
+                    .append("|seats=").append(request.getRequiredSeats())
+                    .append("|pref=").append(request.getSeatingPreference());
+            default -> {
+            }
+        }
+        return key.append('|').append(contextFingerprint(sources)).toString();
+    }
+
+    private static String contextFingerprint(List<SourceReference> sources) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+        for (SourceReference source : sources) {
+            update(digest, source.getSourceType());
+            update(digest, source.getTitle());
+            update(digest, source.getContent());
+            update(digest, source.getRelevanceScore() == null ? null : source.getRelevanceScore().toString());
+        }
+        return HexFormat.of().formatHex(digest.digest(), 0, 16);
+    }
+
+    private static void update(MessageDigest digest, String value) {
+        if (value != null) {
+            digest.update(value.getBytes(StandardCharsets.UTF_8));
+        }
+        digest.update((byte) 0);
+    }
+
+    private static String exactKey(String partition, List<String> terms) {
+        return partition + '|' + String.join(" ", terms);
+    }
+
+    /**
+     * Lowercase words without punctuation, filler words or a plural "s"
+     */
+    static List<String> normalize(String query) {
+        List<String> terms = new ArrayList<>();
+        if (query == null) {
+            return terms;
+        }
+        for (String token : NON_WORD.split(query.toLowerCase(Locale.ROOT))) {
+            if (token.isEmpty() || STOP_WORDS.contains(token)) {
+                continue;
+            }
+            if (token.length() > 4 && token.endsWith("s") && !token.endsWith("ss")) {
+                token = token.substring(0, token.length() - 1);
+            }
+            terms.add(token);
+        }
+        return terms;
+    }
+
+    /**
+     * MinHash signature over word unigrams and bigrams
+     */
+    static long[] signature(List<String> terms) {
+        long[] signature = new long[MIN_HASHES];
+        Arrays.fill(signature, Long.MAX_VALUE);
+        for (int i = 0; i < terms.size(); i++) {
+            addShingle(signature, terms.get(i));
+            if (i + 1 < terms.size()) {
+                addShingle(signature, terms.get(i) + ' ' + terms.get(i + 1));
+            }
+        }
+        return signature;
+    }
+
+    private static void addShingle(long[] signature, String shingle) {
+        long base = mix64(shingle.hashCode() * 0xC2B2AE3D27D4EB4FL + shingle.length());
+        for (int i = 0; i < MIN_HASHES; i++) {
+            long hash = mix64(base ^ MIN_HASH_SEEDS[i]);
+            if (hash < signature[i]) {
+                signature[i] = hash;
+            }
+        }
+    }
+
+    /**
+     * Share of matching MinHash slots, an estimate of the Jaccard similarity of the shingle sets
+     */
+    static double similarity(long[] a, long[] b) {
+        int matches = 0;
+        for (int i = 0; i < MIN_HASHES; i++) {
+            if (a[i] == b[i] && a[i] != Long.MAX_VALUE) {
+                matches++;
+            }
+        }
+        return (double) matches / MIN_HASHES;
+    }
+
+    private static long mix64(long z) {
+        z = (z ^ (z >>> 33)) * 0xFF51AFD7ED558CCDL;
+        z = (z ^ (z >>> 33)) * 0xC4CEB9FE1A85EC53L;
+        return z ^ (z >>> 33);
+    }
+
+    private static final class CachedAnswer {
+        final String key;
+        final String partition;
+        final long[] signature;
+        final AssistantQueryResponse response;
+
+        CachedAnswer(String key, String partition, long[] signature, AssistantQueryResponse response) {
+            this.key = key;
+            this.partition = partition;
+            this.signature = signature;
+            this.response = AssistantQueryResponse.builder()
+                    .answer(response.getAnswer())
+                    .responseType(response.getResponseType())
+                    .sources(response.getSources() == null ? List.of() : List.copyOf(response.getSources()))
+                    .confidenceScore(response.getConfidenceScore())
+                    .wellGrounded(response.isWellGrounded())
+                    .groundingWarning(response.getGroundingWarning())
+                    .build();
+        }
+
+        AssistantQueryResponse copy(String tier) {
+            return AssistantQueryResponse.builder()
+                    .answer(response.getAnswer())
+                    .responseType(response.getResponseType())
+                    .sources(new ArrayList<>(response.getSources()))
+                    .confidenceScore(response.getConfidenceScore())
+                    .wellGrounded(response.isWellGrounded())
+                    .groundingWarning(response.getGroundingWarning())
+                    .metadata(MetadataInfo.builder().cacheTier(tier).build())
+                    .build();
+        }
+    }
+}
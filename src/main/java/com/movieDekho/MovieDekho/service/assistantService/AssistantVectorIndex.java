@@ -0,0 +1,424 @@
+package com.movieDekho.MovieDekho.service.assistantService;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.movieDekho.MovieDekho.config.reqconfig.CineBookAssistantConfig;
+import com.movieDekho.MovieDekho.dtos.assistant.AssistantQueryResponse.SourceReference;
+import com.movieDekho.MovieDekho.dtos.movie.MovieResponseDTO;
+import com.movieDekho.MovieDekho.service.movieService.MovieCatalogCache;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * In-process vector retrieval over movie and policy documents, used as the assistant's vector store.
+ *
+ * Documents are embedded locally ({@link TextEmbedder}) and indexed in an HNSW graph ({@link HnswGraph}).
+ * The index is persisted to a single file whose vector block is memory-mapped on startup, so a restart
+ * only re-embeds documents that changed since the last flush. Movies come from the catalog cache and are
+ * reconciled whenever its version moves, which covers CRUD on any instance; dirty state is flushed on a
+ * schedule and at shutdown.
+ */
+@Service
+@Slf4j
+public class AssistantVectorIndex {
+
+    private static final int MAGIC = 0x43425649; // "CBVI"
+    private static final int FORMAT_VERSION = 2;
+    private static final String POLICY_DOCUMENTS = "assistant/policy-documents.json";
+    private static final int MAX_CONTENT_CHARS = 400;
+
+    // Title and genre say most about what a movie is; the description adds detail
+    private static final double TITLE_WEIGHT = 3;
+    private static final double GENRE_WEIGHT = 2;
+    private static final double LANGUAGE_WEIGHT = 1;
+    private static final double DESCRIPTION_WEIGHT = 1;
+
+    private final CineBookAssistantConfig.VectorIndex config;
+    private final MovieCatalogCache movieCatalogCache;
+    private final ObjectMapper objectMapper;
+    private final TextEmbedder embedder;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private HnswGraph graph;
+    private final List<VectorDocument> documents = new ArrayList<>();
+    private final Map<String, Integer> nodeByKey = new HashMap<>();
+    private List<VectorDocument> policies;
+    // Catalog cache version the index was last reconciled with; -1 until first loaded
+    private volatile long indexedVersion = -1;
+    private boolean dirty;
+
+    public AssistantVectorIndex(CineBookAssistantConfig assistantConfig, MovieCatalogCache movieCatalogCache,
+            ObjectMapper objectMapper) {
+        this.config = assistantConfig.getVectorIndex();
+        this.movieCatalogCache = movieCatalogCache;
+        this.objectMapper = objectMapper;
+        this.embedder = new TextEmbedder(config.getDimensions());
+    }
+
+    /**
+     * Up to topK documents most similar to the query, best first, as vector sources.
+     * Matches below the configured minimum similarity are dropped.
+     */
+    public List<SourceReference> search(String query, int topK) {
+        if (query == null || query.isBlank() || topK <= 0) {
+            return List.of();
+        }
+        ensureCurrent();
+        float[] vector = embedder.embed(query);
+
+        lock.readLock().lock();
+        try {
+            List<SourceReference> result = new ArrayList<>(topK);
+            for (HnswGraph.Hit hit : graph.search(vector, topK, config.getEfSearch())) {
+                if (hit.score() < config.getMinSimilarity()) {
+                    break;
+                }
+                result.add(documents.get(hit.node()).toSource(hit.score()));
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Persist the index if it changed, compacting away deleted nodes once they pile up
+     */
+    @Scheduled(fixedDelayString = "${cinebook.assistant.vector-index.flush-interval-ms:60000}")
+    public void flush() {
+        lock.writeLock().lock();
+        try {
+            if (indexedVersion < 0 || !dirty) {
+                return;
+            }
+            if (graph.deletedCount() * 5 > graph.size()) {
+                compact();
+            }
+            write();
+            dirty = false;
+        } catch (IOException e) {
+            log.warn("Could not persist assistant vector index to {}: {}", config.getPath(), e.getMessage());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    /**
+     * Load the index on first use, and reconcile it with the catalog whenever the catalog cache has moved on
+     */
+    private void ensureCurrent() {
+        long version = movieCatalogCache.getVersion();
+        if (indexedVersion == version) {
+            return;
+        }
+        List<MovieResponseDTO> movies = movieCatalogCache.getAllMovies();
+        lock.writeLock().lock();
+        try {
+            if (indexedVersion == version) {
+                return;
+            }
+            long start = System.currentTimeMillis();
+            if (indexedVersion < 0) {
+                boolean restored = read();
+                if (!restored) {
+                    graph = newGraph();
+                }
+                policies = policyDocuments();
+                int changed = reconcile(corpus(movies));
+                log.info("Assistant vector index ready with {} documents in {} ms (restored from disk: {}, embedded: {})",
+                        nodeByKey.size(), System.currentTimeMillis() - start, restored, changed);
+            } else {
+                int changed = reconcile(corpus(movies));
+                log.debug("Assistant vector index reconciled {} changed documents in {} ms",
+                        changed, System.currentTimeMillis() - start);
+            }
+            indexedVersion = version;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Bring the index in line with the current documents, embedding only new or changed ones
+     */
+    private int reconcile(List<VectorDocument> corpus) {
+        int changed = 0;
+        Set<String> keys = new HashSet<>();
+        for (VectorDocument document : corpus) {
+            keys.add(document.key());
+            Integer node = nodeByKey.get(document.key());
+            if (node == null || documents.get(node).contentHash() != document.contentHash()) {
+                upsert(document);
+                changed++;
+            }
+        }
+        for (String key : new ArrayList<>(nodeByKey.keySet())) {
+            if (!keys.contains(key)) {
+                delete(key);
+                changed++;
+            }
+        }
+        return changed;
+    }
+
+    private void upsert(VectorDocument document) {
+        delete(document.key());
+        int node = graph.add(embedder.embed(document.fields()));
+        documents.add(document.withoutFields());
+        nodeByKey.put(document.key(), node);
+        dirty = true;
+    }
+
+    private void delete(String key) {
+        Integer node = nodeByKey.remove(key);
+        if (node != null) {
+            graph.markDeleted(node);
+            dirty = true;
+        }
+    }
+
+    /**
+     * Rebuild the graph from live nodes only, reusing their stored vectors
+     */
+    private void compact() {
+        HnswGraph compacted = newGraph();
+        List<VectorDocument> liveDocuments = new ArrayList<>();
+        Map<String, Integer> liveNodes = new HashMap<>();
+        for (int node = 0; node < graph.size(); node++) {
+            if (!graph.isDeleted(node)) {
+                int id = compacted.add(graph.vector(node));
+                liveDocuments.add(documents.get(node));
+                liveNodes.put(documents.get(node).key(), id);
+            }
+        }
+        graph = compacted;
+        documents.clear();
+        documents.addAll(liveDocuments);
+        nodeByKey.clear();
+        nodeByKey.putAll(liveNodes);
+    }
+
+    private HnswGraph newGraph() {
+        return new HnswGraph(config.getDimensions(), config.getM(), config.getEfConstruction());
+    }
+
+    private List<VectorDocument> corpus(List<MovieResponseDTO> movies) {
+        List<VectorDocument> corpus = new ArrayList<>(policies);
+        for (MovieResponseDTO movie : movies) {
+            corpus.add(movieDocument(movie));
+        }
+        return corpus;
+    }
+
+    private List<VectorDocument> policyDocuments() {
+        try (InputStream in = new ClassPathResource(POLICY_DOCUMENTS).getInputStream()) {
+            List<PolicyDocument> policies = objectMapper.readValue(in, new TypeReference<List<PolicyDocument>>() {
+            });
+            List<VectorDocument> result = new ArrayList<>(policies.size());
+            for (PolicyDocument policy : policies) {
+                result.add(VectorDocument.of("policy:" + policy.key(), "policy_doc", policy.title(),
+                        policy.content(), null, List.of(
+                                new TextEmbedder.Field(policy.title(), TITLE_WEIGHT),
+                                new TextEmbedder.Field(policy.content(), DESCRIPTION_WEIGHT))));
+            }
+            return result;
+        } catch (IOException e) {
+            log.warn("Could not load assistant policy documents: {}", e.getMessage());
+            return List.of();
+        }
+    }
+
+    private static VectorDocument movieDocument(MovieResponseDTO movie) {
+        String description = movie.getDescription() == null ? "" : movie.getDescription();
+        String content = String.format("Genre: %s | Language: %s | Certification: %s | Release: %s | %s",
+                movie.getGenre() != null ? movie.getGenre() : "N/A",
+                movie.getLanguage() != null ? movie.getLanguage() : "N/A",
+                movie.getCertification() != null ? movie.getCertification() : "N/A",
+                movie.getReleaseDate() != null ? movie.getReleaseDate() : "N/A",
+                description.length() > MAX_CONTENT_CHARS ? description.substring(0, MAX_CONTENT_CHARS) + "…" : description);
+        String title = movie.getTitle() != null ? movie.getTitle() : "";
+        return VectorDocument.of(movieKey(movie.getId()), "vector", title, content, movie.getTrailer(),
+                List.of(new TextEmbedder.Field(movie.getTitle(), TITLE_WEIGHT),
+                        new TextEmbedder.Field(movie.getGenre(), GENRE_WEIGHT),
+                        new TextEmbedder.Field(movie.getLanguage(), LANGUAGE_WEIGHT),
+                        new TextEmbedder.Field(movie.getDescription(), DESCRIPTION_WEIGHT)));
+    }
+
+    private static String movieKey(Long movieId) {
+        return "movie:" + movieId;
+    }
+
+    /**
+     * Layout: header, graph (whose vector block is mapped on load), then per-node document metadata.
+     * Written to a temp file and moved into place, so a crash never leaves a half-written index.
+     */
+    private void write() throws IOException {
+        Path target = Path.of(config.getPath());
+        Path parent = target.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        Path temp = Files.createTempFile(parent, target.getFileName().toString(), ".tmp");
+        try {
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                out.writeInt(MAGIC);
+                out.writeInt(FORMAT_VERSION);
+                out.writeInt(TextEmbedder.VERSION);
+                out.writeInt(0); // reserved; keeps the vector block 4-byte aligned after the graph header
+                graph.writeTo(out);
+                for (VectorDocument document : documents) {
+                    document.writeTo(out);
+                }
+            }
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+        log.debug("Assistant vector index flushed: {} nodes to {}", graph.size(), target);
+    }
+
+    /**
+     * Map a previously flushed index; false if there is none or it was written by an incompatible version
+     */
+    private boolean read() {
+        Path path = Path.of(config.getPath());
+        if (!Files.isRegularFile(path)) {
+            return false;
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            // The mapping stays valid after the channel is closed
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.getInt() != MAGIC || buffer.getInt() != FORMAT_VERSION
+                    || buffer.getInt() != TextEmbedder.VERSION) {
+                log.info("Ignoring assistant vector index at {} written by another version", path);
+                return false;
+            }
+            buffer.getInt();
+            HnswGraph restored = HnswGraph.readFrom(buffer, config.getM(), config.getEfConstruction());
+            if (restored.dimensions() != config.getDimensions()) {
+                log.info("Ignoring assistant vector index at {} with {} dimensions", path, restored.dimensions());
+                return false;
+            }
+
+            ByteBuffer metadata = buffer.slice();
+            byte[] bytes = new byte[metadata.remaining()];
+            metadata.get(bytes);
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes));
+            List<VectorDocument> restoredDocuments = new ArrayList<>(restored.size());
+            Map<String, Integer> restoredNodes = new HashMap<>();
+            for (int node = 0; node < restored.size(); node++) {
+                VectorDocument document = VectorDocument.readFrom(in);
+                restoredDocuments.add(document);
+                if (!restored.isDeleted(node)) {
+                    restoredNodes.put(document.key(), node);
+                }
+            }
+
+            graph = restored;
+            documents.clear();
+            documents.addAll(restoredDocuments);
+            nodeByKey.clear();
+            nodeByKey.putAll(restoredNodes);
+            return true;
+        } catch (IOException | RuntimeException e) {
+            log.warn("Could not read assistant vector index at {}, rebuilding: {}", path, e.getMessage());
+            return false;
+        }
+    }
+
+    private record PolicyDocument(String key, String title, String content) {
+    }
+
+    /**
+     * What a search hit returns; fields are only kept until the document is embedded
+     */
+    private record VectorDocument(String key, String sourceType, String title, String content, String externalUrl,
+                                  long contentHash, List<TextEmbedder.Field> fields) {
+
+        static VectorDocument of(String key, String sourceType, String title, String content, String externalUrl,
+                                 List<TextEmbedder.Field> fields) {
+            // FNV-1a over the embedded text and everything a hit displays, so any change to either is picked up
+            long hash = 0xCBF29CE484222325L;
+            for (TextEmbedder.Field field : fields) {
+                hash = hash(hash, field.text());
+            }
+            hash = hash(hash, sourceType);
+            hash = hash(hash, title);
+            hash = hash(hash, content);
+            hash = hash(hash, externalUrl);
+            return new VectorDocument(key, sourceType, title, content, externalUrl, hash, fields);
+        }
+
+        private static long hash(long hash, String text) {
+            if (text != null) {
+                for (int i = 0; i < text.length(); i++) {
+                    hash = (hash ^ text.charAt(i)) * 0x100000001B3L;
+                }
+            }
+            return (hash ^ 0x1F) * 0x100000001B3L;
+        }
+
+        VectorDocument withoutFields() {
+            return new VectorDocument(key, sourceType, title, content, externalUrl, contentHash, List.of());
+        }
+
+        SourceReference toSource(double score) {
+            return SourceReference.builder()
+                    .sourceType(sourceType)
+                    .title(title)
+                    .content(content)
+                    .relevanceScore(Math.round(score * 1000) / 1000.0)
+                    .externalUrl(externalUrl)
+                    .build();
+        }
+
+        void writeTo(DataOutputStream out) throws IOException {
+            out.writeUTF(key);
+            out.writeUTF(sourceType);
+            out.writeUTF(title == null ? "" : title);
+            out.writeUTF(content == null ? "" : content);
+            out.writeUTF(externalUrl == null ? "" : externalUrl);
+            out.writeLong(contentHash);
+        }
+
+        static VectorDocument readFrom(DataInputStream in) throws IOException {
+            String key = in.readUTF();
+            String sourceType = in.readUTF();
+            String title = in.readUTF();
+            String content = in.readUTF();
+            String externalUrl = in.readUTF();
+            long contentHash = in.readLong();
+            return new VectorDocument(key, sourceType, title, content, externalUrl.isEmpty() ? null : externalUrl,
+                    contentHash, List.of());
+        }
+    }
+}
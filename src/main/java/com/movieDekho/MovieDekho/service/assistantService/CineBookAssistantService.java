@@ -1,7 +1,20 @@
 package com.movieDekho.MovieDekho.service.assistantService;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
 
 import org.springframework.stereotype.Service;
 
@@ -12,9 +25,14 @@ import com.movieDekho.MovieDekho.dtos.assistant.AssistantQueryResponse;
 import com.movieDekho.MovieDekho.dtos.assistant.AssistantQueryResponse.MetadataInfo;
 import com.movieDekho.MovieDekho.dtos.assistant.AssistantQueryResponse.ResponseType;
 import com.movieDekho.MovieDekho.dtos.assistant.AssistantQueryResponse.SourceReference;
-import com.movieDekho.MovieDekho.repository.MovieRepository;
-import com.movieDekho.MovieDekho.repository.UserRepository;
-
+import com.movieDekho.MovieDekho.dtos.movie.MovieResponseDTO;
+import com.movieDekho.MovieDekho.repository.BookingRepository;
+import com.movieDekho.MovieDekho.service.movieService.MovieCatalogCache;
+import com.movieDekho.MovieDekho.service.movieService.MovieSearchIndex;
+import com.movieDekho.MovieDekho.service.recommendationService.RecommendationEngine;
+import com.movieDekho.MovieDekho.service.seatService.SeatSuggestionEngine;
+
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
 
 /**
@@ -22,7 +40,7 @@ import lombok.extern.slf4j.Slf4j;
  * AI Assistant.
  * 
  * Responsibilities:
- * 1. Retrieve relevant documents from vector store
+ * 1. Retrieve relevant documents from the in-process vector index
  * 2. Query CineBook database for movies, bookings, seats, policies
  * 3. Enforce grounding rules (no invented details)
  * 4. Generate formatted responses per query type
@@ -32,23 +50,46 @@ import lombok.extern.slf4j.Slf4j;
 @Slf4j
 public class CineBookAssistantService {
 
+    private static final int SEARCH_LIMIT = 10;
+    private static final int SEARCH_FALLBACK_LIMIT = 5;
+    private static final int RECOMMENDATION_LIMIT = 5;
+    private static final String SUGGESTED_SEATS_PREFIX = "Suggested Seats: ";
+
     private final CineBookAssistantConfig assistantConfig;
     private final GeminiConfig geminiConfig;
     private final GeminiService geminiService;
-    private final MovieRepository movieRepository;
-    private final UserRepository userRepository;
+    private final MovieSearchIndex movieSearchIndex;
+    private final MovieCatalogCache movieCatalogCache;
+    private final BookingRepository bookingRepository;
+    private final AssistantResponseCache responseCache;
+    private final AssistantVectorIndex vectorIndex;
+    private final RecommendationEngine recommendationEngine;
+    private final SeatSuggestionEngine seatSuggestionEngine;
+
+    // Queries run here so the servlet thread is released while retrieval and generation are in flight
+    private final ExecutorService queryExecutor = Executors.newVirtualThreadPerTaskExecutor();
 
     public CineBookAssistantService(
             CineBookAssistantConfig assistantConfig,
             GeminiConfig geminiConfig,
             GeminiService geminiService,
-            MovieRepository movieRepository,
-            UserRepository userRepository) {
+            MovieSearchIndex movieSearchIndex,
+            MovieCatalogCache movieCatalogCache,
+            BookingRepository bookingRepository,
+            AssistantResponseCache responseCache,
+            AssistantVectorIndex vectorIndex,
+            RecommendationEngine recommendationEngine,
+            SeatSuggestionEngine seatSuggestionEngine) {
         this.assistantConfig = assistantConfig;
         this.geminiConfig = geminiConfig;
         this.geminiService = geminiService;
-        this.movieRepository = movieRepository;
-        this.userRepository = userRepository;
+        this.movieSearchIndex = movieSearchIndex;
+        this.movieCatalogCache = movieCatalogCache;
+        this.bookingRepository = bookingRepository;
+        this.responseCache = responseCache;
+        this.vectorIndex = vectorIndex;
+        this.recommendationEngine = recommendationEngine;
+        this.seatSuggestionEngine = seatSuggestionEngine;
     }
 
     /**
@@ -57,11 +98,64 @@ public class CineBookAssistantService {
      * Flow:
      * 1. Retrieve vector context (if not pre-populated)
      * 2. Query CineBook DB based on query type
-     * 3. Dispatch to type-specific handler
-     * 4. Enforce grounding rules
-     * 5. Return formatted response with sources
+     * 3. Serve a cached answer grounded in the same context, if any
+     * 4. Dispatch to type-specific handler
+     * 5. Enforce grounding rules and cache generated answers
+     * 6. Return formatted response with sources
      */
     public AssistantQueryResponse processQuery(AssistantQueryRequest request) {
+        return processQuery(request, (userPrompt, contextData) -> geminiService.generateResponse(
+                assistantConfig.getSystemPrompt(), userPrompt, contextData));
+    }
+
+    /**
+     * Same as {@link #processQuery(AssistantQueryRequest)}, off the caller's thread
+     */
+    public CompletableFuture<AssistantQueryResponse> processQueryAsync(AssistantQueryRequest request) {
+        return CompletableFuture.supplyAsync(() -> processQuery(request), queryExecutor);
+    }
+
+    /**
+     * Process a query while streaming the generated answer: onChunk receives text as Gemini produces it,
+     * and the future completes with the full response once generation and grounding checks are done.
+     * Cancelling the future stops the Gemini stream, whether it is already running or not yet started.
+     */
+    public CompletableFuture<AssistantQueryResponse> streamQuery(AssistantQueryRequest request,
+            Consumer<String> onChunk) {
+        AtomicReference<CompletableFuture<String>> generation = new AtomicReference<>();
+        AtomicBoolean cancelled = new AtomicBoolean();
+        CompletableFuture<AssistantQueryResponse> result = CompletableFuture.supplyAsync(
+                () -> processQuery(request, (userPrompt, contextData) -> {
+                    CompletableFuture<String> stream = geminiService.streamResponse(
+                            assistantConfig.getSystemPrompt(), userPrompt, contextData, onChunk);
+                    generation.set(stream);
+                    if (cancelled.get()) {
+                        stream.cancel(true);
+                    }
+                    try {
+                        return stream.join();
+                    } catch (CompletionException e) {
+                        throw e.getCause() instanceof RuntimeException cause ? cause : e;
+                    }
+                }), queryExecutor);
+        result.whenComplete((response, error) -> {
+            if (error instanceof CancellationException) {
+                cancelled.set(true);
+                CompletableFuture<String> stream = generation.get();
+                if (stream != null) {
+                    stream.cancel(true);
+                }
+            }
+        });
+        return result;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        queryExecutor.shutdown();
+    }
+
+    private AssistantQueryResponse processQuery(AssistantQueryRequest request, AnswerGenerator answerGenerator) {
         long startTime = System.currentTimeMillis();
 
         log.info("Processing {} query: {}", request.getQueryType(), request.getQuery());
@@ -78,19 +172,43 @@ public class CineBookAssistantService {
             allSources.addAll(vectorSources);
             allSources.addAll(dbSources);
 
-            // Step 3: Dispatch to type-specific handler
+            // Step 3: Reuse a cached answer grounded in the same context
+            AssistantQueryResponse cached = responseCache.lookup(request, allSources).orElse(null);
+            if (cached != null) {
+                cached.setMetadata(MetadataInfo.builder()
+                        .vectorDocsRetrieved(vectorSources.size())
+                        .dbRecordsQueried(dbSources.size())
+                        .processingTimeMs(System.currentTimeMillis() - startTime)
+                        .retrievalModel("vector + relational")
+                        .cacheTier(cached.getMetadata().getCacheTier())
+                        .build());
+                return cached;
+            }
+
+            // Step 4: Dispatch to type-specific handler
+            AtomicBoolean generated = new AtomicBoolean();
+            AnswerGenerator trackingGenerator = (userPrompt, contextData) -> {
+                String answer = answerGenerator.generate(userPrompt, contextData);
+                generated.set(answer != null && !answer.isBlank());
+                return answer;
+            };
             AssistantQueryResponse response = switch (request.getQueryType()) {
-                case RECOMMENDATION -> handleRecommendationQuery(request, allSources);
-                case SEARCH -> handleSearchQuery(request, allSources);
-                case SEAT_SELECTION -> handleSeatSelectionQuery(request, allSources);
-                case FAQ -> handleFaqQuery(request, allSources);
-                case UPSELLING -> handleUpsellQuery(request, allSources);
+                case RECOMMENDATION -> handleRecommendationQuery(request, allSources, trackingGenerator);
+                case SEARCH -> handleSearchQuery(request, allSources, trackingGenerator);
+                case SEAT_SELECTION -> handleSeatSelectionQuery(request, allSources, trackingGenerator);
+                case FAQ -> handleFaqQuery(request, allSources, trackingGenerator);
+                case UPSELLING -> handleUpsellQuery(request, allSources, trackingGenerator);
             };
 
-            // Step 4: Enforce grounding rules
+            // Step 5: Enforce grounding rules
             validateGrounding(response);
 
-            // Step 5: Add metadata
+            // Only answers the model actually produced are worth caching; fallbacks and errors are cheap to redo
+            if (generated.get() && response.getConfidenceScore() > 0) {
+                responseCache.store(request, allSources, response);
+            }
+
+            // Step 6: Add metadata
             long processingTime = System.currentTimeMillis() - startTime;
             response.setMetadata(MetadataInfo.builder()
                     .vectorDocsRetrieved(vectorSources.size())
@@ -108,31 +226,15 @@ public class CineBookAssistantService {
     }
 
     /**
-     * Retrieve top-K relevant documents from vector store.
-     * Placeholder: integrate with actual vector DB (Pinecone, Weaviate, Qdrant,
-     * etc.)
+     * Retrieve the top-K (cinebook.assistant.retrieval-top-k) movie and policy documents
+     * most similar to the query from the in-process vector index.
      */
     private List<SourceReference> retrieveVectorContext(AssistantQueryRequest request) {
-        // TODO: Integrate with vector database
-        // For now, return empty list. In production:
-        // 1. Embed the query using the same embedding model
-        // 2. Search vector store for top-K similar documents
-        // 3. Map results to SourceReference objects
-
-        List<SourceReference> sources = new ArrayList<>();
-
-        // Placeholder example:
-        if (request.getQuery().toLowerCase().contains("horror") ||
-                request.getQuery().toLowerCase().contains("review")) {
-            sources.add(SourceReference.builder()
-                    .sourceType("vector")
-                    .title("Top Horror Movies 2024 Reviews")
-                    .content("Based on latest reviews and ratings from IMDb and Rotten Tomatoes...")
-                    .relevanceScore(0.92)
-                    .externalUrl("https://example.com/horror-2024")
-                    .build());
+        // Seat answers come from the slot's live seat state; movie and policy documents add nothing
+        if (request.getQueryType() == AssistantQueryRequest.QueryType.SEAT_SELECTION) {
+            return List.of();
         }
-
+        List<SourceReference> sources = vectorIndex.search(request.getQuery(), assistantConfig.getRetrievalTopK());
         log.debug("Retrieved {} vector documents for query: {}", sources.size(), request.getQuery());
         return sources;
     }
@@ -145,50 +247,23 @@ public class CineBookAssistantService {
 
         switch (request.getQueryType()) {
             case SEARCH:
-                // Query movies by title/genre/language matching the user's query
+                // Candidates come from the BM25 token index over title, genre, language and description
                 try {
-                    String queryLower = request.getQuery().toLowerCase();
-                    var allMovies = movieRepository.findAll();
-
-                    // Filter movies by title, genre, or language match
-                    allMovies.stream()
-                            .filter(movie -> movie.getTitle().toLowerCase().contains(queryLower) ||
-                                    (movie.getGenre() != null && movie.getGenre().toLowerCase().contains(queryLower)) ||
-                                    (movie.getLanguage() != null
-                                            && movie.getLanguage().toLowerCase().contains(queryLower)))
-                            .limit(10) // Limit to top 10 results
-                            .forEach(movie -> {
-                                // Calculate relevance score based on match type
-                                double relevanceScore = 0.85;
-                                if (movie.getTitle().toLowerCase().contains(queryLower)) {
-                                    relevanceScore = 0.95; // Title match is most relevant
-                                } else if (movie.getGenre() != null
-                                        && movie.getGenre().toLowerCase().contains(queryLower)) {
-                                    relevanceScore = 0.85; // Genre match
-                                }
-
-                                sources.add(SourceReference.builder()
-                                        .sourceType("database")
-                                        .title("Movie: " + movie.getTitle())
-                                        .content(String.format("Genre: %s | Release: %s | Language: %s | Rating: %s",
-                                                movie.getGenre() != null ? movie.getGenre() : "N/A",
-                                                movie.getReleaseDate() != null ? movie.getReleaseDate() : "N/A",
-                                                movie.getLanguage() != null ? movie.getLanguage() : "N/A"))
-                                        .relevanceScore(relevanceScore)
-                                        .build());
-                            });
-
-                    // If no matches found, return all movies as general search results
-                    if (sources.isEmpty() && !allMovies.isEmpty()) {
-                        allMovies.stream().limit(5).forEach(movie -> sources.add(SourceReference.builder()
-                                .sourceType("database")
-                                .title("Movie: " + movie.getTitle())
-                                .content(String.format("Genre: %s | Release: %s | Language: %s | Rating: %s",
-                                        movie.getGenre() != null ? movie.getGenre() : "N/A",
-                                        movie.getReleaseDate() != null ? movie.getReleaseDate() : "N/A",
-                                        movie.getLanguage() != null ? movie.getLanguage() : "N/A"))
-                                .relevanceScore(0.60) // Lower relevance for fallback results
-                                .build()));
+                    String queryLower = request.getQuery().toLowerCase(Locale.ROOT);
+                    List<MovieResponseDTO> matches = movieCatalogCache.getMoviesByIds(
+                            movieSearchIndex.search(request.getQuery(), SEARCH_LIMIT));
+
+                    for (MovieResponseDTO movie : matches) {
+                        // Title match is most relevant
+                        double relevanceScore = movie.getTitle() != null
+                                && movie.getTitle().toLowerCase(Locale.ROOT).contains(queryLower) ? 0.95 : 0.85;
+                        sources.add(movieSource("Movie: ", movie, relevanceScore));
+                    }
+
+                    // If no matches found, return a few catalog movies as general search results
+                    if (sources.isEmpty()) {
+                        movieCatalogCache.getAllMovies().stream().limit(SEARCH_FALLBACK_LIMIT)
+                                .forEach(movie -> sources.add(movieSource("Movie: ", movie, 0.60)));
                     }
                 } catch (Exception e) {
                     log.warn("Error querying movies for search", e);
@@ -197,33 +272,8 @@ public class CineBookAssistantService {
 
             case RECOMMENDATION:
                 if (request.getUserId() != null) {
-                    // Query user's booking history and favorites
                     try {
-                        var user = userRepository.findById(request.getUserId()).orElse(null);
-                        if (user != null) {
-                            // Add user profile as context
-                            sources.add(SourceReference.builder()
-                                    .sourceType("database")
-                                    .title("Your Booking History")
-                                    .content(String.format("User has booked movies and has preferences on file. " +
-                                            "Recent bookings analyzed for genre preferences."))
-                                    .relevanceScore(0.95)
-                                    .build());
-
-                            // Query similar movies based on genres
-                            var similarMovies = movieRepository.findAll();
-                            if (!similarMovies.isEmpty()) {
-                                similarMovies.stream().limit(3).forEach(movie -> sources.add(SourceReference.builder()
-                                        .sourceType("database")
-                                        .title("Recommended Movie: " + movie.getTitle())
-                                        .content(String.format("Genre: %s | Rating: %s | Language: %s | " +
-                                                "Release Date: %s",
-                                                movie.getGenre(),
-                                                movie.getLanguage(), movie.getReleaseDate()))
-                                        .relevanceScore(0.88)
-                                        .build()));
-                            }
-                        }
+                        sources.addAll(recommendFromBookingHistory(request.getUserId()));
                     } catch (Exception e) {
                         log.warn("Error querying user booking history", e);
                     }
@@ -231,13 +281,14 @@ public class CineBookAssistantService {
                 break;
 
             case SEAT_SELECTION:
-                // TODO: Query seat availability for movie slot
-                sources.add(SourceReference.builder()
-                        .sourceType("database")
-                        .title("Seat Availability")
-                        .content("Premium seats available in rows A-C | Standard seats in D-H")
-                        .relevanceScore(1.0)
-                        .build());
+                // Live availability for the slot, plus computed suggestions when seat optimization is on
+                if (request.getMovieSlotId() != null) {
+                    try {
+                        sources.addAll(seatSuggestionSources(request));
+                    } catch (Exception e) {
+                        log.warn("Error computing seat suggestions for slot {}", request.getMovieSlotId(), e);
+                    }
+                }
                 break;
 
             case FAQ:
@@ -265,9 +316,112 @@ public class CineBookAssistantService {
         return sources;
     }
 
+    /**
+     * The user's confirmed bookings (one grouped query) plus the recommendation engine's top
+     * unbooked movies, each noting the booked movie it is most often co-booked with
+     */
+    private List<SourceReference> recommendFromBookingHistory(Long userId) {
+        List<Object[]> history = bookingRepository.findBookedMovieHistoryByUserId(userId);
+        if (history.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, Long> bookingCounts = new LinkedHashMap<>();
+        for (Object[] row : history) {
+            bookingCounts.put((Long) row[0], ((Number) row[1]).longValue());
+        }
+        List<MovieResponseDTO> bookedMovies = movieCatalogCache.getMoviesByIds(new ArrayList<>(bookingCounts.keySet()));
+
+        StringBuilder historySummary = new StringBuilder("Confirmed bookings, most recent first: ");
+        Map<Long, String> bookedTitles = new HashMap<>();
+        for (int i = 0; i < bookedMovies.size(); i++) {
+            MovieResponseDTO movie = bookedMovies.get(i);
+            historySummary.append(i == 0 ? "" : "; ")
+                    .append(movie.getTitle())
+                    .append(" (").append(movie.getGenre() != null ? movie.getGenre() : "N/A")
+                    .append(", ").append(movie.getLanguage() != null ? movie.getLanguage() : "N/A")
+                    .append(") x").append(bookingCounts.get(movie.getId()));
+            bookedTitles.put(movie.getId(), movie.getTitle());
+        }
+
+        List<SourceReference> sources = new ArrayList<>();
+        sources.add(SourceReference.builder()
+                .sourceType("database")
+                .title("Your Booking History")
+                .content(historySummary.toString())
+                .relevanceScore(0.95)
+                .build());
+
+        List<Long> recommendedIds = new ArrayList<>();
+        Map<Long, Long> seedByMovieId = new HashMap<>();
+        for (RecommendationEngine.Recommendation recommendation : recommendationEngine.recommend(userId, RECOMMENDATION_LIMIT)) {
+            recommendedIds.add(recommendation.movieId());
+            seedByMovieId.put(recommendation.movieId(), recommendation.becauseOfMovieId());
+        }
+        for (MovieResponseDTO movie : movieCatalogCache.getMoviesByIds(recommendedIds)) {
+            SourceReference source = movieSource("Recommended Movie: ", movie, 0.88);
+            String seedTitle = bookedTitles.get(seedByMovieId.get(movie.getId()));
+            if (seedTitle != null) {
+                source.setContent(source.getContent() + " | Often booked with: " + seedTitle);
+            }
+            sources.add(source);
+        }
+        return sources;
+    }
+
+    /**
+     * The slot's seat counts and one source per suggested block; suggestion titles carry the seat numbers
+     */
+    private List<SourceReference> seatSuggestionSources(AssistantQueryRequest request) {
+        CineBookAssistantConfig.SeatOptimization seatOptimization = assistantConfig.getSeatOptimization();
+        SeatSuggestionEngine.SeatSuggestionResult result = seatSuggestionEngine.suggest(
+                request.getMovieSlotId(),
+                requiredSeats(request),
+                request.getSeatingPreference(),
+                seatOptimization.isEnabled() ? seatOptimization.getMaxSuggestions() : 0);
+
+        List<SourceReference> sources = new ArrayList<>();
+        sources.add(SourceReference.builder()
+                .sourceType("database")
+                .title("Seat Availability")
+                .content(String.format("%d of %d seats free | %d held by other customers",
+                        result.availableSeats(), result.totalSeats(), result.lockedSeats()))
+                .relevanceScore(1.0)
+                .build());
+        for (SeatSuggestionEngine.SeatSuggestion suggestion : result.suggestions()) {
+            sources.add(SourceReference.builder()
+                    .sourceType("database")
+                    .title(SUGGESTED_SEATS_PREFIX + String.join(", ", suggestion.seatNumbers()))
+                    .content(String.format("Row %s, %s, total price %.2f",
+                            String.join(" and ", suggestion.rows()),
+                            suggestion.contiguous() ? "seated together" : "split across rows or blocks",
+                            suggestion.totalPrice()))
+                    .relevanceScore(1.0)
+                    .build());
+        }
+        return sources;
+    }
+
+    private static int requiredSeats(AssistantQueryRequest request) {
+        return request.getRequiredSeats() != null && request.getRequiredSeats() > 0 ? request.getRequiredSeats() : 1;
+    }
+
+    private static SourceReference movieSource(String titlePrefix, MovieResponseDTO movie, double relevanceScore) {
+        return SourceReference.builder()
+                .sourceType("database")
+                .title(titlePrefix + movie.getTitle())
+                .content(String.format("Genre: %s | Release: %s | Language: %s",
+                        movie.getGenre() != null ? movie.getGenre() : "N/A",
+                        movie.getReleaseDate() != null ? movie.getReleaseDate() : "N/A",
+                        movie.getLanguage() != null ? movie.getLanguage() : "N/A"))
+                .relevanceScore(relevanceScore)
+                .build();
+    }
+
     private AssistantQueryResponse handleRecommendationQuery(
             AssistantQueryRequest request,
-            List<SourceReference> sources) {
+            List<SourceReference> sources,
+            AnswerGenerator answerGenerator) {
 
         // Check if we have user context and recommendations
         boolean hasUserData = sources.stream()
@@ -309,10 +463,7 @@ public class CineBookAssistantService {
                 contextData);
 
         try {
-            String answer = geminiService.generateResponse(
-                    assistantConfig.getSystemPrompt(),
-                    userPrompt,
-                    contextData);
+            String answer = answerGenerator.generate(userPrompt, contextData);
 
             // Calculate confidence based on sources quality
             double confidenceScore = Math.min(0.95,
@@ -340,7 +491,8 @@ public class CineBookAssistantService {
 
     private AssistantQueryResponse handleSearchQuery(
             AssistantQueryRequest request,
-            List<SourceReference> sources) {
+            List<SourceReference> sources,
+            AnswerGenerator answerGenerator) {
 
         // If no movies found at all
         if (sources.isEmpty()) {
@@ -377,10 +529,7 @@ public class CineBookAssistantService {
                 contextData);
 
         try {
-            String answer = geminiService.generateResponse(
-                    assistantConfig.getSystemPrompt(),
-                    userPrompt,
-                    contextData);
+            String answer = answerGenerator.generate(userPrompt, contextData);
 
             // Validate the answer contains actual movie data, not generic/placeholder text
             boolean isValidAnswer = answer != null && !answer.isEmpty() &&
@@ -413,10 +562,51 @@ public class CineBookAssistantService {
 
     private AssistantQueryResponse handleSeatSelectionQuery(
             AssistantQueryRequest request,
-            List<SourceReference> sources) {
+            List<SourceReference> sources,
+            AnswerGenerator answerGenerator) {
 
         String contextData = formatSourcesAsContext(sources);
         String seatingPref = request.getSeatingPreference() != null ? request.getSeatingPreference() : "standard";
+        CineBookAssistantConfig.SeatOptimization seatOptimization = assistantConfig.getSeatOptimization();
+
+        if (seatOptimization.isEnabled()) {
+            List<SourceReference> suggestions = sources.stream()
+                    .filter(source -> source.getTitle() != null && source.getTitle().startsWith(SUGGESTED_SEATS_PREFIX))
+                    .toList();
+            String answer = formatSeatSuggestions(request, sources, suggestions);
+
+            // The computed seats are the answer; the model may only rephrase them
+            if (!suggestions.isEmpty() && seatOptimization.isLlmPhrasing()) {
+                String userPrompt = String.format(
+                        "Present these computed seat suggestions to the user in a friendly way.\n" +
+                                "Use exactly the seat numbers from the 'Suggested Seats' sources, in the same order, " +
+                                "and do not suggest any other seats.\n" +
+                                "Required Seats: %d\n" +
+                                "Seating Preference: %s",
+                        requiredSeats(request),
+                        seatingPref);
+                try {
+                    String phrased = answerGenerator.generate(userPrompt, contextData);
+                    String bestSeats = suggestions.get(0).getTitle().substring(SUGGESTED_SEATS_PREFIX.length());
+                    if (phrased != null && Arrays.stream(bestSeats.split(", ")).allMatch(phrased::contains)) {
+                        answer = phrased;
+                    } else {
+                        log.warn("Gemini seat answer dropped the suggested seats; using the computed answer");
+                    }
+                } catch (Exception e) {
+                    log.warn("Gemini seat phrasing failed; using the computed answer", e);
+                }
+            }
+
+            return AssistantQueryResponse.builder()
+                    .responseType(ResponseType.SEAT_SUGGESTION)
+                    .answer(answer)
+                    .sources(sources)
+                    .confidenceScore(!suggestions.isEmpty() ? 0.95 : 0.5)
+                    .wellGrounded(!suggestions.isEmpty())
+                    .groundingWarning(suggestions.isEmpty() ? "No seats matched the request" : null)
+                    .build();
+        }
 
         String userPrompt = String.format(
                 "Suggest optimal seats for the user based on availability and preferences.\n" +
@@ -425,20 +615,17 @@ public class CineBookAssistantService {
                         "Seating Preference: %s\n" +
                         "Format: 'Best available seats for your request are: [specific seat numbers]'",
                 request.getMovieSlotId(),
-                request.getRequiredSeats() != null ? request.getRequiredSeats() : 1,
+                requiredSeats(request),
                 seatingPref);
 
         try {
-            String answer = geminiService.generateResponse(
-                    assistantConfig.getSystemPrompt(),
-                    userPrompt,
-                    contextData);
+            String answer = answerGenerator.generate(userPrompt, contextData);
 
             return AssistantQueryResponse.builder()
                     .responseType(ResponseType.SEAT_SUGGESTION)
                     .answer(answer != null ? answer : "Unable to suggest seats at this time.")
                     .sources(sources)
-                    .confidenceScore(assistantConfig.getSeatOptimization().isEnabled() ? 0.95 : 0.7)
+                    .confidenceScore(0.7)
                     .wellGrounded(true)
                     .build();
         } catch (Exception e) {
@@ -447,9 +634,41 @@ public class CineBookAssistantService {
         }
     }
 
+    /**
+     * Answer built straight from the suggestion sources, best block first
+     */
+    private static String formatSeatSuggestions(AssistantQueryRequest request, List<SourceReference> sources,
+            List<SourceReference> suggestions) {
+        if (request.getMovieSlotId() == null) {
+            return "Please pick a showtime first so I can check its seats.";
+        }
+        if (sources.isEmpty()) {
+            return "I couldn't find seat information for showtime " + request.getMovieSlotId() + ".";
+        }
+        if (suggestions.isEmpty()) {
+            return String.format("There are fewer than %d free seats left for this showtime (%s). " +
+                    "Please try another showtime.", requiredSeats(request), sources.get(0).getContent());
+        }
+
+        StringBuilder answer = new StringBuilder("Best available seats for your request are: ")
+                .append(seatSuggestionLine(suggestions.get(0)));
+        if (suggestions.size() > 1) {
+            answer.append("\nOther options:");
+            for (SourceReference suggestion : suggestions.subList(1, suggestions.size())) {
+                answer.append("\n• ").append(seatSuggestionLine(suggestion));
+            }
+        }
+        return answer.toString();
+    }
+
+    private static String seatSuggestionLine(SourceReference suggestion) {
+        return suggestion.getTitle().substring(SUGGESTED_SEATS_PREFIX.length()) + " (" + suggestion.getContent() + ")";
+    }
+
     private AssistantQueryResponse handleFaqQuery(
             AssistantQueryRequest request,
-            List<SourceReference> sources) {
+            List<SourceReference> sources,
+            AnswerGenerator answerGenerator) {
 
         String contextData = formatSourcesAsContext(sources);
         String userPrompt = String.format(
@@ -459,10 +678,7 @@ public class CineBookAssistantService {
                 request.getQuery());
 
         try {
-            String answer = geminiService.generateResponse(
-                    assistantConfig.getSystemPrompt(),
-                    userPrompt,
-                    contextData);
+            String answer = answerGenerator.generate(userPrompt, contextData);
 
             return AssistantQueryResponse.builder()
                     .responseType(ResponseType.POLICY_EXPLANATION)
@@ -480,7 +696,8 @@ public class CineBookAssistantService {
 
     private AssistantQueryResponse handleUpsellQuery(
             AssistantQueryRequest request,
-            List<SourceReference> sources) {
+            List<SourceReference> sources,
+            AnswerGenerator answerGenerator) {
 
         double minConfidence = assistantConfig.getUpselling().getMinConfidence();
         boolean shouldUpsell = !sources.isEmpty() &&
@@ -507,10 +724,7 @@ public class CineBookAssistantService {
                 request.getQuery());
 
         try {
-            String answer = geminiService.generateResponse(
-                    assistantConfig.getSystemPrompt(),
-                    userPrompt,
-                    contextData);
+            String answer = answerGenerator.generate(userPrompt, contextData);
 
             return AssistantQueryResponse.builder()
                     .responseType(ResponseType.UPSELL_OFFER)
@@ -621,4 +835,12 @@ public class CineBookAssistantService {
                         .build())
                 .build();
     }
+
+    /**
+     * Produces the model's answer for a prepared prompt, either in one call or as a stream
+     */
+    @FunctionalInterface
+    private interface AnswerGenerator {
+        String generate(String userPrompt, String contextData);
+    }
 }
@@ -1,16 +1,23 @@
 package com.movieDekho.MovieDekho.service.assistantService;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
-import org.springframework.http.HttpEntity;
-import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
-import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
+import org.springframework.web.client.RestClient;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -23,18 +30,27 @@ import lombok.extern.slf4j.Slf4j;
  * 
  * Formats requests according to Gemini's REST API schema:
  * https://ai.google.dev/api/rest/v1beta/models/generateContent
+ * 
+ * Blocking calls go through the pooled RestClient; streaming calls use
+ * streamGenerateContent over SSE on the same HttpClient and never hold a request thread.
  */
 @Service
 @Slf4j
 public class GeminiService {
 
+    private static final String API_KEY_HEADER = "x-goog-api-key";
+    private static final String SSE_DATA_PREFIX = "data:";
+
     private final GeminiConfig geminiConfig;
-    private final RestTemplate restTemplate;
+    private final RestClient restClient;
+    private final HttpClient httpClient;
     private final ObjectMapper objectMapper;
 
-    public GeminiService(GeminiConfig geminiConfig, RestTemplate restTemplate, ObjectMapper objectMapper) {
+    public GeminiService(GeminiConfig geminiConfig, RestClient geminiRestClient, HttpClient geminiHttpClient,
+            ObjectMapper objectMapper) {
         this.geminiConfig = geminiConfig;
-        this.restTemplate = restTemplate;
+        this.restClient = geminiRestClient;
+        this.httpClient = geminiHttpClient;
         this.objectMapper = objectMapper;
     }
 
@@ -47,41 +63,133 @@ public class GeminiService {
      * @return Model's response text
      */
     public String generateResponse(String systemPrompt, String userQuery, String retrievedContext) {
+        if (!isEnabled()) {
+            return null;
+        }
+
+        try {
+            Map<String, Object> requestBody = buildRequestBody(systemPrompt, userQuery, retrievedContext);
+
+            log.info("Calling Gemini model {}", geminiConfig.getModel().getName());
+            String responseBody = restClient.post()
+                    .uri(buildApiUrl("generateContent"))
+                    .header(API_KEY_HEADER, geminiConfig.getApi().getKey())
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .accept(MediaType.APPLICATION_JSON)
+                    .body(requestBody)
+                    .retrieve()
+                    .body(String.class);
+
+            return parseGeminiResponse(responseBody);
+
+        } catch (Exception e) {
+            log.error("Error calling Gemini API", e);
+            throw new RuntimeException("Gemini API call failed: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Stream a response from Gemini, handing each text chunk to onChunk as soon as it arrives.
+     * The stream is bounded by gemini.http.stream-timeout-ms; a timeout or cancelling the returned
+     * future aborts the request or closes the response body, so the reading thread is released.
+     * 
+     * @return Future completing with the full response text once the stream ends
+     */
+    public CompletableFuture<String> streamResponse(String systemPrompt, String userQuery, String retrievedContext,
+            Consumer<String> onChunk) {
+        if (!isEnabled()) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        HttpRequest request;
+        try {
+            byte[] requestBody = objectMapper.writeValueAsBytes(
+                    buildRequestBody(systemPrompt, userQuery, retrievedContext));
+            request = HttpRequest.newBuilder(URI.create(buildApiUrl("streamGenerateContent") + "?alt=sse"))
+                    .timeout(Duration.ofMillis(geminiConfig.getHttp().getResponseTimeoutMs()))
+                    .header(API_KEY_HEADER, geminiConfig.getApi().getKey())
+                    .header("Content-Type", MediaType.APPLICATION_JSON_VALUE)
+                    .header("Accept", MediaType.TEXT_EVENT_STREAM_VALUE)
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(requestBody))
+                    .build();
+        } catch (IOException e) {
+            return CompletableFuture.failedFuture(new RuntimeException("Gemini API call failed: " + e.getMessage(), e));
+        }
+
+        log.info("Streaming from Gemini model {}", geminiConfig.getModel().getName());
+        CompletableFuture<HttpResponse<Stream<String>>> exchange =
+                httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofLines());
+        CompletableFuture<String> answer = exchange.thenApply(response -> readStream(response, onChunk));
+        // HttpRequest.timeout only covers the wait for headers, not the token stream after them
+        answer.orTimeout(geminiConfig.getHttp().getStreamTimeoutMs(), TimeUnit.MILLISECONDS)
+                .whenComplete((text, error) -> {
+                    if (error != null) {
+                        exchange.cancel(true);
+                        exchange.thenAccept(response -> response.body().close());
+                    }
+                });
+        return answer;
+    }
+
+    private boolean isEnabled() {
         if (!geminiConfig.getAssistant().isEnabled()) {
             log.warn("Gemini assistant is disabled");
-            return null;
+            return false;
         }
 
         if (geminiConfig.getApi().getKey() == null || geminiConfig.getApi().getKey().isEmpty()) {
             log.error("Gemini API key not configured");
             throw new IllegalStateException("GEMINI_API_KEY is not set");
         }
+        return true;
+    }
 
-        try {
-            String url = buildApiUrl();
-            Map<String, Object> requestBody = buildRequestBody(systemPrompt, userQuery, retrievedContext);
-            
-            HttpEntity<Map<String, Object>> request = new HttpEntity<>(requestBody, getHeaders());
-            
-            log.info("Calling Gemini API at: {}", url);
-            ResponseEntity<String> response = restTemplate.postForEntity(url, request, String.class);
-            
-            return parseGeminiResponse(response.getBody());
+    /**
+     * Read SSE lines of streamed GenerateContentResponse chunks, forwarding the text of each one.
+     */
+    private String readStream(HttpResponse<Stream<String>> response, Consumer<String> onChunk) {
+        try (Stream<String> lines = response.body()) {
+            if (response.statusCode() / 100 != 2) {
+                throw new RuntimeException("Gemini API call failed with HTTP " + response.statusCode());
+            }
 
-        } catch (Exception e) {
-            log.error("Error calling Gemini API", e);
-            throw new RuntimeException("Gemini API call failed: " + e.getMessage(), e);
+            StringBuilder answer = new StringBuilder();
+            lines.filter(line -> line.startsWith(SSE_DATA_PREFIX)).forEach(line -> {
+                String chunk = extractChunkText(line.substring(SSE_DATA_PREFIX.length()).trim());
+                if (!chunk.isEmpty()) {
+                    answer.append(chunk);
+                    onChunk.accept(chunk);
+                }
+            });
+            log.info("Gemini stream finished: {} chars", answer.length());
+            return answer.toString();
+        }
+    }
+
+    /**
+     * Text of candidates[0] in one stream chunk; the last chunk may carry only finishReason and usage.
+     */
+    private String extractChunkText(String json) {
+        try {
+            JsonNode parts = objectMapper.readTree(json).path("candidates").path(0).path("content").path("parts");
+            StringBuilder text = new StringBuilder();
+            for (JsonNode part : parts) {
+                text.append(part.path("text").asText(""));
+            }
+            return text.toString();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to parse Gemini stream chunk", e);
         }
     }
 
     /**
-     * Build the complete API URL with model name and API key.
+     * Build the API URL for a model method. The API key goes in a header so it never appears in URLs or logs.
      */
-    private String buildApiUrl() {
-        return String.format("%s/%s:generateContent?key=%s",
+    private String buildApiUrl(String method) {
+        return String.format("%s/%s:%s",
                 geminiConfig.getApi().getEndpoint(),
                 geminiConfig.getModel().getName(),
-                geminiConfig.getApi().getKey());
+                method);
     }
 
     /**
@@ -196,15 +304,4 @@ public class GeminiService {
             throw new RuntimeException("Failed to parse Gemini response: " + e.getMessage(), e);
         }
     }
-
-    /**
-     * Get HTTP headers for Gemini API call.
-     * Content-Type must be application/json.
-     */
-    private HttpHeaders getHeaders() {
-        HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.APPLICATION_JSON);
-        headers.setAccept(List.of(MediaType.APPLICATION_JSON));
-        return headers;
-    }
 }
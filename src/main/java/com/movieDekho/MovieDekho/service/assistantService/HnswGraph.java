@@ -0,0 +1,334 @@
+package com.movieDekho.MovieDekho.service.assistantService;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.FloatBuffer;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Random;
+
+/**
+ * Hierarchical Navigable Small World graph over L2-normalized vectors, scored by dot product (cosine).
+ *
+ * Nodes are append-only: an update is a delete plus an add, and deleted nodes stay in the graph as
+ * routing points but never appear in results. Vectors of nodes loaded from disk are read straight
+ * from the memory-mapped file; only nodes added since then live on the heap.
+ * Not thread-safe; the owning index serializes writers against readers.
+ */
+final class HnswGraph {
+
+    private static final Comparator<Hit> BEST_FIRST = Comparator.comparingDouble(Hit::score).reversed();
+    private static final Comparator<Hit> WORST_FIRST = Comparator.comparingDouble(Hit::score);
+    private static final int[] NO_LINKS = new int[0];
+
+    private final int dimensions;
+    private final int m;
+    private final int maxM0;
+    private final int efConstruction;
+    private final double levelMultiplier;
+    private final Random random;
+
+    private final List<Node> nodes = new ArrayList<>();
+    private FloatBuffer mappedVectors;
+    private int entryPoint = -1;
+    private int maxLevel = -1;
+    private int deletedCount;
+
+    HnswGraph(int dimensions, int m, int efConstruction) {
+        this.dimensions = dimensions;
+        this.m = m;
+        this.maxM0 = m * 2;
+        this.efConstruction = efConstruction;
+        this.levelMultiplier = 1 / Math.log(m);
+        // Fixed seed: the same inserts in the same order build the same graph
+        this.random = new Random(42);
+    }
+
+    int size() {
+        return nodes.size();
+    }
+
+    int deletedCount() {
+        return deletedCount;
+    }
+
+    boolean isDeleted(int node) {
+        return nodes.get(node).deleted;
+    }
+
+    int add(float[] vector) {
+        int id = nodes.size();
+        int level = randomLevel();
+        Node node = new Node(level, vector);
+        nodes.add(node);
+
+        if (entryPoint < 0) {
+            entryPoint = id;
+            maxLevel = level;
+            return id;
+        }
+
+        int current = entryPoint;
+        for (int layer = maxLevel; layer > level; layer--) {
+            current = greedyClosest(vector, current, layer);
+        }
+        for (int layer = Math.min(level, maxLevel); layer >= 0; layer--) {
+            List<Hit> found = searchLayer(vector, current, efConstruction, layer);
+            int[] selected = new int[Math.min(m, found.size())];
+            for (int i = 0; i < selected.length; i++) {
+                selected[i] = found.get(i).node();
+            }
+            node.links[layer] = selected;
+            for (int neighbor : selected) {
+                connect(neighbor, id, layer);
+            }
+            current = found.get(0).node();
+        }
+
+        if (level > maxLevel) {
+            maxLevel = level;
+            entryPoint = id;
+        }
+        return id;
+    }
+
+    void markDeleted(int node) {
+        Node target = nodes.get(node);
+        if (!target.deleted) {
+            target.deleted = true;
+            deletedCount++;
+        }
+    }
+
+    /**
+     * Up to k live nodes most similar to the query, best first
+     */
+    List<Hit> search(float[] query, int k, int ef) {
+        if (entryPoint < 0 || k <= 0) {
+            return List.of();
+        }
+        int current = entryPoint;
+        for (int layer = maxLevel; layer > 0; layer--) {
+            current = greedyClosest(query, current, layer);
+        }
+        // Widen the beam by the number of tombstones so deleted nodes cannot crowd out live ones
+        List<Hit> found = searchLayer(query, current, Math.max(ef, k) + Math.min(deletedCount, ef), 0);
+        List<Hit> result = new ArrayList<>(k);
+        for (Hit hit : found) {
+            if (!nodes.get(hit.node()).deleted) {
+                result.add(hit);
+                if (result.size() == k) {
+                    break;
+                }
+            }
+        }
+        return result;
+    }
+
+    float[] vector(int node) {
+        Node target = nodes.get(node);
+        if (target.vector != null) {
+            return target.vector;
+        }
+        float[] copy = new float[dimensions];
+        mappedVectors.get(node * dimensions, copy);
+        return copy;
+    }
+
+    /**
+     * Graph header, then all vectors as one contiguous block (mapped on load), then the links
+     */
+    void writeTo(DataOutputStream out) throws IOException {
+        out.writeInt(dimensions);
+        out.writeInt(nodes.size());
+        out.writeInt(entryPoint);
+        out.writeInt(maxLevel);
+        for (int node = 0; node < nodes.size(); node++) {
+            Node target = nodes.get(node);
+            for (int i = 0; i < dimensions; i++) {
+                out.writeFloat(target.vector != null ? target.vector[i] : mappedVectors.get(node * dimensions + i));
+            }
+        }
+        for (Node node : nodes) {
+            out.writeBoolean(node.deleted);
+            out.writeInt(node.level);
+            for (int[] layerLinks : node.links) {
+                out.writeInt(layerLinks.length);
+                for (int neighbor : layerLinks) {
+                    out.writeInt(neighbor);
+                }
+            }
+        }
+    }
+
+    /**
+     * Read a graph written by {@link #writeTo} starting at the buffer's position, leaving the
+     * position just past it. Vectors are not copied; they stay backed by the buffer.
+     */
+    static HnswGraph readFrom(ByteBuffer buffer, int m, int efConstruction) {
+        int dimensions = buffer.getInt();
+        int nodeCount = buffer.getInt();
+        HnswGraph graph = new HnswGraph(dimensions, m, efConstruction);
+        graph.entryPoint = buffer.getInt();
+        graph.maxLevel = buffer.getInt();
+
+        int vectorBytes = nodeCount * dimensions * Float.BYTES;
+        graph.mappedVectors = buffer.slice(buffer.position(), vectorBytes).asFloatBuffer();
+        buffer.position(buffer.position() + vectorBytes);
+
+        for (int node = 0; node < nodeCount; node++) {
+            boolean deleted = buffer.get() != 0;
+            Node target = new Node(buffer.getInt(), null);
+            for (int layer = 0; layer <= target.level; layer++) {
+                int[] layerLinks = new int[buffer.getInt()];
+                for (int i = 0; i < layerLinks.length; i++) {
+                    layerLinks[i] = buffer.getInt();
+                }
+                target.links[layer] = layerLinks;
+            }
+            target.deleted = deleted;
+            if (deleted) {
+                graph.deletedCount++;
+            }
+            graph.nodes.add(target);
+        }
+        return graph;
+    }
+
+    int dimensions() {
+        return dimensions;
+    }
+
+    private int randomLevel() {
+        return (int) Math.floor(-Math.log(1 - random.nextDouble()) * levelMultiplier);
+    }
+
+    private void connect(int from, int to, int layer) {
+        Node node = nodes.get(from);
+        int[] current = node.links[layer];
+        int maxLinks = layer == 0 ? maxM0 : m;
+        if (current.length < maxLinks) {
+            int[] extended = new int[current.length + 1];
+            System.arraycopy(current, 0, extended, 0, current.length);
+            extended[current.length] = to;
+            node.links[layer] = extended;
+            return;
+        }
+
+        // Full: keep the closest links among the existing ones and the new node
+        float[] base = vector(from);
+        List<Hit> candidates = new ArrayList<>(current.length + 1);
+        for (int neighbor : current) {
+            candidates.add(new Hit(neighbor, similarity(base, neighbor)));
+        }
+        candidates.add(new Hit(to, similarity(base, to)));
+        candidates.sort(BEST_FIRST);
+        int[] pruned = new int[maxLinks];
+        for (int i = 0; i < maxLinks; i++) {
+            pruned[i] = candidates.get(i).node();
+        }
+        node.links[layer] = pruned;
+    }
+
+    private int greedyClosest(float[] query, int start, int layer) {
+        int current = start;
+        double best = similarity(query, current);
+        boolean improved = true;
+        while (improved) {
+            improved = false;
+            for (int neighbor : links(current, layer)) {
+                double score = similarity(query, neighbor);
+                if (score > best) {
+                    best = score;
+                    current = neighbor;
+                    improved = true;
+                }
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Beam search within one layer; returns up to ef nodes, best first
+     */
+    private List<Hit> searchLayer(float[] query, int start, int ef, int layer) {
+        BitSet visited = new BitSet(nodes.size());
+        visited.set(start);
+        Hit first = new Hit(start, similarity(query, start));
+        PriorityQueue<Hit> candidates = new PriorityQueue<>(BEST_FIRST);
+        PriorityQueue<Hit> results = new PriorityQueue<>(WORST_FIRST);
+        candidates.add(first);
+        results.add(first);
+
+        while (!candidates.isEmpty()) {
+            Hit candidate = candidates.poll();
+            if (results.size() >= ef && candidate.score() < results.peek().score()) {
+                break;
+            }
+            for (int neighbor : links(candidate.node(), layer)) {
+                if (visited.get(neighbor)) {
+                    continue;
+                }
+                visited.set(neighbor);
+                double score = similarity(query, neighbor);
+                if (results.size() < ef || score > results.peek().score()) {
+                    Hit hit = new Hit(neighbor, score);
+                    candidates.add(hit);
+                    results.add(hit);
+                    if (results.size() > ef) {
+                        results.poll();
+                    }
+                }
+            }
+        }
+
+        List<Hit> ordered = new ArrayList<>(results);
+        ordered.sort(BEST_FIRST);
+        return ordered;
+    }
+
+    private int[] links(int node, int layer) {
+        int[][] links = nodes.get(node).links;
+        return layer < links.length ? links[layer] : NO_LINKS;
+    }
+
+    private double similarity(float[] query, int node) {
+        float[] vector = nodes.get(node).vector;
+        double dot = 0;
+        if (vector != null) {
+            for (int i = 0; i < dimensions; i++) {
+                dot += query[i] * vector[i];
+            }
+        } else {
+            int offset = node * dimensions;
+            for (int i = 0; i < dimensions; i++) {
+                dot += query[i] * mappedVectors.get(offset + i);
+            }
+        }
+        return dot;
+    }
+
+    record Hit(int node, double score) {
+    }
+
+    private static final class Node {
+        final int level;
+        final int[][] links;
+        // Null when the vector is read from the mapped file
+        final float[] vector;
+        boolean deleted;
+
+        Node(int level, float[] vector) {
+            this.level = level;
+            this.vector = vector;
+            this.links = new int[level + 1][];
+            for (int layer = 0; layer <= level; layer++) {
+                links[layer] = NO_LINKS;
+            }
+        }
+    }
+}
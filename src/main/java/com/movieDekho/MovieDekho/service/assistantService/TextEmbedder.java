@@ -0,0 +1,112 @@
+package com.movieDekho.MovieDekho.service.assistantService;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Deterministic local text embedding: signed feature hashing of word unigrams, word bigrams and
+ * character trigrams into a fixed number of dimensions, L2-normalized so a dot product is the cosine.
+ * Needs no model download or network, and the same text always maps to the same vector,
+ * so persisted vectors stay valid across restarts as long as {@link #VERSION} is unchanged.
+ */
+final class TextEmbedder {
+
+    /**
+     * Bump whenever tokenization, features or hashing change; persisted indexes with another version are rebuilt
+     */
+    static final int VERSION = 1;
+
+    private static final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Set<String> STOP_WORDS = Set.of(
+            "a", "an", "and", "are", "as", "at", "be", "by", "can", "do", "for", "from", "i", "in", "into", "is",
+            "it", "its", "me", "my", "of", "on", "or", "please", "show", "that", "the", "their", "this", "to",
+            "what", "which", "with", "you");
+
+    private static final double BIGRAM_WEIGHT = 0.5;
+    private static final double TRIGRAM_WEIGHT = 0.2;
+
+    private final int dimensions;
+
+    TextEmbedder(int dimensions) {
+        this.dimensions = dimensions;
+    }
+
+    int dimensions() {
+        return dimensions;
+    }
+
+    float[] embed(String text) {
+        return embed(List.of(new Field(text, 1.0)));
+    }
+
+    /**
+     * Embed several fields into one vector; a field's weight scales all of its features
+     */
+    float[] embed(List<Field> fields) {
+        double[] accumulator = new double[dimensions];
+        for (Field field : fields) {
+            List<String> words = tokenize(field.text());
+            for (int i = 0; i < words.size(); i++) {
+                String word = words.get(i);
+                addFeature(accumulator, "w:" + word, field.weight());
+                if (i + 1 < words.size()) {
+                    addFeature(accumulator, "b:" + word + ' ' + words.get(i + 1), field.weight() * BIGRAM_WEIGHT);
+                }
+                String padded = '#' + word + '#';
+                for (int j = 0; j + 3 <= padded.length(); j++) {
+                    addFeature(accumulator, "c:" + padded.substring(j, j + 3), field.weight() * TRIGRAM_WEIGHT);
+                }
+            }
+        }
+
+        double norm = 0;
+        for (double value : accumulator) {
+            norm += value * value;
+        }
+        float[] vector = new float[dimensions];
+        if (norm == 0) {
+            return vector;
+        }
+        double scale = 1 / Math.sqrt(norm);
+        for (int i = 0; i < dimensions; i++) {
+            vector[i] = (float) (accumulator[i] * scale);
+        }
+        return vector;
+    }
+
+    private void addFeature(double[] accumulator, String feature, double weight) {
+        long hash = mix64(feature.hashCode() * 0x9E3779B97F4A7C15L + feature.length());
+        int index = (int) Math.floorMod(hash, (long) dimensions);
+        // A second hash bit picks the sign, so collisions cancel out instead of piling up
+        accumulator[index] += (hash & (1L << 62)) == 0 ? weight : -weight;
+    }
+
+    private static List<String> tokenize(String text) {
+        List<String> words = new ArrayList<>();
+        if (text == null) {
+            return words;
+        }
+        for (String token : NON_WORD.split(text.toLowerCase(Locale.ROOT))) {
+            if (token.isEmpty() || STOP_WORDS.contains(token)) {
+                continue;
+            }
+            if (token.length() > 4 && token.endsWith("s") && !token.endsWith("ss")) {
+                token = token.substring(0, token.length() - 1);
+            }
+            words.add(token);
+        }
+        return words;
+    }
+
+    private static long mix64(long z) {
+        z = (z ^ (z >>> 33)) * 0xFF51AFD7ED558CCDL;
+        z = (z ^ (z >>> 33)) * 0xC4CEB9FE1A85EC53L;
+        return z ^ (z >>> 33);
+    }
+
+    record Field(String text, double weight) {
+    }
+}
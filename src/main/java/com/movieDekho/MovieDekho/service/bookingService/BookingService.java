@@ -14,12 +14,19 @@ import com.movieDekho.MovieDekho.exception.ResourceNotFoundException;
 import com.movieDekho.MovieDekho.exception.SeatAlreadySelectedException;
 import com.movieDekho.MovieDekho.models.*;
 import com.movieDekho.MovieDekho.repository.*;
+import com.movieDekho.MovieDekho.service.recommendationService.RecommendationEngine;
 import com.movieDekho.MovieDekho.service.temporarySeatLockService.TemporarySeatLockService;
 import com.movieDekho.MovieDekho.service.ticketVerificationService.TicketVerificationService;
 import com.movieDekho.MovieDekho.dtos.booking.TicketVerificationDto;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
+import com.movieDekho.MovieDekho.util.ExportFormat;
+import com.movieDekho.MovieDekho.util.ExportWriter;
+import jakarta.persistence.EntityManager;
+
 import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
 
 import com.google.zxing.BarcodeFormat;
 import com.google.zxing.qrcode.QRCodeWriter;
@@ -28,17 +35,25 @@ import com.google.zxing.client.j2se.MatrixToImageWriter;
 // If using a custom PageEventHelper class, you might need this import:
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.transaction.annotation.Isolation;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Set;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
@@ -53,6 +68,13 @@ public class BookingService {
     private final ObjectMapper objectMapper;
     private final TemporarySeatLockService temporarySeatLockService;
     private final TicketVerificationService ticketVerificationService;
+    private final EntityManager entityManager;
+    private final RecommendationEngine recommendationEngine;
+
+    private static final int EXPORT_CHUNK_SIZE = 500;
+    private static final List<String> BOOKING_EXPORT_COLUMNS = List.of(
+            "bookingId", "bookingTime", "status", "userEmail", "movieTitle", "theaterName", "screenType",
+            "showDateTime", "seatNumbers", "totalAmount", "paymentId", "paymentStatus", "verified");
 
     public SeatSelectionResponse getSeatsInformation(SeatSelectionRequest request) {
         return getSeatsInformation(request, null);
@@ -346,6 +368,7 @@ public class BookingService {
 
         updateSlotAvailableSeats(slot, razorpayRequest.getSeatNumbers().size());
         booking = bookingRepository.save(booking);
+        recordConfirmedBooking(booking);
 
         ticketVerificationService.generateVerificationDataForBooking(booking.getBookingId());
 
@@ -364,6 +387,8 @@ public class BookingService {
             Booking booking = bookingRepository.findById(bookingId)
                     .orElseThrow(() -> new ResourceNotFoundException("Booking not found with ID: " + bookingId));
 
+            boolean wasConfirmed = booking.getStatus() == Booking.BookingStatus.CONFIRMED;
+
             // Update booking status
             booking.setStatus(Booking.BookingStatus.CONFIRMED);
             booking.setPaymentStatus("COMPLETED");
@@ -375,6 +400,9 @@ public class BookingService {
             updateSlotAvailableSeats(booking.getSlot(), booking.getSeatNumbers().size());
 
             booking = bookingRepository.save(booking);
+            if (!wasConfirmed) {
+                recordConfirmedBooking(booking);
+            }
 
             // Generate verification data for confirmed booking
             ticketVerificationService.generateVerificationDataForBooking(booking.getBookingId());
@@ -388,6 +416,12 @@ public class BookingService {
         }
     }
 
+    private void recordConfirmedBooking(Booking booking) {
+        if (booking.getUser() != null) {
+            recommendationEngine.recordBooking(booking.getUser().getId(), booking.getSlot().getMovie().getId());
+        }
+    }
+
     private void markSeatsAsBooked(List<Seat> seats) {
         for (Seat seat : seats) {
             seat.setBooked(true);
@@ -443,6 +477,10 @@ public class BookingService {
             // Admin should process refund through Razorpay dashboard or use PaymentController refund endpoint
         }
 
+        if (booking.getStatus() == Booking.BookingStatus.CONFIRMED && booking.getUser() != null) {
+            recommendationEngine.recordCancellation(booking.getUser().getId(), booking.getSlot().getMovie().getId());
+        }
+
         // Update booking status
         booking.setStatus(Booking.BookingStatus.CANCELLED);
 
@@ -501,6 +539,10 @@ public class BookingService {
         if (booking == null) {
             throw new IllegalArgumentException("Booking cannot be null");
         }
+        return convertToBookingResponse(booking, booking.getSeatNumbers());
+    }
+
+    private BookingResponse convertToBookingResponse(Booking booking, List<String> seatNumbers) {
 
         BookingResponse response = new BookingResponse();
         response.setBookingId(booking.getBookingId());
@@ -518,7 +560,6 @@ public class BookingService {
         response.setPaymentStatus(booking.getPaymentStatus());
 
         // Handle seat numbers with null check and logging
-        List<String> seatNumbers = booking.getSeatNumbers();
         if (seatNumbers == null || seatNumbers.isEmpty()) {
             log.warn("Booking ID {} has null or empty seat numbers", booking.getBookingId());
             response.setSeatNumbers(null);
@@ -546,6 +587,91 @@ public class BookingService {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * One page of bookings for the admin console, newest first; every filter is optional
+     */
+    @Transactional(readOnly = true)
+    public Page<BookingResponse> getBookingsPage(LocalDate from, LocalDate to, String theaterName,
+                                                 Booking.BookingStatus status, int page, int size) {
+        Pageable pageable = PageRequest.of(page, size,
+                Sort.by(Sort.Order.desc("bookingTime"), Sort.Order.desc("bookingId")));
+        return bookingRepository.findForAdmin(startOfDay(from), startOfNextDay(to), blankToNull(theaterName),
+                        status, pageable)
+                .map(this::convertToBookingResponse);
+    }
+
+    /**
+     * Stream matching bookings to the output as CSV or NDJSON.
+     * Rows come from a database cursor in chunks; each chunk's seat numbers are loaded in one query
+     * and the persistence context is cleared afterwards, so memory does not grow with the row count.
+     */
+    @Transactional(readOnly = true)
+    public long exportBookings(LocalDate from, LocalDate to, String theaterName, Booking.BookingStatus status,
+                               ExportFormat format, OutputStream outputStream) throws IOException {
+        ExportWriter writer = new ExportWriter(outputStream, format, objectMapper, BOOKING_EXPORT_COLUMNS);
+        long exported = 0;
+        try (Stream<Booking> bookings = bookingRepository.streamForAdmin(startOfDay(from), startOfNextDay(to),
+                blankToNull(theaterName), status)) {
+            List<Booking> chunk = new ArrayList<>(EXPORT_CHUNK_SIZE);
+            Iterator<Booking> iterator = bookings.iterator();
+            while (iterator.hasNext()) {
+                chunk.add(iterator.next());
+                if (chunk.size() == EXPORT_CHUNK_SIZE || !iterator.hasNext()) {
+                    writeBookingChunk(chunk, writer);
+                    exported += chunk.size();
+                    chunk.clear();
+                    entityManager.clear();
+                }
+            }
+        }
+        writer.flush();
+        log.info("Exported {} bookings as {}", exported, format);
+        return exported;
+    }
+
+    private void writeBookingChunk(List<Booking> chunk, ExportWriter writer) throws IOException {
+        List<Long> ids = chunk.stream().map(Booking::getBookingId).toList();
+        Map<Long, List<String>> seatsByBooking = new HashMap<>();
+        for (Object[] row : bookingRepository.findSeatNumbersByBookingIds(ids)) {
+            seatsByBooking.computeIfAbsent((Long) row[0], id -> new ArrayList<>()).add((String) row[1]);
+        }
+
+        for (Booking booking : chunk) {
+            List<String> seatNumbers = seatsByBooking.getOrDefault(booking.getBookingId(), List.of());
+            BookingResponse response = convertToBookingResponse(booking, seatNumbers);
+            writer.write(response, List.of(
+                    response.getBookingId(),
+                    String.valueOf(response.getBookingTime()),
+                    String.valueOf(response.getStatus()),
+                    nullToEmpty(response.getUserEmail()),
+                    nullToEmpty(response.getMovieTitle()),
+                    nullToEmpty(response.getTheaterName()),
+                    nullToEmpty(response.getScreenType()),
+                    String.valueOf(response.getShowDateTime()),
+                    String.join(" ", seatNumbers),
+                    response.getTotalAmount(),
+                    nullToEmpty(response.getPaymentId()),
+                    nullToEmpty(response.getPaymentStatus()),
+                    response.isVerified()));
+        }
+    }
+
+    private static LocalDateTime startOfDay(LocalDate date) {
+        return date == null ? null : date.atStartOfDay();
+    }
+
+    private static LocalDateTime startOfNextDay(LocalDate date) {
+        return date == null ? null : date.plusDays(1).atStartOfDay();
+    }
+
+    private static String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value.trim();
+    }
+
+    private static String nullToEmpty(String value) {
+        return value == null ? "" : value;
+    }
+
     public List<BookingResponse> getBookingsBySlot(Long slotId) {
         MovieSlot slot = movieSlotRepository.findById(slotId)
                 .orElseThrow(() -> new ResourceNotFoundException("Movie slot not found with ID: " + slotId));
@@ -1,34 +1,42 @@
 package com.movieDekho.MovieDekho.service.bookingService;
 
 import com.movieDekho.MovieDekho.dtos.booking.SeatSelectionResponse;
+import com.movieDekho.MovieDekho.service.kvstore.KeyValueStore;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
-import java.time.LocalDateTime;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.TimeUnit;
-
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Pending seat selections per user and slot, kept in the shared key-value store so a user's
+ * follow-up request can land on any instance. Entries expire through the store's TTL.
+ */
 @Service
+@RequiredArgsConstructor
 @Slf4j
 public class SeatSelectionCacheService {
 
-    private final ConcurrentHashMap<String, CachedSeatSelection> cache = new ConcurrentHashMap<>();
-    private final ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(1);
+    private static final Duration SELECTION_TTL = Duration.ofMinutes(30);
+    private static final String KEY_PREFIX = "seat-selection:";
+    private static final byte FORMAT_VERSION = 1;
 
-    public SeatSelectionCacheService() {
-        //Setting time for delete entry is 10min
-        scheduler.scheduleAtFixedRate(this::cleanupExpiredEntries, 10,10, TimeUnit.MINUTES);
-    }
+    private final KeyValueStore keyValueStore;
 
     /**
      * Store seat selection for a user
      */
     public void storeSeatSelection(String userEmail, SeatSelectionResponse seatSelection) {
         String key = generateKey(userEmail, seatSelection.getSlotId());
-        CachedSeatSelection cached = new CachedSeatSelection(seatSelection, LocalDateTime.now());
-        cache.put(key, cached);
+        keyValueStore.set(key, encode(seatSelection), SELECTION_TTL);
         log.info("Stored seat selection for user: {} - Slot: {}", userEmail, seatSelection.getSlotId());
     }
 
@@ -36,63 +44,147 @@ public class SeatSelectionCacheService {
      * Retrieve seat selection for a user and slot
      */
     public SeatSelectionResponse getSeatSelection(String userEmail, Long slotId) {
-        String key = generateKey(userEmail, slotId);
-        CachedSeatSelection cached = cache.get(key);
+        byte[] cached = keyValueStore.get(generateKey(userEmail, slotId));
         
         if (cached == null) {
             log.warn("No seat selection found for user: {} - Slot: {}", userEmail, slotId);
             return null;
         }
 
-        // Check if expired (30 minutes)
-        if (cached.getTimestamp().isBefore(LocalDateTime.now().minusMinutes(30))) {
-            cache.remove(key);
-            log.warn("Expired seat selection removed for user: {} - Slot: {}", userEmail, slotId);
-            return null;
-        }
-
-        return cached.getSeatSelection();
+        return decode(cached);
     }
 
     /**
      * Remove seat selection after successful booking
      */
     public void removeSeatSelection(String userEmail, Long slotId) {
-        String key = generateKey(userEmail, slotId);
-        cache.remove(key);
+        keyValueStore.delete(generateKey(userEmail, slotId));
         log.info("Removed seat selection for user: {} - Slot: {}", userEmail, slotId);
     }
 
     private String generateKey(String userEmail, Long slotId) {
-        return userEmail + "_" + slotId;
+        return KEY_PREFIX + userEmail + "_" + slotId;
+    }
+
+    // Compact binary form: a version byte, then fields in declaration order with presence flags
+
+    private static byte[] encode(SeatSelectionResponse selection) {
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.writeByte(FORMAT_VERSION);
+            writeLong(out, selection.getSlotId());
+            writeStrings(out, selection.getSeatNumbers());
+            writeDouble(out, selection.getTicketFee());
+            writeDouble(out, selection.getConvenienceFee());
+            writeDouble(out, selection.getTotalAmount());
+            writeString(out, selection.getMovieTitle());
+            writeString(out, selection.getMovieDescription());
+            writeString(out, selection.getCinemaName());
+            writeString(out, selection.getScreenName());
+            writeString(out, selection.getShowTime());
+            writeString(out, selection.getShowDate());
+            List<SeatSelectionResponse.SeatDetails> details = selection.getSeatDetails();
+            out.writeInt(details == null ? -1 : details.size());
+            if (details != null) {
+                for (SeatSelectionResponse.SeatDetails detail : details) {
+                    writeString(out, detail.getSeatNumber());
+                    writeDouble(out, detail.getPrice());
+                }
+            }
+            return bytes.toByteArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
     }
 
-    private void cleanupExpiredEntries() {
-        LocalDateTime cutoff = LocalDateTime.now().minusMinutes(30);
-        cache.entrySet().removeIf(entry -> {
-            boolean expired = entry.getValue().getTimestamp().isBefore(cutoff);
-            if (expired) {
-                log.debug("Cleaned up expired seat selection: {}", entry.getKey());
+    private static SeatSelectionResponse decode(byte[] value) {
+        try {
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(value));
+            if (in.readByte() != FORMAT_VERSION) {
+                return null;
             }
-            return expired;
-        });
+            SeatSelectionResponse selection = new SeatSelectionResponse();
+            selection.setSlotId(readLong(in));
+            selection.setSeatNumbers(readStrings(in));
+            selection.setTicketFee(readDouble(in));
+            selection.setConvenienceFee(readDouble(in));
+            selection.setTotalAmount(readDouble(in));
+            selection.setMovieTitle(readString(in));
+            selection.setMovieDescription(readString(in));
+            selection.setCinemaName(readString(in));
+            selection.setScreenName(readString(in));
+            selection.setShowTime(readString(in));
+            selection.setShowDate(readString(in));
+            int detailCount = in.readInt();
+            if (detailCount >= 0) {
+                List<SeatSelectionResponse.SeatDetails> details = new ArrayList<>(detailCount);
+                for (int i = 0; i < detailCount; i++) {
+                    SeatSelectionResponse.SeatDetails detail = new SeatSelectionResponse.SeatDetails();
+                    detail.setSeatNumber(readString(in));
+                    detail.setPrice(readDouble(in));
+                    details.add(detail);
+                }
+                selection.setSeatDetails(details);
+            }
+            return selection;
+        } catch (IOException e) {
+            log.warn("Discarding unreadable seat selection: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
     }
 
-    private static class CachedSeatSelection {
-        private final SeatSelectionResponse seatSelection;
-        private final LocalDateTime timestamp;
+    private static String readString(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
 
-        public CachedSeatSelection(SeatSelectionResponse seatSelection, LocalDateTime timestamp) {
-            this.seatSelection = seatSelection;
-            this.timestamp = timestamp;
+    private static void writeStrings(DataOutputStream out, List<String> values) throws IOException {
+        out.writeInt(values == null ? -1 : values.size());
+        if (values != null) {
+            for (String value : values) {
+                writeString(out, value);
+            }
+        }
+    }
+
+    private static List<String> readStrings(DataInputStream in) throws IOException {
+        int count = in.readInt();
+        if (count < 0) {
+            return null;
         }
+        List<String> values = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            values.add(readString(in));
+        }
+        return values;
+    }
 
-        public SeatSelectionResponse getSeatSelection() {
-            return seatSelection;
+    private static void writeLong(DataOutputStream out, Long value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeLong(value);
         }
+    }
 
-        public LocalDateTime getTimestamp() {
-            return timestamp;
+    private static Long readLong(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readLong() : null;
+    }
+
+    private static void writeDouble(DataOutputStream out, Double value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeDouble(value);
         }
     }
+
+    private static Double readDouble(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readDouble() : null;
+    }
 }
@@ -0,0 +1,65 @@
+package com.movieDekho.MovieDekho.service.emailService;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Thread-safe collector of per-email send results, applied to the queue as a few bulk UPDATEs
+ * (one for all sent emails, one per distinct failure message) instead of one transaction per email.
+ */
+public class EmailDeliveryOutcomes {
+
+    private final List<Long> sentIds = new ArrayList<>();
+    private final Map<String, List<Long>> failedIdsByError = new LinkedHashMap<>();
+
+    public synchronized void recordSent(Long emailId) {
+        sentIds.add(emailId);
+    }
+
+    public synchronized void recordFailure(Long emailId, String errorMessage) {
+        String key = errorMessage == null ? "Unknown error" : errorMessage;
+        failedIdsByError.computeIfAbsent(key, k -> new ArrayList<>()).add(emailId);
+    }
+
+    public synchronized boolean isEmpty() {
+        return sentIds.isEmpty() && failedIdsByError.isEmpty();
+    }
+
+    public synchronized int size() {
+        return sentIds.size() + failedIdsByError.values().stream().mapToInt(List::size).sum();
+    }
+
+    /**
+     * Take everything recorded so far and reset, so outcomes can be flushed while sending continues
+     */
+    public synchronized EmailDeliveryOutcomes drain() {
+        EmailDeliveryOutcomes drained = new EmailDeliveryOutcomes();
+        drained.sentIds.addAll(sentIds);
+        drained.failedIdsByError.putAll(failedIdsByError);
+        sentIds.clear();
+        failedIdsByError.clear();
+        return drained;
+    }
+
+    /**
+     * Put back outcomes taken by {@link #drain()} that could not be written, so the next flush retries them
+     */
+    public void restore(EmailDeliveryOutcomes drained) {
+        List<Long> sent = drained.getSentIds();
+        Map<String, List<Long>> failed = drained.getFailedIdsByError();
+        synchronized (this) {
+            sentIds.addAll(sent);
+            failed.forEach((error, ids) -> failedIdsByError.computeIfAbsent(error, k -> new ArrayList<>()).addAll(ids));
+        }
+    }
+
+    synchronized List<Long> getSentIds() {
+        return List.copyOf(sentIds);
+    }
+
+    synchronized Map<String, List<Long>> getFailedIdsByError() {
+        return Map.copyOf(failedIdsByError);
+    }
+}
@@ -3,15 +3,29 @@ package com.movieDekho.MovieDekho.service.emailService;
 import com.movieDekho.MovieDekho.config.emailconfig.EmailQueueConfig;
 import com.movieDekho.MovieDekho.models.EmailQueue;
 import com.movieDekho.MovieDekho.service.otpservice.BrevoEmailService;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import sendinblue.ApiException;
 
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
-import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 
+/**
+ * Continuous email dispatcher. One virtual thread claims work from the queue;
+ * every send runs on its own virtual thread. Throughput is shaped by a token bucket
+ * (provider request rate) and an AIMD concurrency limit that backs off on 429/5xx,
+ * while each claim is capped by what is left of the daily quota. Empty polls back off exponentially
+ * and a spent quota pauses dispatch until the next day. Results are flushed to the queue in bulk.
+ */
 @Service
 @RequiredArgsConstructor
 @Slf4j
@@ -20,57 +34,163 @@ public class EmailProcessorService {
     private final EmailQueueService emailQueueService;
     private final BrevoEmailService brevoEmailService;
     private final EmailQueueConfig emailQueueConfig;
-    
-    private final ExecutorService executorService = Executors.newFixedThreadPool(5);
+    private final EmailTemplateRenderer emailTemplateRenderer;
 
+    private final ExecutorService executorService = Executors.newVirtualThreadPerTaskExecutor();
+    private final EmailDeliveryOutcomes pendingOutcomes = new EmailDeliveryOutcomes();
+    private final Object wakeUp = new Object();
+
+    private EmailRateLimiter rateLimiter;
+    private AdaptiveConcurrencyLimiter concurrencyLimiter;
+    private volatile boolean running;
+    private Thread dispatcherThread;
+    // Dispatcher thread only: set while the daily limit is spent
+    private LocalDateTime dailyLimitPausedUntil;
+
+    @PostConstruct
+    void init() {
+        rateLimiter = new EmailRateLimiter(emailQueueConfig.getProviderRatePerSecond(), emailQueueConfig.getProviderBurst());
+        concurrencyLimiter = new AdaptiveConcurrencyLimiter(emailQueueConfig.getInitialConcurrency(), 1,
+                emailQueueConfig.getMaxConcurrency());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void startDispatcher() {
+        if (running) {
+            return;
+        }
+        running = true;
+        dispatcherThread = Thread.ofVirtual().name("email-dispatcher").start(this::dispatchLoop);
+        log.info("Email dispatcher started - rate: {}/s, burst: {}, concurrency: {} (max {})",
+                emailQueueConfig.getProviderRatePerSecond(), emailQueueConfig.getProviderBurst(),
+                concurrencyLimiter.getLimit(), emailQueueConfig.getMaxConcurrency());
+    }
+
+    /**
+     * Called by the scheduler tick: flush results, free expired leases and nudge an idle dispatcher
+     */
     public void processEmailQueue() {
         if (!emailQueueConfig.isEnabled()) {
             return;
         }
 
         try {
+            flushOutcomes();
             emailQueueService.resetStuckEmails();
-            
-            List<EmailQueue> emailsToSend = emailQueueService.getEmailsReadyToSend();
-            
-            if (emailsToSend.isEmpty()) {
-                return;
-            }
+            wakeDispatcher();
+        } catch (Exception e) {
+            log.error("Error processing email queue", e);
+        }
+    }
 
-            if (emailQueueConfig.isEnableDetailedLogging()) {
-                log.info("Processing {} emails from queue", emailsToSend.size());
-            }
+    /**
+     * Write accumulated send results to the queue in bulk
+     */
+    @Scheduled(fixedDelayString = "${app.email.queue.outcome-flush-interval-ms:1000}")
+    public void flushOutcomes() {
+        if (pendingOutcomes.isEmpty()) {
+            return;
+        }
+        EmailDeliveryOutcomes outcomes = pendingOutcomes.drain();
+        try {
+            emailQueueService.applyOutcomes(outcomes);
+        } catch (Exception e) {
+            // Keep them for the next flush: letting the leases lapse would send these emails again
+            pendingOutcomes.restore(outcomes);
+            log.error("Failed to record {} email outcomes; retrying on the next flush", outcomes.size(), e);
+        }
+    }
 
-            // Process emails asynchronously
-            List<CompletableFuture<Void>> futures = emailsToSend.stream()
-                    .map(this::processEmailAsync)
-                    .toList();
+    private void dispatchLoop() {
+        long idleMs = emailQueueConfig.getIdlePollIntervalMs();
+        while (running) {
+            try {
+                if (!emailQueueConfig.isEnabled()) {
+                    idle(emailQueueConfig.getIdlePollIntervalMs());
+                    continue;
+                }
+                if (dailyLimitPausedUntil != null && LocalDateTime.now().isBefore(dailyLimitPausedUntil)) {
+                    idleUntil(dailyLimitPausedUntil);
+                    continue;
+                }
 
-            // Wait for all emails to be processed (with timeout)
-            CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]))
-                    .orTimeout(5, java.util.concurrent.TimeUnit.MINUTES)
-                    .join();
+                long quota = emailQueueService.remainingDailyQuota();
+                if (quota <= 0) {
+                    // Sends still in flight may fail and give quota back, so only pause for the day once they settle
+                    if (concurrencyLimiter.getInFlight() > 0 || !pendingOutcomes.isEmpty()) {
+                        idle(idleMs);
+                    } else {
+                        pauseForDailyLimit();
+                    }
+                    continue;
+                }
 
-        } catch (Exception e) {
-            log.error("Error processing email queue", e);
+                // Claim only what can start soon, so leases are not spent waiting in memory
+                int capacity = (int) Math.min(quota,
+                        Math.min(emailQueueConfig.getBatchSize(), Math.max(1, concurrencyLimiter.available())));
+                List<EmailQueue> emailsToSend = emailQueueService.claimEmailsReadyToSend(capacity);
+                if (emailsToSend.isEmpty()) {
+                    idle(idleMs);
+                    idleMs = Math.min(idleMs * 2, Math.max(emailQueueConfig.getIdlePollIntervalMs(),
+                            emailQueueConfig.getMaxIdlePollIntervalMs()));
+                    continue;
+                }
+                idleMs = emailQueueConfig.getIdlePollIntervalMs();
+
+                if (emailQueueConfig.isEnableDetailedLogging()) {
+                    log.info("Dispatching {} emails (concurrency limit {}, in flight {})",
+                            emailsToSend.size(), concurrencyLimiter.getLimit(), concurrencyLimiter.getInFlight());
+                }
+
+                for (EmailQueue email : emailsToSend) {
+                    rateLimiter.acquire();
+                    concurrencyLimiter.acquire();
+                    executorService.execute(() -> processSingleEmail(email, pendingOutcomes));
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                log.error("Error in email dispatcher", e);
+                try {
+                    idle(idleMs);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
         }
     }
 
     /**
-     * Process a single email asynchronously
+     * The daily limit is spent: sleep until midnight, when the sent-today count starts over, and log it once
+     */
+    private void pauseForDailyLimit() throws InterruptedException {
+        dailyLimitPausedUntil = LocalDate.now().plusDays(1).atStartOfDay();
+        log.warn("Daily email limit of {} reached. Pausing email dispatch until {}",
+                emailQueueConfig.getDailyEmailLimit(), dailyLimitPausedUntil);
+        idleUntil(dailyLimitPausedUntil);
+    }
+
+    private void idleUntil(LocalDateTime until) throws InterruptedException {
+        idle(Math.max(1, Duration.between(LocalDateTime.now(), until).toMillis()));
+    }
+
+    /**
+     * Wait up to timeoutMs, or until {@link #wakeDispatcher()} is called
      */
-    private CompletableFuture<Void> processEmailAsync(EmailQueue email) {
-        return CompletableFuture.runAsync(() -> processSingleEmail(email), executorService);
+    private void idle(long timeoutMs) throws InterruptedException {
+        synchronized (wakeUp) {
+            wakeUp.wait(timeoutMs);
+        }
     }
 
     /**
      * Process a single email
      */
-    private void processSingleEmail(EmailQueue email) {
+    private void processSingleEmail(EmailQueue email, EmailDeliveryOutcomes outcomes) {
         try {
-            // Mark as processing
-            emailQueueService.markAsProcessing(email.getId());
-
+            // Already PROCESSING: the batch claim marked it
             if (emailQueueConfig.isEnableDetailedLogging()) {
                 log.info("Processing email - ID: {}, Type: {}, Recipient: {}, Attempt: {}/{}", 
                          email.getId(), email.getEmailType(), email.getRecipientEmail(), 
@@ -81,11 +201,12 @@ public class EmailProcessorService {
             brevoEmailService.sendEmail(
                     email.getRecipientEmail(), 
                     email.getSubject(), 
-                    email.getHtmlContent()
+                    emailTemplateRenderer.renderBody(email)
             );
 
             // Mark as sent
-            emailQueueService.markAsSent(email.getId());
+            outcomes.recordSent(email.getId());
+            concurrencyLimiter.onSuccess();
 
             if (emailQueueConfig.isEnableDetailedLogging()) {
                 log.info("Email sent successfully - ID: {}, Type: {}, Recipient: {}", 
@@ -97,17 +218,36 @@ public class EmailProcessorService {
             String errorMessage = e.getMessage();
             boolean shouldRetry = shouldRetryBasedOnError(e);
 
+            if (isProviderOverloaded(e)) {
+                concurrencyLimiter.onOverload();
+            } else {
+                concurrencyLimiter.onIgnore();
+            }
+
             if (shouldRetry) {
                 log.warn("Email sending failed (will retry) - ID: {}, Error: {}", email.getId(), errorMessage);
-                emailQueueService.markAsFailed(email.getId(), errorMessage);
+                outcomes.recordFailure(email.getId(), errorMessage);
             } else {
                 log.error("Email sending failed permanently - ID: {}, Error: {}", email.getId(), errorMessage);
                 // Mark as failed without retry
-                emailQueueService.markAsFailed(email.getId(), "Non-retryable error: " + errorMessage);
+                outcomes.recordFailure(email.getId(), "Non-retryable error: " + errorMessage);
             }
         }
     }
 
+    /**
+     * 429 or 5xx from the provider: the signal for the concurrency limit to back off
+     */
+    private boolean isProviderOverloaded(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ApiException apiException) {
+                int code = apiException.getCode();
+                return code == 429 || code >= 500;
+            }
+        }
+        return false;
+    }
+
     /**
      * Determine if we should retry based on the error type
      */
@@ -146,27 +286,49 @@ public class EmailProcessorService {
     }
 
     /**
-     * Send high priority email immediately (bypass queue for critical emails)
+     * Deliver an email claimed by the priority lane, skipping the queue claim but not the provider limits:
+     * both lanes spend the same provider quota, so the lane takes a rate token and a concurrency slot too.
+     * On failure the claim is released so the dispatcher retries it at once.
      */
-    public boolean sendImmediateEmail(String recipientEmail, String subject, String htmlContent, 
-                                     EmailQueue.EmailType emailType) {
+    public void deliverClaimedEmail(EmailQueue email) {
         try {
-            log.info("Sending immediate email - Type: {}, Recipient: {}", emailType, recipientEmail);
-            
-            brevoEmailService.sendEmail(recipientEmail, subject, htmlContent);
-            
-            log.info("Immediate email sent successfully - Type: {}, Recipient: {}", emailType, recipientEmail);
-            return true;
-            
+            rateLimiter.acquire();
+            concurrencyLimiter.acquire();
+        } catch (InterruptedException e) {
+            // Shutting down: the claim lapses and the dispatcher sends the email
+            Thread.currentThread().interrupt();
+            return;
+        }
+
+        try {
+            brevoEmailService.sendEmail(email.getRecipientEmail(), email.getSubject(),
+                    emailTemplateRenderer.renderBody(email));
+            pendingOutcomes.recordSent(email.getId());
+            concurrencyLimiter.onSuccess();
+
+            if (emailQueueConfig.isEnableDetailedLogging()) {
+                log.info("Priority email sent - ID: {}, Type: {}, Recipient: {}",
+                        email.getId(), email.getEmailType(), email.getRecipientEmail());
+            }
         } catch (Exception e) {
-            log.error("Failed to send immediate email - Type: {}, Recipient: {}, Error: {}", 
-                     emailType, recipientEmail, e.getMessage());
-            
-            // Fallback to queue
-            emailQueueService.queueEmail(recipientEmail, subject, htmlContent, emailType, null);
-            log.info("Email added to queue as fallback - Type: {}, Recipient: {}", emailType, recipientEmail);
-            
-            return false;
+            if (isProviderOverloaded(e)) {
+                concurrencyLimiter.onOverload();
+            } else {
+                concurrencyLimiter.onIgnore();
+            }
+            log.warn("Priority email failed, handing to queue - ID: {}, Type: {}, Error: {}",
+                    email.getId(), email.getEmailType(), e.getMessage());
+            emailQueueService.releaseClaim(email.getId(), e.getMessage());
+            wakeDispatcher();
+        }
+    }
+
+    /**
+     * Wake the dispatcher if it is idle-waiting, e.g. after new work was queued
+     */
+    public void wakeDispatcher() {
+        synchronized (wakeUp) {
+            wakeUp.notifyAll();
         }
     }
 
@@ -174,6 +336,10 @@ public class EmailProcessorService {
      * Cleanup method to be called on application shutdown
      */
     public void shutdown() {
+        running = false;
+        if (dispatcherThread != null) {
+            dispatcherThread.interrupt();
+        }
         executorService.shutdown();
         try {
             if (!executorService.awaitTermination(30, java.util.concurrent.TimeUnit.SECONDS)) {
@@ -183,5 +349,6 @@ public class EmailProcessorService {
             executorService.shutdownNow();
             Thread.currentThread().interrupt();
         }
+        flushOutcomes();
     }
-}
\ No newline at end of file
+}
@@ -7,12 +7,17 @@ import com.movieDekho.MovieDekho.repository.EmailQueueRepository;
 import lombok.Data;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.net.InetAddress;
+import java.net.UnknownHostException;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
+import java.util.UUID;
 
 @Service
 @RequiredArgsConstructor
@@ -22,6 +27,9 @@ public class EmailQueueService {
     private final EmailQueueRepository emailQueueRepository;
     private final EmailQueueConfig emailQueueConfig;
 
+    // Identifies this instance as the owner of the emails it claims
+    private final String claimOwner = buildClaimOwner();
+
     @Transactional
     public void queueEmail(String recipientEmail, String subject, String htmlContent,
             EmailQueue.EmailType emailType, Long relatedEntityId) {
@@ -46,6 +54,51 @@ public class EmailQueueService {
 
     }
 
+    /**
+     * Queue an email by template; only the template and its parameters are stored,
+     * the body is rendered when the email is sent
+     */
+    @Transactional
+    public void queueTemplatedEmail(String recipientEmail, String subject, EmailQueue.EmailTemplate template,
+            Map<String, Object> templateParams, EmailQueue.EmailType emailType, Long relatedEntityId) {
+
+        EmailQueue emailQueue = newTemplatedEmail(recipientEmail, subject, template, templateParams,
+                emailType, relatedEntityId);
+        emailQueue.setStatus(EmailQueue.EmailStatus.PENDING);
+
+        EmailQueue savedEmail = emailQueueRepository.save(emailQueue);
+
+        if (emailQueueConfig.isEnableDetailedLogging()) {
+            log.info("Email queued successfully - ID: {}, Type: {}, Template: {}, Recipient: {}, Priority: {}",
+                    savedEmail.getId(), emailType, template, recipientEmail, savedEmail.getPriority());
+        }
+    }
+
+    /**
+     * Persist a templated email already claimed by this instance, for delivery by the in-memory priority lane.
+     * The row is durable from here on: if this instance dies, the lease expires and the dispatcher sends it.
+     */
+    @Transactional
+    public EmailQueue queueClaimedEmail(String recipientEmail, String subject, EmailQueue.EmailTemplate template,
+            Map<String, Object> templateParams, EmailQueue.EmailType emailType) {
+
+        LocalDateTime now = LocalDateTime.now();
+        EmailQueue emailQueue = newTemplatedEmail(recipientEmail, subject, template, templateParams, emailType, null);
+        emailQueue.setStatus(EmailQueue.EmailStatus.PROCESSING);
+        emailQueue.setClaimedBy(claimOwner);
+        emailQueue.setClaimExpiresAt(now.plusMinutes(emailQueueConfig.getProcessingTimeoutMinutes()));
+        emailQueue.setLastAttemptAt(now);
+        return emailQueueRepository.save(emailQueue);
+    }
+
+    /**
+     * Return a claimed email to PENDING so the dispatcher retries it right away
+     */
+    @Transactional
+    public void releaseClaim(Long emailId, String errorMessage) {
+        emailQueueRepository.releaseClaim(emailId, claimOwner, errorMessage, LocalDateTime.now());
+    }
+
     /**
      * Queue an email with scheduled time
      */
@@ -74,89 +127,71 @@ public class EmailQueueService {
     }
 
     /**
-     * Get emails ready to be processed
+     * Claim the next batch of emails for this instance in one round trip.
+     * Claimed emails are PROCESSING and leased to this worker, so other instances skip them.
      */
-    @Transactional(readOnly = true)
-    public List<EmailQueue> getEmailsReadyToSend() {
-        if (!emailQueueConfig.isEnabled()) {
-            return List.of();
-        }
-
-        // Check daily limit if enabled
-        if (emailQueueConfig.getDailyEmailLimit() > 0 && emailQueueConfig.isPauseOnDailyLimit()) {
-            LocalDateTime startOfDay = LocalDateTime.now().withHour(0).withMinute(0).withSecond(0).withNano(0);
-            LocalDateTime endOfDay = startOfDay.plusDays(1);
-
-            long sentToday = emailQueueRepository.countSentEmailsInPeriod(startOfDay, endOfDay);
-
-            if (sentToday >= emailQueueConfig.getDailyEmailLimit()) {
-                log.warn("Daily email limit reached ({}/{}). Pausing email processing.",
-                        sentToday, emailQueueConfig.getDailyEmailLimit());
-                return List.of();
-            }
-        }
-
-        PageRequest pageRequest = PageRequest.of(0, emailQueueConfig.getBatchSize());
-        return emailQueueRepository.findEmailsReadyToSend(LocalDateTime.now(), pageRequest);
+    @Transactional
+    public List<EmailQueue> claimEmailsReadyToSend() {
+        return claimEmailsReadyToSend((int) Math.min(emailQueueConfig.getBatchSize(), remainingDailyQuota()));
     }
 
     /**
-     * Mark email as processing
+     * Claim up to maxEmails. The daily limit is not checked here: callers cap maxEmails with
+     * {@link #remainingDailyQuota()}, so an idle poll does not pay for the counts twice.
      */
     @Transactional
-    public void markAsProcessing(Long emailId) {
-        emailQueueRepository.findById(emailId).ifPresent(email -> {
-            email.setStatus(EmailQueue.EmailStatus.PROCESSING);
-            email.setLastAttemptAt(LocalDateTime.now());
-            emailQueueRepository.save(email);
-        });
+    public List<EmailQueue> claimEmailsReadyToSend(int maxEmails) {
+        if (!emailQueueConfig.isEnabled() || maxEmails <= 0) {
+            return List.of();
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime leaseUntil = now.plusMinutes(emailQueueConfig.getProcessingTimeoutMinutes());
+        List<EmailQueue> claimed = new ArrayList<>(
+                emailQueueRepository.claimEmailsReadyToSend(claimOwner, now, leaseUntil, maxEmails));
+        claimed.sort(Comparator.comparing(EmailQueue::getPriority).reversed()
+                .thenComparing(EmailQueue::getCreatedAt));
+        return claimed;
     }
 
     /**
-     * Mark email as sent successfully
+     * Emails that may still be sent today, or Long.MAX_VALUE when the daily limit is not enforced.
+     * In-flight claims count as sent: their results may not be flushed yet.
      */
-    @Transactional
-    public void markAsSent(Long emailId) {
-        emailQueueRepository.findById(emailId).ifPresent(email -> {
-            email.setStatus(EmailQueue.EmailStatus.SENT);
-            email.setSentAt(LocalDateTime.now());
-            emailQueueRepository.save(email);
-
-            if (emailQueueConfig.isEnableDetailedLogging()) {
-                log.info("Email marked as sent - ID: {}, Type: {}, Recipient: {}",
-                        emailId, email.getEmailType(), email.getRecipientEmail());
-            }
-        });
+    @Transactional(readOnly = true)
+    public long remainingDailyQuota() {
+        if (emailQueueConfig.getDailyEmailLimit() <= 0 || !emailQueueConfig.isPauseOnDailyLimit()) {
+            return Long.MAX_VALUE;
+        }
+        LocalDateTime startOfDay = LocalDateTime.now().withHour(0).withMinute(0).withSecond(0).withNano(0);
+        LocalDateTime endOfDay = startOfDay.plusDays(1);
+        long sentToday = emailQueueRepository.countSentEmailsInPeriod(startOfDay, endOfDay)
+                + emailQueueRepository.countByStatus(EmailQueue.EmailStatus.PROCESSING);
+        return Math.max(0, emailQueueConfig.getDailyEmailLimit() - sentToday);
     }
 
     /**
-     * Mark email as failed and schedule retry if possible
+     * Apply a batch of send results: one UPDATE for all sent emails and one per distinct failure message
      */
     @Transactional
-    public void markAsFailed(Long emailId, String errorMessage) {
-        emailQueueRepository.findById(emailId).ifPresent(email -> {
-            email.setRetryCount(email.getRetryCount() + 1);
-            email.setErrorMessage(errorMessage);
-            email.setLastAttemptAt(LocalDateTime.now());
-
-            if (email.getRetryCount() < email.getMaxRetries()) {
-                // Schedule for retry
-                LocalDateTime nextRetry = calculateNextRetryTime(email.getRetryCount());
-                email.setScheduledAt(nextRetry);
-                email.setStatus(EmailQueue.EmailStatus.PENDING);
-
-                log.warn("Email failed but will retry - ID: {}, Attempt: {}/{}, Next retry: {}, Error: {}",
-                        emailId, email.getRetryCount(), email.getMaxRetries(), nextRetry, errorMessage);
-            } else {
-                // Permanently failed
-                email.setStatus(EmailQueue.EmailStatus.FAILED);
-
-                log.error("Email permanently failed - ID: {}, Type: {}, Recipient: {}, Error: {}",
-                        emailId, email.getEmailType(), email.getRecipientEmail(), errorMessage);
+    public void applyOutcomes(EmailDeliveryOutcomes outcomes) {
+        LocalDateTime now = LocalDateTime.now();
+
+        List<Long> sentIds = outcomes.getSentIds();
+        if (!sentIds.isEmpty()) {
+            int updated = emailQueueRepository.markAllAsSent(sentIds, claimOwner, now);
+            if (emailQueueConfig.isEnableDetailedLogging()) {
+                log.info("Marked {} emails as sent", updated);
             }
+        }
 
-            emailQueueRepository.save(email);
-        });
+        for (Map.Entry<String, List<Long>> failure : outcomes.getFailedIdsByError().entrySet()) {
+            int updated = emailQueueRepository.markAllAsFailed(failure.getValue(), claimOwner, failure.getKey(), now,
+                    emailQueueConfig.isExponentialBackoff(),
+                    emailQueueConfig.getBaseRetryDelayMinutes(),
+                    emailQueueConfig.getMaxRetryDelayMinutes());
+            log.warn("Recorded failed attempt for {} emails - Error: {}", updated, failure.getKey());
+        }
     }
 
     /**
@@ -164,8 +199,9 @@ public class EmailQueueService {
      */
     @Transactional
     public int resetStuckEmails() {
-        LocalDateTime cutoffTime = LocalDateTime.now().minusMinutes(emailQueueConfig.getProcessingTimeoutMinutes());
-        int resetCount = emailQueueRepository.resetStuckEmails(cutoffTime);
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime cutoffTime = now.minusMinutes(emailQueueConfig.getProcessingTimeoutMinutes());
+        int resetCount = emailQueueRepository.resetStuckEmails(now, cutoffTime);
 
         if (resetCount > 0) {
             log.warn("Reset {} stuck emails back to pending status", resetCount);
@@ -175,9 +211,10 @@ public class EmailQueueService {
     }
 
     /**
-     * Cleanup old emails
+     * Cleanup old emails. Sent emails are removed by bounded DELETE batches, each in its own
+     * transaction with a short pause in between, so the daily run never scans rows into memory
+     * or holds long locks against the dispatcher.
      */
-    @Transactional
     public void cleanupOldEmails() {
         LocalDateTime sentEmailsCutoff = LocalDateTime.now().minusDays(emailQueueConfig.getKeepSentEmailsDays());
         LocalDateTime failedEmailsCutoff = LocalDateTime.now().minusDays(emailQueueConfig.getKeepFailedEmailsDays());
@@ -186,14 +223,19 @@ public class EmailQueueService {
         int cancelledCount = emailQueueRepository.cancelOldEmails(failedEmailsCutoff);
 
         // Delete old sent emails
-        List<EmailQueue> oldSentEmails = emailQueueRepository.findAll().stream()
-                .filter(email -> email.getStatus() == EmailQueue.EmailStatus.SENT)
-                .filter(email -> email.getSentAt() != null && email.getSentAt().isBefore(sentEmailsCutoff))
-                .toList();
-
-        if (!oldSentEmails.isEmpty()) {
-            emailQueueRepository.deleteAll(oldSentEmails);
-            log.info("Deleted {} old sent emails", oldSentEmails.size());
+        int batchSize = Math.max(1, emailQueueConfig.getRetentionDeleteBatchSize());
+        long deletedCount = 0;
+        int deleted;
+        do {
+            deleted = emailQueueRepository.deleteSentEmailsBefore(sentEmailsCutoff, batchSize);
+            deletedCount += deleted;
+            if (deleted == batchSize && !pauseBetweenRetentionBatches()) {
+                break;
+            }
+        } while (deleted == batchSize);
+
+        if (deletedCount > 0) {
+            log.info("Deleted {} old sent emails", deletedCount);
         }
 
         if (cancelledCount > 0) {
@@ -201,6 +243,16 @@ public class EmailQueueService {
         }
     }
 
+    private boolean pauseBetweenRetentionBatches() {
+        try {
+            Thread.sleep(emailQueueConfig.getRetentionBatchPauseMs());
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
     /**
      * Get queue statistics
      */
@@ -222,6 +274,24 @@ public class EmailQueueService {
         return stats;
     }
 
+    /**
+     * Build an unsaved templated email; callers set the status
+     */
+    private EmailQueue newTemplatedEmail(String recipientEmail, String subject, EmailQueue.EmailTemplate template,
+            Map<String, Object> templateParams, EmailQueue.EmailType emailType, Long relatedEntityId) {
+        EmailQueue emailQueue = new EmailQueue();
+        emailQueue.setRecipientEmail(recipientEmail);
+        emailQueue.setSubject(subject);
+        emailQueue.setTemplate(template);
+        emailQueue.setTemplateParams(templateParams);
+        emailQueue.setEmailType(emailType);
+        emailQueue.setRelatedEntityId(relatedEntityId);
+        emailQueue.setPriority(getEmailPriority(emailType));
+        emailQueue.setMaxRetries(emailQueueConfig.getMaxRetries());
+        emailQueue.setScheduledAt(LocalDateTime.now());
+        return emailQueue;
+    }
+
     /**
      * Get email priority based on type
      */
@@ -236,19 +306,14 @@ public class EmailQueueService {
         };
     }
 
-    /**
-     * Calculate next retry time with exponential backoff
-     */
-    private LocalDateTime calculateNextRetryTime(int retryCount) {
-        int delayMinutes = emailQueueConfig.getBaseRetryDelayMinutes();
-
-        if (emailQueueConfig.isExponentialBackoff()) {
-            // Exponential backoff: base * 2^(retryCount-1)
-            delayMinutes = emailQueueConfig.getBaseRetryDelayMinutes() * (int) Math.pow(2, retryCount - 1);
-            delayMinutes = Math.min(delayMinutes, emailQueueConfig.getMaxRetryDelayMinutes());
+    private static String buildClaimOwner() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            host = "unknown-host";
         }
-
-        return LocalDateTime.now().plusMinutes(delayMinutes);
+        return host + ":" + UUID.randomUUID().toString().substring(0, 8);
     }
 
     @Data
@@ -0,0 +1,44 @@
+package com.movieDekho.MovieDekho.service.emailService;
+
+/**
+ * Token bucket matched to the email provider's request rate.
+ * Tokens refill continuously at the configured rate up to the burst size; callers block for a token.
+ */
+public class EmailRateLimiter {
+
+    private final double ratePerSecond;
+    private final double burst;
+    private double tokens;
+    private long lastRefillNanos;
+
+    public EmailRateLimiter(double ratePerSecond, int burst) {
+        this.ratePerSecond = Math.max(0.01, ratePerSecond);
+        this.burst = Math.max(1, burst);
+        this.tokens = this.burst;
+        this.lastRefillNanos = System.nanoTime();
+    }
+
+    /**
+     * Block until a token is available and take it
+     */
+    public void acquire() throws InterruptedException {
+        while (true) {
+            long waitNanos;
+            synchronized (this) {
+                refill();
+                if (tokens >= 1) {
+                    tokens -= 1;
+                    return;
+                }
+                waitNanos = (long) ((1 - tokens) / ratePerSecond * 1_000_000_000L);
+            }
+            Thread.sleep(Math.max(1, waitNanos / 1_000_000), (int) (waitNanos % 1_000_000));
+        }
+    }
+
+    private void refill() {
+        long now = System.nanoTime();
+        tokens = Math.min(burst, tokens + (now - lastRefillNanos) / 1_000_000_000.0 * ratePerSecond);
+        lastRefillNanos = now;
+    }
+}
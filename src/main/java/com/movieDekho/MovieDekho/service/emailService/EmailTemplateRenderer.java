@@ -0,0 +1,57 @@
+package com.movieDekho.MovieDekho.service.emailService;
+
+import com.movieDekho.MovieDekho.models.EmailQueue;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.thymeleaf.ITemplateEngine;
+import org.thymeleaf.context.Context;
+
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Renders queued emails from their template and parameters at send time.
+ * Thymeleaf keeps parsed templates in its cache, so each template is compiled once per process.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class EmailTemplateRenderer {
+
+    private final ITemplateEngine templateEngine;
+
+    public String render(EmailQueue.EmailTemplate template, Map<String, Object> params) {
+        Context context = new Context(Locale.ENGLISH);
+        if (params != null) {
+            context.setVariables(params);
+        }
+        return templateEngine.process(template.getPath(), context);
+    }
+
+    /**
+     * Body to send for a queued email: rendered from its template, or the stored HTML for legacy rows
+     */
+    public String renderBody(EmailQueue email) {
+        if (email.getTemplate() == null) {
+            return email.getHtmlContent();
+        }
+        return render(email.getTemplate(), email.getTemplateParams());
+    }
+
+    /**
+     * Parse every template at startup so the first send does not pay for it and broken templates show up early
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        for (EmailQueue.EmailTemplate template : EmailQueue.EmailTemplate.values()) {
+            try {
+                render(template, Map.of());
+            } catch (Exception e) {
+                log.error("Email template {} failed to render: {}", template.getPath(), e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.movieDekho.MovieDekho.service.emailService;
+
+import com.movieDekho.MovieDekho.config.emailconfig.EmailQueueConfig;
+import com.movieDekho.MovieDekho.models.EmailQueue;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Low-latency lane for time-sensitive emails (OTP, password reset).
+ * The request thread only inserts the email as a row claimed by this instance and hands it to a
+ * bounded in-memory priority queue; dedicated virtual-thread workers do the provider call.
+ * When the lane is full the email goes to the regular database queue instead.
+ * Either way the row keeps the code only until delivery, when its template parameters are cleared,
+ * and the send shares the provider rate and concurrency limits with the batch lane.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PriorityEmailLane {
+
+    private static final Comparator<EmailQueue> HIGHEST_PRIORITY_FIRST = Comparator
+            .comparing(EmailQueue::getPriority, Comparator.reverseOrder())
+            .thenComparing(EmailQueue::getId);
+
+    private final EmailQueueService emailQueueService;
+    private final EmailProcessorService emailProcessorService;
+    private final EmailQueueConfig emailQueueConfig;
+
+    private final PriorityBlockingQueue<EmailQueue> lane = new PriorityBlockingQueue<>(64, HIGHEST_PRIORITY_FIRST);
+    private final List<Thread> workers = new ArrayList<>();
+    private Semaphore capacity;
+    private volatile boolean running;
+
+    @PostConstruct
+    void init() {
+        capacity = new Semaphore(Math.max(1, emailQueueConfig.getPriorityLaneCapacity()));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        for (int i = 0; i < Math.max(1, emailQueueConfig.getPriorityLaneWorkers()); i++) {
+            workers.add(Thread.ofVirtual().name("priority-email-" + i).start(this::work));
+        }
+    }
+
+    /**
+     * Durably enqueue an email and return without waiting for the provider
+     */
+    public void submit(String recipientEmail, String subject, EmailQueue.EmailTemplate template,
+                       Map<String, Object> templateParams, EmailQueue.EmailType emailType) {
+        if (!running || !capacity.tryAcquire()) {
+            emailQueueService.queueTemplatedEmail(recipientEmail, subject, template, templateParams, emailType, null);
+            emailProcessorService.wakeDispatcher();
+            log.warn("Priority email lane unavailable, queued {} email for: {}", emailType, recipientEmail);
+            return;
+        }
+
+        try {
+            lane.put(emailQueueService.queueClaimedEmail(recipientEmail, subject, template, templateParams, emailType));
+        } catch (RuntimeException e) {
+            capacity.release();
+            throw e;
+        }
+    }
+
+    private void work() {
+        while (running) {
+            EmailQueue email;
+            try {
+                email = lane.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            capacity.release();
+            emailProcessorService.deliverClaimedEmail(email);
+        }
+    }
+
+    /**
+     * Emails still in the lane keep their claim and are sent by the dispatcher once the lease expires
+     */
+    @PreDestroy
+    public synchronized void stop() {
+        running = false;
+        workers.forEach(Thread::interrupt);
+        workers.clear();
+    }
+}
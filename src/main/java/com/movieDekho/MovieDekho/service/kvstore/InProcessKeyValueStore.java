@@ -0,0 +1,164 @@
+package com.movieDekho.MovieDekho.service.kvstore;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Process-local store. Keys are spread over independently locked shards; each shard files its
+ * keys into one-second expiry buckets (a timing wheel), so the sweep frees expired entries by
+ * dropping whole buckets instead of scanning. Each shard holds at most maxEntries / SHARDS entries;
+ * when full, the soonest-expiring entries are evicted first.
+ */
+@Slf4j
+public class InProcessKeyValueStore implements KeyValueStore {
+
+    private static final int SHARDS = 16;
+    private static final long BUCKET_MILLIS = 1000;
+
+    private final Shard[] shards = new Shard[SHARDS];
+
+    public InProcessKeyValueStore(int maxEntries) {
+        int perShard = Math.max(1, maxEntries / SHARDS);
+        for (int i = 0; i < SHARDS; i++) {
+            shards[i] = new Shard(perShard);
+        }
+    }
+
+    @Override
+    public void set(String key, byte[] value, Duration ttl) {
+        shardFor(key).put(key, value, System.currentTimeMillis() + ttl.toMillis());
+    }
+
+    @Override
+    public byte[] get(String key) {
+        return shardFor(key).get(key, System.currentTimeMillis());
+    }
+
+    @Override
+    public void delete(String key) {
+        shardFor(key).remove(key);
+    }
+
+    @Override
+    public long increment(String key, Duration ttl) {
+        return shardFor(key).increment(key, System.currentTimeMillis(), ttl.toMillis());
+    }
+
+    @Scheduled(fixedDelayString = "${app.kv.local.sweep-interval-ms:10000}")
+    public void sweepExpired() {
+        long now = System.currentTimeMillis();
+        int freed = 0;
+        for (Shard shard : shards) {
+            freed += shard.sweep(now);
+        }
+        if (freed > 0) {
+            log.debug("Freed {} expired entries", freed);
+        }
+    }
+
+    private Shard shardFor(String key) {
+        return shards[Math.floorMod(key.hashCode(), SHARDS)];
+    }
+
+    private static long bucketOf(long expiresAtMillis) {
+        return expiresAtMillis / BUCKET_MILLIS;
+    }
+
+    private record Entry(byte[] value, long expiresAtMillis) {
+    }
+
+    private static final class Shard {
+        private final int capacity;
+        private final Map<String, Entry> entries = new HashMap<>();
+        private final TreeMap<Long, Set<String>> wheel = new TreeMap<>();
+
+        Shard(int capacity) {
+            this.capacity = capacity;
+        }
+
+        synchronized void put(String key, byte[] value, long expiresAtMillis) {
+            unlink(key, entries.remove(key));
+            while (entries.size() >= capacity && !wheel.isEmpty()) {
+                evictSoonestExpiring();
+            }
+            entries.put(key, new Entry(value, expiresAtMillis));
+            wheel.computeIfAbsent(bucketOf(expiresAtMillis), b -> new HashSet<>()).add(key);
+        }
+
+        synchronized byte[] get(String key, long now) {
+            Entry entry = entries.get(key);
+            if (entry == null) {
+                return null;
+            }
+            if (now >= entry.expiresAtMillis()) {
+                remove(key);
+                return null;
+            }
+            return entry.value();
+        }
+
+        synchronized void remove(String key) {
+            unlink(key, entries.remove(key));
+        }
+
+        // Counters are stored as decimal text, like Redis INCR, and keep their original expiry
+        synchronized long increment(String key, long now, long ttlMillis) {
+            byte[] current = get(key, now);
+            if (current == null) {
+                put(key, "1".getBytes(StandardCharsets.US_ASCII), now + ttlMillis);
+                return 1;
+            }
+            long next = Long.parseLong(new String(current, StandardCharsets.US_ASCII)) + 1;
+            Entry entry = entries.get(key);
+            entries.put(key, new Entry(Long.toString(next).getBytes(StandardCharsets.US_ASCII), entry.expiresAtMillis()));
+            return next;
+        }
+
+        synchronized int sweep(long now) {
+            int freed = 0;
+            Iterator<Map.Entry<Long, Set<String>>> buckets = wheel.headMap(bucketOf(now), false).entrySet().iterator();
+            while (buckets.hasNext()) {
+                for (String key : buckets.next().getValue()) {
+                    if (entries.remove(key) != null) {
+                        freed++;
+                    }
+                }
+                buckets.remove();
+            }
+            return freed;
+        }
+
+        private void evictSoonestExpiring() {
+            Map.Entry<Long, Set<String>> bucket = wheel.firstEntry();
+            Iterator<String> keys = bucket.getValue().iterator();
+            entries.remove(keys.next());
+            keys.remove();
+            if (bucket.getValue().isEmpty()) {
+                wheel.remove(bucket.getKey());
+            }
+        }
+
+        private void unlink(String key, Entry previous) {
+            if (previous == null) {
+                return;
+            }
+            long bucket = bucketOf(previous.expiresAtMillis());
+            Set<String> keys = wheel.get(bucket);
+            if (keys != null) {
+                keys.remove(key);
+                if (keys.isEmpty()) {
+                    wheel.remove(bucket);
+                }
+            }
+        }
+    }
+}
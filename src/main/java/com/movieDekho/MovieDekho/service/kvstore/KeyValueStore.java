@@ -0,0 +1,26 @@
+package com.movieDekho.MovieDekho.service.kvstore;
+
+import java.time.Duration;
+
+/**
+ * Minimal TTL-native key-value store for short-lived session state (OTPs, seat selections).
+ * Values are opaque bytes; callers choose their own compact encoding.
+ * Implementations: process-local ({@link InProcessKeyValueStore}) or shared over the Redis protocol
+ * ({@link RedisKeyValueStore}), selected with app.kv.backend.
+ */
+public interface KeyValueStore {
+
+    void set(String key, byte[] value, Duration ttl);
+
+    /**
+     * The value, or null if absent or expired
+     */
+    byte[] get(String key);
+
+    void delete(String key);
+
+    /**
+     * Atomically add one to a counter, creating it with the given TTL; returns the new value
+     */
+    long increment(String key, Duration ttl);
+}
@@ -0,0 +1,210 @@
+package com.movieDekho.MovieDekho.service.kvstore;
+
+import com.movieDekho.MovieDekho.config.kvconfig.KeyValueStoreConfig;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Shared store speaking the Redis protocol (RESP2) over a small pool of plain sockets,
+ * so several app instances see the same session state. Works against Redis or any
+ * RESP-compatible server (Valkey, KeyDB, Dragonfly).
+ */
+@Slf4j
+public class RedisKeyValueStore implements KeyValueStore, AutoCloseable {
+
+    // INCR and set the TTL on first use in one atomic step
+    private static final String INCREMENT_SCRIPT =
+            "local v = redis.call('INCR', KEYS[1]) " +
+            "if v == 1 then redis.call('PEXPIRE', KEYS[1], ARGV[1]) end " +
+            "return v";
+
+    private final KeyValueStoreConfig.Redis config;
+    private final BlockingQueue<Connection> idle;
+
+    public RedisKeyValueStore(KeyValueStoreConfig.Redis config) {
+        this.config = config;
+        this.idle = new ArrayBlockingQueue<>(Math.max(1, config.getPoolSize()));
+    }
+
+    @Override
+    public void set(String key, byte[] value, Duration ttl) {
+        execute("SET", bytes(key), value, bytes("PX"), bytes(Long.toString(Math.max(1, ttl.toMillis()))));
+    }
+
+    @Override
+    public byte[] get(String key) {
+        return (byte[]) execute("GET", bytes(key));
+    }
+
+    @Override
+    public void delete(String key) {
+        execute("DEL", bytes(key));
+    }
+
+    @Override
+    public long increment(String key, Duration ttl) {
+        return (Long) execute("EVAL", bytes(INCREMENT_SCRIPT), bytes("1"), bytes(key),
+                bytes(Long.toString(Math.max(1, ttl.toMillis()))));
+    }
+
+    @Override
+    public void close() {
+        Connection connection;
+        while ((connection = idle.poll()) != null) {
+            connection.close();
+        }
+    }
+
+    private Object execute(String command, byte[]... args) {
+        Connection connection = idle.poll();
+        boolean reusable = false;
+        try {
+            if (connection == null) {
+                connection = connect();
+            }
+            Object reply = connection.call(command, args);
+            reusable = true;
+            return reply;
+        } catch (IOException e) {
+            throw new IllegalStateException("Redis " + command + " failed: " + e.getMessage(), e);
+        } finally {
+            // Any failure, including an error reply, may leave unread bytes behind: never pool that socket
+            if (connection != null && !(reusable && idle.offer(connection))) {
+                connection.close();
+            }
+        }
+    }
+
+    private Connection connect() throws IOException {
+        Socket socket = new Socket();
+        socket.setTcpNoDelay(true);
+        socket.setKeepAlive(true);
+        socket.connect(new InetSocketAddress(config.getHost(), config.getPort()), config.getTimeoutMs());
+        socket.setSoTimeout(config.getTimeoutMs());
+        Connection connection = new Connection(socket);
+        try {
+            if (config.getPassword() != null && !config.getPassword().isEmpty()) {
+                connection.call("AUTH", bytes(config.getPassword()));
+            }
+            if (config.getDatabase() != 0) {
+                connection.call("SELECT", bytes(Integer.toString(config.getDatabase())));
+            }
+        } catch (IOException | RuntimeException e) {
+            connection.close();
+            throw e;
+        }
+        return connection;
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static final class Connection {
+        private final Socket socket;
+        private final OutputStream out;
+        private final InputStream in;
+
+        Connection(Socket socket) throws IOException {
+            this.socket = socket;
+            this.out = new BufferedOutputStream(socket.getOutputStream());
+            this.in = new BufferedInputStream(socket.getInputStream());
+        }
+
+        Object call(String command, byte[]... args) throws IOException {
+            writeHeader('*', args.length + 1);
+            writeBulk(bytes(command));
+            for (byte[] arg : args) {
+                writeBulk(arg);
+            }
+            out.flush();
+            return readReply();
+        }
+
+        void close() {
+            try {
+                socket.close();
+            } catch (IOException e) {
+                log.debug("Error closing Redis connection: {}", e.getMessage());
+            }
+        }
+
+        private void writeHeader(char type, int length) throws IOException {
+            out.write(type);
+            out.write(bytes(Integer.toString(length)));
+            out.write('\r');
+            out.write('\n');
+        }
+
+        private void writeBulk(byte[] value) throws IOException {
+            writeHeader('$', value.length);
+            out.write(value);
+            out.write('\r');
+            out.write('\n');
+        }
+
+        private Object readReply() throws IOException {
+            int type = in.read();
+            String line = readLine();
+            switch (type) {
+                case '+':
+                    return line;
+                case '-':
+                    throw new IllegalStateException("Redis error: " + line);
+                case ':':
+                    return Long.parseLong(line);
+                case '$': {
+                    int length = Integer.parseInt(line);
+                    if (length < 0) {
+                        return null;
+                    }
+                    byte[] value = in.readNBytes(length);
+                    if (value.length < length) {
+                        throw new IOException("Connection closed mid-reply");
+                    }
+                    readLine();
+                    return value;
+                }
+                case '*': {
+                    int count = Integer.parseInt(line);
+                    Object[] items = count < 0 ? null : new Object[count];
+                    for (int i = 0; i < count; i++) {
+                        items[i] = readReply();
+                    }
+                    return items;
+                }
+                case -1:
+                    throw new IOException("Connection closed");
+                default:
+                    throw new IOException("Unexpected reply type: " + (char) type);
+            }
+        }
+
+        private String readLine() throws IOException {
+            ByteArrayOutputStream line = new ByteArrayOutputStream(16);
+            int b;
+            while ((b = in.read()) != '\r') {
+                if (b == -1) {
+                    throw new IOException("Connection closed");
+                }
+                line.write(b);
+            }
+            if (in.read() != '\n') {
+                throw new IOException("Malformed reply line");
+            }
+            return line.toString(StandardCharsets.UTF_8);
+        }
+    }
+}
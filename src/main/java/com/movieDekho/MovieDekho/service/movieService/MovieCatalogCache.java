@@ -0,0 +1,262 @@
+package com.movieDekho.MovieDekho.service.movieService;
+
+import com.movieDekho.MovieDekho.dtos.movie.MovieResponseDTO;
+import com.movieDekho.MovieDekho.models.AvailableMovie;
+import com.movieDekho.MovieDekho.repository.MovieRepository;
+import com.movieDekho.MovieDekho.repository.MovieSlotRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory read model of the movie catalog.
+ * Readers only dereference a volatile snapshot, so they never lock or touch the database.
+ * Writers rebuild a complete new snapshot and swap it in (copy-on-write).
+ * Entries are list-shaped (slot count, no slots), so only catalog and slot CRUD change them.
+ * Callers get copies of the entries, so changing a returned DTO never changes the snapshot.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class MovieCatalogCache {
+
+    private static final int GRAM_SIZE = 3;
+
+    private final MovieRepository movieRepository;
+    private final MovieSlotRepository movieSlotRepository;
+
+    private final Object rebuildLock = new Object();
+    private volatile CatalogSnapshot snapshot;
+    private final AtomicLong version = new AtomicLong();
+
+    public List<MovieResponseDTO> getAllMovies() {
+        return copies(current().movies);
+    }
+
+    /**
+     * Catalog entries for the given IDs in the same order; unknown IDs are skipped
+     */
+    public List<MovieResponseDTO> getMoviesByIds(List<Long> ids) {
+        Map<Long, MovieResponseDTO> byId = current().byId;
+        List<MovieResponseDTO> result = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            MovieResponseDTO movie = byId.get(id);
+            if (movie != null) {
+                result.add(movie.copy());
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Movies released strictly after the given date, same as findByReleaseDateAfter
+     */
+    public List<MovieResponseDTO> getMoviesReleasedAfter(LocalDate date) {
+        List<MovieResponseDTO> result = new ArrayList<>();
+        for (List<MovieResponseDTO> movies : current().byReleaseDate.tailMap(date, false).values()) {
+            for (MovieResponseDTO movie : movies) {
+                result.add(movie.copy());
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Case-insensitive substring match on title, same as findByTitleContainingIgnoreCase
+     */
+    public List<MovieResponseDTO> searchByTitle(String query) {
+        CatalogSnapshot current = current();
+        String needle = query == null ? "" : query.toLowerCase(Locale.ROOT);
+
+        // Only the movies sharing the rarest trigram can contain the query; verify those
+        int[] candidates = null;
+        if (needle.length() >= GRAM_SIZE) {
+            for (int i = 0; i + GRAM_SIZE <= needle.length(); i++) {
+                int[] posting = current.titleGrams.get(needle.substring(i, i + GRAM_SIZE));
+                if (posting == null) {
+                    return List.of();
+                }
+                if (candidates == null || posting.length < candidates.length) {
+                    candidates = posting;
+                }
+            }
+        }
+
+        List<MovieResponseDTO> result = new ArrayList<>();
+        if (candidates != null) {
+            for (int index : candidates) {
+                if (current.lowerTitles[index].contains(needle)) {
+                    result.add(current.movies.get(index).copy());
+                }
+            }
+        } else {
+            for (int index = 0; index < current.lowerTitles.length; index++) {
+                if (current.lowerTitles[index] != null && current.lowerTitles[index].contains(needle)) {
+                    result.add(current.movies.get(index).copy());
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Rebuild the snapshot from the database and swap it in; call after any catalog or slot mutation
+     */
+    public void refresh() {
+        synchronized (rebuildLock) {
+            snapshot = buildSnapshot(probe());
+            version.incrementAndGet();
+        }
+    }
+
+    /**
+     * Periodic check for catalog or slot changes made through another instance.
+     * Two aggregate queries decide whether anything changed; the catalog is only reloaded when it did,
+     * and the version only moves when the entries differ, so derived caches aren't flushed needlessly.
+     */
+    @Scheduled(fixedDelayString = "${movie-dekho.catalog.refresh-interval:60000}")
+    public void scheduledRefresh() {
+        CatalogSnapshot current = snapshot;
+        if (current == null) {
+            return;
+        }
+        try {
+            long builtFrom = version.get();
+            CatalogStamp stamp = probe();
+            if (stamp.equals(current.stamp)) {
+                return;
+            }
+            CatalogSnapshot rebuilt = buildSnapshot(stamp);
+            synchronized (rebuildLock) {
+                // A local refresh that ran meanwhile is at least as new as this build
+                if (version.get() != builtFrom) {
+                    return;
+                }
+                boolean changed = !rebuilt.movies.equals(snapshot.movies);
+                snapshot = rebuilt;
+                if (changed) {
+                    version.incrementAndGet();
+                    log.info("Movie catalog snapshot changed outside this instance; refreshed");
+                }
+            }
+        } catch (Exception e) {
+            log.error("Failed to refresh movie catalog snapshot: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Bumped on every refresh, so derived caches can tell the catalog has changed
+     */
+    public long getVersion() {
+        return version.get();
+    }
+
+    private CatalogSnapshot current() {
+        CatalogSnapshot current = snapshot;
+        if (current != null) {
+            return current;
+        }
+        synchronized (rebuildLock) {
+            if (snapshot == null) {
+                snapshot = buildSnapshot(probe());
+            }
+            return snapshot;
+        }
+    }
+
+    /**
+     * Taken before the snapshot is loaded, so a change racing the load shows up at the next probe
+     */
+    private CatalogStamp probe() {
+        Object[] movies = movieRepository.findCatalogStamp().get(0);
+        Object[] slots = movieSlotRepository.findSlotStamp().get(0);
+        return new CatalogStamp(((Number) movies[0]).longValue(), (Long) movies[1], (LocalDateTime) movies[2],
+                ((Number) slots[0]).longValue(), (Long) slots[1]);
+    }
+
+    private static List<MovieResponseDTO> copies(List<MovieResponseDTO> movies) {
+        List<MovieResponseDTO> result = new ArrayList<>(movies.size());
+        for (MovieResponseDTO movie : movies) {
+            result.add(movie.copy());
+        }
+        return result;
+    }
+
+    private CatalogSnapshot buildSnapshot(CatalogStamp stamp) {
+        List<AvailableMovie> entities = new ArrayList<>(movieRepository.findAll());
+        entities.sort(Comparator.comparing(AvailableMovie::getId));
+
+        Map<Long, Integer> slotCounts = new HashMap<>();
+        for (Object[] row : movieSlotRepository.countSlotsGroupedByMovie()) {
+            slotCounts.put((Long) row[0], ((Number) row[1]).intValue());
+        }
+
+        List<MovieResponseDTO> movies = new ArrayList<>(entities.size());
+        Map<Long, MovieResponseDTO> byId = new HashMap<>(entities.size() * 2);
+        String[] lowerTitles = new String[entities.size()];
+        TreeMap<LocalDate, List<MovieResponseDTO>> byReleaseDate = new TreeMap<>();
+        Map<String, List<Integer>> gramPostings = new HashMap<>();
+
+        for (int index = 0; index < entities.size(); index++) {
+            AvailableMovie movie = entities.get(index);
+            MovieResponseDTO dto = MovieResponseDTO.fromMovieSummary(movie, slotCounts.getOrDefault(movie.getId(), 0));
+            movies.add(dto);
+            byId.put(dto.getId(), dto);
+
+            if (dto.getReleaseDate() != null) {
+                byReleaseDate.computeIfAbsent(dto.getReleaseDate(), d -> new ArrayList<>()).add(dto);
+            }
+
+            if (dto.getTitle() != null) {
+                String lowerTitle = dto.getTitle().toLowerCase(Locale.ROOT);
+                lowerTitles[index] = lowerTitle;
+                Set<String> seen = new HashSet<>();
+                for (int i = 0; i + GRAM_SIZE <= lowerTitle.length(); i++) {
+                    String gram = lowerTitle.substring(i, i + GRAM_SIZE);
+                    if (seen.add(gram)) {
+                        gramPostings.computeIfAbsent(gram, g -> new ArrayList<>()).add(index);
+                    }
+                }
+            }
+        }
+
+        byReleaseDate.replaceAll((date, list) -> List.copyOf(list));
+        Map<String, int[]> titleGrams = new HashMap<>(gramPostings.size() * 2);
+        gramPostings.forEach((gram, postings) ->
+                titleGrams.put(gram, postings.stream().mapToInt(Integer::intValue).toArray()));
+
+        log.debug("Built movie catalog snapshot with {} movies", movies.size());
+        return new CatalogSnapshot(stamp, List.copyOf(movies), Map.copyOf(byId), lowerTitles,
+                Collections.unmodifiableNavigableMap(byReleaseDate), titleGrams);
+    }
+
+    private record CatalogStamp(long movieCount, Long maxMovieId, LocalDateTime lastMovieUpdate,
+                                long slotCount, Long maxSlotId) {
+    }
+
+    private static final class CatalogSnapshot {
+        final CatalogStamp stamp;
+        final List<MovieResponseDTO> movies;
+        final Map<Long, MovieResponseDTO> byId;
+        final String[] lowerTitles;
+        final NavigableMap<LocalDate, List<MovieResponseDTO>> byReleaseDate;
+        final Map<String, int[]> titleGrams;
+
+        CatalogSnapshot(CatalogStamp stamp, List<MovieResponseDTO> movies, Map<Long, MovieResponseDTO> byId,
+                        String[] lowerTitles, NavigableMap<LocalDate, List<MovieResponseDTO>> byReleaseDate,
+                        Map<String, int[]> titleGrams) {
+            this.stamp = stamp;
+            this.movies = movies;
+            this.byId = byId;
+            this.lowerTitles = lowerTitles;
+            this.byReleaseDate = byReleaseDate;
+            this.titleGrams = titleGrams;
+        }
+    }
+}
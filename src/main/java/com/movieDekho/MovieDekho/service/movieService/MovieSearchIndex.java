@@ -0,0 +1,302 @@
+package com.movieDekho.MovieDekho.service.movieService;
+
+import com.movieDekho.MovieDekho.dtos.movie.MovieResponseDTO;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+
+/**
+ * Resident full-text index over the movie catalog.
+ * Inverted index over title, genre, language and description scored with BM25,
+ * plus a prefix trie over title terms for typeahead. Built from the catalog cache and reconciled
+ * with it whenever its version moves, so it never reads the movie table itself.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class MovieSearchIndex {
+
+    private static final Pattern TOKEN_SPLIT = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Set<String> STOP_WORDS = Set.of(
+            "a", "an", "and", "are", "as", "at", "be", "by", "for", "from", "in", "into",
+            "is", "it", "its", "of", "on", "or", "that", "the", "their", "this", "to", "with");
+
+    // Field weights: a title hit counts three times as much as a description hit
+    private static final int TITLE_WEIGHT = 3;
+    private static final int GENRE_WEIGHT = 2;
+    private static final int LANGUAGE_WEIGHT = 2;
+    private static final int DESCRIPTION_WEIGHT = 1;
+
+    private static final double BM25_K1 = 1.2;
+    private static final double BM25_B = 0.75;
+
+    private final MovieCatalogCache movieCatalogCache;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Map<Long, Integer>> postings = new HashMap<>();
+    private final Map<Long, IndexedMovie> documents = new HashMap<>();
+    private final TrieNode titleTrie = new TrieNode();
+    private long totalDocumentLength;
+    // Catalog cache version the index was last reconciled with; -1 until first built
+    private volatile long indexedVersion = -1;
+
+    /**
+     * BM25-ranked movie IDs for a free-text query, best match first
+     */
+    public List<Long> search(String query, int limit) {
+        List<String> terms = tokenize(query);
+        if (terms.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        ensureCurrent();
+
+        lock.readLock().lock();
+        try {
+            int documentCount = documents.size();
+            if (documentCount == 0) {
+                return List.of();
+            }
+            double averageLength = (double) totalDocumentLength / documentCount;
+
+            Map<Long, Double> scores = new HashMap<>();
+            for (String term : new LinkedHashSet<>(terms)) {
+                Map<Long, Integer> termPostings = postings.get(term);
+                if (termPostings == null) {
+                    continue;
+                }
+                double idf = Math.log(1 + (documentCount - termPostings.size() + 0.5) / (termPostings.size() + 0.5));
+                for (Map.Entry<Long, Integer> posting : termPostings.entrySet()) {
+                    int tf = posting.getValue();
+                    int length = documents.get(posting.getKey()).length;
+                    double norm = BM25_K1 * (1 - BM25_B + BM25_B * length / averageLength);
+                    scores.merge(posting.getKey(), idf * tf * (BM25_K1 + 1) / (tf + norm), Double::sum);
+                }
+            }
+
+            // Bounded top-K: min-heap of size limit
+            PriorityQueue<Map.Entry<Long, Double>> heap = new PriorityQueue<>(Map.Entry.comparingByValue());
+            for (Map.Entry<Long, Double> entry : scores.entrySet()) {
+                heap.offer(entry);
+                if (heap.size() > limit) {
+                    heap.poll();
+                }
+            }
+            List<Long> result = new ArrayList<>(heap.size());
+            while (!heap.isEmpty()) {
+                result.add(heap.poll().getKey());
+            }
+            Collections.reverse(result);
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Typeahead: movies whose title contains every complete query word and a word starting
+     * with the last (partial) one. Results follow the trie's lexical order of completions.
+     */
+    public List<Long> suggest(String prefix, int limit) {
+        List<String> terms = tokenizeKeepingStopWords(prefix);
+        if (terms.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        ensureCurrent();
+
+        String partial = terms.get(terms.size() - 1);
+        List<String> complete = terms.subList(0, terms.size() - 1);
+
+        lock.readLock().lock();
+        try {
+            TrieNode node = titleTrie.find(partial);
+            if (node == null) {
+                return List.of();
+            }
+            LinkedHashSet<Long> result = new LinkedHashSet<>();
+            node.collect(result, limit, id -> documents.get(id).titleTerms.containsAll(complete));
+            return new ArrayList<>(result);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Re-index movies whose indexed text changed, add new ones and drop deleted ones,
+     * whenever the catalog cache has moved on since the last pass
+     */
+    private void ensureCurrent() {
+        long version = movieCatalogCache.getVersion();
+        if (indexedVersion == version) {
+            return;
+        }
+        List<MovieResponseDTO> movies = movieCatalogCache.getAllMovies();
+        lock.writeLock().lock();
+        try {
+            if (indexedVersion == version) {
+                return;
+            }
+            boolean initial = indexedVersion < 0;
+            Set<Long> present = new HashSet<>();
+            int changed = 0;
+            for (MovieResponseDTO movie : movies) {
+                present.add(movie.getId());
+                IndexedMovie existing = documents.get(movie.getId());
+                if (existing == null || existing.contentHash != contentHash(movie)) {
+                    removeDocument(movie.getId());
+                    addDocument(movie);
+                    changed++;
+                }
+            }
+            for (Long movieId : new ArrayList<>(documents.keySet())) {
+                if (!present.contains(movieId)) {
+                    removeDocument(movieId);
+                    changed++;
+                }
+            }
+            indexedVersion = version;
+            if (initial) {
+                log.info("Movie search index built with {} movies and {} terms", documents.size(), postings.size());
+            } else if (changed > 0) {
+                log.debug("Movie search index reconciled {} changed movies", changed);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void addDocument(MovieResponseDTO movie) {
+        Map<String, Integer> termFrequencies = new HashMap<>();
+        List<String> titleTerms = tokenizeKeepingStopWords(movie.getTitle());
+        addTerms(termFrequencies, tokenize(movie.getTitle()), TITLE_WEIGHT);
+        addTerms(termFrequencies, tokenize(movie.getGenre()), GENRE_WEIGHT);
+        addTerms(termFrequencies, tokenize(movie.getLanguage()), LANGUAGE_WEIGHT);
+        addTerms(termFrequencies, tokenize(movie.getDescription()), DESCRIPTION_WEIGHT);
+
+        int length = 0;
+        for (Map.Entry<String, Integer> entry : termFrequencies.entrySet()) {
+            postings.computeIfAbsent(entry.getKey(), t -> new HashMap<>()).put(movie.getId(), entry.getValue());
+            length += entry.getValue();
+        }
+        for (String term : titleTerms) {
+            titleTrie.insert(term, movie.getId());
+        }
+
+        documents.put(movie.getId(),
+                new IndexedMovie(termFrequencies.keySet(), new HashSet<>(titleTerms), length, contentHash(movie)));
+        totalDocumentLength += length;
+    }
+
+    private void removeDocument(Long movieId) {
+        IndexedMovie existing = documents.remove(movieId);
+        if (existing == null) {
+            return;
+        }
+        for (String term : existing.terms) {
+            Map<Long, Integer> termPostings = postings.get(term);
+            if (termPostings != null) {
+                termPostings.remove(movieId);
+                if (termPostings.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+        }
+        for (String term : existing.titleTerms) {
+            titleTrie.remove(term, movieId);
+        }
+        totalDocumentLength -= existing.length;
+    }
+
+    private static int contentHash(MovieResponseDTO movie) {
+        return Objects.hash(movie.getTitle(), movie.getGenre(), movie.getLanguage(), movie.getDescription());
+    }
+
+    private static void addTerms(Map<String, Integer> termFrequencies, List<String> terms, int weight) {
+        for (String term : terms) {
+            termFrequencies.merge(term, weight, Integer::sum);
+        }
+    }
+
+    private static List<String> tokenize(String text) {
+        List<String> terms = tokenizeKeepingStopWords(text);
+        terms.removeIf(STOP_WORDS::contains);
+        return terms;
+    }
+
+    private static List<String> tokenizeKeepingStopWords(String text) {
+        List<String> terms = new ArrayList<>();
+        if (text == null) {
+            return terms;
+        }
+        for (String token : TOKEN_SPLIT.split(text.toLowerCase(Locale.ROOT))) {
+            if (!token.isEmpty()) {
+                terms.add(token);
+            }
+        }
+        return terms;
+    }
+
+    private static final class IndexedMovie {
+        final Set<String> terms;
+        final Set<String> titleTerms;
+        final int length;
+        // Hash of the indexed fields, so reconcile can tell which movies changed
+        final int contentHash;
+
+        IndexedMovie(Set<String> terms, Set<String> titleTerms, int length, int contentHash) {
+            this.terms = new HashSet<>(terms);
+            this.titleTerms = titleTerms;
+            this.length = length;
+            this.contentHash = contentHash;
+        }
+    }
+
+    private static final class TrieNode {
+        // TreeMap keeps completions in lexical order
+        final TreeMap<Character, TrieNode> children = new TreeMap<>();
+        final Set<Long> movieIds = new LinkedHashSet<>();
+
+        void insert(String term, Long movieId) {
+            TrieNode node = this;
+            for (int i = 0; i < term.length(); i++) {
+                node = node.children.computeIfAbsent(term.charAt(i), c -> new TrieNode());
+            }
+            node.movieIds.add(movieId);
+        }
+
+        // Emptied nodes stay in place; they are tiny and get reused by later titles
+        void remove(String term, Long movieId) {
+            TrieNode node = find(term);
+            if (node != null) {
+                node.movieIds.remove(movieId);
+            }
+        }
+
+        TrieNode find(String prefix) {
+            TrieNode node = this;
+            for (int i = 0; i < prefix.length() && node != null; i++) {
+                node = node.children.get(prefix.charAt(i));
+            }
+            return node;
+        }
+
+        // Depth-first, so shorter completions come before longer ones sharing their prefix
+        boolean collect(Set<Long> result, int limit, Predicate<Long> filter) {
+            for (Long movieId : movieIds) {
+                if (filter.test(movieId) && result.add(movieId) && result.size() >= limit) {
+                    return true;
+                }
+            }
+            for (TrieNode child : children.values()) {
+                if (child.collect(result, limit, filter)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
@@ -1,17 +1,30 @@
 package com.movieDekho.MovieDekho.service.movieService;
 
 import com.movieDekho.MovieDekho.dtos.movie.MovieCreateRequest;
+import com.movieDekho.MovieDekho.dtos.movie.MovieSuggestionDTO;
 import com.movieDekho.MovieDekho.dtos.movie.MovieUpdateRequest;
 import com.movieDekho.MovieDekho.exception.ResourceNotFoundException;
 import com.movieDekho.MovieDekho.models.AvailableMovie;
 import com.movieDekho.MovieDekho.repository.MovieRepository;
+import com.movieDekho.MovieDekho.repository.MovieSlotRepository;
+import com.movieDekho.MovieDekho.repository.MovieSpecifications;
 import com.movieDekho.MovieDekho.dtos.movie.MovieResponseDTO;
 import lombok.AllArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDate;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -19,13 +32,17 @@ import java.util.stream.Collectors;
 public class MovieService {
 
     private MovieRepository movieRepository;
+    private MovieSlotRepository movieSlotRepository;
+    private MovieCatalogCache movieCatalogCache;
+    private MovieSearchIndex movieSearchIndex;
 
     public List<MovieResponseDTO> getRecentMovies() {
+        return getRecentMovies(false);
+    }
+
+    public List<MovieResponseDTO> getRecentMovies(boolean includeSlots) {
         LocalDate oneYearAgo = LocalDate.now().minusYears(1);
-        return movieRepository.findByReleaseDateAfter(oneYearAgo)
-                .stream()
-                .map(MovieResponseDTO::fromMovie)
-                .collect(Collectors.toList());
+        return withSlotsIfRequested(movieCatalogCache.getMoviesReleasedAfter(oneYearAgo), includeSlots);
     }
 
     public MovieResponseDTO getMovieById(Long id) {
@@ -35,16 +52,34 @@ public class MovieService {
     }
 
     public List<MovieResponseDTO> getAllMovies() {
-        return movieRepository.findAll()
-                .stream()
-                .map(MovieResponseDTO::fromMovie)
-                .collect(Collectors.toList());
+        return getAllMovies(false);
+    }
+
+    public List<MovieResponseDTO> getAllMovies(boolean includeSlots) {
+        return withSlotsIfRequested(movieCatalogCache.getAllMovies(), includeSlots);
     }
 
     public List<MovieResponseDTO> searchMovies(String query) {
-        return movieRepository.findByTitleContainingIgnoreCase(query)
-                .stream()
-                .map(MovieResponseDTO::fromMovie)
+        return searchMovies(query, false);
+    }
+
+    public List<MovieResponseDTO> searchMovies(String query, boolean includeSlots) {
+        return withSlotsIfRequested(movieCatalogCache.searchByTitle(query), includeSlots);
+    }
+
+    /**
+     * Relevance-ranked full-text search over title, genre, language and description
+     */
+    public List<MovieResponseDTO> searchMoviesRanked(String query, int limit) {
+        return movieCatalogCache.getMoviesByIds(movieSearchIndex.search(query, limit));
+    }
+
+    /**
+     * Typeahead suggestions for a partially typed title
+     */
+    public List<MovieSuggestionDTO> suggestMovies(String prefix, int limit) {
+        return movieCatalogCache.getMoviesByIds(movieSearchIndex.suggest(prefix, limit)).stream()
+                .map(MovieSuggestionDTO::fromMovieResponse)
                 .collect(Collectors.toList());
     }
 
@@ -61,28 +96,59 @@ public class MovieService {
     }
 
     public List<MovieResponseDTO> filterMovies(String filterType, String title, String sortBy) {
-        List<MovieResponseDTO> movies = getAllMovies();
-        
-        // Apply filter type
+        return filterMovies(filterType, title, sortBy, false);
+    }
+
+    public List<MovieResponseDTO> filterMovies(String filterType, String title, String sortBy, boolean includeSlots) {
+        List<AvailableMovie> movies = movieRepository.findAll(filterSpecification(filterType, title), filterSort(sortBy));
+        return withSlotsIfRequested(toSummaries(movies), includeSlots);
+    }
+
+    /**
+     * One page of filtered movies; filtering, sorting and paging all run in the database
+     */
+    public Page<MovieResponseDTO> filterMovies(String filterType, String title, String sortBy,
+                                               int page, int size, boolean includeSlots) {
+        Pageable pageable = PageRequest.of(page, size, filterSort(sortBy));
+        Page<AvailableMovie> moviePage = movieRepository.findAll(filterSpecification(filterType, title), pageable);
+        List<MovieResponseDTO> movies = withSlotsIfRequested(toSummaries(moviePage.getContent()), includeSlots);
+        return new PageImpl<>(movies, pageable, moviePage.getTotalElements());
+    }
+
+    private Specification<AvailableMovie> filterSpecification(String filterType, String title) {
+        Specification<AvailableMovie> specification = Specification.where(null);
         if ("recent".equalsIgnoreCase(filterType)) {
-            movies = getRecentMovies();
+            specification = specification.and(MovieSpecifications.releasedAfter(LocalDate.now().minusYears(1)));
         }
-        
-        // Apply title filter
         if (title != null && !"null".equalsIgnoreCase(title) && !title.trim().isEmpty()) {
-            movies = movies.stream()
-                    .filter(m -> m.getTitle() != null && m.getTitle().toLowerCase().contains(title.toLowerCase()))
-                    .toList();
+            specification = specification.and(MovieSpecifications.titleContains(title));
         }
-        
-        // Apply sorting
+        return specification;
+    }
+
+    // Every order ends on id so pages never overlap or skip rows between requests
+    private static Sort filterSort(String sortBy) {
         if ("title".equalsIgnoreCase(sortBy)) {
-            movies = sortMoviesByTitle(movies);
-        } else if ("release_date".equalsIgnoreCase(sortBy)) {
-            movies = sortMoviesByReleaseDate(movies);
+            return Sort.by(Sort.Order.asc("title").ignoreCase(), Sort.Order.asc("id"));
+        }
+        if ("release_date".equalsIgnoreCase(sortBy) || "releaseDate".equalsIgnoreCase(sortBy)) {
+            return Sort.by(Sort.Order.desc("releaseDate"), Sort.Order.desc("id")); // Latest first
+        }
+        return Sort.by(Sort.Order.asc("id"));
+    }
+
+    private List<MovieResponseDTO> toSummaries(List<AvailableMovie> movies) {
+        if (movies.isEmpty()) {
+            return List.of();
+        }
+        List<Long> ids = movies.stream().map(AvailableMovie::getId).toList();
+        Map<Long, Integer> slotCounts = new HashMap<>();
+        for (Object[] row : movieSlotRepository.countSlotsGroupedByMovieIdIn(ids)) {
+            slotCounts.put((Long) row[0], ((Number) row[1]).intValue());
         }
-        
-        return movies;
+        return movies.stream()
+                .map(movie -> MovieResponseDTO.fromMovieSummary(movie, slotCounts.getOrDefault(movie.getId(), 0)))
+                .collect(Collectors.toList());
     }
 
     public MovieResponseDTO createMovie(MovieCreateRequest request) {
@@ -100,6 +166,7 @@ public class MovieService {
         movie.setEndDate(request.getEndDate());
 
         AvailableMovie savedMovie = movieRepository.save(movie);
+        movieCatalogCache.refresh();
         return MovieResponseDTO.fromMovie(savedMovie);
     }
 
@@ -135,6 +202,7 @@ public class MovieService {
             movie.setEndDate(request.getEndDate());
 
         AvailableMovie updatedMovie = movieRepository.save(movie);
+        movieCatalogCache.refresh();
         return MovieResponseDTO.fromMovie(updatedMovie);
     }
 
@@ -144,5 +212,25 @@ public class MovieService {
             throw new ResourceNotFoundException("Movie not found with ID: " + id);
         }
         movieRepository.deleteById(id);
+        movieCatalogCache.refresh();
+    }
+
+    /**
+     * Swap list-shaped entries for full ones, loading the slots of all movies in one query
+     */
+    private List<MovieResponseDTO> withSlotsIfRequested(List<MovieResponseDTO> movies, boolean includeSlots) {
+        if (!includeSlots || movies.isEmpty()) {
+            return movies;
+        }
+
+        List<Long> ids = movies.stream().map(MovieResponseDTO::getId).toList();
+        Map<Long, AvailableMovie> moviesWithSlots = movieRepository.findWithSlotsByIdIn(ids).stream()
+                .collect(Collectors.toMap(AvailableMovie::getId, Function.identity()));
+
+        return ids.stream()
+                .map(moviesWithSlots::get)
+                .filter(Objects::nonNull)
+                .map(MovieResponseDTO::fromMovie)
+                .collect(Collectors.toList());
     }
 }
@@ -8,12 +8,25 @@ import com.movieDekho.MovieDekho.models.AvailableMovie;
 import com.movieDekho.MovieDekho.models.MovieSlot;
 import com.movieDekho.MovieDekho.repository.MovieRepository;
 import com.movieDekho.MovieDekho.repository.MovieSlotRepository;
+import com.movieDekho.MovieDekho.util.ExportFormat;
+import com.movieDekho.MovieDekho.util.ExportWriter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
 import lombok.AllArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.time.LocalDate;
+import java.util.Iterator;
 import java.util.List;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @AllArgsConstructor
@@ -21,6 +34,15 @@ public class MovieSlotService {
 
     private final MovieSlotRepository movieSlotRepository;
     private final MovieRepository movieRepository;
+    private final MovieCatalogCache movieCatalogCache;
+    private final ShowtimeIndex showtimeIndex;
+    private final ObjectMapper objectMapper;
+    private final EntityManager entityManager;
+
+    private static final int EXPORT_CHUNK_SIZE = 500;
+    private static final List<String> SLOT_EXPORT_COLUMNS = List.of(
+            "slotId", "movieId", "showDate", "startTime", "endTime", "theaterName", "screenType",
+            "location", "totalSeats", "availableSeats");
 
     public MovieSlotResponseDTO createMovieSlot(MovieSlotDTO request) {
         // Validate movie exists
@@ -47,6 +69,7 @@ public class MovieSlotService {
         slot.setAvailableSeats(request.getAvailableSeats());
 
         MovieSlot savedSlot = movieSlotRepository.save(slot);
+        movieCatalogCache.refresh();
         return MovieSlotResponseDTO.fromMovieSlot(savedSlot);
     }
 
@@ -60,6 +83,52 @@ public class MovieSlotService {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * One page of slots for the admin console, ordered by show date and time; every filter is optional
+     */
+    public Page<MovieSlotResponseDTO> getSlotsPage(Long movieId, LocalDate startDate, LocalDate endDate,
+                                                   String theaterName, int page, int size) {
+        Pageable pageable = PageRequest.of(page, size,
+                Sort.by(Sort.Order.asc("showDate"), Sort.Order.asc("startTime"), Sort.Order.asc("slotId")));
+        String theater = theaterName == null || theaterName.isBlank() ? null : theaterName.trim();
+        return movieSlotRepository.findForAdmin(movieId, startDate, endDate, theater, pageable)
+                .map(MovieSlotResponseDTO::fromMovieSlot);
+    }
+
+    /**
+     * Stream matching slots to the output as CSV or NDJSON straight from a database cursor,
+     * clearing the persistence context as it goes so memory does not grow with the row count
+     */
+    @Transactional(readOnly = true)
+    public long exportSlots(Long movieId, LocalDate startDate, LocalDate endDate, String theaterName,
+                            ExportFormat format, OutputStream outputStream) throws IOException {
+        ExportWriter writer = new ExportWriter(outputStream, format, objectMapper, SLOT_EXPORT_COLUMNS);
+        String theater = theaterName == null || theaterName.isBlank() ? null : theaterName.trim();
+        long exported = 0;
+        try (Stream<MovieSlot> slots = movieSlotRepository.streamForAdmin(movieId, startDate, endDate, theater)) {
+            Iterator<MovieSlot> iterator = slots.iterator();
+            while (iterator.hasNext()) {
+                MovieSlotResponseDTO slot = MovieSlotResponseDTO.fromMovieSlot(iterator.next());
+                writer.write(slot, List.of(
+                        slot.getSlotId(),
+                        slot.getMovieId(),
+                        String.valueOf(slot.getShowDate()),
+                        String.valueOf(slot.getStartTime()),
+                        String.valueOf(slot.getEndTime()),
+                        slot.getTheaterName() == null ? "" : slot.getTheaterName(),
+                        slot.getScreenType() == null ? "" : slot.getScreenType(),
+                        slot.getLocation() == null ? "" : slot.getLocation(),
+                        slot.getTotalSeats(),
+                        slot.getAvailableSeats()));
+                if (++exported % EXPORT_CHUNK_SIZE == 0) {
+                    entityManager.clear();
+                }
+            }
+        }
+        writer.flush();
+        return exported;
+    }
+
     /**
      * Update a movie slot
      */
@@ -85,6 +154,7 @@ public class MovieSlotService {
         if (request.getAvailableSeats() >= 0) slot.setAvailableSeats(request.getAvailableSeats());
 
         MovieSlot updatedSlot = movieSlotRepository.save(slot);
+        movieCatalogCache.refresh();
         return MovieSlotResponseDTO.fromMovieSlot(updatedSlot);
     }
 
@@ -97,78 +167,59 @@ public class MovieSlotService {
         }
         
         movieSlotRepository.deleteById(slotId);
+        movieCatalogCache.refresh();
     }
 
     // ============ USER SERVICES ============
 
     /**
-     * Get all slots for a specific movie
+     * Get upcoming slots for a specific movie
      */
     public List<MovieSlotResponseDTO> getSlotsByMovie(Long movieId) {
-        List<MovieSlot> slots = movieSlotRepository.findByMovieId(movieId);
-        return slots.stream()
-                .map(MovieSlotResponseDTO::fromMovieSlot)
-                .collect(Collectors.toList());
+        return showtimeIndex.getSlotsByMovie(movieId);
     }
 
     /**
      * Get slots by movie and date
      */
     public List<MovieSlotResponseDTO> getSlotsByMovieAndDate(Long movieId, LocalDate date) {
-        List<MovieSlot> slots = movieSlotRepository.findByMovieIdAndShowDate(movieId, date);
-        return slots.stream()
-                .map(MovieSlotResponseDTO::fromMovieSlot)
-                .collect(Collectors.toList());
+        return showtimeIndex.getSlotsByMovieAndDate(movieId, date);
     }
 
     /**
      * Get slot by ID
      */
     public MovieSlotResponseDTO getSlotById(Long slotId) {
-        MovieSlot slot = movieSlotRepository.findBySlotId(slotId)
+        return showtimeIndex.getSlot(slotId)
                 .orElseThrow(() -> new ResourceNotFoundException("Movie slot not found with ID: " + slotId));
-        
-        return MovieSlotResponseDTO.fromMovieSlot(slot);
     }
 
     /**
-     * Get available slots (slots with available seats > 0)
+     * Get upcoming slots with available seats > 0
      */
     public List<MovieSlotResponseDTO> getAvailableSlots() {
-        List<MovieSlot> slots = movieSlotRepository.findByAvailableSeatsGreaterThan(0);
-        return slots.stream()
-                .map(MovieSlotResponseDTO::fromMovieSlot)
-                .collect(Collectors.toList());
+        return showtimeIndex.getAvailableSlots();
     }
 
     /**
-     * Search slots by theater name
+     * Search upcoming slots by theater name
      */
     public List<MovieSlotResponseDTO> getSlotsByTheater(String theaterName) {
-        List<MovieSlot> slots = movieSlotRepository.findByTheaterNameContainingIgnoreCase(theaterName);
-        return slots.stream()
-                .map(MovieSlotResponseDTO::fromMovieSlot)
-                .collect(Collectors.toList());
+        return showtimeIndex.getSlotsByTheater(theaterName);
     }
 
     /**
      * Get slots by date range
      */
     public List<MovieSlotResponseDTO> getSlotsByDateRange(LocalDate startDate, LocalDate endDate) {
-        List<MovieSlot> slots = movieSlotRepository.findByShowDateBetween(startDate, endDate);
-        return slots.stream()
-                .map(MovieSlotResponseDTO::fromMovieSlot)
-                .collect(Collectors.toList());
+        return showtimeIndex.getSlotsByDateRange(startDate, endDate);
     }
 
     /**
      * Search slots by movie, date and theater
      */
     public List<MovieSlotResponseDTO> searchSlots(Long movieId, LocalDate date, String theaterName) {
-        List<MovieSlot> slots = movieSlotRepository.findByMovieIdAndShowDateAndTheaterName(movieId, date, theaterName);
-        return slots.stream()
-                .map(MovieSlotResponseDTO::fromMovieSlot)
-                .collect(Collectors.toList());
+        return showtimeIndex.searchSlots(movieId, date, theaterName);
     }
 
     // ============ UTILITY METHODS ============
@@ -177,7 +228,7 @@ public class MovieSlotService {
      * Check if a slot exists
      */
     public boolean slotExists(Long slotId) {
-        return movieSlotRepository.findBySlotId(slotId).isPresent();
+        return showtimeIndex.getSlot(slotId).isPresent();
     }
 
     /**
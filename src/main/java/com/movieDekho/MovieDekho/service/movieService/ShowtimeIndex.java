@@ -0,0 +1,445 @@
+package com.movieDekho.MovieDekho.service.movieService;
+
+import com.movieDekho.MovieDekho.dtos.movie.MovieSlotResponseDTO;
+import com.movieDekho.MovieDekho.models.MovieSlot;
+import com.movieDekho.MovieDekho.repository.MovieSlotRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * In-memory index of upcoming showtimes (today onwards), bucketed per show date and keyed by movie and theater.
+ * Each day's schedule is immutable and swapped whole on change, so readers never lock.
+ * Available seats live in per-slot counters that are updated after every committed slot write
+ * (see {@link ShowtimeIndexListener}), so seat bookings never rebuild a day.
+ * Days are evicted once they pass; lookups by ID or by a past date read the database instead.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ShowtimeIndex {
+
+    private static final Comparator<Showtime> BY_TIME = Comparator
+            .comparing(Showtime::startTime, Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparing(Showtime::slotId);
+
+    private static final Comparator<MovieSlotResponseDTO> BY_SCHEDULE = Comparator
+            .comparing(MovieSlotResponseDTO::getShowDate, Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparing(MovieSlotResponseDTO::getStartTime, Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparing(MovieSlotResponseDTO::getSlotId);
+
+    private final MovieSlotRepository movieSlotRepository;
+    Clock clock = Clock.systemDefaultZone();
+
+    private final Object writeLock = new Object();
+    private final ConcurrentHashMap<Long, Showtime> bySlotId = new ConcurrentHashMap<>();
+    private final ConcurrentSkipListMap<LocalDate, DaySchedule> byDate = new ConcurrentSkipListMap<>();
+    // Exact theater name -> slot IDs; theater names are few, so substring lookups scan names, not slots
+    private final ConcurrentHashMap<String, Set<Long>> byTheater = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Long, AtomicInteger> availableSeats = new ConcurrentHashMap<>();
+    private volatile boolean loaded;
+
+    /**
+     * Upcoming slots come from the index; past or unknown ones are read from the database
+     */
+    public Optional<MovieSlotResponseDTO> getSlot(Long slotId) {
+        ensureLoaded();
+        Showtime showtime = bySlotId.get(slotId);
+        if (showtime != null && isUpcoming(showtime)) {
+            return Optional.of(toResponse(showtime));
+        }
+        return movieSlotRepository.findBySlotId(slotId).map(MovieSlotResponseDTO::fromMovieSlot);
+    }
+
+    /**
+     * Upcoming showtimes only
+     */
+    public List<MovieSlotResponseDTO> getSlotsByMovie(Long movieId) {
+        ensureLoaded();
+        List<MovieSlotResponseDTO> result = new ArrayList<>();
+        for (DaySchedule day : upcomingDays()) {
+            addAll(result, day.byMovie.getOrDefault(movieId, List.of()));
+        }
+        return result;
+    }
+
+    public List<MovieSlotResponseDTO> getSlotsByMovieAndDate(Long movieId, LocalDate date) {
+        if (date.isBefore(today())) {
+            return fromDatabase(movieSlotRepository.findByMovieIdAndShowDate(movieId, date));
+        }
+        ensureLoaded();
+        DaySchedule day = byDate.get(date);
+        List<MovieSlotResponseDTO> result = new ArrayList<>();
+        if (day != null) {
+            addAll(result, day.byMovie.getOrDefault(movieId, List.of()));
+        }
+        return result;
+    }
+
+    /**
+     * Inclusive on both ends, same as findByShowDateBetween; the part before today is read from the database
+     */
+    public List<MovieSlotResponseDTO> getSlotsByDateRange(LocalDate startDate, LocalDate endDate) {
+        List<MovieSlotResponseDTO> result = new ArrayList<>();
+        if (startDate.isAfter(endDate)) {
+            return result;
+        }
+        LocalDate today = today();
+        if (startDate.isBefore(today)) {
+            LocalDate pastEnd = endDate.isBefore(today) ? endDate : today.minusDays(1);
+            result.addAll(fromDatabase(movieSlotRepository.findByShowDateBetween(startDate, pastEnd)));
+            if (endDate.isBefore(today)) {
+                return result;
+            }
+            startDate = today;
+        }
+        ensureLoaded();
+        for (DaySchedule day : byDate.subMap(startDate, true, endDate, true).values()) {
+            addAll(result, day.showtimes);
+        }
+        return result;
+    }
+
+    /**
+     * Upcoming showtimes with seats left
+     */
+    public List<MovieSlotResponseDTO> getAvailableSlots() {
+        ensureLoaded();
+        List<MovieSlotResponseDTO> result = new ArrayList<>();
+        for (DaySchedule day : upcomingDays()) {
+            for (Showtime showtime : day.showtimes) {
+                if (liveAvailableSeats(showtime.slotId()) > 0) {
+                    result.add(toResponse(showtime));
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Case-insensitive substring match on theater name, same as findByTheaterNameContainingIgnoreCase; upcoming showtimes only
+     */
+    public List<MovieSlotResponseDTO> getSlotsByTheater(String theaterName) {
+        ensureLoaded();
+        String needle = theaterName.toLowerCase(Locale.ROOT);
+        List<Showtime> matches = new ArrayList<>();
+        for (Map.Entry<String, Set<Long>> entry : byTheater.entrySet()) {
+            if (entry.getKey().toLowerCase(Locale.ROOT).contains(needle)) {
+                for (Long slotId : entry.getValue()) {
+                    Showtime showtime = bySlotId.get(slotId);
+                    if (showtime != null && isUpcoming(showtime)) {
+                        matches.add(showtime);
+                    }
+                }
+            }
+        }
+        matches.sort(Comparator.comparing(Showtime::showDate, Comparator.nullsLast(Comparator.naturalOrder()))
+                .thenComparing(BY_TIME));
+        List<MovieSlotResponseDTO> result = new ArrayList<>(matches.size());
+        addAll(result, matches);
+        return result;
+    }
+
+    /**
+     * Case-sensitive theater substring within one movie's day, same as the LIKE query it replaces
+     */
+    public List<MovieSlotResponseDTO> searchSlots(Long movieId, LocalDate date, String theaterName) {
+        if (date.isBefore(today())) {
+            return fromDatabase(movieSlotRepository.findByMovieIdAndShowDateAndTheaterName(movieId, date, theaterName));
+        }
+        ensureLoaded();
+        DaySchedule day = byDate.get(date);
+        List<MovieSlotResponseDTO> result = new ArrayList<>();
+        if (day == null) {
+            return result;
+        }
+        for (Showtime showtime : day.byMovie.getOrDefault(movieId, List.of())) {
+            if (showtime.theaterName() != null && showtime.theaterName().contains(theaterName)) {
+                result.add(toResponse(showtime));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Apply a committed slot insert or update. Seat-count-only changes just move the counter;
+     * a slot moved before today (or without a date) leaves the index.
+     */
+    void upsert(Showtime showtime, int seatsAvailable) {
+        synchronized (writeLock) {
+            if (!loaded) {
+                return; // the first lazy load reads the committed row
+            }
+            if (!isUpcoming(showtime)) {
+                remove(showtime.slotId());
+                return;
+            }
+            availableSeats.computeIfAbsent(showtime.slotId(), id -> new AtomicInteger()).set(seatsAvailable);
+            Showtime previous = bySlotId.put(showtime.slotId(), showtime);
+            if (showtime.equals(previous)) {
+                return;
+            }
+            if (previous != null) {
+                unlink(previous);
+            }
+            link(showtime);
+        }
+    }
+
+    void remove(Long slotId) {
+        synchronized (writeLock) {
+            if (!loaded) {
+                return;
+            }
+            Showtime previous = bySlotId.remove(slotId);
+            availableSeats.remove(slotId);
+            if (previous != null) {
+                unlink(previous);
+            }
+        }
+    }
+
+    /**
+     * Drop show dates that have passed, with their slots' theater entries and seat counters.
+     * Readers already skip past days, so this only bounds memory; it runs ahead of each reconcile.
+     */
+    void evictPastDates() {
+        LocalDate today = today();
+        synchronized (writeLock) {
+            NavigableMap<LocalDate, DaySchedule> past = byDate.headMap(today, false);
+            int evicted = 0;
+            for (DaySchedule day : past.values()) {
+                for (Showtime showtime : day.showtimes) {
+                    bySlotId.remove(showtime.slotId());
+                    availableSeats.remove(showtime.slotId());
+                    unlinkTheater(showtime);
+                    evicted++;
+                }
+            }
+            past.clear();
+            if (evicted > 0) {
+                log.info("Showtime index evicted {} slots from past show dates", evicted);
+            }
+        }
+    }
+
+    /**
+     * Re-read seat counters and slot membership for today onwards. The entity listener only sees this
+     * instance's writes, so slots created or deleted through another instance (or directly in the database)
+     * are picked up here, along with after-commit updates that arrived out of order.
+     */
+    @Scheduled(fixedDelayString = "${app.showtime-index.reconcile-interval-ms:300000}")
+    public void reconcileSeatCounters() {
+        if (!loaded) {
+            return;
+        }
+        LocalDate today = today();
+        evictPastDates();
+        // Only slots indexed before the read may be dropped; newer ones were committed after it
+        List<Long> indexed = new ArrayList<>(bySlotId.keySet());
+        Map<Long, Integer> seatCounts = new HashMap<>();
+        for (Object[] row : movieSlotRepository.findAvailableSeatCountsFrom(today)) {
+            seatCounts.put((Long) row[0], ((Number) row[1]).intValue());
+        }
+
+        List<Long> missing = new ArrayList<>();
+        seatCounts.forEach((slotId, seats) -> {
+            AtomicInteger counter = availableSeats.get(slotId);
+            if (counter != null) {
+                counter.set(seats);
+            } else {
+                missing.add(slotId);
+            }
+        });
+        if (!missing.isEmpty()) {
+            for (MovieSlot slot : movieSlotRepository.findAllById(missing)) {
+                upsert(Showtime.from(slot), slot.getAvailableSeats());
+            }
+            log.info("Showtime index reconcile added {} slots written elsewhere", missing.size());
+        }
+        for (Long slotId : indexed) {
+            if (!seatCounts.containsKey(slotId)) {
+                remove(slotId);
+            }
+        }
+    }
+
+    /**
+     * Re-read upcoming slots' schedule fields, for edits made through another instance; unchanged slots are no-ops
+     */
+    @Scheduled(fixedDelayString = "${app.showtime-index.reload-interval-ms:3600000}",
+            initialDelayString = "${app.showtime-index.reload-interval-ms:3600000}")
+    public void reloadSchedules() {
+        if (!loaded) {
+            return;
+        }
+        LocalDate today = today();
+        evictPastDates();
+        List<Long> indexed = new ArrayList<>(bySlotId.keySet());
+        Set<Long> present = new HashSet<>();
+        for (MovieSlot slot : movieSlotRepository.findByShowDateGreaterThanEqual(today)) {
+            present.add(slot.getSlotId());
+            upsert(Showtime.from(slot), slot.getAvailableSeats());
+        }
+        for (Long slotId : indexed) {
+            if (!present.contains(slotId)) {
+                remove(slotId);
+            }
+        }
+    }
+
+    private void ensureLoaded() {
+        if (loaded) {
+            return;
+        }
+        synchronized (writeLock) {
+            if (loaded) {
+                return;
+            }
+            Map<LocalDate, List<Showtime>> days = new HashMap<>();
+            for (MovieSlot slot : movieSlotRepository.findByShowDateGreaterThanEqual(today())) {
+                Showtime showtime = Showtime.from(slot);
+                bySlotId.put(showtime.slotId(), showtime);
+                availableSeats.put(showtime.slotId(), new AtomicInteger(slot.getAvailableSeats()));
+                if (showtime.theaterName() != null) {
+                    byTheater.computeIfAbsent(showtime.theaterName(), t -> ConcurrentHashMap.newKeySet()).add(showtime.slotId());
+                }
+                days.computeIfAbsent(showtime.showDate(), d -> new ArrayList<>()).add(showtime);
+            }
+            days.forEach((date, showtimes) -> byDate.put(date, DaySchedule.of(showtimes)));
+            loaded = true;
+            log.info("Showtime index built with {} slots across {} show dates", bySlotId.size(), byDate.size());
+        }
+    }
+
+    private void link(Showtime showtime) {
+        if (showtime.theaterName() != null) {
+            byTheater.computeIfAbsent(showtime.theaterName(), t -> ConcurrentHashMap.newKeySet()).add(showtime.slotId());
+        }
+        if (showtime.showDate() != null) {
+            DaySchedule day = byDate.get(showtime.showDate());
+            List<Showtime> showtimes = day == null ? new ArrayList<>() : new ArrayList<>(day.showtimes);
+            showtimes.add(showtime);
+            byDate.put(showtime.showDate(), DaySchedule.of(showtimes));
+        }
+    }
+
+    private void unlink(Showtime showtime) {
+        unlinkTheater(showtime);
+        if (showtime.showDate() != null) {
+            DaySchedule day = byDate.get(showtime.showDate());
+            if (day != null) {
+                List<Showtime> showtimes = new ArrayList<>(day.showtimes);
+                showtimes.removeIf(existing -> existing.slotId().equals(showtime.slotId()));
+                if (showtimes.isEmpty()) {
+                    byDate.remove(showtime.showDate());
+                } else {
+                    byDate.put(showtime.showDate(), DaySchedule.of(showtimes));
+                }
+            }
+        }
+    }
+
+    private void unlinkTheater(Showtime showtime) {
+        if (showtime.theaterName() != null) {
+            Set<Long> slotIds = byTheater.get(showtime.theaterName());
+            if (slotIds != null) {
+                slotIds.remove(showtime.slotId());
+                if (slotIds.isEmpty()) {
+                    byTheater.remove(showtime.theaterName());
+                }
+            }
+        }
+    }
+
+    private LocalDate today() {
+        return LocalDate.now(clock);
+    }
+
+    private boolean isUpcoming(Showtime showtime) {
+        return showtime.showDate() != null && !showtime.showDate().isBefore(today());
+    }
+
+    // Days not yet evicted may still sit before today
+    private Collection<DaySchedule> upcomingDays() {
+        return byDate.tailMap(today(), true).values();
+    }
+
+    private List<MovieSlotResponseDTO> fromDatabase(List<MovieSlot> slots) {
+        List<MovieSlotResponseDTO> result = new ArrayList<>(slots.size());
+        for (MovieSlot slot : slots) {
+            result.add(MovieSlotResponseDTO.fromMovieSlot(slot));
+        }
+        result.sort(BY_SCHEDULE);
+        return result;
+    }
+
+    private int liveAvailableSeats(Long slotId) {
+        AtomicInteger counter = availableSeats.get(slotId);
+        return counter == null ? 0 : counter.get();
+    }
+
+    private void addAll(List<MovieSlotResponseDTO> result, List<Showtime> showtimes) {
+        for (Showtime showtime : showtimes) {
+            result.add(toResponse(showtime));
+        }
+    }
+
+    private MovieSlotResponseDTO toResponse(Showtime showtime) {
+        MovieSlotResponseDTO dto = new MovieSlotResponseDTO();
+        dto.setSlotId(showtime.slotId());
+        dto.setShowDate(showtime.showDate());
+        dto.setStartTime(showtime.startTime());
+        dto.setEndTime(showtime.endTime());
+        dto.setLocation(showtime.location());
+        dto.setTheaterName(showtime.theaterName());
+        dto.setScreenType(showtime.screenType());
+        dto.setTotalSeats(showtime.totalSeats());
+        dto.setAvailableSeats(liveAvailableSeats(showtime.slotId()));
+        dto.setMovieId(showtime.movieId());
+        return dto;
+    }
+
+    /**
+     * Immutable copy of a slot's schedule fields; seat availability is kept apart in the counters
+     */
+    record Showtime(Long slotId, Long movieId, LocalDate showDate, LocalTime startTime, LocalTime endTime,
+                    String theaterName, String screenType, String location, int totalSeats) {
+
+        static Showtime from(MovieSlot slot) {
+            return new Showtime(slot.getSlotId(), slot.getMovie().getId(), slot.getShowDate(),
+                    slot.getStartTime(), slot.getEndTime(), slot.getTheaterName(), slot.getScreenType(),
+                    slot.getLocation(), slot.getTotalSeats());
+        }
+    }
+
+    private static final class DaySchedule {
+        final List<Showtime> showtimes;
+        final Map<Long, List<Showtime>> byMovie;
+
+        private DaySchedule(List<Showtime> showtimes, Map<Long, List<Showtime>> byMovie) {
+            this.showtimes = showtimes;
+            this.byMovie = byMovie;
+        }
+
+        static DaySchedule of(List<Showtime> showtimes) {
+            List<Showtime> sorted = new ArrayList<>(showtimes);
+            sorted.sort(BY_TIME);
+            Map<Long, List<Showtime>> byMovie = new HashMap<>();
+            for (Showtime showtime : sorted) {
+                byMovie.computeIfAbsent(showtime.movieId(), id -> new ArrayList<>()).add(showtime);
+            }
+            byMovie.replaceAll((id, list) -> List.copyOf(list));
+            return new DaySchedule(List.copyOf(sorted), Map.copyOf(byMovie));
+        }
+    }
+}
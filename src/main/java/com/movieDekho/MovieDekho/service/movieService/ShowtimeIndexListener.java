@@ -0,0 +1,52 @@
+package com.movieDekho.MovieDekho.service.movieService;
+
+import com.movieDekho.MovieDekho.models.MovieSlot;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Keeps {@link ShowtimeIndex} in step with every MovieSlot write, including the seat-count
+ * updates made by booking and seat services. Changes are applied only after commit,
+ * so a rolled-back booking never shows up in the index.
+ * Instantiated by Hibernate through Spring's bean container.
+ */
+public class ShowtimeIndexListener {
+
+    // Resolved per event: the index depends on the repository this listener is registered with
+    private final ObjectProvider<ShowtimeIndex> showtimeIndex;
+
+    public ShowtimeIndexListener(ObjectProvider<ShowtimeIndex> showtimeIndex) {
+        this.showtimeIndex = showtimeIndex;
+    }
+
+    @PostPersist
+    @PostUpdate
+    public void onSave(MovieSlot slot) {
+        ShowtimeIndex.Showtime showtime = ShowtimeIndex.Showtime.from(slot);
+        int seatsAvailable = slot.getAvailableSeats();
+        afterCommit(() -> showtimeIndex.getObject().upsert(showtime, seatsAvailable));
+    }
+
+    @PostRemove
+    public void onRemove(MovieSlot slot) {
+        Long slotId = slot.getSlotId();
+        afterCommit(() -> showtimeIndex.getObject().remove(slotId));
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
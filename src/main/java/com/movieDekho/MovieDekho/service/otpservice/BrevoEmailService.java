@@ -1,8 +1,6 @@
 package com.movieDekho.MovieDekho.service.otpservice;
 
-import sendinblue.ApiClient;
-import sendinblue.Configuration;
-import sendinblue.auth.ApiKeyAuth;
+import lombok.RequiredArgsConstructor;
 import sibApi.TransactionalEmailsApi;
 import sibModel.*;
 import org.slf4j.Logger;
@@ -11,12 +9,21 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.List;
+import java.util.Map;
 
 @Service
+@RequiredArgsConstructor
 public class BrevoEmailService {
     private static final Logger logger = LoggerFactory.getLogger(BrevoEmailService.class);
 
+    // Brevo accepts at most 1000 message versions per request
+    private static final int MAX_MESSAGE_VERSIONS = 1000;
+
+    private final TransactionalEmailsApi transactionalEmailsApi;
+
     @Value("${brevo.api.key}")
     private String apiKey;
 
@@ -46,14 +53,6 @@ public class BrevoEmailService {
             
             logger.info("Using sender email: {} and sender name: {}", senderEmail, senderName);
             
-            ApiClient defaultClient = Configuration.getDefaultApiClient();
-            ApiKeyAuth apiKeyAuth = (ApiKeyAuth) defaultClient.getAuthentication("api-key");
-            apiKeyAuth.setApiKey(apiKey);
-
-            defaultClient.setBasePath("https://api.brevo.com/v3");
-
-            TransactionalEmailsApi apiInstance = new TransactionalEmailsApi();
-
             SendSmtpEmailSender sender = new SendSmtpEmailSender()
                     .email(senderEmail)
                     .name(senderName);
@@ -87,7 +86,7 @@ public class BrevoEmailService {
                     .textContent(textContent)
                     .tags(Collections.singletonList("otp-email"));
 
-            CreateSmtpEmail result = apiInstance.sendTransacEmail(sendSmtpEmail);
+            CreateSmtpEmail result = transactionalEmailsApi.sendTransacEmail(sendSmtpEmail);
             logger.info("OTP email sent successfully to: {}. Message ID: {}", recipientEmail, result.getMessageId());
             
         } catch (Exception e) {
@@ -120,15 +119,7 @@ public class BrevoEmailService {
                 throw new RuntimeException("Sender email is not configured");
             }
             
-            logger.info("Using API key (first 10 chars): {}...", apiKey.substring(0, Math.min(10, apiKey.length())));
-            logger.info("Using sender email: {} and sender name: {}", senderEmail, senderName);
-            
-            ApiClient defaultClient = Configuration.getDefaultApiClient();
-            ApiKeyAuth apiKeyAuth = (ApiKeyAuth) defaultClient.getAuthentication("api-key");
-            apiKeyAuth.setApiKey(apiKey);
-            defaultClient.setBasePath("https://api.brevo.com/v3");
-
-            TransactionalEmailsApi apiInstance = new TransactionalEmailsApi();
+            logger.debug("Using sender email: {} and sender name: {}", senderEmail, senderName);
 
             SendSmtpEmailSender sender = new SendSmtpEmailSender()
                     .email(senderEmail)
@@ -144,7 +135,7 @@ public class BrevoEmailService {
                     .htmlContent(htmlContent);
 
             logger.info("Calling Brevo API to send email...");
-            CreateSmtpEmail result = apiInstance.sendTransacEmail(sendSmtpEmail);
+            CreateSmtpEmail result = transactionalEmailsApi.sendTransacEmail(sendSmtpEmail);
             logger.info("Email sent successfully to: {}. Message ID: {}", recipientEmail, result.getMessageId());
             
         } catch (Exception e) {
@@ -153,6 +144,69 @@ public class BrevoEmailService {
         }
     }
 
+    /**
+     * Send one template to many recipients using Brevo message versions: one HTTP request per
+     * 1000 recipients instead of one per email. The subject and HTML may reference per-recipient
+     * values as {{ params.name }}. A rejected chunk does not stop the others, and the IDs of chunks
+     * already accepted are kept, so the caller can retry just the failed recipients.
+     *
+     * @param paramsByRecipient recipient email -> template params (may be empty)
+     * @return message IDs of the accepted chunks and the recipients of the rejected ones
+     */
+    public BatchSendResult sendBatchEmail(String subject, String htmlContent,
+                                          Map<String, Map<String, Object>> paramsByRecipient) {
+        List<String> messageIds = new ArrayList<>();
+        List<String> failedRecipients = new ArrayList<>();
+        if (paramsByRecipient.isEmpty()) {
+            return new BatchSendResult(messageIds, failedRecipients);
+        }
+
+        List<String> recipients = new ArrayList<>(paramsByRecipient.size());
+        List<SendSmtpEmailMessageVersions> versions = new ArrayList<>(paramsByRecipient.size());
+        paramsByRecipient.forEach((recipient, params) -> {
+            recipients.add(recipient);
+            versions.add(new SendSmtpEmailMessageVersions()
+                    .to(Collections.singletonList(new SendSmtpEmailTo1().email(recipient.trim())))
+                    .params(params == null || params.isEmpty() ? null : params));
+        });
+
+        SendSmtpEmailSender sender = new SendSmtpEmailSender()
+                .email(senderEmail)
+                .name(senderName);
+
+        for (int from = 0; from < versions.size(); from += MAX_MESSAGE_VERSIONS) {
+            int to = Math.min(from + MAX_MESSAGE_VERSIONS, versions.size());
+            try {
+                SendSmtpEmail sendSmtpEmail = new SendSmtpEmail()
+                        .sender(sender)
+                        .subject(subject)
+                        .htmlContent(htmlContent)
+                        .messageVersions(new ArrayList<>(versions.subList(from, to)));
+
+                CreateSmtpEmail result = transactionalEmailsApi.sendTransacEmail(sendSmtpEmail);
+                if (result.getMessageIds() != null) {
+                    messageIds.addAll(result.getMessageIds());
+                }
+                logger.info("Batch email sent to {} recipients with subject: {}", to - from, subject);
+            } catch (Exception e) {
+                failedRecipients.addAll(recipients.subList(from, to));
+                logger.error("Failed to send batch email to {} recipients. Error: {}", to - from, e.getMessage(), e);
+            }
+        }
+        return new BatchSendResult(messageIds, failedRecipients);
+    }
+
+    /**
+     * Outcome of {@link #sendBatchEmail}: IDs Brevo returned for the accepted chunks, and the recipients
+     * of the chunks it rejected, in request order
+     */
+    public record BatchSendResult(List<String> messageIds, List<String> failedRecipients) {
+
+        public boolean allSent() {
+            return failedRecipients.isEmpty();
+        }
+    }
+
     public void sendAdminRegistrationNotification(String adminUsername, String adminEmail, String adminPhone,
             Long userId) {
         try {
@@ -368,13 +422,9 @@ public class BrevoEmailService {
                 logger.error("❌ Sender email is missing!");
                 return;
             }
-            
-            // Test API connection
-            ApiClient defaultClient = Configuration.getDefaultApiClient();
-            ApiKeyAuth apiKeyAuth = (ApiKeyAuth) defaultClient.getAuthentication("api-key");
-            apiKeyAuth.setApiKey(apiKey);
-            defaultClient.setBasePath("https://api.brevo.com/v3");
-            
+
+            logger.info("Brevo client base path: {}", transactionalEmailsApi.getApiClient().getBasePath());
+
             logger.info("✅ Email service configuration appears to be valid");
             
         } catch (Exception e) {
@@ -0,0 +1,75 @@
+package com.movieDekho.MovieDekho.service.otpservice;
+
+import com.movieDekho.MovieDekho.service.kvstore.KeyValueStore;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+/**
+ * OTPs in the shared key-value store, so any instance can validate an OTP issued by another.
+ * The store's TTL frees them; failed attempts are a separate counter that expires with the OTP.
+ * Encoding: 8-byte expiry millis followed by the OTP digits.
+ */
+@Component
+@RequiredArgsConstructor
+public class KeyValueOtpStore implements OtpStore {
+
+    private static final String OTP_PREFIX = "otp:";
+    private static final String ATTEMPTS_PREFIX = "otp-attempts:";
+
+    private final KeyValueStore keyValueStore;
+
+    @Override
+    public void save(String key, OtpEntry entry) {
+        Duration ttl = ttlUntil(entry.expiresAtMillis());
+        if (ttl == null) {
+            return;
+        }
+        byte[] otp = entry.otp().getBytes(StandardCharsets.US_ASCII);
+        byte[] value = ByteBuffer.allocate(Long.BYTES + otp.length)
+                .putLong(entry.expiresAtMillis())
+                .put(otp)
+                .array();
+        keyValueStore.delete(ATTEMPTS_PREFIX + key);
+        keyValueStore.set(OTP_PREFIX + key, value, ttl);
+    }
+
+    @Override
+    public OtpEntry get(String key) {
+        byte[] value = keyValueStore.get(OTP_PREFIX + key);
+        if (value == null || value.length < Long.BYTES) {
+            return null;
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(value);
+        long expiresAtMillis = buffer.getLong();
+        if (System.currentTimeMillis() >= expiresAtMillis) {
+            return null;
+        }
+        return new OtpEntry(new String(value, Long.BYTES, value.length - Long.BYTES, StandardCharsets.US_ASCII),
+                expiresAtMillis);
+    }
+
+    @Override
+    public void remove(String key) {
+        keyValueStore.delete(OTP_PREFIX + key);
+        keyValueStore.delete(ATTEMPTS_PREFIX + key);
+    }
+
+    @Override
+    public int recordFailedAttempt(String key) {
+        OtpEntry entry = get(key);
+        Duration ttl = entry == null ? null : ttlUntil(entry.expiresAtMillis());
+        if (ttl == null) {
+            return 0;
+        }
+        return (int) keyValueStore.increment(ATTEMPTS_PREFIX + key, ttl);
+    }
+
+    private static Duration ttlUntil(long expiresAtMillis) {
+        long remaining = expiresAtMillis - System.currentTimeMillis();
+        return remaining > 0 ? Duration.ofMillis(remaining) : null;
+    }
+}
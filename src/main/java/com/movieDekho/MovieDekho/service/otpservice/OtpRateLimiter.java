@@ -0,0 +1,88 @@
+package com.movieDekho.MovieDekho.service.otpservice;
+
+import com.movieDekho.MovieDekho.config.otpconfig.OtpConfig;
+import com.movieDekho.MovieDekho.exception.OtpRateLimitException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Token buckets per identifier (email) and per client IP for OTP generation and validation.
+ * Buckets that have refilled completely carry no state and are dropped by the sweep,
+ * so memory tracks only recently active callers.
+ */
+@Component
+@RequiredArgsConstructor
+public class OtpRateLimiter {
+
+    private final OtpConfig otpConfig;
+
+    private final ConcurrentHashMap<String, Bucket> buckets = new ConcurrentHashMap<>();
+
+    public void checkGenerate(String identifier, String clientIp) {
+        consume("gen:id:" + identifier, otpConfig.getGeneratePerIdentifier(), "Too many OTP requests for this account");
+        if (clientIp != null) {
+            consume("gen:ip:" + clientIp, otpConfig.getGeneratePerIp(), "Too many OTP requests from this address");
+        }
+    }
+
+    public void checkValidate(String identifier, String clientIp) {
+        consume("val:id:" + identifier, otpConfig.getValidatePerIdentifier(), "Too many OTP attempts for this account");
+        if (clientIp != null) {
+            consume("val:ip:" + clientIp, otpConfig.getValidatePerIp(), "Too many OTP attempts from this address");
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.otp.sweep-interval-ms:10000}")
+    public void dropRefilledBuckets() {
+        long now = System.nanoTime();
+        buckets.values().removeIf(bucket -> bucket.isFull(now));
+    }
+
+    private void consume(String key, OtpConfig.Limit limit, String message) {
+        long now = System.nanoTime();
+        Bucket bucket = buckets.computeIfAbsent(key, k -> new Bucket(limit, now));
+        long waitSeconds = bucket.tryConsume(now);
+        if (waitSeconds > 0) {
+            throw new OtpRateLimitException(message, waitSeconds);
+        }
+    }
+
+    private static final class Bucket {
+        private final double capacity;
+        private final double refillPerNano;
+        private double tokens;
+        private long lastRefillNanos;
+
+        Bucket(OtpConfig.Limit limit, long now) {
+            this.capacity = Math.max(1, limit.getCapacity());
+            this.refillPerNano = Math.max(limit.getRefillPerMinute(), 0.001) / 60_000_000_000.0;
+            this.tokens = capacity;
+            this.lastRefillNanos = now;
+        }
+
+        /**
+         * Take a token; returns 0 on success, otherwise the seconds until one is available
+         */
+        synchronized long tryConsume(long now) {
+            refill(now);
+            if (tokens >= 1) {
+                tokens -= 1;
+                return 0;
+            }
+            return Math.max(1, (long) Math.ceil((1 - tokens) / refillPerNano / 1_000_000_000.0));
+        }
+
+        synchronized boolean isFull(long now) {
+            refill(now);
+            return tokens >= capacity;
+        }
+
+        private void refill(long now) {
+            tokens = Math.min(capacity, tokens + (now - lastRefillNanos) * refillPerNano);
+            lastRefillNanos = now;
+        }
+    }
+}
@@ -1,46 +1,60 @@
 package com.movieDekho.MovieDekho.service.otpservice;
 
+import com.movieDekho.MovieDekho.config.otpconfig.OtpConfig;
 import com.movieDekho.MovieDekho.service.emailService.ResilientEmailService;
-import org.apache.commons.lang3.RandomStringUtils;
+import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
-import java.util.concurrent.ConcurrentHashMap;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
 import java.util.concurrent.TimeUnit;
 
 @Service
+@RequiredArgsConstructor
 public class OtpService {
     private static final Logger logger = LoggerFactory.getLogger(OtpService.class);
-    private final ConcurrentHashMap<String, OtpData> otpStorage = new ConcurrentHashMap<>();
-    private static final long OTP_VALIDITY_MINUTES = 5;
-    
-    @Autowired
-    private ResilientEmailService resilientEmailService;
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private final OtpStore otpStore;
+    private final OtpRateLimiter otpRateLimiter;
+    private final OtpConfig otpConfig;
+    private final ResilientEmailService resilientEmailService;
     
     // OTP type prefixes to avoid conflicts
     private static final String LOGIN_OTP_PREFIX = "LOGIN:";
     private static final String PASSWORD_RESET_OTP_PREFIX = "RESET:";
 
     public String generateOtp(String email) {
-        return generateOtpForType(email, LOGIN_OTP_PREFIX);
+        return generateOtpForType(email, null, LOGIN_OTP_PREFIX);
     }
     
     public String generateLoginOtp(String email) {
-        return generateOtpForType(email, LOGIN_OTP_PREFIX);
+        return generateOtpForType(email, null, LOGIN_OTP_PREFIX);
+    }
+
+    public String generateLoginOtp(String email, String clientIp) {
+        return generateOtpForType(email, clientIp, LOGIN_OTP_PREFIX);
     }
     
     public String generatePasswordResetOtp(String email) {
-        return generateOtpForType(email, PASSWORD_RESET_OTP_PREFIX);
+        return generateOtpForType(email, null, PASSWORD_RESET_OTP_PREFIX);
+    }
+
+    public String generatePasswordResetOtp(String email, String clientIp) {
+        return generateOtpForType(email, clientIp, PASSWORD_RESET_OTP_PREFIX);
     }
     
-    private String generateOtpForType(String email, String type) {
-        String otp = RandomStringUtils.randomNumeric(6);
-        long expirationTime = System.currentTimeMillis() + TimeUnit.MINUTES.toMillis(OTP_VALIDITY_MINUTES);
+    private String generateOtpForType(String email, String clientIp, String type) {
+        otpRateLimiter.checkGenerate(type + email, clientIp);
+
+        String otp = String.format("%06d", RANDOM.nextInt(1_000_000));
+        long expirationTime = System.currentTimeMillis() + TimeUnit.MINUTES.toMillis(otpConfig.getValidityMinutes());
         String key = type + email;
-        otpStorage.put(key, new OtpData(otp, expirationTime));
-        logger.info("Generated {} OTP for email: {} with key: {} and OTP: {}", 
-                   type.replace(":", ""), email, key, otp);
+        otpStore.save(key, new OtpStore.OtpEntry(otp, expirationTime));
+        logger.info("Generated {} OTP for email: {}", type.replace(":", ""), email);
         
         // Send OTP email using resilient service
         try {
@@ -52,7 +66,7 @@ public class OtpService {
         } catch (Exception e) {
             logger.error("Failed to send OTP email for {}: {}", email, e.getMessage());
             // Remove OTP from storage if email sending fails
-            otpStorage.remove(key);
+            otpStore.remove(key);
             throw new RuntimeException("Failed to send OTP email: " + e.getMessage());
         }
         
@@ -60,51 +74,54 @@ public class OtpService {
     }
 
     public boolean validateOtp(String email, String otp) {
-        return validateOtpForType(email, otp, LOGIN_OTP_PREFIX);
+        return validateOtpForType(email, otp, null, LOGIN_OTP_PREFIX);
     }
     
     public boolean validateLoginOtp(String email, String otp) {
-        return validateOtpForType(email, otp, LOGIN_OTP_PREFIX);
+        return validateOtpForType(email, otp, null, LOGIN_OTP_PREFIX);
+    }
+
+    public boolean validateLoginOtp(String email, String otp, String clientIp) {
+        return validateOtpForType(email, otp, clientIp, LOGIN_OTP_PREFIX);
     }
     
     public boolean validatePasswordResetOtp(String email, String otp) {
-        return validateOtpForType(email, otp, PASSWORD_RESET_OTP_PREFIX);
+        return validateOtpForType(email, otp, null, PASSWORD_RESET_OTP_PREFIX);
+    }
+
+    public boolean validatePasswordResetOtp(String email, String otp, String clientIp) {
+        return validateOtpForType(email, otp, clientIp, PASSWORD_RESET_OTP_PREFIX);
     }
     
-    private boolean validateOtpForType(String email, String otp, String type) {
+    private boolean validateOtpForType(String email, String otp, String clientIp, String type) {
         String key = type + email;
-        logger.info("Validating {} OTP for email: {} with key: {} and provided OTP: {}", 
-                   type.replace(":", ""), email, key, otp);
+        otpRateLimiter.checkValidate(key, clientIp);
+        logger.info("Validating {} OTP for email: {}", type.replace(":", ""), email);
         
-        OtpData storedData = otpStorage.get(key);
+        OtpStore.OtpEntry storedData = otpStore.get(key);
         if (storedData == null) {
-            logger.warn("No OTP found for key: {}", key);
-            return false;
-        }
-
-        if (System.currentTimeMillis() > storedData.expirationTime) {
-            logger.warn("OTP expired for key: {}", key);
-            otpStorage.remove(key);
+            logger.warn("No live OTP found for key: {}", key);
             return false;
         }
 
-        if (storedData.otp.equals(otp)) {
+        if (otp != null && constantTimeEquals(storedData.otp(), otp)) {
             logger.info("OTP validation successful for key: {}", key);
-            otpStorage.remove(key);
+            otpStore.remove(key);
             return true;
         }
-        
-        logger.warn("OTP mismatch for key: {}. Expected: {}, Provided: {}", key, storedData.otp, otp);
+
+        // Burn the OTP after too many wrong guesses
+        int attempts = otpStore.recordFailedAttempt(key);
+        if (attempts >= otpConfig.getMaxValidationAttempts()) {
+            logger.warn("OTP invalidated after {} failed attempts for key: {}", attempts, key);
+            otpStore.remove(key);
+        } else {
+            logger.warn("OTP mismatch for key: {} (attempt {})", key, attempts);
+        }
         return false;
     }
-    
-    private static class OtpData {
-        String otp;
-        long expirationTime;
 
-        OtpData(String otp, long expirationTime) {
-            this.otp = otp;
-            this.expirationTime = expirationTime;
-        }
+    private static boolean constantTimeEquals(String expected, String provided) {
+        return MessageDigest.isEqual(expected.getBytes(StandardCharsets.UTF_8), provided.getBytes(StandardCharsets.UTF_8));
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,26 @@
+package com.movieDekho.MovieDekho.service.otpservice;
+
+/**
+ * Backend for issued OTPs. Implementations own expiry: an entry past its
+ * {@code expiresAtMillis} must never be returned and must eventually be freed without a read.
+ * The default, {@link KeyValueOtpStore}, keeps them in the configured session-state store.
+ */
+public interface OtpStore {
+
+    void save(String key, OtpEntry entry);
+
+    /**
+     * The live entry for the key, or null if absent or expired
+     */
+    OtpEntry get(String key);
+
+    void remove(String key);
+
+    /**
+     * Count one failed validation; returns the new attempt count, or 0 if there is no live entry
+     */
+    int recordFailedAttempt(String key);
+
+    record OtpEntry(String otp, long expiresAtMillis) {
+    }
+}
@@ -0,0 +1,138 @@
+package com.movieDekho.MovieDekho.service.recommendationService;
+
+/**
+ * Open-addressing long -> float map with linear probing and backward-shift deletion.
+ * Keeps sparse co-booking rows in flat arrays instead of boxed map entries.
+ * Absent keys read as 0, and entries whose value returns to ~0 are removed. Not thread-safe.
+ */
+final class LongFloatHashMap {
+
+    private static final float EPSILON = 1e-6f;
+    private static final int MIN_CAPACITY = 4;
+
+    private long[] keys;
+    private float[] values;
+    private boolean[] used;
+    private int size;
+
+    LongFloatHashMap() {
+        allocate(MIN_CAPACITY);
+    }
+
+    int size() {
+        return size;
+    }
+
+    float get(long key) {
+        int slot = find(key);
+        return slot < 0 ? 0f : values[slot];
+    }
+
+    /**
+     * Add delta to the key's value and return the new value
+     */
+    float add(long key, float delta) {
+        int slot = find(key);
+        if (slot >= 0) {
+            float value = values[slot] + delta;
+            if (Math.abs(value) < EPSILON) {
+                removeSlot(slot);
+                return 0f;
+            }
+            values[slot] = value;
+            return value;
+        }
+        if (Math.abs(delta) < EPSILON) {
+            return 0f;
+        }
+        if ((size + 1) * 4 > keys.length * 3) {
+            rehash(keys.length * 2);
+        }
+        insert(key, delta);
+        return delta;
+    }
+
+    void remove(long key) {
+        int slot = find(key);
+        if (slot >= 0) {
+            removeSlot(slot);
+        }
+    }
+
+    void forEach(Entry consumer) {
+        for (int slot = 0; slot < keys.length; slot++) {
+            if (used[slot]) {
+                consumer.accept(keys[slot], values[slot]);
+            }
+        }
+    }
+
+    private int find(long key) {
+        int mask = keys.length - 1;
+        for (int slot = index(key, mask); used[slot]; slot = (slot + 1) & mask) {
+            if (keys[slot] == key) {
+                return slot;
+            }
+        }
+        return -1;
+    }
+
+    private void insert(long key, float value) {
+        int mask = keys.length - 1;
+        int slot = index(key, mask);
+        while (used[slot]) {
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = key;
+        values[slot] = value;
+        used[slot] = true;
+        size++;
+    }
+
+    // Shift later entries of the probe run back, so lookups never need tombstones
+    private void removeSlot(int slot) {
+        int mask = keys.length - 1;
+        int hole = slot;
+        int next = (hole + 1) & mask;
+        while (used[next]) {
+            int home = index(keys[next], mask);
+            if (((next - home) & mask) >= ((next - hole) & mask)) {
+                keys[hole] = keys[next];
+                values[hole] = values[next];
+                hole = next;
+            }
+            next = (next + 1) & mask;
+        }
+        used[hole] = false;
+        size--;
+    }
+
+    private void rehash(int capacity) {
+        long[] oldKeys = keys;
+        float[] oldValues = values;
+        boolean[] oldUsed = used;
+        allocate(capacity);
+        for (int slot = 0; slot < oldKeys.length; slot++) {
+            if (oldUsed[slot]) {
+                insert(oldKeys[slot], oldValues[slot]);
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new float[capacity];
+        used = new boolean[capacity];
+        size = 0;
+    }
+
+    private static int index(long key, int mask) {
+        long hash = key * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32)) & mask;
+    }
+
+    @FunctionalInterface
+    interface Entry {
+        void accept(long key, float value);
+    }
+}
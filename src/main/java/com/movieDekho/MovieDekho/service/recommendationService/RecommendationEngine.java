@@ -0,0 +1,434 @@
+package com.movieDekho.MovieDekho.service.recommendationService;
+
+import com.movieDekho.MovieDekho.dtos.movie.MovieResponseDTO;
+import com.movieDekho.MovieDekho.repository.BookingRepository;
+import com.movieDekho.MovieDekho.repository.UserRepository;
+import com.movieDekho.MovieDekho.service.movieService.MovieCatalogCache;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.*;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+
+/**
+ * Resident movie recommender built from confirmed bookings and favorites.
+ *
+ * Each user has an interaction weight per movie (bookings, capped, plus a smaller weight for a favorite)
+ * and genre/language affinity totals over those movies. The sparse movie-to-movie co-booking matrix
+ * holds, for every pair, the sum over users of the product of their weights, so a weight change only
+ * touches the rows of that user's own movies. The full model is built on first use, kept current by
+ * after-commit booking and favorite events, and rebuilt periodically to pick up catalog edits.
+ * Events racing a rebuild can be missed or counted twice until the next rebuild.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class RecommendationEngine {
+
+    private static final float BOOKING_WEIGHT = 1.0f;
+    private static final int MAX_COUNTED_BOOKINGS = 3;
+    private static final float FAVORITE_WEIGHT = 0.7f;
+
+    private static final double CO_BOOKING_WEIGHT = 0.7;
+    private static final double AFFINITY_WEIGHT = 0.3;
+    private static final double GENRE_SHARE = 0.6;
+    private static final double LANGUAGE_SHARE = 0.4;
+
+    private static final Pattern GENRE_SEPARATOR = Pattern.compile("\\s*[,/|]\\s*");
+
+    private final BookingRepository bookingRepository;
+    private final UserRepository userRepository;
+    private final MovieCatalogCache movieCatalogCache;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Object buildLock = new Object();
+    private volatile boolean loaded;
+    private Model model = new Model();
+    private volatile CatalogFeatures catalogFeatures;
+
+    /**
+     * Up to limit movies for the user, best first, never including movies they booked or favorited.
+     * Users without any history get the most co-booked movies.
+     */
+    public List<Recommendation> recommend(Long userId, int limit) {
+        if (limit <= 0) {
+            return List.of();
+        }
+        ensureLoaded();
+        CatalogFeatures catalog = catalogFeatures();
+
+        lock.readLock().lock();
+        try {
+            UserProfile profile = userId != null ? model.users.get(userId) : null;
+            if (profile == null || profile.weights.size() == 0) {
+                return popular(catalog, limit);
+            }
+            LongFloatHashMap scores = coBookingScores(profile);
+            PriorityQueue<Recommendation> top = new PriorityQueue<>(limit + 1, Recommendation.WORST_FIRST);
+            for (Map.Entry<Long, MovieFeatures> entry : catalog.byMovie.entrySet()) {
+                long movieId = entry.getKey();
+                if (profile.weights.get(movieId) > 0) {
+                    continue;
+                }
+                double score = CO_BOOKING_WEIGHT * scores.get(movieId)
+                        + AFFINITY_WEIGHT * affinity(profile, entry.getValue());
+                if (score <= 0) {
+                    continue;
+                }
+                offer(top, new Recommendation(movieId, score, null), limit);
+            }
+
+            List<Recommendation> result = drain(top);
+            for (int i = 0; i < result.size(); i++) {
+                Recommendation recommendation = result.get(i);
+                result.set(i, new Recommendation(recommendation.movieId(), recommendation.score(),
+                        strongestSeed(profile, recommendation.movieId())));
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Count a newly confirmed booking once the surrounding transaction commits
+     */
+    public void recordBooking(Long userId, Long movieId) {
+        afterCommit(() -> apply(userId, movieId, profile -> profile.bookings.add(movieId, 1)));
+    }
+
+    /**
+     * Drop a cancelled booking once the surrounding transaction commits
+     */
+    public void recordCancellation(Long userId, Long movieId) {
+        afterCommit(() -> apply(userId, movieId, profile -> {
+            if (profile.bookings.get(movieId) > 0) {
+                profile.bookings.add(movieId, -1);
+            }
+        }));
+    }
+
+    /**
+     * Add or remove a favorite once the surrounding transaction commits
+     */
+    public void recordFavorite(Long userId, Long movieId, boolean favorite) {
+        afterCommit(() -> apply(userId, movieId, profile -> {
+            if (favorite) {
+                profile.favorites.add(movieId, 1 - profile.favorites.get(movieId));
+            } else {
+                profile.favorites.remove(movieId);
+            }
+        }));
+    }
+
+    /**
+     * Rebuild from the database, so catalog genre/language edits and any missed events are picked up
+     */
+    @Scheduled(fixedDelayString = "${app.recommendations.rebuild-interval-ms:21600000}",
+            initialDelayString = "${app.recommendations.rebuild-interval-ms:21600000}")
+    public void rebuild() {
+        if (!loaded) {
+            return;
+        }
+        synchronized (buildLock) {
+            Model rebuilt = buildModel();
+            lock.writeLock().lock();
+            try {
+                model = rebuilt;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        lock.readLock().lock();
+        try {
+            long pairs = 0;
+            for (LongFloatHashMap row : model.coBookings.values()) {
+                pairs += row.size();
+            }
+            stats.put("loaded", loaded);
+            stats.put("users", model.users.size());
+            stats.put("movies", model.norms.size());
+            stats.put("coBookedPairs", pairs / 2);
+        } finally {
+            lock.readLock().unlock();
+        }
+        return stats;
+    }
+
+    private void apply(Long userId, Long movieId, Consumer<UserProfile> change) {
+        if (userId == null || movieId == null || !loaded) {
+            return;
+        }
+        MovieFeatures features = catalogFeatures().byMovie.get(movieId);
+        lock.writeLock().lock();
+        try {
+            // Not built yet: the first build reads this change from the database
+            if (!loaded) {
+                return;
+            }
+            UserProfile profile = model.users.computeIfAbsent(userId, id -> new UserProfile());
+            float before = profile.weight(movieId);
+            change.accept(profile);
+            float after = profile.weight(movieId);
+            model.updateWeight(profile, movieId, before, after, features);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Per candidate: the user's weights times cosine-normalized co-booking counts, averaged over their movies
+     */
+    private LongFloatHashMap coBookingScores(UserProfile profile) {
+        LongFloatHashMap scores = new LongFloatHashMap();
+        float[] totalWeight = {0};
+        profile.weights.forEach((movieId, weight) -> totalWeight[0] += weight);
+        profile.weights.forEach((seedId, seedWeight) -> {
+            LongFloatHashMap row = model.coBookings.get(seedId);
+            if (row == null) {
+                return;
+            }
+            double seedNorm = model.norms.get(seedId);
+            row.forEach((candidateId, together) -> {
+                double norm = Math.sqrt(seedNorm * model.norms.get(candidateId));
+                if (norm > 0) {
+                    scores.add(candidateId, (float) (seedWeight * together / norm / totalWeight[0]));
+                }
+            });
+        });
+        return scores;
+    }
+
+    private Long strongestSeed(UserProfile profile, long candidateId) {
+        long[] best = {-1};
+        double[] bestScore = {0};
+        profile.weights.forEach((seedId, seedWeight) -> {
+            LongFloatHashMap row = model.coBookings.get(seedId);
+            if (row == null) {
+                return;
+            }
+            double score = seedWeight * row.get(candidateId) / Math.sqrt(model.norms.get(seedId));
+            if (score > bestScore[0]) {
+                bestScore[0] = score;
+                best[0] = seedId;
+            }
+        });
+        return best[0] >= 0 ? best[0] : null;
+    }
+
+    private static double affinity(UserProfile profile, MovieFeatures movie) {
+        double score = 0;
+        if (profile.genreTotal > 0) {
+            double covered = 0;
+            for (String genre : movie.genres()) {
+                covered += profile.genres.getOrDefault(genre, 0f);
+            }
+            score += GENRE_SHARE * Math.min(1, covered / profile.genreTotal);
+        }
+        if (profile.languageTotal > 0 && movie.language() != null) {
+            score += LANGUAGE_SHARE * profile.languages.getOrDefault(movie.language(), 0f) / profile.languageTotal;
+        }
+        return score;
+    }
+
+    private List<Recommendation> popular(CatalogFeatures catalog, int limit) {
+        PriorityQueue<Recommendation> top = new PriorityQueue<>(limit + 1, Recommendation.WORST_FIRST);
+        model.norms.forEach((movieId, norm) -> {
+            if (catalog.byMovie.containsKey(movieId)) {
+                offer(top, new Recommendation(movieId, norm, null), limit);
+            }
+        });
+        return drain(top);
+    }
+
+    private static void offer(PriorityQueue<Recommendation> top, Recommendation candidate, int limit) {
+        top.add(candidate);
+        if (top.size() > limit) {
+            top.poll();
+        }
+    }
+
+    private static List<Recommendation> drain(PriorityQueue<Recommendation> top) {
+        List<Recommendation> result = new ArrayList<>(top);
+        result.sort(Recommendation.WORST_FIRST.reversed());
+        return result;
+    }
+
+    private void ensureLoaded() {
+        if (loaded) {
+            return;
+        }
+        synchronized (buildLock) {
+            if (loaded) {
+                return;
+            }
+            Model built = buildModel();
+            lock.writeLock().lock();
+            try {
+                model = built;
+                loaded = true;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    private Model buildModel() {
+        long started = System.nanoTime();
+        Map<Long, UserProfile> profiles = new HashMap<>();
+        for (Object[] row : bookingRepository.findConfirmedBookingCountsByUserAndMovie()) {
+            profiles.computeIfAbsent((Long) row[0], id -> new UserProfile())
+                    .bookings.add((Long) row[1], ((Number) row[2]).floatValue());
+        }
+        for (Object[] row : userRepository.findAllFavoriteMovieIds()) {
+            profiles.computeIfAbsent((Long) row[0], id -> new UserProfile())
+                    .favorites.add((Long) row[1], 1);
+        }
+
+        Map<Long, MovieFeatures> features = catalogFeatures().byMovie;
+        Model built = new Model();
+        for (Map.Entry<Long, UserProfile> entry : profiles.entrySet()) {
+            UserProfile source = entry.getValue();
+            UserProfile profile = new UserProfile();
+            built.users.put(entry.getKey(), profile);
+            // Replay as events so the build and incremental paths cannot disagree
+            source.bookings.forEach((movieId, count) -> {
+                float before = profile.weight(movieId);
+                profile.bookings.add(movieId, count);
+                built.updateWeight(profile, movieId, before, profile.weight(movieId), features.get(movieId));
+            });
+            source.favorites.forEach((movieId, favorite) -> {
+                float before = profile.weight(movieId);
+                profile.favorites.add(movieId, favorite);
+                built.updateWeight(profile, movieId, before, profile.weight(movieId), features.get(movieId));
+            });
+        }
+        log.info("Recommendation model built for {} users and {} movies in {} ms",
+                built.users.size(), built.norms.size(), (System.nanoTime() - started) / 1_000_000);
+        return built;
+    }
+
+    /**
+     * Genre and language per catalog movie, re-derived whenever the catalog cache version moves
+     */
+    private CatalogFeatures catalogFeatures() {
+        long version = movieCatalogCache.getVersion();
+        CatalogFeatures current = catalogFeatures;
+        if (current != null && current.version == version) {
+            return current;
+        }
+        Map<Long, MovieFeatures> byMovie = new HashMap<>();
+        for (MovieResponseDTO movie : movieCatalogCache.getAllMovies()) {
+            byMovie.put(movie.getId(), MovieFeatures.of(movie));
+        }
+        current = new CatalogFeatures(version, byMovie);
+        catalogFeatures = current;
+        return current;
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    public record Recommendation(Long movieId, double score, Long becauseOfMovieId) {
+        // Lower score first; ties go to the higher ID so the lower ID wins a place
+        private static final Comparator<Recommendation> WORST_FIRST = Comparator
+                .comparingDouble(Recommendation::score)
+                .thenComparing(Recommendation::movieId, Comparator.reverseOrder());
+    }
+
+    private record MovieFeatures(String[] genres, String language) {
+        static MovieFeatures of(MovieResponseDTO movie) {
+            String[] genres = movie.getGenre() == null || movie.getGenre().isBlank()
+                    ? new String[0]
+                    : GENRE_SEPARATOR.split(movie.getGenre().trim().toLowerCase(Locale.ROOT));
+            String language = movie.getLanguage() == null || movie.getLanguage().isBlank()
+                    ? null
+                    : movie.getLanguage().trim().toLowerCase(Locale.ROOT);
+            return new MovieFeatures(genres, language);
+        }
+    }
+
+    private record CatalogFeatures(long version, Map<Long, MovieFeatures> byMovie) {
+    }
+
+    private static final class UserProfile {
+        final LongFloatHashMap bookings = new LongFloatHashMap();
+        final LongFloatHashMap favorites = new LongFloatHashMap();
+        // Derived: weight(movie) for every movie with any interaction
+        final LongFloatHashMap weights = new LongFloatHashMap();
+        final Map<String, Float> genres = new HashMap<>();
+        final Map<String, Float> languages = new HashMap<>();
+        float genreTotal;
+        float languageTotal;
+
+        float weight(long movieId) {
+            return BOOKING_WEIGHT * Math.min(bookings.get(movieId), MAX_COUNTED_BOOKINGS)
+                    + FAVORITE_WEIGHT * favorites.get(movieId);
+        }
+    }
+
+    private static final class Model {
+        final Map<Long, UserProfile> users = new HashMap<>();
+        // movieId -> (movieId -> sum over users of weight products); symmetric
+        final Map<Long, LongFloatHashMap> coBookings = new HashMap<>();
+        // movieId -> sum over users of squared weight; cosine denominator and cold-start popularity
+        final LongFloatHashMap norms = new LongFloatHashMap();
+
+        /**
+         * Move one user's weight for a movie from before to after and patch everything derived from it
+         */
+        void updateWeight(UserProfile profile, long movieId, float before, float after, MovieFeatures features) {
+            float delta = after - before;
+            if (delta == 0) {
+                return;
+            }
+            profile.weights.forEach((otherId, otherWeight) -> {
+                if (otherId != movieId) {
+                    addPair(movieId, otherId, delta * otherWeight);
+                    addPair(otherId, movieId, delta * otherWeight);
+                }
+            });
+            norms.add(movieId, after * after - before * before);
+            profile.weights.add(movieId, delta);
+
+            if (features != null) {
+                for (String genre : features.genres()) {
+                    profile.genres.merge(genre, delta, Float::sum);
+                    profile.genreTotal += delta;
+                }
+                if (features.language() != null) {
+                    profile.languages.merge(features.language(), delta, Float::sum);
+                    profile.languageTotal += delta;
+                }
+            }
+        }
+
+        private void addPair(long from, long to, float delta) {
+            LongFloatHashMap row = coBookings.computeIfAbsent(from, id -> new LongFloatHashMap());
+            row.add(to, delta);
+            if (row.size() == 0) {
+                coBookings.remove(from);
+            }
+        }
+    }
+}
@@ -0,0 +1,310 @@
+package com.movieDekho.MovieDekho.service.seatService;
+
+import com.movieDekho.MovieDekho.exception.ResourceNotFoundException;
+import com.movieDekho.MovieDekho.models.MovieSlot;
+import com.movieDekho.MovieDekho.models.Seat;
+import com.movieDekho.MovieDekho.models.TemporarySeatLock;
+import com.movieDekho.MovieDekho.repository.BookingRepository;
+import com.movieDekho.MovieDekho.repository.MovieSlotRepository;
+import com.movieDekho.MovieDekho.repository.SeatRepository;
+import com.movieDekho.MovieDekho.repository.TemporarySeatLockRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Deterministic seat suggestions from a slot's live seat state.
+ *
+ * Seat numbers are read as row letters plus a seat number ("D12"); row A is nearest the screen and a
+ * gap in the numbering counts as an aisle. Every window of free, consecutive seats that fits the party
+ * is scored by how central it is in its row, how close its row is to the preferred depth, its price
+ * tier, and whether it strands a single free seat next to it. The same seat state and request always
+ * give the same suggestions.
+ */
+@Service
+@RequiredArgsConstructor
+public class SeatSuggestionEngine {
+
+    private static final Pattern SEAT_NUMBER = Pattern.compile("^([A-Za-z]+)\\s*(\\d+)$");
+    private static final double ORPHAN_PENALTY = 0.15;
+
+    private final MovieSlotRepository movieSlotRepository;
+    private final SeatRepository seatRepository;
+    private final BookingRepository bookingRepository;
+    private final TemporarySeatLockRepository temporaryLockRepository;
+
+    /**
+     * Up to maxOptions non-overlapping suggestions for the party, best first. When no row has enough
+     * adjacent free seats, a single split suggestion built from the best smaller blocks is returned.
+     */
+    @Transactional(readOnly = true)
+    public SeatSuggestionResult suggest(Long slotId, int partySize, String preference, int maxOptions) {
+        MovieSlot slot = movieSlotRepository.findById(slotId)
+                .orElseThrow(() -> new ResourceNotFoundException("Movie slot not found with ID: " + slotId));
+
+        List<Seat> seats = seatRepository.findBySlot(slot);
+        Set<String> bookedSeatNumbers = new HashSet<>(bookingRepository.findBookedSeatNumbersBySlot(slot));
+        Set<Long> lockedSeatIds = new HashSet<>();
+        for (TemporarySeatLock lock : temporaryLockRepository.findActiveLocksBySlots(List.of(slot), LocalDateTime.now())) {
+            lockedSeatIds.add(lock.getSeat().getSeatId());
+        }
+
+        // Rows front to back: shorter labels first, so "Z" comes before "AA"
+        TreeMap<String, List<Position>> byRow = new TreeMap<>(
+                Comparator.comparingInt(String::length).thenComparing(Comparator.naturalOrder()));
+        int available = 0;
+        int locked = 0;
+        double minPrice = Double.MAX_VALUE;
+        double maxPrice = 0;
+        for (Seat seat : seats) {
+            Matcher matcher = seat.getSeatNumber() != null ? SEAT_NUMBER.matcher(seat.getSeatNumber().trim()) : null;
+            if (matcher == null || !matcher.matches()) {
+                continue;
+            }
+            boolean isLocked = lockedSeatIds.contains(seat.getSeatId());
+            boolean free = !seat.isBooked() && !bookedSeatNumbers.contains(seat.getSeatNumber()) && !isLocked;
+            if (free) {
+                available++;
+            } else if (isLocked) {
+                locked++;
+            }
+            minPrice = Math.min(minPrice, seat.getPrice());
+            maxPrice = Math.max(maxPrice, seat.getPrice());
+            byRow.computeIfAbsent(matcher.group(1).toUpperCase(Locale.ROOT), row -> new ArrayList<>())
+                    .add(new Position(seat.getSeatNumber(), Integer.parseInt(matcher.group(2)), seat.getPrice(), free));
+        }
+
+        List<SeatSuggestion> suggestions = List.of();
+        if (partySize > 0 && maxOptions > 0 && available >= partySize) {
+            Layout layout = new Layout(new ArrayList<>(byRow.entrySet()), minPrice, maxPrice, Weights.forPreference(preference));
+            suggestions = layout.bestBlocks(partySize, maxOptions);
+            if (suggestions.isEmpty()) {
+                suggestions = List.of(layout.split(partySize));
+            }
+        }
+        return new SeatSuggestionResult(slotId, seats.size(), available, locked, suggestions);
+    }
+
+    public record SeatSuggestionResult(Long slotId, int totalSeats, int availableSeats, int lockedSeats,
+            List<SeatSuggestion> suggestions) {
+    }
+
+    /**
+     * Seats in booking order; contiguous is false for a split suggestion spanning several blocks
+     */
+    public record SeatSuggestion(List<String> seatNumbers, List<String> rows, boolean contiguous,
+            double totalPrice, double score) {
+    }
+
+    private record Position(String seatNumber, int number, double price, boolean free) {
+    }
+
+    /**
+     * A candidate window: seats [start, start + size) of a row's free run
+     */
+    private record Block(int row, int start, int size, double score) {
+        static final Comparator<Block> BEST_FIRST = Comparator.comparingDouble(Block::score).reversed()
+                .thenComparingInt(Block::row)
+                .thenComparingInt(Block::start);
+    }
+
+    /**
+     * Relative weights of the scoring terms for one seating preference
+     */
+    private record Weights(double centrality, double depth, double price, double aisle,
+            double idealDepth, int priceDirection) {
+
+        static Weights forPreference(String preference) {
+            String value = preference != null ? preference.toLowerCase(Locale.ROOT) : "";
+            if (value.contains("premium") || value.contains("recliner") || value.contains("luxury")) {
+                return new Weights(0.30, 0.25, 0.45, 0, 0.65, 1);
+            }
+            if (value.contains("budget") || value.contains("cheap") || value.contains("economy") || value.contains("value")) {
+                return new Weights(0.30, 0.25, 0.45, 0, 0.65, -1);
+            }
+            if (value.contains("aisle")) {
+                return new Weights(0.20, 0.30, 0.10, 0.40, 0.65, 0);
+            }
+            if (value.contains("couple")) {
+                return new Weights(0.40, 0.35, 0.15, 0, 0.85, 0);
+            }
+            if (value.contains("family") || value.contains("kid")) {
+                return new Weights(0.50, 0.35, 0.15, 0, 0.60, 0);
+            }
+            if (value.contains("front")) {
+                return new Weights(0.40, 0.45, 0.15, 0, 0.15, 0);
+            }
+            if (value.contains("back")) {
+                return new Weights(0.40, 0.45, 0.15, 0, 1.0, 0);
+            }
+            return new Weights(0.40, 0.35, 0.15, 0, 0.65, 0);
+        }
+    }
+
+    private static final class Layout {
+        final List<String> rowLabels = new ArrayList<>();
+        final List<Position[]> rows = new ArrayList<>();
+        final double minPrice;
+        final double maxPrice;
+        final Weights weights;
+        // Seats already given to a suggestion, per row
+        final List<BitSet> taken = new ArrayList<>();
+
+        Layout(List<Map.Entry<String, List<Position>>> entries, double minPrice, double maxPrice, Weights weights) {
+            for (Map.Entry<String, List<Position>> entry : entries) {
+                Position[] row = entry.getValue().toArray(new Position[0]);
+                Arrays.sort(row, Comparator.comparingInt(Position::number));
+                rowLabels.add(entry.getKey());
+                rows.add(row);
+                taken.add(new BitSet(row.length));
+            }
+            this.minPrice = minPrice;
+            this.maxPrice = maxPrice;
+            this.weights = weights;
+        }
+
+        List<SeatSuggestion> bestBlocks(int size, int maxOptions) {
+            List<Block> candidates = candidates(size);
+            candidates.sort(Block.BEST_FIRST);
+            List<SeatSuggestion> result = new ArrayList<>();
+            for (Block block : candidates) {
+                if (result.size() == maxOptions) {
+                    break;
+                }
+                if (take(block)) {
+                    result.add(toSuggestion(List.of(block), true));
+                }
+            }
+            return result;
+        }
+
+        /**
+         * Cover the party with the fewest, best-scoring blocks: always take the best block of the
+         * largest size still available, shrinking only when no block of that size is left
+         */
+        SeatSuggestion split(int partySize) {
+            List<Block> chosen = new ArrayList<>();
+            int remaining = partySize;
+            int size = partySize;
+            while (remaining > 0 && size > 0) {
+                size = Math.min(size, remaining);
+                List<Block> candidates = candidates(size);
+                Block best = candidates.stream().min(Block.BEST_FIRST).orElse(null);
+                if (best == null) {
+                    size--;
+                    continue;
+                }
+                take(best);
+                chosen.add(best);
+                remaining -= size;
+            }
+            return toSuggestion(chosen, false);
+        }
+
+        private List<Block> candidates(int size) {
+            List<Block> blocks = new ArrayList<>();
+            for (int row = 0; row < rows.size(); row++) {
+                Position[] seats = rows.get(row);
+                BitSet rowTaken = taken.get(row);
+                int runStart = 0;
+                for (int i = 0; i <= seats.length; i++) {
+                    boolean continues = i < seats.length && isOpen(seats, rowTaken, i)
+                            && (i == runStart || seats[i].number() == seats[i - 1].number() + 1);
+                    if (continues) {
+                        continue;
+                    }
+                    for (int start = runStart; start + size <= i; start++) {
+                        blocks.add(new Block(row, start, size, score(row, start, size, runStart, i)));
+                    }
+                    // A seat that broke adjacency rather than availability starts the next run
+                    runStart = i < seats.length && isOpen(seats, rowTaken, i) ? i : i + 1;
+                }
+            }
+            return blocks;
+        }
+
+        private static boolean isOpen(Position[] seats, BitSet rowTaken, int index) {
+            return seats[index].free() && !rowTaken.get(index);
+        }
+
+        /**
+         * Score a window [start, start + size) inside the free run [runStart, runEnd)
+         */
+        private double score(int row, int start, int size, int runStart, int runEnd) {
+            Position[] seats = rows.get(row);
+            int first = seats[0].number();
+            int last = seats[seats.length - 1].number();
+            double rowCenter = (first + last) / 2.0;
+            double halfWidth = Math.max(1, (last - first) / 2.0);
+            double blockCenter = (seats[start].number() + seats[start + size - 1].number()) / 2.0;
+            double centrality = Math.max(0, 1 - Math.abs(blockCenter - rowCenter) / halfWidth);
+
+            int lastRow = rows.size() - 1;
+            double depth = lastRow == 0 ? 1 : 1 - Math.abs(row - weights.idealDepth() * lastRow) / lastRow;
+
+            double total = 0;
+            for (int i = start; i < start + size; i++) {
+                total += seats[i].price();
+            }
+            double tier = maxPrice > minPrice ? (total / size - minPrice) / (maxPrice - minPrice) : 0;
+            double price = switch (weights.priceDirection()) {
+                case 1 -> tier;
+                case -1 -> 1 - tier;
+                default -> 1 - tier / 2;
+            };
+
+            double aisle = isAisle(seats, start) || isAisle(seats, start + size - 1) ? 1 : 0;
+
+            double score = weights.centrality() * centrality + weights.depth() * depth
+                    + weights.price() * price + weights.aisle() * aisle;
+            // A lone free seat left beside the party is hard to sell
+            if (start - runStart == 1) {
+                score -= ORPHAN_PENALTY;
+            }
+            if (runEnd - (start + size) == 1) {
+                score -= ORPHAN_PENALTY;
+            }
+            return score;
+        }
+
+        private static boolean isAisle(Position[] seats, int index) {
+            return index == 0 || index == seats.length - 1
+                    || seats[index - 1].number() != seats[index].number() - 1
+                    || seats[index + 1].number() != seats[index].number() + 1;
+        }
+
+        private boolean take(Block block) {
+            BitSet rowTaken = taken.get(block.row());
+            if (rowTaken.get(block.start(), block.start() + block.size()).cardinality() > 0) {
+                return false;
+            }
+            rowTaken.set(block.start(), block.start() + block.size());
+            return true;
+        }
+
+        private SeatSuggestion toSuggestion(List<Block> blocks, boolean contiguous) {
+            List<String> seatNumbers = new ArrayList<>();
+            List<String> rowsUsed = new ArrayList<>();
+            double totalPrice = 0;
+            double score = 0;
+            for (Block block : blocks) {
+                Position[] seats = rows.get(block.row());
+                for (int i = block.start(); i < block.start() + block.size(); i++) {
+                    seatNumbers.add(seats[i].seatNumber());
+                    totalPrice += seats[i].price();
+                }
+                if (!rowsUsed.contains(rowLabels.get(block.row()))) {
+                    rowsUsed.add(rowLabels.get(block.row()));
+                }
+                score += block.score() * block.size();
+            }
+            return new SeatSuggestion(seatNumbers, rowsUsed, contiguous,
+                    Math.round(totalPrice * 100.0) / 100.0, Math.round(score / seatNumbers.size() * 1000.0) / 1000.0);
+        }
+    }
+}
@@ -6,6 +6,7 @@ import com.movieDekho.MovieDekho.models.AvailableMovie;
 import com.movieDekho.MovieDekho.models.User;
 import com.movieDekho.MovieDekho.repository.MovieRepository;
 import com.movieDekho.MovieDekho.repository.UserRepository;
+import com.movieDekho.MovieDekho.service.recommendationService.RecommendationEngine;
 import com.movieDekho.MovieDekho.util.MovieMapper;
 import lombok.AllArgsConstructor;
 import org.springframework.stereotype.Service;
@@ -21,6 +22,7 @@ public class FavoritesService {
 
     private final UserRepository userRepository;
     private final MovieRepository movieRepository;
+    private final RecommendationEngine recommendationEngine;
 
     @Transactional
     public String addToFavorites(String userIdentifier, Long movieId) {
@@ -43,6 +45,7 @@ public class FavoritesService {
 
         user.getFavoriteMovies().add(movie);
         userRepository.save(user);
+        recommendationEngine.recordFavorite(user.getId(), movieId, true);
 
         return "Movie added to favorites successfully";
     }
@@ -60,6 +63,7 @@ public class FavoritesService {
         }
 
         userRepository.save(user);
+        recommendationEngine.recordFavorite(user.getId(), movieId, false);
         return "Movie removed from favorites successfully";
     }
 
@@ -67,6 +71,9 @@ public class FavoritesService {
     public void removeAllFavorites(String userIdentifier) {
         Optional<User> userOpt = userRepository.findByEmailOrPhoneWithFavorites(userIdentifier);
         User user = userOpt.get();
+        for (AvailableMovie movie : user.getFavoriteMovies()) {
+            recommendationEngine.recordFavorite(user.getId(), movie.getId(), false);
+        }
         user.getFavoriteMovies().clear();
     }
 
@@ -1,26 +1,79 @@
 package com.movieDekho.MovieDekho.service.userService;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
 import com.movieDekho.MovieDekho.config.userImplementation.UserDetailsImplement;
 import com.movieDekho.MovieDekho.models.User;
 import com.movieDekho.MovieDekho.repository.UserRepository;
-import lombok.AllArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 @Service
-@AllArgsConstructor
 public class UserDetailsServiceImpl implements UserDetailsService {
 
-   private UserRepository userRepository;
+    private final UserRepository userRepository;
+
+    // Keyed by the identifier used to log in (email or phone)
+    private final Cache<String, UserDetailsImplement> userDetailsCache;
+
+    public UserDetailsServiceImpl(UserRepository userRepository,
+                                  @Value("${app.user-details-cache.max-size:10000}") long maxSize,
+                                  @Value("${app.user-details-cache.expire-after-write-minutes:10}") long expireAfterWriteMinutes) {
+        this.userRepository = userRepository;
+        this.userDetailsCache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofMinutes(expireAfterWriteMinutes))
+                .recordStats()
+                .build();
+    }
 
-    @Transactional
     @Override
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
+        UserDetailsImplement cached = userDetailsCache.getIfPresent(email);
+        if (cached != null) {
+            return cached;
+        }
+
         User user = userRepository.findByEmailOrPhone(email)
                 .orElseThrow(() -> new UsernameNotFoundException("User name not found " + email));
-        return UserDetailsImplement.build(user);
+        UserDetailsImplement userDetails = UserDetailsImplement.build(user);
+        userDetailsCache.put(email, userDetails);
+        return userDetails;
+    }
+
+    /**
+     * Drop every cached entry for a user; call after role, password, profile or account changes
+     */
+    public void evictUser(User user) {
+        if (user == null) {
+            return;
+        }
+        evict(user.getEmail());
+        evict(user.getPhone());
+    }
+
+    public void evict(String emailOrPhone) {
+        if (emailOrPhone != null) {
+            userDetailsCache.invalidate(emailOrPhone);
+        }
+    }
+
+    public Map<String, Object> getCacheStats() {
+        CacheStats stats = userDetailsCache.stats();
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("size", userDetailsCache.estimatedSize());
+        result.put("hitCount", stats.hitCount());
+        result.put("missCount", stats.missCount());
+        result.put("hitRate", stats.hitRate());
+        result.put("evictionCount", stats.evictionCount());
+        return result;
     }
 }
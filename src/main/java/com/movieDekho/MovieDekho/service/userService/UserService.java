@@ -101,6 +101,7 @@ public class UserService {
 
         user.setPassword(passwordEncoder.encode(newPassword));
         userRepository.save(user);
+        userDetailsService.evictUser(user);
     }
 
     public String findEmailByPhone(String phoneNumber) {
@@ -0,0 +1,68 @@
+package com.movieDekho.MovieDekho.util;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Writes export rows one at a time as CSV or newline-delimited JSON.
+ * Nothing is buffered beyond the writer itself, so memory stays flat for any row count.
+ */
+public class ExportWriter implements Flushable {
+
+    private final Writer writer;
+    private final ExportFormat format;
+    private final ObjectMapper objectMapper;
+
+    public ExportWriter(OutputStream outputStream, ExportFormat format, ObjectMapper objectMapper, List<String> csvHeader)
+            throws IOException {
+        this.writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        this.format = format;
+        // The writer owns the stream; the generator must not close it after each row
+        this.objectMapper = objectMapper.copy().disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        if (format == ExportFormat.CSV) {
+            writeCsvLine(csvHeader);
+        }
+    }
+
+    /**
+     * Write one row: the whole record for NDJSON, or the given column values for CSV
+     */
+    public void write(Object record, List<?> csvValues) throws IOException {
+        if (format == ExportFormat.NDJSON) {
+            objectMapper.writeValue(writer, record);
+            writer.write('\n');
+        } else {
+            writeCsvLine(csvValues);
+        }
+    }
+
+    @Override
+    public void flush() throws IOException {
+        writer.flush();
+    }
+
+    private void writeCsvLine(List<?> values) throws IOException {
+        for (int i = 0; i < values.size(); i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writer.write(escapeCsv(values.get(i)));
+        }
+        writer.write("\r\n");
+    }
+
+    private static String escapeCsv(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value.toString();
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            return text;
+        }
+        return '"' + text.replace("\"", "\"\"") + '"';
+    }
+}
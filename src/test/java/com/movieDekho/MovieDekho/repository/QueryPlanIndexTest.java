@@ -0,0 +1,252 @@
+package com.movieDekho.MovieDekho.repository;
+
+import com.movieDekho.MovieDekho.config.emailconfig.EmailQueueSchemaInitializer;
+import com.movieDekho.MovieDekho.models.MovieSlot;
+import com.movieDekho.MovieDekho.models.Seat;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import jakarta.persistence.EntityManager;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Guards the indexes behind the hot repository queries on a real Postgres.
+ * Each test calls the repository method, captures the SQL Hibernate sent, and asks for its generic
+ * plan with sequential scans disabled: a Seq Scan left in the plan means no index can serve the query.
+ * The partial email_queue indexes come from EmailQueueSchemaInitializer, as in production.
+ */
+@DataJpaTest(properties = "spring.jpa.hibernate.ddl-auto=create-drop")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({ EmailQueueSchemaInitializer.class, QueryPlanIndexTest.SqlCapture.class })
+class QueryPlanIndexTest {
+
+    private static final EmbeddedPostgres POSTGRES = startPostgres();
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> POSTGRES.getJdbcUrl("postgres", "postgres"));
+        registry.add("spring.datasource.username", () -> "postgres");
+        registry.add("spring.datasource.password", () -> "postgres");
+    }
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private SeatRepository seatRepository;
+
+    @Autowired
+    private MovieSlotRepository movieSlotRepository;
+
+    @Autowired
+    private TemporarySeatLockRepository temporarySeatLockRepository;
+
+    @Autowired
+    private EmailQueueRepository emailQueueRepository;
+
+    @Autowired
+    private EmailQueueSchemaInitializer schemaInitializer;
+
+    @Autowired
+    private SqlCapture sqlCapture;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private MovieSlot slot;
+    private Seat seat;
+
+    @BeforeEach
+    void setUp() {
+        schemaInitializer.createPartialIndexes();
+        // Mostly delivered history with a thin live queue, so the planner costs the email indexes as in production
+        jdbcTemplate.update("INSERT INTO email_queue (recipient_email, subject, email_type, status, retry_count, "
+                + "max_retries, priority, created_at, scheduled_at, sent_at, claimed_by, claim_expires_at) "
+                + "SELECT 'user' || g || '@example.com', 'Booking confirmed', 'BOOKING_CONFIRMATION', "
+                + "CASE g % 100 WHEN 0 THEN 'PENDING' WHEN 50 THEN 'PROCESSING' ELSE 'SENT' END, 0, 3, 1, "
+                + "now() - g * INTERVAL '1 minute', now() - g * INTERVAL '1 minute', "
+                + "CASE WHEN g % 50 = 0 THEN NULL ELSE now() - g * INTERVAL '1 minute' END, "
+                + "CASE WHEN g % 100 = 50 THEN 'worker' END, "
+                + "CASE WHEN g % 100 = 50 THEN now() + g * INTERVAL '1 second' END "
+                + "FROM generate_series(1, 20000) g");
+        jdbcTemplate.execute("ANALYZE email_queue");
+        slot = entityManager.getReference(MovieSlot.class, 1L);
+        seat = entityManager.getReference(Seat.class, 1L);
+    }
+
+    @Test
+    void bookingHistoryByUserEmailUsesEmailTimeIndex() {
+        assertThat(plan(() -> bookingRepository.findByUserEmailWithDetails("a@example.com")))
+                .contains("idx_booking_user_email_time");
+    }
+
+    @Test
+    void confirmedBookingsBySlotUseSlotStatusIndex() {
+        assertThat(plan(() -> bookingRepository.findConfirmedBookingsBySlot(slot)))
+                .contains("idx_booking_slot_status");
+        assertThat(plan(() -> bookingRepository.findBookedSeatNumbersBySlot(slot)))
+                .contains("idx_booking_slot_status", "idx_booking_seats_booking_id");
+    }
+
+    @Test
+    void ticketLookupsUseTokenIndexes() {
+        assertThat(plan(() -> bookingRepository.findByQrCode("qr"))).contains("idx_booking_qr_code");
+        assertThat(plan(() -> bookingRepository.findByVerificationToken("token")))
+                .contains("idx_booking_verification_token");
+    }
+
+    @Test
+    void seatNumbersByBookingUseBookingSeatsIndex() {
+        assertThat(plan(() -> bookingRepository.findSeatNumbersByBookingIds(List.of(1L, 2L, 3L))))
+                .contains("idx_booking_seats_booking_id");
+    }
+
+    @Test
+    void seatBySlotAndNumberUsesSlotSeatNumberIndex() {
+        assertThat(plan(() -> seatRepository.findBySlotAndSeatNumber(slot, "A1")))
+                .contains("idx_seat_slot_seat_number");
+        assertThat(plan(() -> seatRepository.findBySlotAndSeatNumbersWithLock(slot, List.of("A1", "A2"))))
+                .contains("idx_seat_slot_seat_number");
+    }
+
+    @Test
+    void upcomingShowtimeReadsUseShowDateIndex() {
+        LocalDate today = LocalDate.now();
+        assertThat(plan(() -> movieSlotRepository.findByShowDateGreaterThanEqual(today)))
+                .contains("idx_movie_slot_show_date");
+        assertThat(plan(() -> movieSlotRepository.findAvailableSeatCountsFrom(today)))
+                .contains("idx_movie_slot_show_date");
+    }
+
+    @Test
+    void activeSeatLockLookupsUseActiveExpiryIndexes() {
+        LocalDateTime now = LocalDateTime.now();
+        assertThat(plan(() -> temporarySeatLockRepository.findActiveLocksBySlots(List.of(slot), now)))
+                .contains("idx_seat_lock_slot_active_expiry");
+        assertThat(plan(() -> temporarySeatLockRepository.findActiveLockBySeat(seat, now)))
+                .contains("idx_seat_lock_seat_active_expiry");
+        assertThat(plan(() -> temporarySeatLockRepository.isSeatLockedByOtherSession(seat, "session", now)))
+                .contains("idx_seat_lock_seat_active_expiry");
+    }
+
+    @Test
+    void releasingSessionLocksUsesSessionIndex() {
+        assertThat(plan(() -> temporarySeatLockRepository.releaseLocksBySessionId("session")))
+                .contains("idx_seat_lock_session_active");
+    }
+
+    @Test
+    void claimingReadyEmailsUsesReadyIndex() {
+        LocalDateTime now = LocalDateTime.now();
+        assertThat(plan(() -> emailQueueRepository.claimEmailsReadyToSend("worker", now, now.plusMinutes(5), 50)))
+                .contains("idx_email_queue_ready");
+        assertThat(plan(() -> emailQueueRepository.findEmailsReadyToSend(now, PageRequest.of(0, 50))))
+                .contains("idx_email_queue_ready");
+    }
+
+    @Test
+    void resettingExpiredLeasesUsesLeaseIndex() {
+        LocalDateTime now = LocalDateTime.now();
+        assertThat(plan(() -> emailQueueRepository.resetStuckEmails(now, now.minusMinutes(30))))
+                .contains("idx_email_queue_processing_lease");
+    }
+
+    @Test
+    void dailyQuotaCountUsesStatusSentAtIndex() {
+        LocalDateTime now = LocalDateTime.now();
+        assertThat(plan(() -> emailQueueRepository.countSentEmailsInPeriod(now.minusDays(1), now)))
+                .contains("idx_email_queue_status_sent_at");
+    }
+
+    @Test
+    void cancellingOldEmailsUsesStatusCreatedAtIndex() {
+        assertThat(plan(() -> emailQueueRepository.cancelOldEmails(LocalDateTime.now().minusDays(7))))
+                .contains("idx_email_queue_status_created_at");
+    }
+
+    /**
+     * Run the repository call and return the generic plan of the statement it sent, failing on a Seq Scan
+     */
+    private String plan(Runnable repositoryCall) {
+        sqlCapture.statements.clear();
+        repositoryCall.run();
+        assertThat(sqlCapture.statements).as("SQL sent by the repository call").isNotEmpty();
+        String sql = sqlCapture.statements.get(sqlCapture.statements.size() - 1);
+
+        // A generic plan ignores the parameter values, so each one is passed as NULL
+        int parameters = 0;
+        StringBuilder prepared = new StringBuilder(sql.length() + 16);
+        for (int i = 0; i < sql.length(); i++) {
+            char c = sql.charAt(i);
+            if (c == '?') {
+                prepared.append('$').append(++parameters);
+            } else {
+                prepared.append(c);
+            }
+        }
+        jdbcTemplate.execute("SET LOCAL enable_seqscan = off");
+        jdbcTemplate.execute("SET LOCAL plan_cache_mode = force_generic_plan");
+        jdbcTemplate.execute("PREPARE plan_check AS " + prepared);
+        try {
+            String arguments = parameters == 0 ? "" : "(" + String.join(", ", Collections.nCopies(parameters, "NULL")) + ")";
+            String plan = String.join("\n", jdbcTemplate.queryForList("EXPLAIN EXECUTE plan_check" + arguments, String.class));
+            assertThat(plan).as("plan for %s", sql).doesNotContain("Seq Scan");
+            return plan;
+        } finally {
+            jdbcTemplate.execute("DEALLOCATE plan_check");
+        }
+    }
+
+    private static EmbeddedPostgres startPostgres() {
+        try {
+            return EmbeddedPostgres.start();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Records the SQL Hibernate prepares, unchanged
+     */
+    @TestConfiguration
+    static class SqlCapture implements StatementInspector {
+
+        final List<String> statements = new ArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            statements.add(sql);
+            return sql;
+        }
+
+        @Bean
+        HibernatePropertiesCustomizer statementInspector() {
+            return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, this);
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package com.movieDekho.MovieDekho.service.assistantService;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.movieDekho.MovieDekho.config.reqconfig.CineBookAssistantConfig;
+import com.movieDekho.MovieDekho.dtos.assistant.AssistantQueryResponse.SourceReference;
+import com.movieDekho.MovieDekho.dtos.movie.MovieResponseDTO;
+import com.movieDekho.MovieDekho.service.movieService.MovieCatalogCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class AssistantVectorIndexTest {
+
+    private static final String[] GENRES = {"Action", "Comedy", "Drama", "Horror", "Sci-Fi"};
+
+    @TempDir
+    Path dir;
+
+    private CineBookAssistantConfig config;
+    private MovieCatalogCache movieCatalogCache;
+    // The catalog as the cache serves it; bump version after changing it
+    private final List<MovieResponseDTO> catalog = new ArrayList<>();
+    private final AtomicLong version = new AtomicLong(1);
+
+    @BeforeEach
+    void setUp() {
+        config = new CineBookAssistantConfig();
+        config.getVectorIndex().setPath(dir.resolve("index.bin").toString());
+        config.getVectorIndex().setMinSimilarity(0);
+        movieCatalogCache = mock(MovieCatalogCache.class);
+        when(movieCatalogCache.getVersion()).thenAnswer(invocation -> version.get());
+        when(movieCatalogCache.getAllMovies()).thenAnswer(invocation -> new ArrayList<>(catalog));
+    }
+
+    @Test
+    void findsMovieByTitleAndGenre() {
+        catalog.addAll(movies(20));
+        AssistantVectorIndex index = newIndex();
+
+        List<SourceReference> hits = index.search("Movie 7 horror", 3);
+
+        assertThat(hits).isNotEmpty();
+        assertThat(hits.get(0).getTitle()).isEqualTo("Movie 7");
+        assertThat(hits.get(0).getSourceType()).isEqualTo("vector");
+    }
+
+    @Test
+    void flushedIndexIsMappedBackWithIdenticalResults() {
+        catalog.addAll(movies(40));
+        AssistantVectorIndex original = newIndex();
+        List<List<SourceReference>> before = searchAll(original);
+        original.flush();
+
+        AssistantVectorIndex restored = newIndex();
+
+        assertThat(Files.isRegularFile(Path.of(config.getVectorIndex().getPath()))).isTrue();
+        assertThat(searchAll(restored)).isEqualTo(before);
+    }
+
+    @Test
+    void removedMoviesDisappearAndFlushCompactsThem() throws IOException {
+        List<MovieResponseDTO> movies = movies(40);
+        catalog.addAll(movies);
+        AssistantVectorIndex index = newIndex();
+        index.search("warmup", 1);
+        index.flush();
+        long fullSize = Files.size(Path.of(config.getVectorIndex().getPath()));
+
+        catalog.removeAll(movies.subList(0, 30));
+        version.incrementAndGet();
+        assertThat(titles(index.search("Movie 3 drama", 10))).doesNotContain("Movie 3");
+        index.flush();
+
+        assertThat(Files.size(Path.of(config.getVectorIndex().getPath()))).isLessThan(fullSize);
+        AssistantVectorIndex restored = newIndex();
+        List<String> titles = titles(restored.search("Movie 35", 50));
+        assertThat(titles).contains("Movie 35");
+        for (MovieResponseDTO movie : movies.subList(0, 30)) {
+            assertThat(titles).doesNotContain(movie.getTitle());
+        }
+    }
+
+    @Test
+    void movieChangedOnAnotherInstanceIsReEmbeddedOnceTheCatalogMoves() {
+        catalog.addAll(movies(10));
+        AssistantVectorIndex index = newIndex();
+        index.search("warmup", 1);
+
+        catalog.get(4).setTitle("Gravity Falls Forever");
+        catalog.add(movie(10, "Lagaan", "Sports"));
+        assertThat(titles(index.search("Gravity Falls", 1))).doesNotContain("Gravity Falls Forever");
+
+        version.incrementAndGet();
+        assertThat(titles(index.search("Gravity Falls", 1))).containsExactly("Gravity Falls Forever");
+        assertThat(titles(index.search("Movie 4", 10))).doesNotContain("Movie 4");
+        assertThat(titles(index.search("Lagaan", 1))).containsExactly("Lagaan");
+    }
+
+    @Test
+    void restartPicksUpDisplayedFieldsThatAreNotEmbedded() {
+        catalog.addAll(movies(10));
+        AssistantVectorIndex original = newIndex();
+        original.search("warmup", 1);
+        original.flush();
+
+        MovieResponseDTO edited = catalog.get(3);
+        edited.setTrailer("https://example.com/trailer-3");
+        edited.setCertification("UA");
+        AssistantVectorIndex restored = newIndex();
+
+        SourceReference hit = restored.search("Movie 3", 1).get(0);
+        assertThat(hit.getTitle()).isEqualTo("Movie 3");
+        assertThat(hit.getExternalUrl()).isEqualTo("https://example.com/trailer-3");
+        assertThat(hit.getContent()).contains("Certification: UA");
+    }
+
+    private AssistantVectorIndex newIndex() {
+        return new AssistantVectorIndex(config, movieCatalogCache, new ObjectMapper());
+    }
+
+    private static List<List<SourceReference>> searchAll(AssistantVectorIndex index) {
+        List<List<SourceReference>> results = new ArrayList<>();
+        for (String query : List.of("Movie 1", "comedy", "sci-fi thriller", "refund policy", "Movie 33 action")) {
+            results.add(index.search(query, 5));
+        }
+        return results;
+    }
+
+    private static List<String> titles(List<SourceReference> hits) {
+        return hits.stream().map(SourceReference::getTitle).toList();
+    }
+
+    private static List<MovieResponseDTO> movies(int count) {
+        List<MovieResponseDTO> movies = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            movies.add(movie(i, "Movie " + i, GENRES[i % GENRES.length]));
+        }
+        return movies;
+    }
+
+    private static MovieResponseDTO movie(int id, String title, String genre) {
+        MovieResponseDTO movie = new MovieResponseDTO();
+        movie.setId((long) id);
+        movie.setTitle(title);
+        movie.setGenre(genre);
+        movie.setLanguage(id % 2 == 0 ? "Hindi" : "English");
+        movie.setDescription("A " + genre.toLowerCase() + " story number " + id);
+        return movie;
+    }
+}
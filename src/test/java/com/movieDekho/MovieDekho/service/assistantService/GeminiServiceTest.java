@@ -0,0 +1,132 @@
+package com.movieDekho.MovieDekho.service.assistantService;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.movieDekho.MovieDekho.config.reqconfig.GeminiConfig;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.http.HttpClient;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class GeminiServiceTest {
+
+    private static final String CHUNK = "data: {\"candidates\":[{\"content\":{\"parts\":[{\"text\":\"%s\"}]}}]}\n\n";
+
+    private final CompletableFuture<IOException> serverWriteFailure = new CompletableFuture<>();
+    private final List<String> chunks = new CopyOnWriteArrayList<>();
+
+    private HttpServer server;
+    private GeminiService geminiService;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.createContext("/models/complete", exchange -> respond(exchange, false));
+        server.createContext("/models/stalled", exchange -> respond(exchange, true));
+        server.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    void chunksAreForwardedAndJoinedIntoTheAnswer() throws Exception {
+        useModel("complete", 5000);
+
+        String answer = geminiService.streamResponse("system", "query", null, chunks::add).get(5, TimeUnit.SECONDS);
+
+        assertThat(chunks).containsExactly("Hello", " world");
+        assertThat(answer).isEqualTo("Hello world");
+    }
+
+    @Test
+    void stalledBodyTimesOutAndClosesTheConnection() throws Exception {
+        useModel("stalled", 300);
+
+        CompletableFuture<String> answer = geminiService.streamResponse("system", "query", null, chunks::add);
+
+        assertThatThrownBy(() -> answer.get(5, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(TimeoutException.class);
+        assertThat(serverWriteFailure.get(5, TimeUnit.SECONDS)).isNotNull();
+        assertThat(chunks).startsWith("Hello");
+    }
+
+    @Test
+    void cancellingTheAnswerClosesTheConnection() throws Exception {
+        useModel("stalled", 60000);
+
+        CompletableFuture<String> answer = geminiService.streamResponse("system", "query", null, chunks::add);
+        waitForFirstChunk();
+        answer.cancel(true);
+
+        assertThat(serverWriteFailure.get(5, TimeUnit.SECONDS)).isNotNull();
+    }
+
+    private void useModel(String name, long streamTimeoutMs) {
+        GeminiConfig config = new GeminiConfig();
+        config.getApi().setKey("test-key");
+        config.getApi().setEndpoint("http://127.0.0.1:" + server.getAddress().getPort() + "/models");
+        config.getModel().setName(name);
+        config.getHttp().setStreamTimeoutMs(streamTimeoutMs);
+        HttpClient httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        geminiService = new GeminiService(config, null, httpClient, new ObjectMapper());
+    }
+
+    private void waitForFirstChunk() throws InterruptedException {
+        for (int i = 0; i < 100 && chunks.isEmpty(); i++) {
+            Thread.sleep(50);
+        }
+        assertThat(chunks).isNotEmpty();
+    }
+
+    /**
+     * Send two chunks and finish, or keep the body open with one chunk plus blank keep-alive lines
+     * until a write fails because the client closed the connection
+     */
+    private void respond(HttpExchange exchange, boolean stall) throws IOException {
+        exchange.getRequestBody().readAllBytes();
+        exchange.getResponseHeaders().add("Content-Type", "text/event-stream");
+        exchange.sendResponseHeaders(200, 0);
+        OutputStream body = exchange.getResponseBody();
+        try {
+            body.write(CHUNK.formatted("Hello").getBytes(StandardCharsets.UTF_8));
+            body.flush();
+            if (!stall) {
+                body.write(CHUNK.formatted(" world").getBytes(StandardCharsets.UTF_8));
+                body.close();
+                return;
+            }
+            for (int i = 0; i < 200; i++) {
+                Thread.sleep(50);
+                body.write("\n".getBytes(StandardCharsets.UTF_8));
+                body.flush();
+            }
+        } catch (IOException e) {
+            serverWriteFailure.complete(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            exchange.close();
+        }
+    }
+}
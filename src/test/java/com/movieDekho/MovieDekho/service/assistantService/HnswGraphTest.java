@@ -0,0 +1,236 @@
+package com.movieDekho.MovieDekho.service.assistantService;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.offset;
+
+class HnswGraphTest {
+
+    private static final int DIMENSIONS = 64;
+    private static final int M = 16;
+    private static final int EF_CONSTRUCTION = 100;
+    private static final int EF_SEARCH = 64;
+
+    @Test
+    void emptyGraphReturnsNoHits() {
+        HnswGraph graph = new HnswGraph(DIMENSIONS, M, EF_CONSTRUCTION);
+
+        assertThat(graph.search(randomUnitVector(new Random(1)), 5, EF_SEARCH)).isEmpty();
+    }
+
+    @Test
+    void findsEachInsertedVectorFirst() {
+        List<float[]> vectors = randomUnitVectors(500, 7);
+        HnswGraph graph = build(vectors);
+
+        for (int node = 0; node < vectors.size(); node += 25) {
+            List<HnswGraph.Hit> hits = graph.search(vectors.get(node), 1, EF_SEARCH);
+            assertThat(hits).extracting(HnswGraph.Hit::node).containsExactly(node);
+            assertThat(hits.get(0).score()).isCloseTo(1.0, offset(1e-5));
+        }
+    }
+
+    @Test
+    void recallAgainstBruteForceIsHigh() {
+        List<float[]> vectors = randomUnitVectors(2000, 11);
+        HnswGraph graph = build(vectors);
+        Random random = new Random(13);
+        int k = 10;
+        int found = 0;
+        int queries = 50;
+
+        for (int q = 0; q < queries; q++) {
+            float[] query = randomUnitVector(random);
+            Set<Integer> exact = new HashSet<>(bruteForce(vectors, query, k, Set.of()));
+            for (HnswGraph.Hit hit : graph.search(query, k, EF_SEARCH)) {
+                if (exact.contains(hit.node())) {
+                    found++;
+                }
+            }
+        }
+
+        assertThat(found / (double) (queries * k)).isGreaterThanOrEqualTo(0.9);
+    }
+
+    @Test
+    void hitsAreOrderedBestFirst() {
+        List<float[]> vectors = randomUnitVectors(300, 17);
+        HnswGraph graph = build(vectors);
+
+        List<HnswGraph.Hit> hits = graph.search(randomUnitVector(new Random(19)), 20, EF_SEARCH);
+
+        assertThat(hits).hasSize(20).isSortedAccordingTo(Comparator.comparingDouble(HnswGraph.Hit::score).reversed());
+    }
+
+    @Test
+    void tombstonedNodesNeverAppearInResults() {
+        List<float[]> vectors = randomUnitVectors(1000, 23);
+        HnswGraph graph = build(vectors);
+        Set<Integer> deleted = new HashSet<>();
+        for (int node = 0; node < vectors.size(); node += 2) {
+            graph.markDeleted(node);
+            deleted.add(node);
+        }
+        graph.markDeleted(0);
+
+        assertThat(graph.deletedCount()).isEqualTo(deleted.size());
+        assertThat(graph.isDeleted(0)).isTrue();
+        assertThat(graph.isDeleted(1)).isFalse();
+
+        Random random = new Random(29);
+        int k = 10;
+        int found = 0;
+        for (int q = 0; q < 30; q++) {
+            float[] query = randomUnitVector(random);
+            List<HnswGraph.Hit> hits = graph.search(query, k, EF_SEARCH);
+            assertThat(hits).hasSize(k).extracting(HnswGraph.Hit::node).doesNotContainAnyElementsOf(deleted);
+            Set<Integer> exact = new HashSet<>(bruteForce(vectors, query, k, deleted));
+            found += (int) hits.stream().filter(hit -> exact.contains(hit.node())).count();
+        }
+        assertThat(found / (30.0 * k)).isGreaterThanOrEqualTo(0.85);
+    }
+
+    @Test
+    void compactedGraphKeepsOnlyLiveNodes() {
+        List<float[]> vectors = randomUnitVectors(600, 31);
+        HnswGraph graph = build(vectors);
+        List<Integer> live = new ArrayList<>();
+        for (int node = 0; node < vectors.size(); node++) {
+            if (node % 3 == 0) {
+                live.add(node);
+            } else {
+                graph.markDeleted(node);
+            }
+        }
+
+        // What the index does on flush: re-add live vectors into a fresh graph
+        HnswGraph compacted = new HnswGraph(DIMENSIONS, M, EF_CONSTRUCTION);
+        for (int node : live) {
+            compacted.add(graph.vector(node));
+        }
+
+        assertThat(compacted.size()).isEqualTo(live.size());
+        assertThat(compacted.deletedCount()).isZero();
+        for (int i = 0; i < live.size(); i += 20) {
+            List<HnswGraph.Hit> hits = compacted.search(vectors.get(live.get(i)), 1, EF_SEARCH);
+            assertThat(hits).extracting(HnswGraph.Hit::node).containsExactly(i);
+        }
+    }
+
+    @Test
+    void memoryMappedFileRoundTripGivesIdenticalResults(@TempDir Path dir) throws IOException {
+        List<float[]> vectors = randomUnitVectors(800, 37);
+        HnswGraph graph = build(vectors);
+        graph.markDeleted(5);
+        Path file = dir.resolve("graph.bin");
+        try (DataOutputStream out = new DataOutputStream(Files.newOutputStream(file))) {
+            graph.writeTo(out);
+        }
+
+        HnswGraph restored;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            restored = HnswGraph.readFrom(buffer, M, EF_CONSTRUCTION);
+            assertThat(buffer.remaining()).isZero();
+        }
+
+        assertThat(restored.size()).isEqualTo(graph.size());
+        assertThat(restored.dimensions()).isEqualTo(DIMENSIONS);
+        assertThat(restored.deletedCount()).isEqualTo(1);
+        assertThat(restored.isDeleted(5)).isTrue();
+        assertThat(restored.vector(42)).containsExactly(vectors.get(42));
+        Random random = new Random(41);
+        for (int q = 0; q < 20; q++) {
+            float[] query = randomUnitVector(random);
+            assertThat(restored.search(query, 10, EF_SEARCH)).isEqualTo(graph.search(query, 10, EF_SEARCH));
+        }
+    }
+
+    @Test
+    void restoredGraphAcceptsNewNodesAndWritesThemBack() throws IOException {
+        List<float[]> vectors = randomUnitVectors(300, 43);
+        HnswGraph restored = HnswGraph.readFrom(ByteBuffer.wrap(serialize(build(vectors))), M, EF_CONSTRUCTION);
+        float[] added = randomUnitVector(new Random(47));
+
+        int node = restored.add(added);
+
+        assertThat(node).isEqualTo(vectors.size());
+        assertThat(restored.search(added, 1, EF_SEARCH)).extracting(HnswGraph.Hit::node).containsExactly(node);
+        HnswGraph again = HnswGraph.readFrom(ByteBuffer.wrap(serialize(restored)), M, EF_CONSTRUCTION);
+        assertThat(again.vector(node)).containsExactly(added);
+        assertThat(again.vector(0)).containsExactly(vectors.get(0));
+    }
+
+    private static HnswGraph build(List<float[]> vectors) {
+        HnswGraph graph = new HnswGraph(DIMENSIONS, M, EF_CONSTRUCTION);
+        vectors.forEach(graph::add);
+        return graph;
+    }
+
+    private static byte[] serialize(HnswGraph graph) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            graph.writeTo(out);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static List<Integer> bruteForce(List<float[]> vectors, float[] query, int k, Set<Integer> excluded) {
+        return IntStream.range(0, vectors.size())
+                .filter(node -> !excluded.contains(node))
+                .boxed()
+                .sorted(Comparator.comparingDouble((Integer node) -> dot(query, vectors.get(node))).reversed())
+                .limit(k)
+                .toList();
+    }
+
+    private static double dot(float[] a, float[] b) {
+        double dot = 0;
+        for (int i = 0; i < a.length; i++) {
+            dot += a[i] * b[i];
+        }
+        return dot;
+    }
+
+    private static List<float[]> randomUnitVectors(int count, long seed) {
+        Random random = new Random(seed);
+        List<float[]> vectors = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            vectors.add(randomUnitVector(random));
+        }
+        return vectors;
+    }
+
+    private static float[] randomUnitVector(Random random) {
+        float[] vector = new float[DIMENSIONS];
+        double norm = 0;
+        for (int i = 0; i < DIMENSIONS; i++) {
+            vector[i] = (float) random.nextGaussian();
+            norm += vector[i] * vector[i];
+        }
+        float scale = (float) (1 / Math.sqrt(norm));
+        for (int i = 0; i < DIMENSIONS; i++) {
+            vector[i] *= scale;
+        }
+        return vector;
+    }
+}
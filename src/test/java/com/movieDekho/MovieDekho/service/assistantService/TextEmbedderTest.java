@@ -0,0 +1,78 @@
+package com.movieDekho.MovieDekho.service.assistantService;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.offset;
+
+class TextEmbedderTest {
+
+    private final TextEmbedder embedder = new TextEmbedder(384);
+
+    @Test
+    void sameTextAlwaysGivesSameVector() {
+        assertThat(new TextEmbedder(384).embed("Interstellar space adventure"))
+                .containsExactly(embedder.embed("Interstellar space adventure"));
+    }
+
+    @Test
+    void vectorsAreUnitLength() {
+        float[] vector = embedder.embed("A heist thriller set in Mumbai");
+
+        assertThat(vector).hasSize(384);
+        assertThat(norm(vector)).isCloseTo(1.0, offset(1e-5));
+    }
+
+    @Test
+    void textWithoutWordsEmbedsToZero() {
+        assertThat(norm(embedder.embed(""))).isZero();
+        assertThat(norm(embedder.embed((String) null))).isZero();
+        assertThat(norm(embedder.embed("the of and ..."))).isZero();
+    }
+
+    @Test
+    void caseStopWordsAndPluralsDoNotChangeTheVector() {
+        assertThat(embedder.embed("Show me the THRILLERS")).containsExactly(embedder.embed("thriller"));
+    }
+
+    @Test
+    void relatedTextScoresHigherThanUnrelatedText() {
+        float[] query = embedder.embed("space adventure movie");
+        float[] related = embedder.embed("An adventure across space and time");
+        float[] unrelated = embedder.embed("Romantic comedy about a wedding planner");
+
+        assertThat(dot(query, related)).isGreaterThan(dot(query, unrelated));
+    }
+
+    @Test
+    void misspelledWordsStillShareCharacterTrigrams() {
+        float[] query = embedder.embed("interstelar");
+
+        assertThat(dot(query, embedder.embed("interstellar"))).isGreaterThan(dot(query, embedder.embed("romance")));
+    }
+
+    @Test
+    void fieldWeightsShiftTheVectorTowardsHeavierFields() {
+        float[] titleHeavy = embedder.embed(List.of(
+                new TextEmbedder.Field("Inception", 3), new TextEmbedder.Field("drama", 1)));
+        float[] genreHeavy = embedder.embed(List.of(
+                new TextEmbedder.Field("Inception", 1), new TextEmbedder.Field("drama", 3)));
+        float[] title = embedder.embed("Inception");
+
+        assertThat(dot(titleHeavy, title)).isGreaterThan(dot(genreHeavy, title));
+    }
+
+    private static double norm(float[] vector) {
+        return Math.sqrt(dot(vector, vector));
+    }
+
+    private static double dot(float[] a, float[] b) {
+        double dot = 0;
+        for (int i = 0; i < a.length; i++) {
+            dot += a[i] * b[i];
+        }
+        return dot;
+    }
+}
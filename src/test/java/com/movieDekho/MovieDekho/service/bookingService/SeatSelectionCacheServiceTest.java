@@ -0,0 +1,78 @@
+package com.movieDekho.MovieDekho.service.bookingService;
+
+import com.movieDekho.MovieDekho.dtos.booking.SeatSelectionResponse;
+import com.movieDekho.MovieDekho.service.kvstore.InProcessKeyValueStore;
+import com.movieDekho.MovieDekho.service.kvstore.KeyValueStore;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SeatSelectionCacheServiceTest {
+
+    private final KeyValueStore store = new InProcessKeyValueStore(1024);
+    private final SeatSelectionCacheService service = new SeatSelectionCacheService(store);
+
+    @Test
+    void roundTripsEveryField() {
+        SeatSelectionResponse selection = new SeatSelectionResponse();
+        selection.setSlotId(42L);
+        selection.setSeatNumbers(List.of("A1", "A2"));
+        selection.setTicketFee(500.0);
+        selection.setConvenienceFee(35.5);
+        selection.setTotalAmount(535.5);
+        selection.setMovieTitle("Süper Film");
+        selection.setMovieDescription("A long description");
+        selection.setCinemaName("PVR");
+        selection.setScreenName("Audi 3");
+        selection.setShowTime("18:30");
+        selection.setShowDate("2024-05-01");
+        selection.setSeatDetails(List.of(seat("A1", 250.0), seat("A2", 250.0)));
+
+        service.storeSeatSelection("user@example.com", selection);
+
+        assertThat(service.getSeatSelection("user@example.com", 42L)).isEqualTo(selection);
+    }
+
+    @Test
+    void roundTripsNullAndEmptyFields() {
+        SeatSelectionResponse selection = new SeatSelectionResponse();
+        selection.setSlotId(7L);
+        selection.setSeatNumbers(List.of());
+        selection.setSeatDetails(List.of(seat(null, null)));
+
+        service.storeSeatSelection("user@example.com", selection);
+
+        assertThat(service.getSeatSelection("user@example.com", 7L)).isEqualTo(selection);
+    }
+
+    @Test
+    void selectionsAreScopedByUserAndSlotAndCanBeRemoved() {
+        SeatSelectionResponse selection = new SeatSelectionResponse();
+        selection.setSlotId(1L);
+        service.storeSeatSelection("a@example.com", selection);
+
+        assertThat(service.getSeatSelection("b@example.com", 1L)).isNull();
+        assertThat(service.getSeatSelection("a@example.com", 2L)).isNull();
+
+        service.removeSeatSelection("a@example.com", 1L);
+
+        assertThat(service.getSeatSelection("a@example.com", 1L)).isNull();
+    }
+
+    @Test
+    void unknownFormatVersionReadsAsMissing() {
+        store.set("seat-selection:user@example.com_3", new byte[]{99, 0, 0}, Duration.ofMinutes(1));
+
+        assertThat(service.getSeatSelection("user@example.com", 3L)).isNull();
+    }
+
+    private static SeatSelectionResponse.SeatDetails seat(String number, Double price) {
+        SeatSelectionResponse.SeatDetails details = new SeatSelectionResponse.SeatDetails();
+        details.setSeatNumber(number);
+        details.setPrice(price);
+        return details;
+    }
+}
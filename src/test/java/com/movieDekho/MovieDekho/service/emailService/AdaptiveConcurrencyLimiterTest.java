@@ -0,0 +1,115 @@
+package com.movieDekho.MovieDekho.service.emailService;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    @Test
+    void initialLimitIsClampedToBounds() {
+        assertThat(new AdaptiveConcurrencyLimiter(100, 1, 50).getLimit()).isEqualTo(50);
+        assertThat(new AdaptiveConcurrencyLimiter(0, 2, 50).getLimit()).isEqualTo(2);
+    }
+
+    @Test
+    void acquireTakesSlotsUntilTheLimit() throws InterruptedException {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(3, 1, 10);
+
+        limiter.acquire();
+        limiter.acquire();
+
+        assertThat(limiter.getInFlight()).isEqualTo(2);
+        assertThat(limiter.available()).isEqualTo(1);
+    }
+
+    @Test
+    void successesAddAboutOnePerWindow() throws InterruptedException {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(4, 1, 10);
+
+        // Four successes at limit 4 add 1/4 each
+        for (int i = 0; i < 4; i++) {
+            limiter.acquire();
+            limiter.onSuccess();
+        }
+
+        assertThat(limiter.getLimit()).isEqualTo(4);
+        limiter.acquire();
+        limiter.onSuccess();
+        assertThat(limiter.getLimit()).isEqualTo(5);
+        assertThat(limiter.getInFlight()).isZero();
+    }
+
+    @Test
+    void increaseStopsAtMaxLimit() throws InterruptedException {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(2, 1, 3);
+
+        for (int i = 0; i < 100; i++) {
+            limiter.acquire();
+            limiter.onSuccess();
+        }
+
+        assertThat(limiter.getLimit()).isEqualTo(3);
+    }
+
+    @Test
+    void overloadHalvesOncePerCooldown() throws InterruptedException {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(16, 1, 50);
+        for (int i = 0; i < 3; i++) {
+            limiter.acquire();
+        }
+
+        limiter.onOverload();
+        limiter.onOverload();
+        limiter.onOverload();
+
+        assertThat(limiter.getLimit()).isEqualTo(8);
+        assertThat(limiter.getInFlight()).isZero();
+    }
+
+    @Test
+    void overloadNeverGoesBelowMinLimit() throws InterruptedException {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(2, 2, 10);
+
+        limiter.acquire();
+        limiter.onOverload();
+
+        assertThat(limiter.getLimit()).isEqualTo(2);
+    }
+
+    @Test
+    void ignoreReleasesWithoutChangingTheLimit() throws InterruptedException {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(5, 1, 10);
+
+        limiter.acquire();
+        limiter.onIgnore();
+
+        assertThat(limiter.getLimit()).isEqualTo(5);
+        assertThat(limiter.getInFlight()).isZero();
+    }
+
+    @Test
+    void acquireBlocksAtTheLimitUntilASlotIsReleased() throws InterruptedException {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(1, 1, 1);
+        limiter.acquire();
+        CountDownLatch acquired = new CountDownLatch(1);
+
+        Thread waiter = Thread.ofVirtual().start(() -> {
+            try {
+                limiter.acquire();
+                acquired.countDown();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+
+        assertThat(acquired.await(100, TimeUnit.MILLISECONDS)).isFalse();
+        limiter.onSuccess();
+        assertThat(acquired.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(limiter.getInFlight()).isEqualTo(1);
+        waiter.join();
+    }
+}
@@ -0,0 +1,45 @@
+package com.movieDekho.MovieDekho.service.emailService;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EmailDeliveryOutcomesTest {
+
+    @Test
+    void drainTakesEverythingAndResets() {
+        EmailDeliveryOutcomes outcomes = new EmailDeliveryOutcomes();
+        outcomes.recordSent(1L);
+        outcomes.recordFailure(2L, "Timeout");
+        outcomes.recordFailure(3L, null);
+
+        EmailDeliveryOutcomes drained = outcomes.drain();
+
+        assertThat(outcomes.isEmpty()).isTrue();
+        assertThat(drained.size()).isEqualTo(3);
+        assertThat(drained.getSentIds()).containsExactly(1L);
+        assertThat(drained.getFailedIdsByError())
+                .containsEntry("Timeout", List.of(2L))
+                .containsEntry("Unknown error", List.of(3L));
+    }
+
+    @Test
+    void restoredOutcomesMergeWithOnesRecordedSinceTheDrain() {
+        EmailDeliveryOutcomes outcomes = new EmailDeliveryOutcomes();
+        outcomes.recordSent(1L);
+        outcomes.recordFailure(2L, "Timeout");
+        EmailDeliveryOutcomes drained = outcomes.drain();
+
+        outcomes.recordSent(3L);
+        outcomes.recordFailure(4L, "Timeout");
+        outcomes.recordFailure(5L, "Rejected");
+        outcomes.restore(drained);
+
+        assertThat(outcomes.size()).isEqualTo(5);
+        assertThat(outcomes.getSentIds()).containsExactlyInAnyOrder(1L, 3L);
+        assertThat(outcomes.getFailedIdsByError().get("Timeout")).containsExactlyInAnyOrder(2L, 4L);
+        assertThat(outcomes.getFailedIdsByError().get("Rejected")).containsExactly(5L);
+    }
+}
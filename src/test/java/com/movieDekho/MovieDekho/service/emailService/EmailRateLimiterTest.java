@@ -0,0 +1,58 @@
+package com.movieDekho.MovieDekho.service.emailService;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EmailRateLimiterTest {
+
+    @Test
+    void burstIsAvailableImmediately() throws InterruptedException {
+        EmailRateLimiter limiter = new EmailRateLimiter(1, 5);
+
+        long start = System.nanoTime();
+        for (int i = 0; i < 5; i++) {
+            limiter.acquire();
+        }
+
+        assertThat(elapsedMillis(start)).isLessThan(500);
+    }
+
+    @Test
+    void beyondTheBurstCallersWaitForTheRefillRate() throws InterruptedException {
+        EmailRateLimiter limiter = new EmailRateLimiter(20, 1);
+        limiter.acquire();
+
+        long start = System.nanoTime();
+        for (int i = 0; i < 4; i++) {
+            limiter.acquire();
+        }
+
+        // Four tokens at 20/s take about 200 ms
+        assertThat(elapsedMillis(start)).isBetween(150L, 2000L);
+    }
+
+    @Test
+    void idleTimeRefillsUpToTheBurstOnly() throws InterruptedException {
+        EmailRateLimiter limiter = new EmailRateLimiter(10, 2);
+        limiter.acquire();
+        limiter.acquire();
+        Thread.sleep(400);
+
+        long start = System.nanoTime();
+        limiter.acquire();
+        limiter.acquire();
+        long burstMillis = elapsedMillis(start);
+        limiter.acquire();
+
+        // 400 ms at 10/s would be four tokens, but the bucket holds two; the third waits about 100 ms
+        assertThat(burstMillis).isLessThan(50);
+        assertThat(elapsedMillis(start)).isGreaterThanOrEqualTo(80);
+    }
+
+    private static long elapsedMillis(long startNanos) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+    }
+}
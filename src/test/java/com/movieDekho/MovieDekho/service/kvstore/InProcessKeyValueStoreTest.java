@@ -0,0 +1,101 @@
+package com.movieDekho.MovieDekho.service.kvstore;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InProcessKeyValueStoreTest {
+
+    // "a", "q" and "A" all hash into shard 1 of 16
+    private static final String[] SAME_SHARD = {"a", "q", "A"};
+
+    @Test
+    void returnsStoredValueUntilItExpires() {
+        InProcessKeyValueStore store = new InProcessKeyValueStore(1024);
+
+        store.set("live", bytes("1"), Duration.ofMinutes(5));
+        store.set("expired", bytes("2"), Duration.ZERO);
+
+        assertThat(store.get("live")).isEqualTo(bytes("1"));
+        assertThat(store.get("expired")).isNull();
+        assertThat(store.get("missing")).isNull();
+    }
+
+    @Test
+    void overwriteReplacesValueAndExpiry() {
+        InProcessKeyValueStore store = new InProcessKeyValueStore(1024);
+
+        store.set("key", bytes("old"), Duration.ZERO);
+        store.set("key", bytes("new"), Duration.ofMinutes(5));
+
+        assertThat(store.get("key")).isEqualTo(bytes("new"));
+    }
+
+    @Test
+    void deleteRemovesEntry() {
+        InProcessKeyValueStore store = new InProcessKeyValueStore(1024);
+
+        store.set("key", bytes("value"), Duration.ofMinutes(5));
+        store.delete("key");
+
+        assertThat(store.get("key")).isNull();
+    }
+
+    @Test
+    void incrementKeepsOriginalExpiry() {
+        InProcessKeyValueStore store = new InProcessKeyValueStore(1024);
+
+        assertThat(store.increment("counter", Duration.ofMinutes(5))).isEqualTo(1);
+        assertThat(store.increment("counter", Duration.ZERO)).isEqualTo(2);
+        assertThat(store.get("counter")).isEqualTo(bytes("2"));
+
+        assertThat(store.increment("short", Duration.ZERO)).isEqualTo(1);
+        assertThat(store.increment("short", Duration.ZERO)).isEqualTo(1);
+    }
+
+    @Test
+    void sweepDropsExpiredBucketsAndKeepsLiveEntries() {
+        InProcessKeyValueStore store = new InProcessKeyValueStore(1024);
+
+        store.set("stale", bytes("1"), Duration.ofSeconds(-5));
+        store.set("live", bytes("2"), Duration.ofMinutes(5));
+        store.sweepExpired();
+
+        assertThat(store.get("stale")).isNull();
+        assertThat(store.get("live")).isEqualTo(bytes("2"));
+    }
+
+    @Test
+    void fullShardEvictsSoonestExpiringEntry() {
+        // 32 entries over 16 shards: two per shard
+        InProcessKeyValueStore store = new InProcessKeyValueStore(32);
+
+        store.set(SAME_SHARD[0], bytes("a"), Duration.ofMinutes(30));
+        store.set(SAME_SHARD[1], bytes("q"), Duration.ofMinutes(1));
+        store.set(SAME_SHARD[2], bytes("A"), Duration.ofMinutes(10));
+
+        assertThat(store.get(SAME_SHARD[0])).isEqualTo(bytes("a"));
+        assertThat(store.get(SAME_SHARD[1])).isNull();
+        assertThat(store.get(SAME_SHARD[2])).isEqualTo(bytes("A"));
+    }
+
+    @Test
+    void evictionIsLimitedToTheKeysShard() {
+        InProcessKeyValueStore store = new InProcessKeyValueStore(16);
+
+        store.set("b", bytes("b"), Duration.ofMinutes(1));
+        store.set(SAME_SHARD[0], bytes("a"), Duration.ofMinutes(1));
+        store.set(SAME_SHARD[1], bytes("q"), Duration.ofMinutes(5));
+
+        assertThat(store.get("b")).isEqualTo(bytes("b"));
+        assertThat(store.get(SAME_SHARD[0])).isNull();
+        assertThat(store.get(SAME_SHARD[1])).isEqualTo(bytes("q"));
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
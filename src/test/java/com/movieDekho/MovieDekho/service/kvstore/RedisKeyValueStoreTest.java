@@ -0,0 +1,321 @@
+package com.movieDekho.MovieDekho.service.kvstore;
+
+import com.movieDekho.MovieDekho.config.kvconfig.KeyValueStoreConfig;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Runs the client against a minimal in-process RESP server that records the commands it receives.
+ */
+class RedisKeyValueStoreTest {
+
+    private RespStandIn server;
+    private RedisKeyValueStore store;
+
+    @BeforeEach
+    void startServer() throws IOException {
+        server = new RespStandIn(null);
+    }
+
+    @AfterEach
+    void stopServer() throws IOException {
+        if (store != null) {
+            store.close();
+        }
+        server.close();
+    }
+
+    @Test
+    void setSendsPxTtlAndGetReadsValueBack() {
+        store = new RedisKeyValueStore(config(null));
+
+        store.set("seat:1", bytes("A1,A2"), Duration.ofSeconds(90));
+
+        assertThat(server.commands()).contains(List.of("SET", "seat:1", "A1,A2", "PX", "90000"));
+        assertThat(store.get("seat:1")).isEqualTo(bytes("A1,A2"));
+        assertThat(store.get("missing")).isNull();
+    }
+
+    @Test
+    void deleteRemovesKey() {
+        store = new RedisKeyValueStore(config(null));
+
+        store.set("otp:x", bytes("123456"), Duration.ofMinutes(5));
+        store.delete("otp:x");
+
+        assertThat(server.commands()).contains(List.of("DEL", "otp:x"));
+        assertThat(store.get("otp:x")).isNull();
+    }
+
+    @Test
+    void incrementRunsScriptWithKeyAndTtl() {
+        store = new RedisKeyValueStore(config(null));
+
+        assertThat(store.increment("rate:x", Duration.ofMinutes(1))).isEqualTo(1);
+        assertThat(store.increment("rate:x", Duration.ofMinutes(1))).isEqualTo(2);
+
+        List<String> eval = server.commands().stream()
+                .filter(command -> command.get(0).equals("EVAL"))
+                .findFirst()
+                .orElseThrow();
+        assertThat(eval.get(1)).contains("INCR").contains("PEXPIRE");
+        assertThat(eval.subList(2, eval.size())).containsExactly("1", "rate:x", "60000");
+    }
+
+    @Test
+    void healthyConnectionIsReused() {
+        store = new RedisKeyValueStore(config(null));
+
+        store.set("k", bytes("v"), Duration.ofMinutes(1));
+        store.get("k");
+        store.delete("k");
+
+        assertThat(server.accepted.get()).isEqualTo(1);
+    }
+
+    @Test
+    void errorReplyClosesConnectionInsteadOfPoolingIt() throws InterruptedException {
+        store = new RedisKeyValueStore(config(null));
+        store.set("k", bytes("v"), Duration.ofMinutes(1));
+        server.failNext("WRONGTYPE Operation against a key holding the wrong kind of value");
+
+        assertThatThrownBy(() -> store.get("k"))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("WRONGTYPE");
+        assertThat(server.awaitClosed(1)).isTrue();
+
+        assertThat(store.get("k")).isEqualTo(bytes("v"));
+        assertThat(server.accepted.get()).isEqualTo(2);
+    }
+
+    @Test
+    void authenticatesAndSelectsDatabaseOnConnect() throws IOException {
+        server.close();
+        server = new RespStandIn("s3cret");
+        KeyValueStoreConfig.Redis config = config("s3cret");
+        config.setDatabase(2);
+        store = new RedisKeyValueStore(config);
+
+        store.set("k", bytes("v"), Duration.ofMinutes(1));
+
+        assertThat(server.commands().subList(0, 2))
+                .containsExactly(List.of("AUTH", "s3cret"), List.of("SELECT", "2"));
+    }
+
+    @Test
+    void wrongPasswordFailsAndClosesConnection() throws IOException, InterruptedException {
+        server.close();
+        server = new RespStandIn("s3cret");
+        store = new RedisKeyValueStore(config("wrong"));
+
+        assertThatThrownBy(() -> store.set("k", bytes("v"), Duration.ofMinutes(1)))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("WRONGPASS");
+        assertThat(server.awaitClosed(1)).isTrue();
+        assertThat(server.commands()).noneMatch(command -> command.get(0).equals("SET"));
+    }
+
+    private KeyValueStoreConfig.Redis config(String password) {
+        KeyValueStoreConfig.Redis config = new KeyValueStoreConfig.Redis();
+        config.setHost("127.0.0.1");
+        config.setPort(server.port());
+        config.setPassword(password);
+        config.setPoolSize(2);
+        config.setTimeoutMs(2000);
+        return config;
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Just enough of RESP2 for the commands the client sends. Expiry is not modelled.
+     */
+    private static final class RespStandIn implements AutoCloseable {
+        private final ServerSocket serverSocket;
+        private final String password;
+        private final Map<String, byte[]> data = new ConcurrentHashMap<>();
+        private final List<List<String>> received = new CopyOnWriteArrayList<>();
+        private final List<Socket> clients = new CopyOnWriteArrayList<>();
+        private final AtomicInteger accepted = new AtomicInteger();
+        private final AtomicInteger closed = new AtomicInteger();
+        private volatile String nextError;
+
+        RespStandIn(String password) throws IOException {
+            this.password = password;
+            this.serverSocket = new ServerSocket(0);
+            Thread acceptor = new Thread(this::acceptLoop, "resp-stand-in");
+            acceptor.setDaemon(true);
+            acceptor.start();
+        }
+
+        int port() {
+            return serverSocket.getLocalPort();
+        }
+
+        List<List<String>> commands() {
+            return received;
+        }
+
+        void failNext(String error) {
+            nextError = error;
+        }
+
+        boolean awaitClosed(int count) throws InterruptedException {
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (closed.get() < count) {
+                if (System.nanoTime() > deadline) {
+                    return false;
+                }
+                Thread.sleep(10);
+            }
+            return true;
+        }
+
+        @Override
+        public void close() throws IOException {
+            serverSocket.close();
+            for (Socket client : clients) {
+                client.close();
+            }
+        }
+
+        private void acceptLoop() {
+            while (!serverSocket.isClosed()) {
+                try {
+                    Socket client = serverSocket.accept();
+                    accepted.incrementAndGet();
+                    clients.add(client);
+                    Thread handler = new Thread(() -> serve(client), "resp-stand-in-client");
+                    handler.setDaemon(true);
+                    handler.start();
+                } catch (IOException e) {
+                    return;
+                }
+            }
+        }
+
+        private void serve(Socket client) {
+            try (client) {
+                InputStream in = new BufferedInputStream(client.getInputStream());
+                OutputStream out = new BufferedOutputStream(client.getOutputStream());
+                boolean authenticated = password == null;
+                List<byte[]> request;
+                while ((request = readRequest(in)) != null) {
+                    List<String> command = new ArrayList<>(request.size());
+                    for (byte[] part : request) {
+                        command.add(new String(part, StandardCharsets.UTF_8));
+                    }
+                    received.add(command);
+                    String name = command.get(0);
+                    String error = nextError;
+                    if (name.equals("AUTH")) {
+                        authenticated = command.get(1).equals(password);
+                        write(out, authenticated ? "+OK\r\n" : "-WRONGPASS invalid username-password pair\r\n");
+                    } else if (!authenticated) {
+                        write(out, "-NOAUTH Authentication required.\r\n");
+                    } else if (error != null) {
+                        nextError = null;
+                        write(out, "-" + error + "\r\n");
+                    } else {
+                        reply(out, name, command, request);
+                    }
+                    out.flush();
+                }
+            } catch (IOException e) {
+                // client went away
+            } finally {
+                closed.incrementAndGet();
+            }
+        }
+
+        private void reply(OutputStream out, String name, List<String> command, List<byte[]> request) throws IOException {
+            switch (name) {
+                case "SELECT" -> write(out, "+OK\r\n");
+                case "SET" -> {
+                    data.put(command.get(1), request.get(2));
+                    write(out, "+OK\r\n");
+                }
+                case "GET" -> {
+                    byte[] value = data.get(command.get(1));
+                    if (value == null) {
+                        write(out, "$-1\r\n");
+                    } else {
+                        write(out, "$" + value.length + "\r\n");
+                        out.write(value);
+                        write(out, "\r\n");
+                    }
+                }
+                case "DEL" -> write(out, ":" + (data.remove(command.get(1)) == null ? 0 : 1) + "\r\n");
+                case "EVAL" -> {
+                    byte[] current = data.get(command.get(3));
+                    long next = current == null ? 1 : Long.parseLong(new String(current, StandardCharsets.US_ASCII)) + 1;
+                    data.put(command.get(3), Long.toString(next).getBytes(StandardCharsets.US_ASCII));
+                    write(out, ":" + next + "\r\n");
+                }
+                default -> write(out, "-ERR unknown command '" + name + "'\r\n");
+            }
+        }
+
+        private static List<byte[]> readRequest(InputStream in) throws IOException {
+            int type = in.read();
+            if (type == -1) {
+                return null;
+            }
+            if (type != '*') {
+                throw new IOException("Expected array, got " + (char) type);
+            }
+            int count = Integer.parseInt(readLine(in));
+            List<byte[]> parts = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                if (in.read() != '$') {
+                    throw new IOException("Expected bulk string");
+                }
+                int length = Integer.parseInt(readLine(in));
+                parts.add(in.readNBytes(length));
+                readLine(in);
+            }
+            return parts;
+        }
+
+        private static String readLine(InputStream in) throws IOException {
+            ByteArrayOutputStream line = new ByteArrayOutputStream();
+            int b;
+            while ((b = in.read()) != '\r') {
+                if (b == -1) {
+                    throw new IOException("Connection closed");
+                }
+                line.write(b);
+            }
+            in.read();
+            return line.toString(StandardCharsets.UTF_8);
+        }
+
+        private static void write(OutputStream out, String text) throws IOException {
+            out.write(text.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+}
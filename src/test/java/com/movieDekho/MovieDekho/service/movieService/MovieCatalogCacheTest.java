@@ -0,0 +1,124 @@
+package com.movieDekho.MovieDekho.service.movieService;
+
+import com.movieDekho.MovieDekho.dtos.movie.MovieResponseDTO;
+import com.movieDekho.MovieDekho.models.AvailableMovie;
+import com.movieDekho.MovieDekho.repository.MovieRepository;
+import com.movieDekho.MovieDekho.repository.MovieSlotRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class MovieCatalogCacheTest {
+
+    private final List<AvailableMovie> movies = new ArrayList<>();
+    private final LocalDateTime created = LocalDateTime.of(2024, 1, 1, 10, 0);
+
+    private MovieRepository movieRepository;
+    private MovieCatalogCache cache;
+
+    @BeforeEach
+    void setUp() {
+        movieRepository = mock(MovieRepository.class);
+        MovieSlotRepository movieSlotRepository = mock(MovieSlotRepository.class);
+        when(movieRepository.findAll()).thenAnswer(invocation -> new ArrayList<>(movies));
+        when(movieRepository.findCatalogStamp()).thenAnswer(invocation -> {
+            long maxId = movies.stream().mapToLong(AvailableMovie::getId).max().orElse(0);
+            LocalDateTime lastUpdate = movies.stream().map(AvailableMovie::getUpdatedAt)
+                    .max(LocalDateTime::compareTo).orElse(null);
+            List<Object[]> rows = new ArrayList<>();
+            rows.add(new Object[]{(long) movies.size(), movies.isEmpty() ? null : maxId, lastUpdate});
+            return rows;
+        });
+        when(movieSlotRepository.countSlotsGroupedByMovie()).thenReturn(List.of());
+        List<Object[]> slotStamp = new ArrayList<>();
+        slotStamp.add(new Object[]{0L, null});
+        when(movieSlotRepository.findSlotStamp()).thenReturn(slotStamp);
+        cache = new MovieCatalogCache(movieRepository, movieSlotRepository);
+
+        movies.add(movie(1L, "Inception"));
+        movies.add(movie(2L, "Interstellar"));
+    }
+
+    @Test
+    void unchangedCatalogIsNotReloaded() {
+        assertThat(cache.getAllMovies()).hasSize(2);
+        long version = cache.getVersion();
+
+        cache.scheduledRefresh();
+        cache.scheduledRefresh();
+
+        verify(movieRepository, times(1)).findAll();
+        assertThat(cache.getVersion()).isEqualTo(version);
+    }
+
+    @Test
+    void editMadeElsewhereIsPickedUpAndBumpsTheVersion() {
+        cache.getAllMovies();
+        long version = cache.getVersion();
+
+        AvailableMovie edited = movies.get(1);
+        edited.setTitle("Interstellar (IMAX)");
+        edited.setUpdatedAt(created.plusMinutes(5));
+        cache.scheduledRefresh();
+
+        assertThat(cache.getAllMovies()).extracting(MovieResponseDTO::getTitle)
+                .containsExactly("Inception", "Interstellar (IMAX)");
+        assertThat(cache.getVersion()).isGreaterThan(version);
+    }
+
+    @Test
+    void stampChangeWithoutEntryChangeKeepsTheVersion() {
+        cache.getAllMovies();
+        long version = cache.getVersion();
+
+        movies.get(0).setUpdatedAt(created.plusMinutes(1));
+        cache.scheduledRefresh();
+        cache.scheduledRefresh();
+
+        verify(movieRepository, times(2)).findAll();
+        assertThat(cache.getVersion()).isEqualTo(version);
+    }
+
+    @Test
+    void deletedMovieDisappears() {
+        cache.getAllMovies();
+        movies.remove(0);
+
+        cache.scheduledRefresh();
+
+        assertThat(cache.getAllMovies()).extracting(MovieResponseDTO::getId).containsExactly(2L);
+    }
+
+    @Test
+    void changingAReturnedEntryLeavesTheCacheIntact() {
+        cache.getAllMovies().get(0).setTitle("Changed");
+        cache.getMoviesByIds(List.of(2L)).get(0).setTitle("Changed");
+        cache.searchByTitle("inter").get(0).setGenre("Changed");
+        cache.getMoviesReleasedAfter(LocalDate.of(2000, 1, 1)).get(0).setSlotCount(99);
+
+        assertThat(cache.getAllMovies()).extracting(MovieResponseDTO::getTitle)
+                .containsExactly("Inception", "Interstellar");
+        assertThat(cache.getAllMovies()).extracting(MovieResponseDTO::getGenre).containsOnly("Sci-Fi");
+        assertThat(cache.getAllMovies()).extracting(MovieResponseDTO::getSlotCount).containsOnly(0);
+    }
+
+    private AvailableMovie movie(Long id, String title) {
+        AvailableMovie movie = new AvailableMovie();
+        movie.setId(id);
+        movie.setTitle(title);
+        movie.setGenre("Sci-Fi");
+        movie.setReleaseDate(LocalDate.of(2014, 11, 7));
+        movie.setUpdatedAt(created);
+        return movie;
+    }
+}
@@ -0,0 +1,85 @@
+package com.movieDekho.MovieDekho.service.movieService;
+
+import com.movieDekho.MovieDekho.dtos.movie.MovieResponseDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class MovieSearchIndexTest {
+
+    private final List<MovieResponseDTO> catalog = new ArrayList<>();
+    private final AtomicLong version = new AtomicLong(1);
+
+    private MovieCatalogCache movieCatalogCache;
+    private MovieSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        movieCatalogCache = mock(MovieCatalogCache.class);
+        when(movieCatalogCache.getVersion()).thenAnswer(invocation -> version.get());
+        when(movieCatalogCache.getAllMovies()).thenAnswer(invocation -> new ArrayList<>(catalog));
+        index = new MovieSearchIndex(movieCatalogCache);
+
+        catalog.add(movie(1L, "The Dark Knight", "Action", "English", "Batman faces the Joker in Gotham"));
+        catalog.add(movie(2L, "Dark Waters", "Drama", "English", "A lawyer uncovers a chemical cover-up"));
+        catalog.add(movie(3L, "Dangal", "Sports", "Hindi", "A wrestler trains his daughters"));
+    }
+
+    @Test
+    void titleMatchesOutrankDescriptionMatches() {
+        catalog.add(movie(4L, "Gotham Nights", "Crime", "English", "Detectives in a dark city"));
+
+        assertThat(index.search("dark", 10)).startsWith(1L, 2L).contains(4L);
+        assertThat(index.search("hindi wrestler", 10)).containsExactly(3L);
+        assertThat(index.search("the", 10)).isEmpty();
+    }
+
+    @Test
+    void suggestCompletesTheLastWord() {
+        assertThat(index.suggest("da", 10)).containsExactlyInAnyOrder(1L, 2L, 3L);
+        assertThat(index.suggest("dark kn", 10)).containsExactly(1L);
+        assertThat(index.suggest("dark w", 1)).containsExactly(2L);
+    }
+
+    @Test
+    void catalogIsOnlyReadAgainWhenItsVersionMoves() {
+        index.search("dark", 10);
+        index.suggest("dan", 10);
+
+        verify(movieCatalogCache, times(1)).getAllMovies();
+    }
+
+    @Test
+    void editsAndDeletesAreReconciledFromTheCatalog() {
+        assertThat(index.search("joker", 10)).containsExactly(1L);
+
+        catalog.get(0).setDescription("Batman and Harvey Dent take on organised crime");
+        catalog.remove(2);
+        catalog.add(movie(5L, "Lagaan", "Sports", "Hindi", "Villagers bet their taxes on a cricket match"));
+        version.incrementAndGet();
+
+        assertThat(index.search("joker", 10)).isEmpty();
+        assertThat(index.search("harvey", 10)).containsExactly(1L);
+        assertThat(index.search("hindi", 10)).containsExactly(5L);
+        assertThat(index.suggest("dan", 10)).isEmpty();
+    }
+
+    private static MovieResponseDTO movie(Long id, String title, String genre, String language, String description) {
+        MovieResponseDTO movie = new MovieResponseDTO();
+        movie.setId(id);
+        movie.setTitle(title);
+        movie.setGenre(genre);
+        movie.setLanguage(language);
+        movie.setDescription(description);
+        return movie;
+    }
+}
@@ -0,0 +1,119 @@
+package com.movieDekho.MovieDekho.service.movieService;
+
+import com.movieDekho.MovieDekho.dtos.movie.MovieSlotResponseDTO;
+import com.movieDekho.MovieDekho.models.AvailableMovie;
+import com.movieDekho.MovieDekho.models.MovieSlot;
+import com.movieDekho.MovieDekho.repository.MovieSlotRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ShowtimeIndexTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2026, 3, 10);
+
+    private MovieSlotRepository movieSlotRepository;
+    private ShowtimeIndex index;
+
+    @BeforeEach
+    void setUp() {
+        movieSlotRepository = mock(MovieSlotRepository.class);
+        index = new ShowtimeIndex(movieSlotRepository);
+        index.clock = clockAt(TODAY);
+    }
+
+    @Test
+    void loadsUpcomingSlotsOnlyAndReadsPastOnesFromTheDatabase() {
+        MovieSlot upcoming = slot(1L, TODAY.plusDays(1), "PVR Forum");
+        MovieSlot past = slot(2L, TODAY.minusDays(3), "PVR Forum");
+        when(movieSlotRepository.findByShowDateGreaterThanEqual(TODAY)).thenReturn(List.of(upcoming));
+        when(movieSlotRepository.findBySlotId(2L)).thenReturn(Optional.of(past));
+        when(movieSlotRepository.findByMovieIdAndShowDate(10L, past.getShowDate())).thenReturn(List.of(past));
+
+        assertThat(index.getSlot(1L)).map(MovieSlotResponseDTO::getSlotId).contains(1L);
+        assertThat(index.getSlot(2L)).map(MovieSlotResponseDTO::getShowDate).contains(past.getShowDate());
+        assertThat(index.getSlotsByMovieAndDate(10L, past.getShowDate()))
+                .extracting(MovieSlotResponseDTO::getSlotId).containsExactly(2L);
+        assertThat(index.getSlotsByMovie(10L)).extracting(MovieSlotResponseDTO::getSlotId).containsExactly(1L);
+        verify(movieSlotRepository, never()).findAll();
+        verify(movieSlotRepository, never()).findBySlotId(1L);
+    }
+
+    @Test
+    void dateRangeReadsOnlyThePastPartFromTheDatabase() {
+        MovieSlot past = slot(2L, TODAY.minusDays(1), "INOX");
+        when(movieSlotRepository.findByShowDateGreaterThanEqual(TODAY))
+                .thenReturn(List.of(slot(1L, TODAY, "INOX"), slot(3L, TODAY.plusDays(5), "INOX")));
+        when(movieSlotRepository.findByShowDateBetween(TODAY.minusDays(2), TODAY.minusDays(1))).thenReturn(List.of(past));
+
+        assertThat(index.getSlotsByDateRange(TODAY.minusDays(2), TODAY.plusDays(1)))
+                .extracting(MovieSlotResponseDTO::getSlotId).containsExactly(2L, 1L);
+        assertThat(index.getSlotsByDateRange(TODAY, TODAY.plusDays(7)))
+                .extracting(MovieSlotResponseDTO::getSlotId).containsExactly(1L, 3L);
+        verify(movieSlotRepository).findByShowDateBetween(any(), any());
+    }
+
+    @Test
+    void passedDaysAreEvictedWithTheirTheaterAndSeatEntries() {
+        when(movieSlotRepository.findByShowDateGreaterThanEqual(TODAY))
+                .thenReturn(List.of(slot(1L, TODAY, "Cinepolis"), slot(2L, TODAY.plusDays(1), "Cinepolis")));
+        when(movieSlotRepository.findAvailableSeatCountsFrom(TODAY.plusDays(1)))
+                .thenReturn(List.<Object[]>of(new Object[] { 2L, 40 }));
+        assertThat(index.getSlotsByTheater("cinepolis")).hasSize(2);
+
+        index.clock = clockAt(TODAY.plusDays(1));
+        assertThat(index.getSlotsByTheater("cinepolis")).extracting(MovieSlotResponseDTO::getSlotId).containsExactly(2L);
+        index.reconcileSeatCounters();
+
+        assertThat(index.getAvailableSlots()).extracting(MovieSlotResponseDTO::getAvailableSeats).containsExactly(40);
+        when(movieSlotRepository.findBySlotId(1L)).thenReturn(Optional.empty());
+        assertThat(index.getSlot(1L)).isEmpty();
+        verify(movieSlotRepository, never()).findAllById(any());
+    }
+
+    @Test
+    void slotMovedIntoThePastLeavesTheIndex() {
+        MovieSlot slot = slot(1L, TODAY.plusDays(2), "PVR Forum");
+        when(movieSlotRepository.findByShowDateGreaterThanEqual(TODAY)).thenReturn(new ArrayList<>(List.of(slot)));
+        assertThat(index.getSlotsByMovie(10L)).hasSize(1);
+
+        slot.setShowDate(TODAY.minusDays(1));
+        index.upsert(ShowtimeIndex.Showtime.from(slot), slot.getAvailableSeats());
+
+        assertThat(index.getSlotsByMovie(10L)).isEmpty();
+        assertThat(index.getSlotsByTheater("pvr")).isEmpty();
+    }
+
+    private static Clock clockAt(LocalDate date) {
+        return Clock.fixed(date.atTime(12, 0).toInstant(ZoneOffset.UTC), ZoneId.of("UTC"));
+    }
+
+    private static MovieSlot slot(Long slotId, LocalDate showDate, String theaterName) {
+        AvailableMovie movie = new AvailableMovie();
+        movie.setId(10L);
+        MovieSlot slot = new MovieSlot();
+        slot.setSlotId(slotId);
+        slot.setMovie(movie);
+        slot.setShowDate(showDate);
+        slot.setStartTime(LocalTime.of(18, 0));
+        slot.setTheaterName(theaterName);
+        slot.setTotalSeats(50);
+        slot.setAvailableSeats(50);
+        return slot;
+    }
+}
@@ -0,0 +1,79 @@
+package com.movieDekho.MovieDekho.service.otpservice;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import sendinblue.ApiException;
+import sibApi.TransactionalEmailsApi;
+import sibModel.CreateSmtpEmail;
+import sibModel.SendSmtpEmail;
+import sibModel.SendSmtpEmailMessageVersions;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class BrevoEmailServiceTest {
+
+    private final TransactionalEmailsApi api = mock(TransactionalEmailsApi.class);
+    private final BrevoEmailService service = new BrevoEmailService(api);
+
+    @Test
+    void recipientsAreSentInChunksOfOneThousandVersions() throws ApiException {
+        when(api.sendTransacEmail(any())).thenReturn(new CreateSmtpEmail().messageIds(List.of("m1")),
+                new CreateSmtpEmail().messageIds(List.of("m2")));
+
+        BrevoEmailService.BatchSendResult result = service.sendBatchEmail("Now showing", "<p>{{ params.name }}</p>",
+                recipients(1500));
+
+        ArgumentCaptor<SendSmtpEmail> requests = ArgumentCaptor.forClass(SendSmtpEmail.class);
+        verify(api, times(2)).sendTransacEmail(requests.capture());
+        assertThat(requests.getAllValues()).extracting(request -> request.getMessageVersions().size())
+                .containsExactly(1000, 500);
+        SendSmtpEmailMessageVersions first = requests.getAllValues().get(0).getMessageVersions().get(0);
+        assertThat(first.getTo().get(0).getEmail()).isEqualTo("user0@example.com");
+        assertThat(first.getParams()).containsEntry("name", "User 0");
+        assertThat(result.messageIds()).containsExactly("m1", "m2");
+        assertThat(result.allSent()).isTrue();
+    }
+
+    @Test
+    void failedChunkKeepsEarlierMessageIdsAndReportsItsRecipients() throws ApiException {
+        when(api.sendTransacEmail(any()))
+                .thenReturn(new CreateSmtpEmail().messageIds(List.of("m1")))
+                .thenThrow(new ApiException(429, "Too Many Requests"))
+                .thenReturn(new CreateSmtpEmail().messageIds(List.of("m3")));
+
+        BrevoEmailService.BatchSendResult result = service.sendBatchEmail("Now showing", "<p>Hi</p>",
+                recipients(2500));
+
+        assertThat(result.messageIds()).containsExactly("m1", "m3");
+        assertThat(result.allSent()).isFalse();
+        assertThat(result.failedRecipients()).hasSize(1000)
+                .startsWith("user1000@example.com").endsWith("user1999@example.com");
+    }
+
+    @Test
+    void noRecipientsMeansNoRequest() throws ApiException {
+        BrevoEmailService.BatchSendResult result = service.sendBatchEmail("Now showing", "<p>Hi</p>", Map.of());
+
+        assertThat(result.messageIds()).isEmpty();
+        assertThat(result.allSent()).isTrue();
+        verify(api, never()).sendTransacEmail(any());
+    }
+
+    private static Map<String, Map<String, Object>> recipients(int count) {
+        Map<String, Map<String, Object>> recipients = new LinkedHashMap<>();
+        for (int i = 0; i < count; i++) {
+            recipients.put("user" + i + "@example.com", Map.of("name", "User " + i));
+        }
+        return recipients;
+    }
+}
@@ -0,0 +1,99 @@
+package com.movieDekho.MovieDekho.service.otpservice;
+
+import com.movieDekho.MovieDekho.config.otpconfig.OtpConfig;
+import com.movieDekho.MovieDekho.exception.OtpRateLimitException;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class OtpRateLimiterTest {
+
+    @Test
+    void identifierBucketAllowsCapacityThenRejectsWithRetryAfter() {
+        OtpConfig config = new OtpConfig();
+        config.setGeneratePerIdentifier(new OtpConfig.Limit(3, 1));
+        OtpRateLimiter limiter = new OtpRateLimiter(config);
+
+        for (int i = 0; i < 3; i++) {
+            limiter.checkGenerate("a@example.com", null);
+        }
+
+        assertThatThrownBy(() -> limiter.checkGenerate("a@example.com", null))
+                .isInstanceOf(OtpRateLimitException.class)
+                .hasMessageContaining("this account")
+                .satisfies(e -> assertThat(((OtpRateLimitException) e).getRetryAfterSeconds()).isBetween(55L, 60L));
+    }
+
+    @Test
+    void identifiersHaveIndependentBuckets() {
+        OtpConfig config = new OtpConfig();
+        config.setGeneratePerIdentifier(new OtpConfig.Limit(1, 1));
+        OtpRateLimiter limiter = new OtpRateLimiter(config);
+
+        limiter.checkGenerate("a@example.com", null);
+
+        assertThatCode(() -> limiter.checkGenerate("b@example.com", null)).doesNotThrowAnyException();
+        assertThatThrownBy(() -> limiter.checkGenerate("a@example.com", null))
+                .isInstanceOf(OtpRateLimitException.class);
+    }
+
+    @Test
+    void ipBucketIsSharedAcrossAccounts() {
+        OtpConfig config = new OtpConfig();
+        config.setGeneratePerIdentifier(new OtpConfig.Limit(10, 1));
+        config.setGeneratePerIp(new OtpConfig.Limit(2, 1));
+        OtpRateLimiter limiter = new OtpRateLimiter(config);
+
+        limiter.checkGenerate("a@example.com", "10.0.0.1");
+        limiter.checkGenerate("b@example.com", "10.0.0.1");
+
+        assertThatThrownBy(() -> limiter.checkGenerate("c@example.com", "10.0.0.1"))
+                .isInstanceOf(OtpRateLimitException.class)
+                .hasMessageContaining("this address");
+        assertThatCode(() -> limiter.checkGenerate("c@example.com", "10.0.0.2")).doesNotThrowAnyException();
+    }
+
+    @Test
+    void generationAndValidationAreLimitedSeparately() {
+        OtpConfig config = new OtpConfig();
+        config.setGeneratePerIdentifier(new OtpConfig.Limit(1, 1));
+        config.setValidatePerIdentifier(new OtpConfig.Limit(2, 1));
+        OtpRateLimiter limiter = new OtpRateLimiter(config);
+
+        limiter.checkGenerate("a@example.com", null);
+        limiter.checkValidate("a@example.com", null);
+        limiter.checkValidate("a@example.com", null);
+
+        assertThatThrownBy(() -> limiter.checkValidate("a@example.com", null))
+                .isInstanceOf(OtpRateLimitException.class)
+                .hasMessageContaining("attempts");
+    }
+
+    @Test
+    void tokensRefillOverTime() throws InterruptedException {
+        OtpConfig config = new OtpConfig();
+        // Six thousand per minute: one token every 10 ms
+        config.setValidatePerIdentifier(new OtpConfig.Limit(1, 6000));
+        OtpRateLimiter limiter = new OtpRateLimiter(config);
+        limiter.checkValidate("a@example.com", null);
+
+        Thread.sleep(50);
+
+        assertThatCode(() -> limiter.checkValidate("a@example.com", null)).doesNotThrowAnyException();
+    }
+
+    @Test
+    void sweepKeepsBucketsThatAreStillDraining() {
+        OtpConfig config = new OtpConfig();
+        config.setGeneratePerIdentifier(new OtpConfig.Limit(1, 1));
+        OtpRateLimiter limiter = new OtpRateLimiter(config);
+        limiter.checkGenerate("a@example.com", null);
+
+        limiter.dropRefilledBuckets();
+
+        assertThatThrownBy(() -> limiter.checkGenerate("a@example.com", null))
+                .isInstanceOf(OtpRateLimitException.class);
+    }
+}
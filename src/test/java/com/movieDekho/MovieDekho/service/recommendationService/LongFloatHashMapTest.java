@@ -0,0 +1,107 @@
+package com.movieDekho.MovieDekho.service.recommendationService;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LongFloatHashMapTest {
+
+    @Test
+    void absentKeysReadAsZero() {
+        LongFloatHashMap map = new LongFloatHashMap();
+
+        assertThat(map.get(42)).isZero();
+        assertThat(map.size()).isZero();
+    }
+
+    @Test
+    void addAccumulatesAndReturnsTheNewValue() {
+        LongFloatHashMap map = new LongFloatHashMap();
+
+        assertThat(map.add(7, 1.5f)).isEqualTo(1.5f);
+        assertThat(map.add(7, 2f)).isEqualTo(3.5f);
+        assertThat(map.get(7)).isEqualTo(3.5f);
+        assertThat(map.size()).isEqualTo(1);
+    }
+
+    @Test
+    void valuesReturningToZeroAreRemoved() {
+        LongFloatHashMap map = new LongFloatHashMap();
+        map.add(1, 0.3f);
+
+        assertThat(map.add(1, -0.3f)).isZero();
+        assertThat(map.size()).isZero();
+        assertThat(map.add(2, 0f)).isZero();
+        assertThat(map.size()).isZero();
+    }
+
+    @Test
+    void handlesZeroNegativeAndExtremeKeys() {
+        LongFloatHashMap map = new LongFloatHashMap();
+        long[] keys = {0, -1, Long.MIN_VALUE, Long.MAX_VALUE};
+        for (int i = 0; i < keys.length; i++) {
+            map.add(keys[i], i + 1);
+        }
+
+        for (int i = 0; i < keys.length; i++) {
+            assertThat(map.get(keys[i])).isEqualTo(i + 1f);
+        }
+    }
+
+    @Test
+    void removalShiftsProbeRunsSoEveryRemainingKeyIsFound() {
+        LongFloatHashMap map = new LongFloatHashMap();
+        for (long key = 0; key < 1000; key++) {
+            map.add(key, key + 1);
+        }
+
+        for (long key = 0; key < 1000; key += 3) {
+            map.remove(key);
+        }
+
+        assertThat(map.size()).isEqualTo(1000 - 334);
+        for (long key = 0; key < 1000; key++) {
+            assertThat(map.get(key)).isEqualTo(key % 3 == 0 ? 0f : key + 1f);
+        }
+    }
+
+    @Test
+    void matchesAReferenceMapUnderRandomOperations() {
+        LongFloatHashMap map = new LongFloatHashMap();
+        Map<Long, Float> reference = new HashMap<>();
+        Random random = new Random(5);
+
+        for (int op = 0; op < 50_000; op++) {
+            // A small key space keeps probe runs long and removals frequent
+            long key = random.nextInt(200) * 1024L;
+            switch (random.nextInt(3)) {
+                case 0 -> {
+                    map.remove(key);
+                    reference.remove(key);
+                }
+                case 1 -> {
+                    float value = reference.getOrDefault(key, 0f);
+                    map.add(key, -value);
+                    reference.remove(key);
+                }
+                default -> {
+                    float delta = random.nextInt(5) + 1;
+                    map.add(key, delta);
+                    reference.merge(key, delta, Float::sum);
+                }
+            }
+        }
+
+        assertThat(map.size()).isEqualTo(reference.size());
+        Map<Long, Float> visited = new HashMap<>();
+        map.forEach(visited::put);
+        assertThat(visited).isEqualTo(reference);
+        for (long key = 0; key < 200 * 1024L; key += 1024) {
+            assertThat(map.get(key)).isEqualTo(reference.getOrDefault(key, 0f));
+        }
+    }
+}
@@ -0,0 +1,223 @@
+package com.movieDekho.MovieDekho.service.recommendationService;
+
+import com.movieDekho.MovieDekho.dtos.movie.MovieResponseDTO;
+import com.movieDekho.MovieDekho.repository.BookingRepository;
+import com.movieDekho.MovieDekho.repository.UserRepository;
+import com.movieDekho.MovieDekho.service.movieService.MovieCatalogCache;
+import com.movieDekho.MovieDekho.service.recommendationService.RecommendationEngine.Recommendation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class RecommendationEngineTest {
+
+    // Confirmed booking counts and favorites as the repositories would return them
+    private final Map<List<Long>, Long> bookings = new HashMap<>();
+    private final List<Object[]> favorites = new ArrayList<>();
+
+    private RecommendationEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        BookingRepository bookingRepository = mock(BookingRepository.class);
+        UserRepository userRepository = mock(UserRepository.class);
+        MovieCatalogCache movieCatalogCache = mock(MovieCatalogCache.class);
+        when(bookingRepository.findConfirmedBookingCountsByUserAndMovie()).thenAnswer(invocation -> {
+            List<Object[]> rows = new ArrayList<>();
+            bookings.forEach((key, count) -> rows.add(new Object[]{key.get(0), key.get(1), count}));
+            return rows;
+        });
+        when(userRepository.findAllFavoriteMovieIds()).thenAnswer(invocation -> new ArrayList<>(favorites));
+        when(movieCatalogCache.getVersion()).thenReturn(1L);
+        when(movieCatalogCache.getAllMovies()).thenReturn(List.of(
+                movie(1, "Action", "English"),
+                movie(2, "Action, Thriller", "English"),
+                movie(3, "Comedy", "Hindi"),
+                movie(4, "Drama", "Hindi"),
+                movie(5, "Action", "Hindi"),
+                movie(6, "Horror", "Tamil")));
+        engine = new RecommendationEngine(bookingRepository, userRepository, movieCatalogCache);
+    }
+
+    @Test
+    void usersWithoutHistoryGetTheMostBookedMovies() {
+        book(1, 1);
+        book(1, 2);
+        book(2, 1);
+        book(3, 3);
+        book(3, 1);
+
+        assertThat(movieIds(engine.recommend(99L, 2))).containsExactly(1L, 2L);
+        assertThat(movieIds(engine.recommend(null, 10))).containsExactly(1L, 2L, 3L);
+    }
+
+    @Test
+    void recommendsCoBookedMoviesAndNamesTheSeed() {
+        book(1, 1);
+        book(1, 2);
+        book(2, 1);
+        book(2, 2);
+        book(3, 1);
+
+        List<Recommendation> result = engine.recommend(3L, 3);
+
+        assertThat(result.get(0).movieId()).isEqualTo(2L);
+        assertThat(result.get(0).becauseOfMovieId()).isEqualTo(1L);
+        assertThat(movieIds(result)).doesNotContain(1L);
+    }
+
+    @Test
+    void neverRecommendsBookedOrFavoritedMovies() {
+        book(1, 1);
+        book(1, 2);
+        book(1, 3);
+        book(2, 1);
+        favorite(2, 2);
+
+        assertThat(movieIds(engine.recommend(2L, 10))).doesNotContain(1L, 2L).contains(3L);
+    }
+
+    @Test
+    void coBookingIsSymmetric() {
+        book(1, 1);
+        book(1, 2);
+        book(2, 1);
+        book(3, 2);
+
+        Recommendation forSecond = only(engine.recommend(2L, 10), 2L);
+        Recommendation forFirst = only(engine.recommend(3L, 10), 1L);
+
+        assertThat(forSecond.becauseOfMovieId()).isEqualTo(1L);
+        assertThat(forFirst.becauseOfMovieId()).isEqualTo(2L);
+        assertThat(engine.getStats()).containsEntry("coBookedPairs", 1L);
+    }
+
+    @Test
+    void genreAndLanguageAffinityRankUnbookedMovies() {
+        book(1, 1);
+        book(2, 6);
+
+        // Nobody co-booked anything with movie 1, so only affinity speaks: 2 and 5 share its genre
+        List<Long> ids = movieIds(engine.recommend(1L, 3));
+
+        assertThat(ids.get(0)).isEqualTo(2L);
+        assertThat(ids).contains(5L).doesNotContain(6L);
+    }
+
+    @Test
+    void incrementalEventsMatchAFullRebuild() {
+        book(1, 1);
+        book(1, 2);
+        book(2, 2);
+        book(2, 3);
+        favorite(3, 4);
+        engine.recommend(1L, 1);
+
+        engine.recordBooking(1L, 3L);
+        book(1, 3);
+        engine.recordBooking(2L, 2L);
+        book(2, 2);
+        engine.recordCancellation(2L, 3L);
+        unbook(2, 3);
+        engine.recordFavorite(3L, 2L, true);
+        favorite(3, 2);
+        engine.recordFavorite(3L, 4L, false);
+        favorites.removeIf(row -> row[0].equals(3L) && row[1].equals(4L));
+        engine.recordBooking(4L, 1L);
+        book(4, 1);
+        engine.recordCancellation(4L, 5L);
+
+        Map<Long, List<Recommendation>> incremental = recommendForAll();
+        Map<String, Object> incrementalStats = engine.getStats();
+        engine.rebuild();
+
+        assertThat(engine.getStats()).isEqualTo(incrementalStats);
+        Map<Long, List<Recommendation>> rebuilt = recommendForAll();
+        for (Long userId : rebuilt.keySet()) {
+            List<Recommendation> expected = rebuilt.get(userId);
+            List<Recommendation> actual = incremental.get(userId);
+            assertThat(movieIds(actual)).as("user %d", userId).isEqualTo(movieIds(expected));
+            for (int i = 0; i < expected.size(); i++) {
+                assertThat(actual.get(i).score()).isCloseTo(expected.get(i).score(), within(1e-5));
+            }
+        }
+    }
+
+    @Test
+    void cancellingEverythingLeavesNoCoBookings() {
+        book(1, 1);
+        book(1, 2);
+        book(2, 1);
+        book(2, 2);
+        engine.recommend(1L, 1);
+
+        engine.recordCancellation(1L, 1L);
+        engine.recordCancellation(1L, 2L);
+        engine.recordCancellation(2L, 1L);
+        engine.recordCancellation(2L, 2L);
+        engine.recordCancellation(2L, 2L);
+
+        assertThat(engine.getStats()).containsEntry("coBookedPairs", 0L).containsEntry("movies", 0);
+        assertThat(engine.recommend(1L, 5)).isEmpty();
+    }
+
+    @Test
+    void eventsBeforeTheFirstBuildAreLeftToTheBuild() {
+        engine.recordBooking(1L, 1L);
+        book(1, 1);
+        book(1, 2);
+
+        assertThat(engine.getStats()).containsEntry("loaded", false);
+        engine.recommend(1L, 1);
+        assertThat(engine.getStats()).containsEntry("users", 1).containsEntry("movies", 2);
+    }
+
+    private Map<Long, List<Recommendation>> recommendForAll() {
+        Map<Long, List<Recommendation>> result = new HashMap<>();
+        for (long userId = 1; userId <= 5; userId++) {
+            result.put(userId, engine.recommend(userId, 6));
+        }
+        return result;
+    }
+
+    private void book(long userId, long movieId) {
+        bookings.merge(List.of(userId, movieId), 1L, Long::sum);
+    }
+
+    private void unbook(long userId, long movieId) {
+        bookings.computeIfPresent(List.of(userId, movieId), (key, count) -> count > 1 ? count - 1 : null);
+    }
+
+    private void favorite(long userId, long movieId) {
+        favorites.add(new Object[]{userId, movieId});
+    }
+
+    private static Recommendation only(List<Recommendation> recommendations, Long movieId) {
+        return recommendations.stream()
+                .filter(recommendation -> recommendation.movieId().equals(movieId))
+                .findFirst()
+                .orElseThrow();
+    }
+
+    private static List<Long> movieIds(List<Recommendation> recommendations) {
+        return recommendations.stream().map(Recommendation::movieId).toList();
+    }
+
+    private static MovieResponseDTO movie(long id, String genre, String language) {
+        MovieResponseDTO movie = new MovieResponseDTO();
+        movie.setId(id);
+        movie.setTitle("Movie " + id);
+        movie.setGenre(genre);
+        movie.setLanguage(language);
+        return movie;
+    }
+}
@@ -0,0 +1,214 @@
+package com.movieDekho.MovieDekho.service.seatService;
+
+import com.movieDekho.MovieDekho.exception.ResourceNotFoundException;
+import com.movieDekho.MovieDekho.models.MovieSlot;
+import com.movieDekho.MovieDekho.models.Seat;
+import com.movieDekho.MovieDekho.models.TemporarySeatLock;
+import com.movieDekho.MovieDekho.repository.BookingRepository;
+import com.movieDekho.MovieDekho.repository.MovieSlotRepository;
+import com.movieDekho.MovieDekho.repository.SeatRepository;
+import com.movieDekho.MovieDekho.repository.TemporarySeatLockRepository;
+import com.movieDekho.MovieDekho.service.seatService.SeatSuggestionEngine.SeatSuggestion;
+import com.movieDekho.MovieDekho.service.seatService.SeatSuggestionEngine.SeatSuggestionResult;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Seat maps are drawn one row per string: the row label, then one character per seat number.
+ * '.' is free, 'x' booked, 'b' booked through a confirmed booking, 'L' held by an active lock,
+ * and ' ' skips a number, which the engine reads as an aisle.
+ */
+class SeatSuggestionEngineTest {
+
+    private static final long SLOT_ID = 7L;
+
+    private final MovieSlot slot = new MovieSlot();
+    private final List<Seat> seats = new ArrayList<>();
+    private final List<String> bookedSeatNumbers = new ArrayList<>();
+    private final List<TemporarySeatLock> locks = new ArrayList<>();
+
+    private SeatSuggestionEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        slot.setSlotId(SLOT_ID);
+        MovieSlotRepository movieSlotRepository = mock(MovieSlotRepository.class);
+        SeatRepository seatRepository = mock(SeatRepository.class);
+        BookingRepository bookingRepository = mock(BookingRepository.class);
+        TemporarySeatLockRepository lockRepository = mock(TemporarySeatLockRepository.class);
+        when(movieSlotRepository.findById(SLOT_ID)).thenReturn(Optional.of(slot));
+        when(seatRepository.findBySlot(slot)).thenReturn(seats);
+        when(bookingRepository.findBookedSeatNumbersBySlot(slot)).thenReturn(bookedSeatNumbers);
+        when(lockRepository.findActiveLocksBySlots(anyList(), any())).thenReturn(locks);
+        engine = new SeatSuggestionEngine(movieSlotRepository, seatRepository, bookingRepository, lockRepository);
+    }
+
+    @Test
+    void unknownSlotIsRejected() {
+        assertThatThrownBy(() -> engine.suggest(99L, 2, null, 1)).isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    @Test
+    void picksTheCentralPairOfAnEmptyRow() {
+        layout("A..........");
+
+        SeatSuggestion best = engine.suggest(SLOT_ID, 2, null, 1).suggestions().get(0);
+
+        assertThat(best.seatNumbers()).containsExactly("A5", "A6");
+        assertThat(best.rows()).containsExactly("A");
+        assertThat(best.contiguous()).isTrue();
+        assertThat(best.totalPrice()).isEqualTo(400.0);
+    }
+
+    @Test
+    void avoidsStrandingASingleFreeSeat() {
+        // Free run A3..A8: the central A4..A7 would leave A3 and A8 alone
+        layout("Axx......xx");
+
+        SeatSuggestion best = engine.suggest(SLOT_ID, 4, null, 1).suggestions().get(0);
+
+        assertThat(best.seatNumbers()).containsExactly("A3", "A4", "A5", "A6");
+    }
+
+    @Test
+    void countsBookedAndLockedSeatsAsTaken() {
+        layout("A..xbL....");
+
+        SeatSuggestionResult result = engine.suggest(SLOT_ID, 1, null, 10);
+
+        assertThat(result.totalSeats()).isEqualTo(9);
+        assertThat(result.availableSeats()).isEqualTo(6);
+        assertThat(result.lockedSeats()).isEqualTo(1);
+        assertThat(result.suggestions()).hasSize(6)
+                .flatExtracting(SeatSuggestion::seatNumbers)
+                .doesNotContain("A3", "A4", "A5");
+    }
+
+    @Test
+    void optionsNeverOverlapAndAreBestFirst() {
+        layout("A........",
+               "B........",
+               "C........");
+
+        List<SeatSuggestion> suggestions = engine.suggest(SLOT_ID, 3, null, 5).suggestions();
+
+        assertThat(suggestions).hasSize(5);
+        Set<String> used = new HashSet<>();
+        for (SeatSuggestion suggestion : suggestions) {
+            for (String seat : suggestion.seatNumbers()) {
+                assertThat(used.add(seat)).as("seat %s offered twice", seat).isTrue();
+            }
+        }
+        for (int i = 1; i < suggestions.size(); i++) {
+            assertThat(suggestions.get(i).score()).isLessThanOrEqualTo(suggestions.get(i - 1).score());
+        }
+    }
+
+    @Test
+    void sameSeatStateGivesSameSuggestions() {
+        layout("A..x.....x.",
+               "B.....x....",
+               "C...........");
+
+        assertThat(engine.suggest(SLOT_ID, 3, "family", 4))
+                .isEqualTo(engine.suggest(SLOT_ID, 3, "family", 4));
+    }
+
+    @Test
+    void depthPreferenceChoosesTheRow() {
+        layout("A......",
+               "B......",
+               "C......",
+               "D......",
+               "E......");
+
+        // "front" aims a little behind the first row, not at the screen
+        assertThat(engine.suggest(SLOT_ID, 2, "front", 1).suggestions().get(0).rows()).containsAnyOf("A", "B");
+        assertThat(engine.suggest(SLOT_ID, 2, "back row please", 1).suggestions().get(0).rows()).containsExactly("E");
+    }
+
+    @Test
+    void aislePreferenceSitsNextToAGapInTheNumbering() {
+        // A1..A4, aisle, A6..A9
+        layout("A.... ....");
+
+        SeatSuggestion best = engine.suggest(SLOT_ID, 2, "aisle", 1).suggestions().get(0);
+
+        assertThat(best.seatNumbers()).containsAnyOf("A4", "A6");
+    }
+
+    @Test
+    void budgetAndPremiumFollowThePriceTier() {
+        layout("A......",
+               "B......");
+        seats.stream().filter(seat -> seat.getSeatNumber().startsWith("B")).forEach(seat -> seat.setPrice(450));
+
+        assertThat(engine.suggest(SLOT_ID, 2, "budget", 1).suggestions().get(0).rows()).containsExactly("A");
+        assertThat(engine.suggest(SLOT_ID, 2, "premium", 1).suggestions().get(0).rows()).containsExactly("B");
+    }
+
+    @Test
+    void splitsThePartyWhenNoRowHasEnoughAdjacentSeats() {
+        layout("A..x..x",
+               "B...x.x",
+               "Cxxxxx.");
+
+        SeatSuggestionResult result = engine.suggest(SLOT_ID, 5, null, 3);
+
+        assertThat(result.suggestions()).hasSize(1);
+        SeatSuggestion split = result.suggestions().get(0);
+        assertThat(split.contiguous()).isFalse();
+        assertThat(split.seatNumbers()).hasSize(5).doesNotHaveDuplicates();
+        // The largest block (B1..B3) is taken first, then pairs
+        assertThat(split.seatNumbers().subList(0, 3)).containsExactly("B1", "B2", "B3");
+        assertThat(split.seatNumbers().subList(3, 5)).containsAnyOf("A1", "A4");
+    }
+
+    @Test
+    void noSuggestionsWhenTooFewSeatsAreFree() {
+        layout("Axx..x");
+
+        assertThat(engine.suggest(SLOT_ID, 3, null, 3).suggestions()).isEmpty();
+    }
+
+    private void layout(String... rows) {
+        long seatId = 1;
+        for (String row : rows) {
+            String label = row.substring(0, 1);
+            for (int i = 1; i < row.length(); i++) {
+                char state = row.charAt(i);
+                if (state == ' ') {
+                    continue;
+                }
+                Seat seat = new Seat();
+                seat.setSeatId(seatId++);
+                seat.setSlot(slot);
+                seat.setSeatNumber(label + i);
+                seat.setPrice(200);
+                seat.setBooked(state == 'x');
+                seats.add(seat);
+                if (state == 'b') {
+                    bookedSeatNumbers.add(seat.getSeatNumber());
+                } else if (state == 'L') {
+                    TemporarySeatLock lock = new TemporarySeatLock();
+                    lock.setSeat(seat);
+                    lock.setSlot(slot);
+                    locks.add(lock);
+                }
+            }
+        }
+    }
+}